@@ -0,0 +1,28 @@
+package com.scalar.db.storage.dynamo;
+
+import com.scalar.db.api.DistributedStorageCrossPartitionScanIntegrationTestBase;
+import java.util.Map;
+import java.util.Properties;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+public class DynamoParallelScanIntegrationTest
+    extends DistributedStorageCrossPartitionScanIntegrationTestBase {
+
+  @Override
+  protected Properties getProperties(String testName) {
+    Properties properties = DynamoEnv.getProperties(testName);
+    properties.setProperty(DynamoConfig.PARALLEL_SCAN_SEGMENTS, "4");
+    return properties;
+  }
+
+  @Override
+  protected Map<String, String> getCreationOptions() {
+    return DynamoEnv.getCreationOptions();
+  }
+
+  @Test
+  @Override
+  @Disabled("Cross partition scan with ordering is not supported in DynamoDB")
+  public void scan_WithOrderingForNonPrimaryColumns_ShouldReturnProperResult() {}
+}
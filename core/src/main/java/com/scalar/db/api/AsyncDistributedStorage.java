@@ -0,0 +1,66 @@
+package com.scalar.db.api;
+
+import com.scalar.db.exception.storage.ExecutionException;
+import com.scalar.db.exception.storage.NoMutationException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A non-blocking counterpart of {@link DistributedStorage}. Each method issues the operation and
+ * returns a {@link CompletableFuture} immediately without waiting for the underlying storage, so
+ * the caller doesn't need to occupy a thread per in-flight operation.
+ *
+ * <p>The semantics of each operation are the same as the corresponding method of {@link
+ * DistributedStorage}. When an operation fails, the returned future is completed exceptionally
+ * with the exception that the blocking method would throw, e.g., {@link ExecutionException} or
+ * {@link NoMutationException}.
+ *
+ * <p>The returned futures can be completed on the I/O threads of the underlying storage client, so
+ * dependent actions attached to them should not block.
+ */
+public interface AsyncDistributedStorage {
+
+  /**
+   * Retrieves a result from the storage asynchronously with the specified {@link Get} command.
+   *
+   * @param get a {@code Get} command
+   * @return a future of an {@code Optional} with the returned result
+   */
+  CompletableFuture<Optional<Result>> getAsync(Get get);
+
+  /**
+   * Retrieves results from the storage asynchronously with the specified {@link Scan} command.
+   * Unlike {@link DistributedStorage#scan(Scan)}, all the results are fetched before the returned
+   * future is completed, so a limit should be specified for a scan that can return many results.
+   *
+   * @param scan a {@code Scan} command
+   * @return a future of the list of the returned results
+   */
+  CompletableFuture<List<Result>> scanAsync(Scan scan);
+
+  /**
+   * Inserts/Updates an entry asynchronously with the specified {@link Put} command.
+   *
+   * @param put a {@code Put} command
+   * @return a future completed when the operation finishes
+   */
+  CompletableFuture<Void> putAsync(Put put);
+
+  /**
+   * Deletes an entry asynchronously with the specified {@link Delete} command.
+   *
+   * @param delete a {@code Delete} command
+   * @return a future completed when the operation finishes
+   */
+  CompletableFuture<Void> deleteAsync(Delete delete);
+
+  /**
+   * Mutates entries asynchronously with the specified list of {@link Mutation} commands. As with
+   * {@link DistributedStorage#mutate(List)}, the mutations must be for the same partition.
+   *
+   * @param mutations a list of {@code Mutation} commands
+   * @return a future completed when the operation finishes
+   */
+  CompletableFuture<Void> mutateAsync(List<? extends Mutation> mutations);
+}
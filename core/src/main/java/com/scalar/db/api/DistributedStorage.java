@@ -1,6 +1,7 @@
 package com.scalar.db.api;
 
 import com.scalar.db.exception.storage.ExecutionException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -124,6 +125,25 @@ public interface DistributedStorage extends AutoCloseable {
    */
   Optional<Result> get(Get get) throws ExecutionException;
 
+  /**
+   * Retrieves results from the underlying storage with the specified list of {@link Get} commands
+   * with primary keys and returns the results. The returned list has the result of each {@code
+   * Get} at the same position as the {@code Get} in the specified list. Storages that support
+   * retrieving multiple records in a single request retrieve them in fewer round trips than calling
+   * {@link #get(Get)} for each of them.
+   *
+   * @param gets a list of {@code Get} commands
+   * @return a list of {@code Optional}s with the returned results
+   * @throws ExecutionException if the operation fails
+   */
+  default List<Optional<Result>> get(List<Get> gets) throws ExecutionException {
+    List<Optional<Result>> results = new ArrayList<>(gets.size());
+    for (Get get : gets) {
+      results.add(get(get));
+    }
+    return results;
+  }
+
   /**
    * Retrieves results from the underlying storage with the specified {@link Scan} or {@link
    * ScanAll} or {@link ScanWithIndex} command and returns {@link Scanner} to iterate the results.
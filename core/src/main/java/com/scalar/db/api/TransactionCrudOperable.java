@@ -33,6 +33,24 @@ public interface TransactionCrudOperable extends CrudOperable<CrudException> {
   @Override
   List<Result> scan(Scan scan) throws CrudConflictException, CrudException;
 
+  /**
+   * Retrieves results from the storage through a transaction with the specified {@link Scan}
+   * command and returns a {@link Scanner} to iterate over the results. Unlike {@link #scan(Scan)},
+   * the results are read from the storage lazily as the scanner is iterated, so a large scan
+   * doesn't need to hold all the results in memory. Only the results actually returned by the
+   * scanner are treated as read by the transaction, so the scanner can be closed before iterating
+   * over all the results. The scanner must be closed before the transaction is committed.
+   *
+   * @param scan a {@code Scan} command
+   * @return a {@code Scanner} to iterate over the results
+   * @throws CrudConflictException if the transaction CRUD operation fails due to transient faults
+   *     (e.g., a conflict error). You can retry the transaction from the beginning
+   * @throws CrudException if the transaction CRUD operation fails due to transient or nontransient
+   *     faults. You can try retrying the transaction from the beginning, but the transaction may
+   *     still fail if the cause is nontranient
+   */
+  Scanner getScanner(Scan scan) throws CrudConflictException, CrudException;
+
   /**
    * {@inheritDoc}
    *
@@ -154,4 +172,41 @@ public interface TransactionCrudOperable extends CrudOperable<CrudException> {
   @Override
   void mutate(List<? extends Mutation> mutations)
       throws CrudConflictException, CrudException, UnsatisfiedConditionException;
+
+  /** A scanner abstraction for iterating results through a transaction. */
+  interface Scanner extends AutoCloseable, Iterable<Result> {
+
+    /**
+     * Returns the next result.
+     *
+     * @return an {@code Optional} with the next result, or an empty {@code Optional} if there are
+     *     no more results
+     * @throws CrudConflictException if the transaction CRUD operation fails due to transient faults
+     *     (e.g., a conflict error). You can retry the transaction from the beginning
+     * @throws CrudException if the transaction CRUD operation fails due to transient or
+     *     nontransient faults. You can try retrying the transaction from the beginning, but the
+     *     transaction may still fail if the cause is nontranient
+     */
+    Optional<Result> one() throws CrudConflictException, CrudException;
+
+    /**
+     * Returns all the remaining results.
+     *
+     * @return a list of the remaining results
+     * @throws CrudConflictException if the transaction CRUD operation fails due to transient faults
+     *     (e.g., a conflict error). You can retry the transaction from the beginning
+     * @throws CrudException if the transaction CRUD operation fails due to transient or
+     *     nontransient faults. You can try retrying the transaction from the beginning, but the
+     *     transaction may still fail if the cause is nontranient
+     */
+    List<Result> all() throws CrudConflictException, CrudException;
+
+    /**
+     * Closes the scanner.
+     *
+     * @throws CrudException if closing the scanner fails
+     */
+    @Override
+    void close() throws CrudException;
+  }
 }
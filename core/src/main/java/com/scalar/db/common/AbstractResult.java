@@ -2,7 +2,6 @@ package com.scalar.db.common;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.MoreObjects.ToStringHelper;
-import com.google.common.base.Suppliers;
 import com.scalar.db.api.Result;
 import com.scalar.db.common.error.CoreError;
 import com.scalar.db.io.Column;
@@ -15,26 +14,14 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public abstract class AbstractResult implements Result {
 
-  private final Supplier<Integer> hashCode;
-
-  public AbstractResult() {
-    hashCode =
-        Suppliers.memoize(
-            () -> {
-              List<String> containedColumnNames = new ArrayList<>(getContainedColumnNames());
-              Collections.sort(containedColumnNames);
-              Object[] values = new Object[containedColumnNames.size()];
-              for (int i = 0; i < containedColumnNames.size(); i++) {
-                values[i] = getAsObject(containedColumnNames.get(i));
-              }
-              return Objects.hash(values);
-            });
-  }
+  // The hash code is computed lazily in the same way as String.hashCode(). Racy reads are benign
+  // since every thread computes the same value
+  private int hashCode;
+  private boolean hashCodeIsZero;
 
   protected void checkIfExists(String name) {
     if (!contains(name)) {
@@ -64,7 +51,22 @@ public abstract class AbstractResult implements Result {
 
   @Override
   public int hashCode() {
-    return hashCode.get();
+    int h = hashCode;
+    if (h == 0 && !hashCodeIsZero) {
+      List<String> containedColumnNames = new ArrayList<>(getContainedColumnNames());
+      Collections.sort(containedColumnNames);
+      Object[] values = new Object[containedColumnNames.size()];
+      for (int i = 0; i < containedColumnNames.size(); i++) {
+        values[i] = getAsObject(containedColumnNames.get(i));
+      }
+      h = Objects.hash(values);
+      if (h == 0) {
+        hashCodeIsZero = true;
+      } else {
+        hashCode = h;
+      }
+    }
+    return h;
   }
 
   @Override
@@ -0,0 +1,75 @@
+package com.scalar.db.common;
+
+import com.scalar.db.api.Result;
+import com.scalar.db.api.TransactionCrudOperable;
+import com.scalar.db.exception.transaction.CrudException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A base class of {@link TransactionCrudOperable.Scanner} implementations, which implements {@link
+ * #all()} and {@link #iterator()} with {@link #one()}.
+ */
+@NotThreadSafe
+public abstract class AbstractTransactionCrudOperableScanner
+    implements TransactionCrudOperable.Scanner {
+
+  private TransactionScannerIterator scannerIterator;
+
+  @Override
+  public List<Result> all() throws CrudException {
+    List<Result> ret = new ArrayList<>();
+    while (true) {
+      Optional<Result> one = one();
+      if (!one.isPresent()) {
+        break;
+      }
+      ret.add(one.get());
+    }
+    return ret;
+  }
+
+  @Override
+  @Nonnull
+  public Iterator<Result> iterator() {
+    if (scannerIterator == null) {
+      scannerIterator = new TransactionScannerIterator();
+    }
+    return scannerIterator;
+  }
+
+  @NotThreadSafe
+  private class TransactionScannerIterator implements Iterator<Result> {
+
+    private Result next;
+
+    @Override
+    public boolean hasNext() {
+      if (next != null) {
+        return true;
+      }
+
+      try {
+        return (next = one().orElse(null)) != null;
+      } catch (CrudException e) {
+        throw new RuntimeException(e.getMessage(), e);
+      }
+    }
+
+    @Override
+    public Result next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      Result ret = next;
+      next = null;
+      return ret;
+    }
+  }
+}
@@ -0,0 +1,207 @@
+package com.scalar.db.common;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.scalar.db.api.TableMetadata;
+import com.scalar.db.io.DataType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A dictionary of the columns of {@link CompactResult}s. It maps the column names to the positions
+ * in the dictionary, and assigns each column a slot in the arrays of the results. The values of
+ * BOOLEAN, INT, BIGINT, FLOAT, and DOUBLE columns are stored in a {@code long} array as bit
+ * patterns, and the values of the other columns are stored in an {@code Object} array.
+ *
+ * <p>A dictionary is shared among all the results read by the same operation. The dictionary of
+ * all the columns of a table is also shared among the operations for the same table metadata.
+ */
+@ThreadSafe
+public final class ColumnDictionary {
+
+  // Since the keys are weakly referenced, they are compared by identity. That is fine because the
+  // same table metadata instance is used for a table while it's cached in TableMetadataManager
+  private static final LoadingCache<TableMetadata, ColumnDictionary> TABLE_DICTIONARIES =
+      CacheBuilder.newBuilder()
+          .weakKeys()
+          .build(CacheLoader.from(m -> new ColumnDictionary(m, m.getColumnNames())));
+
+  private final TableMetadata metadata;
+  private final ImmutableMap<String, Integer> indexes;
+  private final DataType[] dataTypes;
+  private final int[] slots;
+  private final int primitiveSlotCount;
+  private final int objectSlotCount;
+
+  // The dictionary projected last time, which is reused while the same projections are specified
+  @Nullable private volatile Projection lastProjection;
+
+  private ColumnDictionary(TableMetadata metadata, Collection<String> columnNames) {
+    this.metadata = metadata;
+
+    ImmutableMap.Builder<String, Integer> builder = ImmutableMap.builder();
+    dataTypes = new DataType[columnNames.size()];
+    slots = new int[columnNames.size()];
+    int primitiveSlot = 0;
+    int objectSlot = 0;
+    int index = 0;
+    for (String columnName : columnNames) {
+      DataType dataType = Objects.requireNonNull(metadata.getColumnDataType(columnName));
+      builder.put(columnName, index);
+      dataTypes[index] = dataType;
+      slots[index] = isPrimitive(dataType) ? primitiveSlot++ : objectSlot++;
+      index++;
+    }
+    indexes = builder.build();
+    primitiveSlotCount = primitiveSlot;
+    objectSlotCount = objectSlot;
+  }
+
+  private ColumnDictionary(ColumnDictionary original, List<String> columnNames) {
+    // The projected dictionary shares the slots with the original one, so that the results can be
+    // projected without copying the arrays
+    metadata = original.metadata;
+
+    ImmutableMap.Builder<String, Integer> builder = ImmutableMap.builder();
+    dataTypes = new DataType[columnNames.size()];
+    slots = new int[columnNames.size()];
+    for (int i = 0; i < columnNames.size(); i++) {
+      int originalIndex = original.indexOf(columnNames.get(i));
+      builder.put(columnNames.get(i), i);
+      dataTypes[i] = original.dataTypes[originalIndex];
+      slots[i] = original.slots[originalIndex];
+    }
+    indexes = builder.build();
+    primitiveSlotCount = original.primitiveSlotCount;
+    objectSlotCount = original.objectSlotCount;
+  }
+
+  /**
+   * Returns the dictionary of all the columns of the specified table.
+   *
+   * @param metadata table metadata
+   * @return the dictionary of all the columns of the table
+   */
+  public static ColumnDictionary of(TableMetadata metadata) {
+    return TABLE_DICTIONARIES.getUnchecked(metadata);
+  }
+
+  /**
+   * Returns the dictionary of the projected columns of the specified table. If the projections are
+   * empty, the dictionary of all the columns of the table is returned.
+   *
+   * @param metadata table metadata
+   * @param projections the names of the projected columns
+   * @return the dictionary of the projected columns
+   */
+  public static ColumnDictionary of(TableMetadata metadata, List<String> projections) {
+    if (projections.isEmpty()) {
+      return of(metadata);
+    }
+    return new ColumnDictionary(metadata, new LinkedHashSet<>(projections));
+  }
+
+  /**
+   * Returns the dictionary that only includes the columns of this dictionary that are in the
+   * specified projections. The returned dictionary shares the slots with this dictionary. If the
+   * projections are empty, this dictionary is returned.
+   *
+   * @param projections the names of the projected columns
+   * @return the projected dictionary
+   */
+  public ColumnDictionary project(List<String> projections) {
+    if (projections.isEmpty()) {
+      return this;
+    }
+
+    Projection projection = lastProjection;
+    if (projection != null && projection.projections.equals(projections)) {
+      return projection.dictionary;
+    }
+
+    List<String> columnNames = new ArrayList<>();
+    for (String columnName : indexes.keySet()) {
+      if (projections.contains(columnName)) {
+        columnNames.add(columnName);
+      }
+    }
+    ColumnDictionary dictionary = new ColumnDictionary(this, columnNames);
+    lastProjection = new Projection(ImmutableList.copyOf(projections), dictionary);
+    return dictionary;
+  }
+
+  public TableMetadata getTableMetadata() {
+    return metadata;
+  }
+
+  public ImmutableSet<String> getColumnNames() {
+    return indexes.keySet();
+  }
+
+  public int size() {
+    return dataTypes.length;
+  }
+
+  /**
+   * Returns the position of the specified column in this dictionary.
+   *
+   * @param columnName a column name
+   * @return the position of the column, or -1 if this dictionary doesn't include the column
+   */
+  public int indexOf(String columnName) {
+    Integer index = indexes.get(columnName);
+    return index == null ? -1 : index;
+  }
+
+  public DataType getDataType(int index) {
+    return dataTypes[index];
+  }
+
+  int getSlot(int index) {
+    return slots[index];
+  }
+
+  boolean isPrimitive(int index) {
+    return isPrimitive(dataTypes[index]);
+  }
+
+  int getPrimitiveSlotCount() {
+    return primitiveSlotCount;
+  }
+
+  int getObjectSlotCount() {
+    return objectSlotCount;
+  }
+
+  private static boolean isPrimitive(DataType dataType) {
+    switch (dataType) {
+      case BOOLEAN:
+      case INT:
+      case BIGINT:
+      case FLOAT:
+      case DOUBLE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static class Projection {
+    private final List<String> projections;
+    private final ColumnDictionary dictionary;
+
+    private Projection(List<String> projections, ColumnDictionary dictionary) {
+      this.projections = projections;
+      this.dictionary = dictionary;
+    }
+  }
+}
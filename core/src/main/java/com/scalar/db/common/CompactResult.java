@@ -0,0 +1,433 @@
+package com.scalar.db.common;
+
+import com.google.common.collect.Maps;
+import com.scalar.db.common.error.CoreError;
+import com.scalar.db.io.BigIntColumn;
+import com.scalar.db.io.BlobColumn;
+import com.scalar.db.io.BooleanColumn;
+import com.scalar.db.io.Column;
+import com.scalar.db.io.DataType;
+import com.scalar.db.io.DateColumn;
+import com.scalar.db.io.DoubleColumn;
+import com.scalar.db.io.FloatColumn;
+import com.scalar.db.io.IntColumn;
+import com.scalar.db.io.Key;
+import com.scalar.db.io.TextColumn;
+import com.scalar.db.io.TimeColumn;
+import com.scalar.db.io.TimestampColumn;
+import com.scalar.db.io.TimestampTZColumn;
+import com.scalar.db.util.ScalarDbUtils;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An implementation of {@code Result} that holds the values in arrays instead of {@code Column}
+ * objects. The positions of the values in the arrays are given by a {@link ColumnDictionary}, which
+ * is shared among the results. The values of BOOLEAN, INT, BIGINT, FLOAT, and DOUBLE columns are
+ * held as bit patterns in a {@code long} array with a null bitmap, and the values of the other
+ * columns are held in an {@code Object} array.
+ *
+ * <p>A result can be projected with {@link #project(List)} without copying the arrays. {@code
+ * Column} objects are made only when they are retrieved with {@link #getColumns()}.
+ */
+@Immutable
+public class CompactResult extends AbstractResult {
+
+  private final ColumnDictionary dictionary;
+  private final long[] values;
+  private final long[] nullBits;
+  private final Object[] objects;
+
+  private CompactResult(
+      ColumnDictionary dictionary, long[] values, long[] nullBits, Object[] objects) {
+    this.dictionary = dictionary;
+    this.values = values;
+    this.nullBits = nullBits;
+    this.objects = objects;
+  }
+
+  /**
+   * Returns a builder to build a result with the specified column dictionary.
+   *
+   * @param dictionary a column dictionary
+   * @return a builder
+   */
+  public static Builder newBuilder(ColumnDictionary dictionary) {
+    return new Builder(dictionary);
+  }
+
+  /**
+   * Returns a result that only includes the columns in the specified projections. The returned
+   * result shares the arrays with this result.
+   *
+   * @param projections the names of the projected columns
+   * @return a projected result
+   */
+  public CompactResult project(List<String> projections) {
+    ColumnDictionary projected = dictionary.project(projections);
+    if (projected == dictionary) {
+      return this;
+    }
+    return new CompactResult(projected, values, nullBits, objects);
+  }
+
+  /** @deprecated As of release 3.8.0. Will be removed in release 5.0.0 */
+  @Deprecated
+  @Override
+  public Optional<Key> getPartitionKey() {
+    return Optional.of(ScalarDbUtils.getPartitionKey(this, dictionary.getTableMetadata()));
+  }
+
+  /** @deprecated As of release 3.8.0. Will be removed in release 5.0.0 */
+  @Deprecated
+  @Override
+  public Optional<Key> getClusteringKey() {
+    return ScalarDbUtils.getClusteringKey(this, dictionary.getTableMetadata());
+  }
+
+  @Override
+  public boolean isNull(String columnName) {
+    return isNull(indexOf(columnName));
+  }
+
+  @Override
+  public boolean getBoolean(String columnName) {
+    return values[slotOf(columnName, DataType.BOOLEAN)] != 0;
+  }
+
+  @Override
+  public int getInt(String columnName) {
+    return (int) values[slotOf(columnName, DataType.INT)];
+  }
+
+  @Override
+  public long getBigInt(String columnName) {
+    return values[slotOf(columnName, DataType.BIGINT)];
+  }
+
+  @Override
+  public float getFloat(String columnName) {
+    return Float.intBitsToFloat((int) values[slotOf(columnName, DataType.FLOAT)]);
+  }
+
+  @Override
+  public double getDouble(String columnName) {
+    return Double.longBitsToDouble(values[slotOf(columnName, DataType.DOUBLE)]);
+  }
+
+  @Nullable
+  @Override
+  public String getText(String columnName) {
+    return (String) objects[slotOf(columnName, DataType.TEXT)];
+  }
+
+  @Nullable
+  @Override
+  public ByteBuffer getBlobAsByteBuffer(String columnName) {
+    byte[] value = (byte[]) objects[slotOf(columnName, DataType.BLOB)];
+    return value == null ? null : ByteBuffer.wrap(value);
+  }
+
+  @Nullable
+  @Override
+  public byte[] getBlobAsBytes(String columnName) {
+    byte[] value = (byte[]) objects[slotOf(columnName, DataType.BLOB)];
+    return value == null ? null : value.clone();
+  }
+
+  @Nullable
+  @Override
+  public LocalDate getDate(String columnName) {
+    return (LocalDate) objects[slotOf(columnName, DataType.DATE)];
+  }
+
+  @Nullable
+  @Override
+  public LocalTime getTime(String columnName) {
+    return (LocalTime) objects[slotOf(columnName, DataType.TIME)];
+  }
+
+  @Nullable
+  @Override
+  public LocalDateTime getTimestamp(String columnName) {
+    return (LocalDateTime) objects[slotOf(columnName, DataType.TIMESTAMP)];
+  }
+
+  @Nullable
+  @Override
+  public Instant getTimestampTZ(String columnName) {
+    return (Instant) objects[slotOf(columnName, DataType.TIMESTAMPTZ)];
+  }
+
+  @Nullable
+  @Override
+  public Object getAsObject(String columnName) {
+    int index = indexOf(columnName);
+    if (isNull(index)) {
+      return null;
+    }
+    int slot = dictionary.getSlot(index);
+    switch (dictionary.getDataType(index)) {
+      case BOOLEAN:
+        return values[slot] != 0;
+      case INT:
+        return (int) values[slot];
+      case BIGINT:
+        return values[slot];
+      case FLOAT:
+        return Float.intBitsToFloat((int) values[slot]);
+      case DOUBLE:
+        return Double.longBitsToDouble(values[slot]);
+      case BLOB:
+        return ByteBuffer.wrap((byte[]) objects[slot]);
+      default:
+        return objects[slot];
+    }
+  }
+
+  @Override
+  public boolean contains(String columnName) {
+    return dictionary.indexOf(columnName) != -1;
+  }
+
+  @Override
+  public Set<String> getContainedColumnNames() {
+    return dictionary.getColumnNames();
+  }
+
+  @Override
+  public Map<String, Column<?>> getColumns() {
+    // Return an unmodifiable view that makes the columns on access
+    return Maps.asMap(dictionary.getColumnNames(), this::getColumn);
+  }
+
+  private Column<?> getColumn(String columnName) {
+    int index = dictionary.indexOf(columnName);
+    boolean isNull = isNull(index);
+    int slot = dictionary.getSlot(index);
+    switch (dictionary.getDataType(index)) {
+      case BOOLEAN:
+        return isNull
+            ? BooleanColumn.ofNull(columnName)
+            : BooleanColumn.of(columnName, values[slot] != 0);
+      case INT:
+        return isNull ? IntColumn.ofNull(columnName) : IntColumn.of(columnName, (int) values[slot]);
+      case BIGINT:
+        return isNull ? BigIntColumn.ofNull(columnName) : BigIntColumn.of(columnName, values[slot]);
+      case FLOAT:
+        return isNull
+            ? FloatColumn.ofNull(columnName)
+            : FloatColumn.of(columnName, Float.intBitsToFloat((int) values[slot]));
+      case DOUBLE:
+        return isNull
+            ? DoubleColumn.ofNull(columnName)
+            : DoubleColumn.of(columnName, Double.longBitsToDouble(values[slot]));
+      case TEXT:
+        return isNull
+            ? TextColumn.ofNull(columnName)
+            : TextColumn.of(columnName, (String) objects[slot]);
+      case BLOB:
+        return isNull
+            ? BlobColumn.ofNull(columnName)
+            : BlobColumn.of(columnName, (byte[]) objects[slot]);
+      case DATE:
+        return isNull
+            ? DateColumn.ofNull(columnName)
+            : DateColumn.of(columnName, (LocalDate) objects[slot]);
+      case TIME:
+        return isNull
+            ? TimeColumn.ofNull(columnName)
+            : TimeColumn.of(columnName, (LocalTime) objects[slot]);
+      case TIMESTAMP:
+        return isNull
+            ? TimestampColumn.ofNull(columnName)
+            : TimestampColumn.of(columnName, (LocalDateTime) objects[slot]);
+      case TIMESTAMPTZ:
+        return isNull
+            ? TimestampTZColumn.ofNull(columnName)
+            : TimestampTZColumn.of(columnName, (Instant) objects[slot]);
+      default:
+        throw new AssertionError();
+    }
+  }
+
+  private int indexOf(String columnName) {
+    int index = dictionary.indexOf(columnName);
+    if (index == -1) {
+      throw new IllegalArgumentException(CoreError.COLUMN_NOT_FOUND.buildMessage(columnName));
+    }
+    return index;
+  }
+
+  private int slotOf(String columnName, DataType dataType) {
+    int index = indexOf(columnName);
+    DataType actual = dictionary.getDataType(index);
+    if (actual != dataType) {
+      // Throw the same exception as Column
+      throw new UnsupportedOperationException("The data type of this column is " + actual);
+    }
+    return dictionary.getSlot(index);
+  }
+
+  private boolean isNull(int index) {
+    int slot = dictionary.getSlot(index);
+    if (dictionary.isPrimitive(index)) {
+      return (nullBits[slot >>> 6] & (1L << slot)) != 0;
+    }
+    return objects[slot] == null;
+  }
+
+  /**
+   * A builder of {@link CompactResult}. The values are set with the positions of the columns in the
+   * column dictionary. A builder can build only one result since the arrays are handed over to the
+   * result without copying.
+   */
+  @NotThreadSafe
+  public static class Builder {
+    private final ColumnDictionary dictionary;
+    private final long[] values;
+    private final long[] nullBits;
+    private final Object[] objects;
+
+    private Builder(ColumnDictionary dictionary) {
+      this.dictionary = dictionary;
+      values = new long[dictionary.getPrimitiveSlotCount()];
+      nullBits = new long[(dictionary.getPrimitiveSlotCount() + 63) >>> 6];
+      objects = new Object[dictionary.getObjectSlotCount()];
+    }
+
+    public Builder booleanValue(int index, boolean value) {
+      values[slotOf(index, DataType.BOOLEAN)] = value ? 1 : 0;
+      return this;
+    }
+
+    public Builder intValue(int index, int value) {
+      values[slotOf(index, DataType.INT)] = value;
+      return this;
+    }
+
+    public Builder bigIntValue(int index, long value) {
+      values[slotOf(index, DataType.BIGINT)] = value;
+      return this;
+    }
+
+    public Builder floatValue(int index, float value) {
+      values[slotOf(index, DataType.FLOAT)] = Float.floatToIntBits(value);
+      return this;
+    }
+
+    public Builder doubleValue(int index, double value) {
+      values[slotOf(index, DataType.DOUBLE)] = Double.doubleToLongBits(value);
+      return this;
+    }
+
+    public Builder textValue(int index, @Nullable String value) {
+      objects[slotOf(index, DataType.TEXT)] = value;
+      return this;
+    }
+
+    /**
+     * Sets the value of a BLOB column. The specified array is not copied, so it must not be
+     * modified after this.
+     *
+     * @param index the position of the column in the column dictionary
+     * @param value the value of the column
+     * @return this builder
+     */
+    public Builder blobValue(int index, @Nullable byte[] value) {
+      objects[slotOf(index, DataType.BLOB)] = value;
+      return this;
+    }
+
+    public Builder blobValue(int index, @Nullable ByteBuffer value) {
+      if (value == null) {
+        return blobValue(index, (byte[]) null);
+      }
+      byte[] bytes = new byte[value.remaining()];
+      value.duplicate().get(bytes);
+      return blobValue(index, bytes);
+    }
+
+    public Builder dateValue(int index, @Nullable LocalDate value) {
+      objects[slotOf(index, DataType.DATE)] = value;
+      return this;
+    }
+
+    public Builder timeValue(int index, @Nullable LocalTime value) {
+      objects[slotOf(index, DataType.TIME)] = value;
+      return this;
+    }
+
+    public Builder timestampValue(int index, @Nullable LocalDateTime value) {
+      objects[slotOf(index, DataType.TIMESTAMP)] = value;
+      return this;
+    }
+
+    public Builder timestampTZValue(int index, @Nullable Instant value) {
+      objects[slotOf(index, DataType.TIMESTAMPTZ)] = value;
+      return this;
+    }
+
+    public Builder nullValue(int index) {
+      int slot = dictionary.getSlot(index);
+      if (dictionary.isPrimitive(index)) {
+        values[slot] = 0;
+        nullBits[slot >>> 6] |= 1L << slot;
+      } else {
+        objects[slot] = null;
+      }
+      return this;
+    }
+
+    public Builder value(int index, Column<?> column) {
+      if (column.hasNullValue()) {
+        return nullValue(index);
+      }
+      switch (column.getDataType()) {
+        case BOOLEAN:
+          return booleanValue(index, column.getBooleanValue());
+        case INT:
+          return intValue(index, column.getIntValue());
+        case BIGINT:
+          return bigIntValue(index, column.getBigIntValue());
+        case FLOAT:
+          return floatValue(index, column.getFloatValue());
+        case DOUBLE:
+          return doubleValue(index, column.getDoubleValue());
+        case TEXT:
+          return textValue(index, column.getTextValue());
+        case BLOB:
+          return blobValue(index, column.getBlobValueAsBytes());
+        case DATE:
+          return dateValue(index, column.getDateValue());
+        case TIME:
+          return timeValue(index, column.getTimeValue());
+        case TIMESTAMP:
+          return timestampValue(index, column.getTimestampValue());
+        case TIMESTAMPTZ:
+          return timestampTZValue(index, column.getTimestampTZValue());
+        default:
+          throw new AssertionError();
+      }
+    }
+
+    public CompactResult build() {
+      return new CompactResult(dictionary, values, nullBits, objects);
+    }
+
+    private int slotOf(int index, DataType dataType) {
+      assert dictionary.getDataType(index) == dataType;
+      return dictionary.getSlot(index);
+    }
+  }
+}
@@ -78,6 +78,11 @@ public abstract class DecoratedDistributedTransaction implements DistributedTran
     return transaction.scan(scan);
   }
 
+  @Override
+  public Scanner getScanner(Scan scan) throws CrudException {
+    return transaction.getScanner(scan);
+  }
+
   /** @deprecated As of release 3.13.0. Will be removed in release 5.0.0. */
   @Deprecated
   @Override
@@ -51,7 +51,7 @@ public class FilterableScanner implements Scanner {
           if (left != null) {
             left--;
           }
-          return Optional.of(new ProjectedResult(one.get(), projections));
+          return Optional.of(project(one.get()));
         }
       } else {
         return Optional.empty();
@@ -72,6 +72,14 @@ public class FilterableScanner implements Scanner {
     return ret;
   }
 
+  private Result project(Result result) {
+    if (result instanceof CompactResult) {
+      // A compact result can be projected without wrapping it
+      return ((CompactResult) result).project(projections);
+    }
+    return new ProjectedResult(result, projections);
+  }
+
   @Override
   @Nonnull
   public Iterator<Result> iterator() {
@@ -0,0 +1,161 @@
+package com.scalar.db.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.ToIntFunction;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An iterator over the pages of a paginated read that fetches the pages ahead of the consumer in a
+ * separate thread, so that the consumer doesn't wait for a round trip at every page boundary.
+ *
+ * <p>The read-ahead is bounded both by the number of pages and by the number of records buffered.
+ * The producer fetches a page and then waits until the buffer has room for it, so at most one page
+ * beyond the bounds is held in memory. A page that is larger than the record bound by itself is
+ * buffered only when the buffer is empty.
+ *
+ * <p>The specified iterator is only accessed by the producer thread. An exception thrown from it
+ * is rethrown to the consumer in the order of the pages, wrapped in a {@code RuntimeException} if
+ * it's not a runtime exception. {@link #close()} cancels the producer,
+ * interrupting a fetch in progress, and releases the buffered pages.
+ *
+ * @param <P> the type of the pages
+ */
+@NotThreadSafe
+public final class PrefetchingPageIterator<P> implements Iterator<P> {
+
+  private final int maxBufferedRecords;
+  private final ToIntFunction<P> recordCounter;
+  private final BlockingQueue<Element<P>> queue;
+  private final Semaphore bufferedRecords;
+  private final Future<?> producer;
+
+  @Nullable private Element<P> nextElement;
+  private boolean closed;
+
+  /**
+   * Creates a {@code PrefetchingPageIterator} and starts fetching the pages
+   *
+   * @param pages an iterator over the pages
+   * @param recordCounter a function that returns the number of records in a page
+   * @param maxBufferedPages the maximum number of pages buffered ahead of the consumer
+   * @param maxBufferedRecords the maximum number of records buffered ahead of the consumer
+   * @param executorService an executor service to fetch the pages
+   */
+  public PrefetchingPageIterator(
+      Iterator<P> pages,
+      ToIntFunction<P> recordCounter,
+      int maxBufferedPages,
+      int maxBufferedRecords,
+      ExecutorService executorService) {
+    checkArgument(maxBufferedPages > 0, "maxBufferedPages must be positive");
+    checkArgument(maxBufferedRecords > 0, "maxBufferedRecords must be positive");
+    this.maxBufferedRecords = maxBufferedRecords;
+    this.recordCounter = recordCounter;
+    // One extra slot for the end mark or an exception
+    queue = new ArrayBlockingQueue<>(maxBufferedPages + 1);
+    bufferedRecords = new Semaphore(maxBufferedRecords);
+    producer = executorService.submit(() -> produce(pages));
+  }
+
+  private void produce(Iterator<P> pages) {
+    try {
+      while (pages.hasNext()) {
+        P page = pages.next();
+        int permits = permits(page);
+        bufferedRecords.acquire(permits);
+        queue.put(new Element<>(page, permits, null));
+      }
+      queue.put(Element.end());
+    } catch (InterruptedException e) {
+      // The iterator is closed
+      Thread.currentThread().interrupt();
+    } catch (Throwable t) {
+      // Deliver any failure, including an error, so that the consumer doesn't wait forever
+      RuntimeException exception =
+          t instanceof RuntimeException ? (RuntimeException) t : new RuntimeException(t);
+      try {
+        queue.put(new Element<>(null, 0, exception));
+      } catch (InterruptedException ignored) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private int permits(P page) {
+    // Cap the permits so that a page larger than the bound can still be buffered alone
+    return Math.min(recordCounter.applyAsInt(page), maxBufferedRecords);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (closed) {
+      return false;
+    }
+    if (nextElement == null) {
+      nextElement = Uninterruptibles.takeUninterruptibly(queue);
+      bufferedRecords.release(nextElement.permits);
+    }
+    if (nextElement.exception != null) {
+      RuntimeException exception = nextElement.exception;
+      close();
+      throw exception;
+    }
+    if (nextElement.page == null) {
+      close();
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public P next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    assert nextElement != null && nextElement.page != null;
+    P page = nextElement.page;
+    nextElement = null;
+    return page;
+  }
+
+  /** Cancels fetching the pages and releases the buffered pages. */
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    producer.cancel(true);
+    nextElement = null;
+    queue.clear();
+  }
+
+  private static final class Element<P> {
+    @SuppressWarnings("rawtypes")
+    private static final Element END = new Element<>(null, 0, null);
+
+    @Nullable private final P page;
+    private final int permits;
+    @Nullable private final RuntimeException exception;
+
+    private Element(@Nullable P page, int permits, @Nullable RuntimeException exception) {
+      this.page = page;
+      this.permits = permits;
+      this.exception = exception;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <P> Element<P> end() {
+      return (Element<P>) END;
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package com.scalar.db.common;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import com.scalar.db.api.Result;
 import com.scalar.db.common.error.CoreError;
 import com.scalar.db.io.Column;
@@ -12,11 +13,9 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
@@ -170,8 +169,7 @@ public class ProjectedResult extends AbstractResult {
 
   @Override
   public Map<String, Column<?>> getColumns() {
-    return original.getColumns().entrySet().stream()
-        .filter(e -> containedColumnNames.contains(e.getKey()))
-        .collect(Collectors.toMap(Entry::getKey, Entry::getValue));
+    // Return a view of the original columns without copying them
+    return Maps.filterKeys(original.getColumns(), containedColumnNames::contains);
   }
 }
@@ -92,6 +92,12 @@ public abstract class TransactionDecorationTwoPhaseCommitTransactionManager
       return super.scan(scan);
     }
 
+    @Override
+    public Scanner getScanner(Scan scan) throws CrudException {
+      checkIfActive();
+      return super.getScanner(scan);
+    }
+
     /** @deprecated As of release 3.13.0. Will be removed in release 5.0.0. */
     @Deprecated
     @Override
@@ -760,6 +760,30 @@ public enum CoreError implements ScalarDbError {
       "The underlying-storage data type %s is not supported as the ScalarDB %s data type: %s",
       "",
       ""),
+  CONSENSUS_COMMIT_INVALID_RECOVERY_SWEEPER_TABLE_FORMAT(
+      Category.USER_ERROR,
+      "0165",
+      "The table for the recovery sweeper must be specified in the format of <namespace>.<table>. Table: %s",
+      "",
+      ""),
+  DYNAMO_INVALID_PARALLEL_SCAN_SEGMENTS(
+      Category.USER_ERROR,
+      "0166",
+      "The number of parallel scan segments must be between 1 and 1000000. Segments: %d",
+      "",
+      ""),
+  CONSENSUS_COMMIT_INVALID_COORDINATOR_SHARDS(
+      Category.USER_ERROR,
+      "0167",
+      "The number of the Coordinator table shards must be at least 1. Shards: %d",
+      "",
+      ""),
+  CONSENSUS_COMMIT_COORDINATOR_SHARDS_MISMATCH(
+      Category.USER_ERROR,
+      "0168",
+      "The number of the Coordinator table shards is different from the provisioned one. The shards can't be changed while the Coordinator tables exist. Shards: %d",
+      "",
+      ""),
 
   //
   // Errors for the concurrency error category
@@ -871,6 +895,8 @@ public enum CoreError implements ScalarDbError {
       "A transaction conflict occurred in the Insert operation",
       "",
       ""),
+  CONSENSUS_COMMIT_CONFLICT_OCCURRED_WHEN_COMMITTING_RECORDS(
+      Category.CONCURRENCY_ERROR, "0026", "A conflict occurred when committing records", "", ""),
 
   //
   // Errors for the internal error category
@@ -1041,6 +1067,8 @@ public enum CoreError implements ScalarDbError {
       "Aborting state failed with NoMutationException, but the coordinator status does not exist",
       "",
       ""),
+  CONSENSUS_COMMIT_COMMITTING_RECORDS_FAILED(
+      Category.UNKNOWN_TRANSACTION_STATUS_ERROR, "0005", "Committing records failed", "", ""),
   ;
 
   private static final String COMPONENT_NAME = "DB-CORE";
@@ -67,6 +67,11 @@ public class StorageService implements DistributedStorage {
     return storage.get(get);
   }
 
+  @Override
+  public List<Optional<Result>> get(List<Get> gets) throws ExecutionException {
+    return storage.get(gets);
+  }
+
   @Override
   public Scanner scan(Scan scan) throws ExecutionException {
     return storage.scan(scan);
@@ -5,16 +5,22 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.WriteType;
 import com.datastax.driver.core.exceptions.WriteTimeoutException;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.scalar.db.api.Mutation;
 import com.scalar.db.common.error.CoreError;
 import com.scalar.db.exception.storage.NoMutationException;
 import com.scalar.db.exception.storage.RetriableExecutionException;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,30 +61,101 @@ public class BatchHandler {
   public void handle(List<? extends Mutation> mutations)
       throws RetriableExecutionException, NoMutationException {
     try {
-      ResultSet results = execute(mutations);
-      // it's for conditional update. non-conditional update always return true
-      if (!results.wasApplied()) {
-        throw new NoMutationException(CoreError.NO_MUTATION_APPLIED.buildMessage());
+      ResultSet results = session.execute(compose(mutations));
+      checkApplied(results);
+    } catch (RuntimeException e) {
+      RetriableExecutionException exception = toRetriableExecutionException(e);
+      if (exception != null) {
+        throw exception;
       }
-    } catch (WriteTimeoutException e) {
+    }
+  }
+
+  /**
+   * Execute the specified list of {@link Mutation}s in batch asynchronously. All the {@link
+   * Mutation}s in the list must be for the same partition. The returned future is completed
+   * exceptionally with the same exceptions as {@link #handle(List)}.
+   *
+   * @param mutations a list of {@code Mutation}s to execute
+   * @return a future completed when the batch finishes
+   */
+  public CompletableFuture<Void> handleAsync(List<? extends Mutation> mutations) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    ResultSetFuture resultSetFuture;
+    try {
+      resultSetFuture = session.executeAsync(compose(mutations));
+    } catch (RuntimeException e) {
+      completeExceptionally(future, e);
+      return future;
+    }
+
+    Futures.addCallback(
+        resultSetFuture,
+        new FutureCallback<ResultSet>() {
+          @Override
+          public void onSuccess(ResultSet results) {
+            try {
+              checkApplied(results);
+              future.complete(null);
+            } catch (NoMutationException e) {
+              future.completeExceptionally(e);
+            }
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            if (t instanceof RuntimeException) {
+              completeExceptionally(future, (RuntimeException) t);
+            } else {
+              future.completeExceptionally(t);
+            }
+          }
+        },
+        MoreExecutors.directExecutor());
+    return future;
+  }
+
+  private void completeExceptionally(CompletableFuture<Void> future, RuntimeException e) {
+    RetriableExecutionException exception = toRetriableExecutionException(e);
+    if (exception != null) {
+      future.completeExceptionally(exception);
+    } else {
+      future.complete(null);
+    }
+  }
+
+  private void checkApplied(ResultSet results) throws NoMutationException {
+    // it's for conditional update. non-conditional update always return true
+    if (!results.wasApplied()) {
+      throw new NoMutationException(CoreError.NO_MUTATION_APPLIED.buildMessage());
+    }
+  }
+
+  /**
+   * Translates the specified exception thrown by the driver. Returns null if the batch is
+   * regarded as succeeded, i.e., the batch log was written, so the batch is eventually applied.
+   */
+  @Nullable
+  private RetriableExecutionException toRetriableExecutionException(RuntimeException e) {
+    if (e instanceof WriteTimeoutException) {
       logger.warn("Write timeout happened during batch mutate operation", e);
-      WriteType writeType = e.getWriteType();
+      WriteType writeType = ((WriteTimeoutException) e).getWriteType();
       if (writeType == WriteType.BATCH_LOG) {
-        throw new RetriableExecutionException(
+        return new RetriableExecutionException(
             CoreError.CASSANDRA_LOGGING_FAILED_IN_BATCH.buildMessage(), e);
       } else if (writeType == WriteType.BATCH) {
         logger.warn("Logging succeeded, but mutations in the batch partially failed", e);
+        return null;
       } else {
-        throw new RetriableExecutionException(
+        return new RetriableExecutionException(
             CoreError.CASSANDRA_OPERATION_FAILED_IN_BATCH.buildMessage(writeType), e);
       }
-    } catch (RuntimeException e) {
-      throw new RetriableExecutionException(
-          CoreError.CASSANDRA_ERROR_OCCURRED_IN_BATCH.buildMessage(e.getMessage()), e);
     }
+    return new RetriableExecutionException(
+        CoreError.CASSANDRA_ERROR_OCCURRED_IN_BATCH.buildMessage(e.getMessage()), e);
   }
 
-  private ResultSet execute(List<? extends Mutation> mutations) {
+  private BatchStatement compose(List<? extends Mutation> mutations) {
     BatchStatement batch = new BatchStatement();
     BatchComposer composer = new BatchComposer(batch, handlers);
 
@@ -94,7 +171,7 @@ public class BatchHandler {
     if (conditional) {
       setConsistencyForConditionalMutation(batch);
     }
-    return session.execute(batch);
+    return batch;
   }
 
   @VisibleForTesting
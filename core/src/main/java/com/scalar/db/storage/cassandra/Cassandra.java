@@ -4,15 +4,22 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import com.datastax.driver.core.Session;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.inject.Inject;
+import com.scalar.db.api.AsyncDistributedStorage;
 import com.scalar.db.api.Delete;
+import com.scalar.db.api.DeleteBuilder;
 import com.scalar.db.api.DistributedStorage;
 import com.scalar.db.api.Get;
+import com.scalar.db.api.GetBuilder;
 import com.scalar.db.api.Mutation;
 import com.scalar.db.api.Put;
 import com.scalar.db.api.Result;
 import com.scalar.db.api.Scan;
 import com.scalar.db.api.Scanner;
+import com.scalar.db.api.Selection;
+import com.scalar.db.api.TableMetadata;
 import com.scalar.db.common.AbstractDistributedStorage;
 import com.scalar.db.common.FilterableScanner;
 import com.scalar.db.common.TableMetadataManager;
@@ -20,27 +27,37 @@ import com.scalar.db.common.checker.OperationChecker;
 import com.scalar.db.common.error.CoreError;
 import com.scalar.db.config.DatabaseConfig;
 import com.scalar.db.exception.storage.ExecutionException;
+import com.scalar.db.io.Key;
+import com.scalar.db.io.TextColumn;
+import com.scalar.db.util.CompletableFutures;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * A storage implementation with Cassandra for {@link DistributedStorage}.
+ * A storage implementation with Cassandra for {@link DistributedStorage}. It also implements
+ * {@link AsyncDistributedStorage} natively with the asynchronous API of the driver.
  *
  * @author Hiroyuki Yamada
  */
 @ThreadSafe
-public class Cassandra extends AbstractDistributedStorage {
+public class Cassandra extends AbstractDistributedStorage implements AsyncDistributedStorage {
   private static final Logger logger = LoggerFactory.getLogger(Cassandra.class);
   private final StatementHandlerManager handlers;
   private final BatchHandler batch;
   private final ClusterManager clusterManager;
   private final TableMetadataManager metadataManager;
   private final OperationChecker operationChecker;
+  private final boolean scanPrefetchEnabled;
+  private final StatementCache statementCache;
 
   @Inject
   public Cassandra(DatabaseConfig config) {
@@ -54,22 +71,32 @@ public class Cassandra extends AbstractDistributedStorage {
     clusterManager = new ClusterManager(config);
     Session session = clusterManager.getSession();
 
+    CassandraConfig cassandraConfig = new CassandraConfig(config);
+    scanPrefetchEnabled = cassandraConfig.isScanPrefetchEnabled();
+
+    // The handlers share a statement cache since their statements never conflict
+    statementCache = new StatementCache(cassandraConfig.getStatementCacheSize());
     handlers =
         StatementHandlerManager.builder()
-            .select(new SelectStatementHandler(session))
-            .insert(new InsertStatementHandler(session))
-            .update(new UpdateStatementHandler(session))
-            .delete(new DeleteStatementHandler(session))
+            .select(
+                new SelectStatementHandler(
+                    session, statementCache, cassandraConfig.getScanFetchSize()))
+            .insert(new InsertStatementHandler(session, statementCache))
+            .update(new UpdateStatementHandler(session, statementCache))
+            .delete(new DeleteStatementHandler(session, statementCache))
             .build();
 
     batch = new BatchHandler(session, handlers);
     logger.info("Cassandra object is created properly");
 
+    CassandraAdmin admin = new CassandraAdmin(clusterManager, config);
     metadataManager =
-        new TableMetadataManager(
-            new CassandraAdmin(clusterManager, config),
-            config.getMetadataCacheExpirationTimeSecs());
+        new TableMetadataManager(admin, config.getMetadataCacheExpirationTimeSecs());
     operationChecker = new OperationChecker(config, metadataManager);
+
+    if (cassandraConfig.isStatementCachePrewarmEnabled()) {
+      prewarmStatementCache(admin);
+    }
   }
 
   @VisibleForTesting
@@ -86,6 +113,68 @@ public class Cassandra extends AbstractDistributedStorage {
     this.batch = batch;
     this.metadataManager = metadataManager;
     this.operationChecker = operationChecker;
+    scanPrefetchEnabled = false;
+    statementCache = new StatementCache();
+  }
+
+  /**
+   * Prepares the statements to get, scan and delete records by their keys for all the tables so
+   * that the first operations on the tables don't need to wait for preparing them. A failure is
+   * only logged since the statements are prepared on demand anyway.
+   */
+  @VisibleForTesting
+  void prewarmStatementCache(CassandraAdmin admin) {
+    int tableCount = 0;
+    try {
+      for (String namespace : admin.getNamespaceNames()) {
+        for (String table : admin.getNamespaceTableNames(namespace)) {
+          TableMetadata tableMetadata = admin.getTableMetadata(namespace, table);
+          if (tableMetadata == null) {
+            continue;
+          }
+          // Only the names of the key columns matter for preparing statements
+          Key partitionKey = toKeyOfNulls(tableMetadata.getPartitionKeyNames());
+          GetBuilder.BuildableGetWithPartitionKey get =
+              Get.newBuilder().namespace(namespace).table(table).partitionKey(partitionKey);
+          DeleteBuilder.Buildable delete =
+              Delete.newBuilder().namespace(namespace).table(table).partitionKey(partitionKey);
+          if (!tableMetadata.getClusteringKeyNames().isEmpty()) {
+            Key clusteringKey = toKeyOfNulls(tableMetadata.getClusteringKeyNames());
+            get.clusteringKey(clusteringKey);
+            delete.clusteringKey(clusteringKey);
+          }
+          handlers.select().prepare(get.build());
+          handlers
+              .select()
+              .prepare(
+                  Scan.newBuilder()
+                      .namespace(namespace)
+                      .table(table)
+                      .partitionKey(partitionKey)
+                      .build());
+          handlers.delete().prepare(delete.build());
+          tableCount++;
+        }
+      }
+      logger.info("Prepared the statements of {} tables for the statement cache", tableCount);
+    } catch (ExecutionException | RuntimeException e) {
+      logger.warn("Failed to pre-warm the statement cache", e);
+    }
+  }
+
+  private Key toKeyOfNulls(Collection<String> columnNames) {
+    Key.Builder builder = Key.newBuilder();
+    columnNames.forEach(n -> builder.add(TextColumn.ofNull(n)));
+    return builder.build();
+  }
+
+  /**
+   * Returns the metrics of the statement cache shared by the statement handlers
+   *
+   * @return the metrics of the statement cache
+   */
+  public StatementCache.Metrics getStatementCacheMetrics() {
+    return statementCache.getMetrics();
   }
 
   @Override
@@ -118,6 +207,36 @@ public class Cassandra extends AbstractDistributedStorage {
     }
   }
 
+  @Override
+  @Nonnull
+  public List<Optional<Result>> get(List<Get> gets) throws ExecutionException {
+    if (gets.size() == 1) {
+      return Collections.singletonList(get(gets.get(0)));
+    }
+
+    // Send all the gets concurrently with the asynchronous API of the driver so that they take
+    // about a single round trip in total
+    List<CompletableFuture<Optional<Result>>> futures = new ArrayList<>(gets.size());
+    for (Get get : gets) {
+      futures.add(getAsync(get));
+    }
+
+    List<Optional<Result>> results = new ArrayList<>(gets.size());
+    for (CompletableFuture<Optional<Result>> future : futures) {
+      try {
+        results.add(Uninterruptibles.getUninterruptibly(future));
+      } catch (java.util.concurrent.ExecutionException e) {
+        Throwable cause = CompletableFutures.unwrap(e);
+        if (cause instanceof ExecutionException) {
+          throw (ExecutionException) cause;
+        }
+        Throwables.throwIfUnchecked(cause);
+        throw new AssertionError("Can't reach here. Maybe a bug", cause);
+      }
+    }
+    return results;
+  }
+
   private Scanner getInternal(Get get) throws ExecutionException {
     return new ScannerImpl(
         handlers.select().handle(get),
@@ -138,9 +257,12 @@ public class Cassandra extends AbstractDistributedStorage {
   }
 
   private Scanner scanInternal(Scan scan) throws ExecutionException {
+    // Start fetching the next page when the scanner starts consuming the last fetched page
+    int prefetchThreshold = scanPrefetchEnabled ? handlers.select().getFetchSize(scan) : 0;
     return new ScannerImpl(
         handlers.select().handle(scan),
-        new ResultInterpreter(scan.getProjections(), metadataManager.getTableMetadata(scan)));
+        new ResultInterpreter(scan.getProjections(), metadataManager.getTableMetadata(scan)),
+        prefetchThreshold);
   }
 
   @Override
@@ -186,8 +308,134 @@ public class Cassandra extends AbstractDistributedStorage {
     batch.handle(mutations);
   }
 
+  @Override
+  public CompletableFuture<Optional<Result>> getAsync(Get get) {
+    Get checked;
+    try {
+      checked = copyAndSetTargetToIfNot(get);
+      operationChecker.check(checked);
+    } catch (ExecutionException | RuntimeException e) {
+      return CompletableFutures.failedFuture(e);
+    }
+
+    Get actual =
+        checked.getConjunctions().isEmpty() ? checked : copyAndPrepareForDynamicFiltering(checked);
+    return selectAsync(actual)
+        .thenCompose(
+            scanner -> {
+              if (!checked.getConjunctions().isEmpty()) {
+                scanner = new FilterableScanner(checked, scanner);
+              }
+              try {
+                Optional<Result> ret = scanner.one();
+                if (scanner.one().isPresent()) {
+                  return CompletableFutures.failedFuture(
+                      new IllegalArgumentException(
+                          CoreError.GET_OPERATION_USED_FOR_NON_EXACT_MATCH_SELECTION.buildMessage(
+                              checked)));
+                }
+                return CompletableFuture.completedFuture(ret);
+              } catch (ExecutionException | RuntimeException e) {
+                return CompletableFutures.failedFuture(e);
+              } finally {
+                try {
+                  scanner.close();
+                } catch (IOException e) {
+                  logger.warn("Failed to close the scanner", e);
+                }
+              }
+            });
+  }
+
+  @Override
+  public CompletableFuture<List<Result>> scanAsync(Scan scan) {
+    Scan checked;
+    try {
+      checked = copyAndSetTargetToIfNot(scan);
+      operationChecker.check(checked);
+    } catch (ExecutionException | RuntimeException e) {
+      return CompletableFutures.failedFuture(e);
+    }
+
+    Scan actual =
+        checked.getConjunctions().isEmpty() ? checked : copyAndPrepareForDynamicFiltering(checked);
+    return selectAsync(actual)
+        .thenApply(
+            scanner -> {
+              if (!checked.getConjunctions().isEmpty()) {
+                scanner = new FilterableScanner(checked, scanner);
+              }
+              List<Result> results = new ArrayList<>();
+              scanner.forEach(results::add);
+              return results;
+            });
+  }
+
+  // The result set is fully fetched when the future is completed, so reading it doesn't block
+  private CompletableFuture<Scanner> selectAsync(Selection selection) {
+    ResultInterpreter interpreter;
+    try {
+      interpreter =
+          new ResultInterpreter(
+              selection.getProjections(), metadataManager.getTableMetadata(selection));
+    } catch (ExecutionException e) {
+      return CompletableFutures.failedFuture(e);
+    }
+    return handlers
+        .select()
+        .handleAsync(selection)
+        .thenApply(resultSet -> new ScannerImpl(resultSet, interpreter));
+  }
+
+  @Override
+  public CompletableFuture<Void> putAsync(Put put) {
+    try {
+      put = copyAndSetTargetToIfNot(put);
+      operationChecker.check(put);
+      return handlers.get(put).handleAsync(put).thenApply(r -> null);
+    } catch (ExecutionException | RuntimeException e) {
+      return CompletableFutures.failedFuture(e);
+    }
+  }
+
+  @Override
+  public CompletableFuture<Void> deleteAsync(Delete delete) {
+    try {
+      delete = copyAndSetTargetToIfNot(delete);
+      operationChecker.check(delete);
+      return handlers.delete().handleAsync(delete).thenApply(r -> null);
+    } catch (ExecutionException | RuntimeException e) {
+      return CompletableFutures.failedFuture(e);
+    }
+  }
+
+  @Override
+  public CompletableFuture<Void> mutateAsync(List<? extends Mutation> mutations) {
+    if (mutations.isEmpty()) {
+      return CompletableFutures.failedFuture(
+          new IllegalArgumentException(CoreError.EMPTY_MUTATIONS_SPECIFIED.buildMessage()));
+    }
+    if (mutations.size() == 1) {
+      Mutation mutation = mutations.get(0);
+      if (mutation instanceof Put) {
+        return putAsync((Put) mutation);
+      } else if (mutation instanceof Delete) {
+        return deleteAsync((Delete) mutation);
+      }
+    }
+
+    try {
+      mutations = copyAndSetTargetToIfNot(mutations);
+      operationChecker.check(mutations);
+      return batch.handleAsync(mutations);
+    } catch (ExecutionException | RuntimeException e) {
+      return CompletableFutures.failedFuture(e);
+    }
+  }
+
   @Override
   public void close() {
+    logger.info("Statement cache metrics: {}", statementCache.getMetrics());
     clusterManager.close();
   }
 }
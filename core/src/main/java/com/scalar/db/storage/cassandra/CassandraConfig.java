@@ -1,11 +1,35 @@
 package com.scalar.db.storage.cassandra;
 
+import static com.scalar.db.config.ConfigUtils.getBoolean;
+import static com.scalar.db.config.ConfigUtils.getInt;
+
 import com.scalar.db.config.DatabaseConfig;
 
 public class CassandraConfig {
   public static final String STORAGE_NAME = "cassandra";
   public static final String PREFIX = DatabaseConfig.PREFIX + STORAGE_NAME + ".";
+
+  // The number of rows fetched in a page by a scan. 0 means the default of the driver. A scan with
+  // a smaller limit fetches the limit number of rows instead
+  public static final String SCAN_FETCH_SIZE = PREFIX + "scan_fetch_size";
+
+  // If enabled, a scanner fetches the next page in the background when it starts consuming the
+  // last fetched page
+  public static final String SCAN_PREFETCH = PREFIX + "scan_prefetch";
+
+  // The maximum number of prepared statements cached. If pre-warming is enabled, the statements to
+  // get, scan and delete records by their keys are prepared for all the tables at startup
+  public static final String STATEMENT_CACHE_SIZE = PREFIX + "statement_cache.size";
+  public static final String STATEMENT_CACHE_PREWARM = PREFIX + "statement_cache.prewarm";
+
+  public static final int DEFAULT_SCAN_FETCH_SIZE = 0;
+  public static final int DEFAULT_STATEMENT_CACHE_SIZE = 1024;
+
   private final String metadataKeyspace;
+  private final int scanFetchSize;
+  private final boolean scanPrefetch;
+  private final int statementCacheSize;
+  private final boolean statementCachePrewarm;
 
   public CassandraConfig(DatabaseConfig databaseConfig) {
     String storage = databaseConfig.getStorage();
@@ -14,9 +38,38 @@ public class CassandraConfig {
           DatabaseConfig.STORAGE + " should be '" + STORAGE_NAME + "'");
     }
     metadataKeyspace = databaseConfig.getSystemNamespaceName();
+    scanFetchSize =
+        Math.max(
+            0, getInt(databaseConfig.getProperties(), SCAN_FETCH_SIZE, DEFAULT_SCAN_FETCH_SIZE));
+    scanPrefetch = getBoolean(databaseConfig.getProperties(), SCAN_PREFETCH, false);
+    statementCacheSize =
+        Math.max(
+            1,
+            getInt(
+                databaseConfig.getProperties(),
+                STATEMENT_CACHE_SIZE,
+                DEFAULT_STATEMENT_CACHE_SIZE));
+    statementCachePrewarm =
+        getBoolean(databaseConfig.getProperties(), STATEMENT_CACHE_PREWARM, false);
   }
 
   public String getMetadataKeyspace() {
     return metadataKeyspace;
   }
+
+  public int getScanFetchSize() {
+    return scanFetchSize;
+  }
+
+  public boolean isScanPrefetchEnabled() {
+    return scanPrefetch;
+  }
+
+  public int getStatementCacheSize() {
+    return statementCacheSize;
+  }
+
+  public boolean isStatementCachePrewarmEnabled() {
+    return statementCachePrewarm;
+  }
 }
@@ -30,6 +30,17 @@ public class DeleteStatementHandler extends MutateStatementHandler {
     super(session);
   }
 
+  /**
+   * Constructs a {@code DeleteStatementHandler} with the specified {@code Session} and {@code
+   * StatementCache}
+   *
+   * @param session session to be used with this statement
+   * @param cache a cache for the prepared statements
+   */
+  public DeleteStatementHandler(Session session, StatementCache cache) {
+    super(session, cache);
+  }
+
   @Override
   @Nonnull
   protected PreparedStatement prepare(Operation operation) {
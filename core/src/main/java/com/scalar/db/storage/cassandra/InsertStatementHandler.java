@@ -31,6 +31,17 @@ public class InsertStatementHandler extends MutateStatementHandler {
     super(session);
   }
 
+  /**
+   * Constructs an {@code InsertStatementHandler} with the specified {@code Session} and {@code
+   * StatementCache}
+   *
+   * @param session session to be used with this statement
+   * @param cache a cache for the prepared statements
+   */
+  public InsertStatementHandler(Session session, StatementCache cache) {
+    super(session, cache);
+  }
+
   @Override
   @Nonnull
   protected PreparedStatement prepare(Operation operation) {
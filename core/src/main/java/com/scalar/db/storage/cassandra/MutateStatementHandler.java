@@ -3,16 +3,21 @@ package com.scalar.db.storage.cassandra;
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.WriteType;
 import com.datastax.driver.core.exceptions.WriteTimeoutException;
 import com.datastax.driver.core.querybuilder.BuiltStatement;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.scalar.db.api.Mutation;
 import com.scalar.db.api.Operation;
 import com.scalar.db.common.error.CoreError;
 import com.scalar.db.exception.storage.ExecutionException;
 import com.scalar.db.exception.storage.NoMutationException;
 import com.scalar.db.exception.storage.RetriableExecutionException;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -23,6 +28,10 @@ public abstract class MutateStatementHandler extends StatementHandler {
     super(session);
   }
 
+  public MutateStatementHandler(Session session, StatementCache cache) {
+    super(session, cache);
+  }
+
   /**
    * Executes the specified {@link Mutation} {@link Operation}
    *
@@ -35,40 +44,93 @@ public abstract class MutateStatementHandler extends StatementHandler {
   @Override
   @Nonnull
   public ResultSet handle(Operation operation) throws ExecutionException {
+    Mutation mutation = (Mutation) operation;
     try {
       ResultSet results = handleInternal(operation);
-
-      Mutation mutation = (Mutation) operation;
-      if (mutation.getCondition().isPresent() && !results.one().getBool(0)) {
-        throw new NoMutationException(CoreError.NO_MUTATION_APPLIED.buildMessage());
-      }
+      checkApplied(mutation, results);
       return results;
-    } catch (WriteTimeoutException e) {
-      if (e.getWriteType() == WriteType.CAS) {
+    } catch (RuntimeException e) {
+      throw toExecutionException(mutation, e);
+    }
+  }
+
+  /**
+   * Executes the specified {@link Mutation} {@link Operation} asynchronously. The returned future
+   * is completed exceptionally with the same exceptions as {@link #handle(Operation)}.
+   *
+   * @param operation {@link Mutation} operation
+   * @return a future of a {@code ResultSet}
+   */
+  @Override
+  @Nonnull
+  public CompletableFuture<ResultSet> handleAsync(Operation operation) {
+    Mutation mutation = (Mutation) operation;
+    CompletableFuture<ResultSet> future = new CompletableFuture<>();
+    ResultSetFuture resultSetFuture;
+    try {
+      resultSetFuture = handleInternalAsync(operation);
+    } catch (RuntimeException e) {
+      future.completeExceptionally(toExecutionException(mutation, e));
+      return future;
+    }
+
+    Futures.addCallback(
+        resultSetFuture,
+        new FutureCallback<ResultSet>() {
+          @Override
+          public void onSuccess(ResultSet results) {
+            try {
+              checkApplied(mutation, results);
+              future.complete(results);
+            } catch (NoMutationException e) {
+              future.completeExceptionally(e);
+            }
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            future.completeExceptionally(
+                t instanceof RuntimeException
+                    ? toExecutionException(mutation, (RuntimeException) t)
+                    : t);
+          }
+        },
+        MoreExecutors.directExecutor());
+    return future;
+  }
+
+  private void checkApplied(Mutation mutation, ResultSet results) throws NoMutationException {
+    if (mutation.getCondition().isPresent() && !results.one().getBool(0)) {
+      throw new NoMutationException(CoreError.NO_MUTATION_APPLIED.buildMessage());
+    }
+  }
+
+  private ExecutionException toExecutionException(Mutation mutation, RuntimeException e) {
+    if (e instanceof WriteTimeoutException) {
+      WriteTimeoutException writeTimeoutException = (WriteTimeoutException) e;
+      if (writeTimeoutException.getWriteType() == WriteType.CAS) {
         // retry needs to be done if applications need to do the operation exactly
-        throw new RetriableExecutionException(
+        return new RetriableExecutionException(
             CoreError.CASSANDRA_WRITE_TIMEOUT_IN_PAXOS_PHASE_IN_MUTATION.buildMessage(), e);
-      } else if (e.getWriteType() == WriteType.SIMPLE) {
-        Mutation mutation = (Mutation) operation;
+      } else if (writeTimeoutException.getWriteType() == WriteType.SIMPLE) {
         if (mutation.getCondition().isPresent()) {
           // learn phase needs to be repaired (by re-reading)
-          throw new ReadRepairableExecutionException(
+          return new ReadRepairableExecutionException(
               CoreError.CASSANDRA_WRITE_TIMEOUT_IN_LEARN_PHASE_IN_MUTATION.buildMessage(), e);
         } else {
           // retry needs to be done if applications need to do the operation exactly
-          throw new RetriableExecutionException(
+          return new RetriableExecutionException(
               CoreError.CASSANDRA_WRITE_TIMEOUT_SIMPLE_WRITE_OPERATION_FAILED_IN_MUTATION
                   .buildMessage(),
               e);
         }
       } else {
-        throw new ExecutionException(
+        return new ExecutionException(
             CoreError.CASSANDRA_WRITE_TIMEOUT_WITH_OTHER_WRITE_TYPE_IN_MUTATION.buildMessage(), e);
       }
-    } catch (RuntimeException e) {
-      throw new RetriableExecutionException(
-          CoreError.CASSANDRA_ERROR_OCCURRED_IN_MUTATION.buildMessage(e.getMessage()), e);
     }
+    return new RetriableExecutionException(
+        CoreError.CASSANDRA_ERROR_OCCURRED_IN_MUTATION.buildMessage(e.getMessage()), e);
   }
 
   @Override
@@ -18,17 +18,36 @@ import javax.annotation.concurrent.NotThreadSafe;
 public final class ScannerImpl implements Scanner {
   private final ResultSet resultSet;
   private final ResultInterpreter resultInterpreter;
+  private final int prefetchThreshold;
 
   private ScannerIterator scannerIterator;
 
   public ScannerImpl(ResultSet resultSet, ResultInterpreter resultInterpreter) {
+    this(resultSet, resultInterpreter, 0);
+  }
+
+  /**
+   * Constructs a {@code ScannerImpl} that fetches the next page of the specified {@code ResultSet}
+   * in the background when the number of the rows that can be read without fetching drops to the
+   * specified threshold, so that the next page is usually available by the time the current one is
+   * consumed
+   *
+   * @param resultSet a {@code ResultSet}
+   * @param resultInterpreter to interpret the result
+   * @param prefetchThreshold the number of the remaining rows at which the next page is fetched. 0
+   *     disables the prefetch
+   */
+  public ScannerImpl(
+      ResultSet resultSet, ResultInterpreter resultInterpreter, int prefetchThreshold) {
     this.resultSet = checkNotNull(resultSet);
     this.resultInterpreter = checkNotNull(resultInterpreter);
+    this.prefetchThreshold = prefetchThreshold;
   }
 
   @Override
   @Nonnull
   public Optional<Result> one() {
+    prefetchIfNecessary();
     Row row = resultSet.one();
     if (row == null) {
       return Optional.empty();
@@ -40,10 +59,26 @@ public final class ScannerImpl implements Scanner {
   @Nonnull
   public List<Result> all() {
     List<Result> results = new ArrayList<>();
-    resultSet.forEach(r -> results.add(resultInterpreter.interpret(r)));
+    while (true) {
+      Optional<Result> result = one();
+      if (!result.isPresent()) {
+        break;
+      }
+      results.add(result.get());
+    }
     return results;
   }
 
+  private void prefetchIfNecessary() {
+    // fetchMoreResults() doesn't block, and it doesn't send another request while the previous one
+    // is in progress
+    if (prefetchThreshold > 0
+        && resultSet.getAvailableWithoutFetching() <= prefetchThreshold
+        && !resultSet.isFullyFetched()) {
+      resultSet.fetchMoreResults();
+    }
+  }
+
   @Override
   @Nonnull
   public Iterator<Result> iterator() {
@@ -11,11 +11,16 @@ import static com.datastax.driver.core.querybuilder.QueryBuilder.select;
 
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.QueryOptions;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.querybuilder.Ordering;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Select;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.scalar.db.api.Get;
 import com.scalar.db.api.Operation;
 import com.scalar.db.api.Scan;
@@ -24,12 +29,14 @@ import com.scalar.db.api.Selection;
 import com.scalar.db.common.error.CoreError;
 import com.scalar.db.exception.storage.ExecutionException;
 import com.scalar.db.io.Column;
+import com.scalar.db.io.IntColumn;
 import com.scalar.db.io.Key;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
@@ -41,6 +48,10 @@ import javax.annotation.concurrent.ThreadSafe;
  */
 @ThreadSafe
 public class SelectStatementHandler extends StatementHandler {
+  private static final String LIMIT_MARKER_NAME = "limit";
+
+  private final int scanFetchSize;
+
   /**
    * Constructs {@code SelectStatementHandler} with the specified {@code Session}
    *
@@ -48,6 +59,37 @@ public class SelectStatementHandler extends StatementHandler {
    */
   public SelectStatementHandler(Session session) {
     super(session);
+    scanFetchSize = CassandraConfig.DEFAULT_SCAN_FETCH_SIZE;
+  }
+
+  /**
+   * Constructs {@code SelectStatementHandler} with the specified {@code Session}, {@code
+   * StatementCache} and the fetch size of scans
+   *
+   * @param session session to be used with this statement
+   * @param cache a cache for the prepared statements
+   * @param scanFetchSize the number of rows fetched in a page by a scan. 0 means the default of
+   *     the driver
+   */
+  public SelectStatementHandler(Session session, StatementCache cache, int scanFetchSize) {
+    super(session, cache);
+    this.scanFetchSize = scanFetchSize;
+  }
+
+  /**
+   * Returns the number of rows fetched in a page by the specified scan. A scan with a limit smaller
+   * than the configured fetch size fetches only the limit number of rows, so its results are
+   * fetched in a single page.
+   *
+   * @param scan a scan
+   * @return the fetch size
+   */
+  int getFetchSize(Scan scan) {
+    int fetchSize = scanFetchSize > 0 ? scanFetchSize : QueryOptions.DEFAULT_FETCH_SIZE;
+    if (scan.getLimit() > 0 && scan.getLimit() < fetchSize) {
+      return scan.getLimit();
+    }
+    return fetchSize;
   }
 
   @Override
@@ -56,11 +98,58 @@ public class SelectStatementHandler extends StatementHandler {
     try {
       return handleInternal(operation);
     } catch (RuntimeException e) {
-      throw new ExecutionException(
-          CoreError.CASSANDRA_ERROR_OCCURRED_IN_SELECTION.buildMessage(e.getMessage()), e);
+      throw toExecutionException(e);
     }
   }
 
+  /**
+   * Executes the specified selection asynchronously. All the pages of the results are fetched
+   * before the returned future is completed, so iterating over the returned {@code ResultSet}
+   * never blocks.
+   *
+   * @param operation a selection operation
+   * @return a future of a fully fetched {@code ResultSet}
+   */
+  @Override
+  @Nonnull
+  public CompletableFuture<ResultSet> handleAsync(Operation operation) {
+    CompletableFuture<ResultSet> future = new CompletableFuture<>();
+    try {
+      fetchAll(handleInternalAsync(operation), future);
+    } catch (RuntimeException e) {
+      future.completeExceptionally(toExecutionException(e));
+    }
+    return future;
+  }
+
+  private void fetchAll(
+      ListenableFuture<ResultSet> resultSetFuture, CompletableFuture<ResultSet> future) {
+    Futures.addCallback(
+        resultSetFuture,
+        new FutureCallback<ResultSet>() {
+          @Override
+          public void onSuccess(ResultSet resultSet) {
+            if (resultSet.isFullyFetched()) {
+              future.complete(resultSet);
+            } else {
+              fetchAll(resultSet.fetchMoreResults(), future);
+            }
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            future.completeExceptionally(
+                t instanceof RuntimeException ? toExecutionException((RuntimeException) t) : t);
+          }
+        },
+        MoreExecutors.directExecutor());
+  }
+
+  private ExecutionException toExecutionException(RuntimeException e) {
+    return new ExecutionException(
+        CoreError.CASSANDRA_ERROR_OCCURRED_IN_SELECTION.buildMessage(e.getMessage()), e);
+  }
+
   @Override
   @Nonnull
   protected PreparedStatement prepare(Operation operation) {
@@ -84,11 +173,22 @@ public class SelectStatementHandler extends StatementHandler {
     checkArgument(operation, Get.class, Scan.class, ScanAll.class);
     if (operation instanceof Get) {
       return bind(prepared.bind(), (Get) operation);
-    } else if (operation instanceof ScanAll) {
-      return prepared.bind();
-    } else {
-      return bind(prepared.bind(), (Scan) operation);
     }
+
+    Scan scan = (Scan) operation;
+    BoundStatement bound = prepared.bind();
+    ValueBinder binder = new ValueBinder(bound);
+    if (!(scan instanceof ScanAll)) {
+      bind(binder, scan);
+    }
+    if (scan.getLimit() > 0) {
+      // The limit is the last bind marker
+      IntColumn.of(LIMIT_MARKER_NAME, scan.getLimit()).accept(binder);
+    }
+    if (scanFetchSize > 0 || scan.getLimit() > 0) {
+      bound.setFetchSize(getFetchSize(scan));
+    }
+    return bound;
   }
 
   @Override
@@ -119,7 +219,8 @@ public class SelectStatementHandler extends StatementHandler {
     }
 
     if (scan.getLimit() > 0) {
-      select.limit(scan.getLimit());
+      // The limit is bound so that scans with different limits share the prepared statement
+      select.limit(bindMarker());
     }
 
     return select;
@@ -129,7 +230,7 @@ public class SelectStatementHandler extends StatementHandler {
     Select select = getSelect(scanAll);
 
     if (scanAll.getLimit() > 0) {
-      select.limit(scanAll.getLimit());
+      select.limit(bindMarker());
     }
 
     return select;
@@ -236,17 +337,13 @@ public class SelectStatementHandler extends StatementHandler {
     return bound;
   }
 
-  private BoundStatement bind(BoundStatement bound, Scan scan) {
-    ValueBinder binder = new ValueBinder(bound);
-
+  private void bind(ValueBinder binder, Scan scan) {
     // bind in the prepared order
     scan.getPartitionKey().getColumns().forEach(c -> c.accept(binder));
 
     Set<String> traveledEqualKeySet = new HashSet<>();
     bindStart(binder, scan, traveledEqualKeySet);
     bindEnd(binder, scan, traveledEqualKeySet);
-
-    return bound;
   }
 
   private void bindStart(ValueBinder binder, Scan scan, Set<String> traveledEqualKeySet) {
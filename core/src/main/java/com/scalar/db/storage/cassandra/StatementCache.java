@@ -1,14 +1,21 @@
 package com.scalar.db.storage.cassandra;
 
 import com.datastax.driver.core.PreparedStatement;
+import com.google.common.base.MoreObjects;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import javax.annotation.concurrent.Immutable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * A cache for statements. The cache will try to evict entries that haven't been used recently when
  * it reaches or is approaching the size limit.
  *
+ * <p>The statements are keyed by their query strings. Since the statement handlers bind all the
+ * values including the limit of a scan, a query string represents the shape of a statement (the
+ * table, the projections and the conditions) rather than the values of an operation.
+ *
  * @author Hiroyuki Yamada
  */
 @ThreadSafe
@@ -27,7 +34,7 @@ public class StatementCache {
    * @param maxSize the max size
    */
   public StatementCache(int maxSize) {
-    cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+    cache = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
   }
 
   /**
@@ -49,4 +56,67 @@ public class StatementCache {
   public void put(String cacheKey, PreparedStatement statement) {
     cache.put(cacheKey, statement);
   }
+
+  /**
+   * Returns the metrics of the cache
+   *
+   * @return the metrics of the cache
+   */
+  public Metrics getMetrics() {
+    CacheStats stats = cache.stats();
+    return new Metrics(cache.size(), stats.hitCount(), stats.missCount(), stats.evictionCount());
+  }
+
+  /** The metrics of a statement cache. */
+  @Immutable
+  public static class Metrics {
+    private final long size;
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+
+    private Metrics(long size, long hitCount, long missCount, long evictionCount) {
+      this.size = size;
+      this.hitCount = hitCount;
+      this.missCount = missCount;
+      this.evictionCount = evictionCount;
+    }
+
+    /** @return the number of the cached statements */
+    public long getSize() {
+      return size;
+    }
+
+    /** @return the number of the lookups that found a cached statement */
+    public long getHitCount() {
+      return hitCount;
+    }
+
+    /** @return the number of the lookups that didn't find a cached statement */
+    public long getMissCount() {
+      return missCount;
+    }
+
+    /** @return the number of the statements evicted because of the size limit */
+    public long getEvictionCount() {
+      return evictionCount;
+    }
+
+    /** @return the ratio of the hits to the lookups, or 1.0 if there are no lookups */
+    public double getHitRate() {
+      long requestCount = hitCount + missCount;
+      return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("size", size)
+          .add("hitCount", hitCount)
+          .add("missCount", missCount)
+          .add("evictionCount", evictionCount)
+          .add("hitRate", getHitRate())
+          .toString();
+    }
+  }
 }
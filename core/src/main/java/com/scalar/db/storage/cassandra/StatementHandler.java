@@ -6,12 +6,14 @@ import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
 import com.google.common.base.Joiner;
 import com.scalar.db.api.Consistency;
 import com.scalar.db.api.Operation;
 import com.scalar.db.api.Selection;
 import com.scalar.db.exception.storage.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -28,8 +30,19 @@ public abstract class StatementHandler {
    * @param session {@code Session}
    */
   protected StatementHandler(Session session) {
+    this(session, new StatementCache());
+  }
+
+  /**
+   * Constructs a {@code StatementHandler} with the specified {@link Session} and {@link
+   * StatementCache}. The cache can be shared among the handlers of a session.
+   *
+   * @param session {@code Session}
+   * @param cache {@code StatementCache}
+   */
+  protected StatementHandler(Session session, StatementCache cache) {
     this.session = checkNotNull(session);
-    cache = new StatementCache();
+    this.cache = checkNotNull(cache);
   }
 
   /**
@@ -42,6 +55,17 @@ public abstract class StatementHandler {
   @Nonnull
   public abstract ResultSet handle(Operation operation) throws ExecutionException;
 
+  /**
+   * Executes the specified {@code Operation} asynchronously. The returned future is completed
+   * exceptionally with the {@link ExecutionException} that {@link #handle(Operation)} would throw
+   * when the execution fails.
+   *
+   * @param operation an {@code Operation} to execute
+   * @return a future of a {@code ResultSet}
+   */
+  @Nonnull
+  public abstract CompletableFuture<ResultSet> handleAsync(Operation operation);
+
   /**
    * Executes the specified {@code Operation}
    *
@@ -56,6 +80,20 @@ public abstract class StatementHandler {
     return execute(bound, operation);
   }
 
+  /**
+   * Executes the specified {@code Operation} asynchronously
+   *
+   * @param operation an {@code Operation} to execute
+   * @return a {@code ResultSetFuture}
+   */
+  @Nonnull
+  protected ResultSetFuture handleInternalAsync(Operation operation) {
+    PreparedStatement prepared = prepare(operation);
+    BoundStatement bound = bind(prepared, operation);
+    setConsistency(bound, operation);
+    return executeAsync(bound, operation);
+  }
+
   /**
    * Returns a {@link PreparedStatement} based on the given query string
    *
@@ -90,6 +128,10 @@ public abstract class StatementHandler {
 
   protected abstract ResultSet execute(BoundStatement bound, Operation operation);
 
+  protected ResultSetFuture executeAsync(BoundStatement bound, Operation operation) {
+    return session.executeAsync(bound);
+  }
+
   protected abstract void overwriteConsistency(BoundStatement bound, Operation operation);
 
   /**
@@ -32,6 +32,17 @@ public class UpdateStatementHandler extends MutateStatementHandler {
     super(session);
   }
 
+  /**
+   * Constructs an {@code UpdateStatementHandler} with the specified {@code Session} and {@code
+   * StatementCache}
+   *
+   * @param session session to be used with this statement
+   * @param cache a cache for the prepared statements
+   */
+  public UpdateStatementHandler(Session session, StatementCache cache) {
+    super(session, cache);
+  }
+
   @Override
   @Nonnull
   protected PreparedStatement prepare(Operation operation) {
@@ -5,14 +5,25 @@ import static com.scalar.db.storage.cosmos.CosmosUtils.quoteKeyword;
 import com.scalar.db.api.ConditionalExpression;
 import com.scalar.db.api.DeleteIf;
 import com.scalar.db.api.DeleteIfExists;
+import com.scalar.db.api.LikeExpression;
 import com.scalar.db.api.MutationConditionVisitor;
 import com.scalar.db.api.PutIf;
 import com.scalar.db.api.PutIfExists;
 import com.scalar.db.api.PutIfNotExists;
+import com.scalar.db.api.Selection.Conjunction;
+import com.scalar.db.api.TableMetadata;
 import com.scalar.db.api.UpdateIf;
 import com.scalar.db.api.UpdateIfExists;
+import com.scalar.db.io.Column;
+import com.scalar.db.io.DataType;
+import com.scalar.db.util.ScalarDbUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import javax.annotation.concurrent.NotThreadSafe;
+import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.SelectConditionStep;
 import org.jooq.conf.ParamType;
@@ -123,6 +134,134 @@ public class ConditionalQueryBuilder implements MutationConditionVisitor {
     }
   }
 
+  /**
+   * Returns whether all the conditions of the specified conjunctions of a selection can be
+   * expressed in a query. If so, the records don't need to be filtered on the client side.
+   *
+   * @param conjunctions the conjunctions of a selection
+   * @return whether all the conditions can be expressed in a query
+   */
+  public static boolean isFullySupported(Set<Conjunction> conjunctions) {
+    for (Conjunction conjunction : conjunctions) {
+      for (ConditionalExpression condition : conjunction.getConditions()) {
+        if (!isSupported(condition)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Builds a condition of a query from the specified conjunctions of a selection. The conditions
+   * that can't be expressed in a query are dropped, so the returned condition matches a superset of
+   * the records that match the conjunctions in that case, and the records need to be filtered on
+   * the client side as well. If any of the conjunctions has only such conditions, no condition is
+   * returned since every record can match it.
+   *
+   * <p>Null values are stored as null or undefined fields, while they are treated as smaller than
+   * any non-null value in ScalarDB. The returned condition follows the semantics of ScalarDB.
+   *
+   * @param conjunctions the conjunctions of a selection
+   * @param tableMetadata the metadata of the table
+   * @return a condition, or empty if no condition can be pushed down
+   */
+  public static Optional<Condition> buildCondition(
+      Set<Conjunction> conjunctions, TableMetadata tableMetadata) {
+    if (conjunctions.isEmpty()) {
+      return Optional.empty();
+    }
+
+    List<Condition> disjuncts = new ArrayList<>(conjunctions.size());
+    for (Conjunction conjunction : conjunctions) {
+      List<Condition> conjuncts = new ArrayList<>(conjunction.getConditions().size());
+      for (ConditionalExpression condition : conjunction.getConditions()) {
+        if (isSupported(condition)) {
+          conjuncts.add(toCondition(condition, tableMetadata));
+        }
+      }
+      if (conjuncts.isEmpty()) {
+        // This conjunction can match any record, so the condition can't narrow the records
+        return Optional.empty();
+      }
+      disjuncts.add(DSL.and(conjuncts));
+    }
+    return Optional.of(DSL.or(disjuncts));
+  }
+
+  private static boolean isSupported(ConditionalExpression condition) {
+    Column<?> column = condition.getColumn();
+    switch (condition.getOperator()) {
+      case IS_NULL:
+      case IS_NOT_NULL:
+        return true;
+      case EQ:
+      case NE:
+        return !column.hasNullValue();
+      case GT:
+      case GTE:
+      case LT:
+      case LTE:
+        // BLOB values are stored as Base64 strings, whose order differs from the order of the bytes
+        return !column.hasNullValue()
+            && column.getDataType() != DataType.BOOLEAN
+            && column.getDataType() != DataType.BLOB;
+      case LIKE:
+        return ScalarDbUtils.getPrefixOfLikePattern((LikeExpression) condition).isPresent();
+      default:
+        return false;
+    }
+  }
+
+  private static Condition toCondition(ConditionalExpression e, TableMetadata tableMetadata) {
+    String columnName = e.getColumn().getName();
+    String fieldName;
+    if (tableMetadata.getPartitionKeyNames().contains(columnName)) {
+      fieldName = "r.partitionKey" + quoteKeyword(columnName);
+    } else if (tableMetadata.getClusteringKeyNames().contains(columnName)) {
+      fieldName = "r.clusteringKey" + quoteKeyword(columnName);
+    } else {
+      fieldName = "r.values" + quoteKeyword(columnName);
+    }
+    Field<Object> field = DSL.field(fieldName);
+    Condition isNull =
+        DSL.condition("NOT IS_DEFINED(" + fieldName + ") OR IS_NULL(" + fieldName + ")");
+
+    switch (e.getOperator()) {
+      case EQ:
+        return field.equal(bind(e.getColumn()));
+      case NE:
+        // Comparisons with null or undefined fields are undefined, which doesn't match
+        return field.notEqual(bind(e.getColumn())).or(isNull);
+      case GT:
+        return field.greaterThan(bind(e.getColumn()));
+      case GTE:
+        return field.greaterOrEqual(bind(e.getColumn()));
+      case LT:
+        return field.lessThan(bind(e.getColumn())).or(isNull);
+      case LTE:
+        return field.lessOrEqual(bind(e.getColumn())).or(isNull);
+      case IS_NULL:
+        return isNull;
+      case IS_NOT_NULL:
+        return DSL.condition("IS_DEFINED(" + fieldName + ") AND NOT IS_NULL(" + fieldName + ")");
+      case LIKE:
+        Optional<String> prefix = ScalarDbUtils.getPrefixOfLikePattern((LikeExpression) e);
+        assert prefix.isPresent();
+        return DSL.condition("STARTSWITH(" + fieldName + ", {0})", DSL.inline(prefix.get()));
+      default:
+        throw new AssertionError("Unsupported operator: " + e.getOperator());
+    }
+  }
+
+  private static Object bind(Column<?> column) {
+    Object[] value = new Object[1];
+    ValueBinder binder = new ValueBinder();
+    binder.set(v -> value[0] = v);
+    column.accept(binder);
+    return value[0];
+  }
+
   @Override
   public void visit(UpdateIf condition) {
     throw new AssertionError("UpdateIf is not supported");
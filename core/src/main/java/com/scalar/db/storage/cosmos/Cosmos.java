@@ -4,6 +4,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import com.azure.cosmos.CosmosClient;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.scalar.db.api.Delete;
 import com.scalar.db.api.DistributedStorage;
@@ -21,9 +22,14 @@ import com.scalar.db.common.error.CoreError;
 import com.scalar.db.config.DatabaseConfig;
 import com.scalar.db.exception.storage.ExecutionException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +49,7 @@ public class Cosmos extends AbstractDistributedStorage {
   private final DeleteStatementHandler deleteStatementHandler;
   private final BatchHandler batchHandler;
   private final OperationChecker operationChecker;
+  @Nullable private final ExecutorService scanPrefetchExecutorService;
 
   @Inject
   public Cosmos(DatabaseConfig databaseConfig) {
@@ -62,7 +69,26 @@ public class Cosmos extends AbstractDistributedStorage {
             new CosmosAdmin(client, config), databaseConfig.getMetadataCacheExpirationTimeSecs());
     operationChecker = new CosmosOperationChecker(databaseConfig, metadataManager);
 
-    selectStatementHandler = new SelectStatementHandler(client, metadataManager);
+    if (config.getScanPrefetchMaxPages() > 0) {
+      // A cached thread pool is used since each open scanner occupies a thread until the pages are
+      // fetched or the scanner is closed
+      scanPrefetchExecutorService =
+          Executors.newCachedThreadPool(
+              new ThreadFactoryBuilder()
+                  .setNameFormat("cosmos-scan-prefetch-%d")
+                  .setDaemon(true)
+                  .build());
+    } else {
+      scanPrefetchExecutorService = null;
+    }
+
+    selectStatementHandler =
+        new SelectStatementHandler(
+            client,
+            metadataManager,
+            config.getScanPrefetchMaxPages(),
+            config.getScanPrefetchMaxRecords(),
+            scanPrefetchExecutorService);
     putStatementHandler = new PutStatementHandler(client, metadataManager);
     deleteStatementHandler = new DeleteStatementHandler(client, metadataManager);
     batchHandler = new BatchHandler(client, metadataManager);
@@ -86,6 +112,7 @@ public class Cosmos extends AbstractDistributedStorage {
     this.deleteStatementHandler = delete;
     this.batchHandler = batch;
     this.operationChecker = operationChecker;
+    scanPrefetchExecutorService = null;
   }
 
   @Override
@@ -120,12 +147,41 @@ public class Cosmos extends AbstractDistributedStorage {
     }
   }
 
+  @Override
+  @Nonnull
+  public List<Optional<Result>> get(List<Get> gets) throws ExecutionException {
+    // Gets with conjunctions are filtered on the client side, so they are retrieved one by one
+    List<Optional<Result>> results = new ArrayList<>(Collections.nCopies(gets.size(), null));
+    List<Get> readManyGets = new ArrayList<>(gets.size());
+    List<Integer> readManyGetIndexes = new ArrayList<>(gets.size());
+    for (int i = 0; i < gets.size(); i++) {
+      Get get = copyAndSetTargetToIfNot(gets.get(i));
+      if (!get.getConjunctions().isEmpty()) {
+        results.set(i, get(get));
+        continue;
+      }
+      operationChecker.check(get);
+      readManyGets.add(get);
+      readManyGetIndexes.add(i);
+    }
+
+    if (!readManyGets.isEmpty()) {
+      List<Optional<Result>> readManyResults = selectStatementHandler.handle(readManyGets);
+      for (int i = 0; i < readManyGetIndexes.size(); i++) {
+        results.set(readManyGetIndexes.get(i), readManyResults.get(i));
+      }
+    }
+    return results;
+  }
+
   @Override
   public Scanner scan(Scan scan) throws ExecutionException {
     scan = copyAndSetTargetToIfNot(scan);
     operationChecker.check(scan);
 
-    if (scan.getConjunctions().isEmpty()) {
+    // The conjunctions are pushed down to Cosmos DB as a part of the query. Only when some of the
+    // conditions can't be expressed in the query, the records are also filtered on the client side
+    if (ConditionalQueryBuilder.isFullySupported(scan.getConjunctions())) {
       return selectStatementHandler.handle(scan);
     } else {
       return new FilterableScanner(
@@ -180,6 +236,9 @@ public class Cosmos extends AbstractDistributedStorage {
 
   @Override
   public void close() {
+    if (scanPrefetchExecutorService != null) {
+      scanPrefetchExecutorService.shutdownNow();
+    }
     client.close();
   }
 }
@@ -1,5 +1,6 @@
 package com.scalar.db.storage.cosmos;
 
+import static com.scalar.db.config.ConfigUtils.getInt;
 import static com.scalar.db.config.ConfigUtils.getString;
 
 import com.scalar.db.common.error.CoreError;
@@ -23,10 +24,21 @@ public class CosmosConfig {
 
   public static final String CONSISTENCY_LEVEL = PREFIX + "consistency_level";
 
+  // A query fetches up to the specified number of pages ahead of the consumer in the background,
+  // as long as the fetched pages have no more than the specified number of records in total. The
+  // prefetch is disabled if the number of pages is 0
+  public static final String SCAN_PREFETCH_MAX_PAGES = PREFIX + "scan_prefetch.max_pages";
+  public static final String SCAN_PREFETCH_MAX_RECORDS = PREFIX + "scan_prefetch.max_records";
+
+  public static final int DEFAULT_SCAN_PREFETCH_MAX_PAGES = 0;
+  public static final int DEFAULT_SCAN_PREFETCH_MAX_RECORDS = 10000;
+
   private final String endpoint;
   private final String key;
   private final String metadataDatabase;
   @Nullable private final String consistencyLevel;
+  private final int scanPrefetchMaxPages;
+  private final int scanPrefetchMaxRecords;
 
   public CosmosConfig(DatabaseConfig databaseConfig) {
     String storage = databaseConfig.getStorage();
@@ -56,6 +68,20 @@ public class CosmosConfig {
     }
 
     consistencyLevel = getString(databaseConfig.getProperties(), CONSISTENCY_LEVEL, null);
+    scanPrefetchMaxPages =
+        Math.max(
+            0,
+            getInt(
+                databaseConfig.getProperties(),
+                SCAN_PREFETCH_MAX_PAGES,
+                DEFAULT_SCAN_PREFETCH_MAX_PAGES));
+    scanPrefetchMaxRecords =
+        Math.max(
+            1,
+            getInt(
+                databaseConfig.getProperties(),
+                SCAN_PREFETCH_MAX_RECORDS,
+                DEFAULT_SCAN_PREFETCH_MAX_RECORDS));
   }
 
   public String getEndpoint() {
@@ -73,4 +99,12 @@ public class CosmosConfig {
   public Optional<String> getConsistencyLevel() {
     return Optional.ofNullable(consistencyLevel);
   }
+
+  public int getScanPrefetchMaxPages() {
+    return scanPrefetchMaxPages;
+  }
+
+  public int getScanPrefetchMaxRecords() {
+    return scanPrefetchMaxRecords;
+  }
 }
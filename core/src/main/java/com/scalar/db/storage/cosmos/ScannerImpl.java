@@ -5,6 +5,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import com.azure.cosmos.models.FeedResponse;
 import com.scalar.db.api.Result;
 import com.scalar.db.api.Scanner;
+import com.scalar.db.common.PrefetchingPageIterator;
 import com.scalar.db.common.ScannerIterator;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.ArrayList;
@@ -12,13 +13,16 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 @NotThreadSafe
 public final class ScannerImpl implements Scanner {
 
   private final ResultInterpreter resultInterpreter;
+  @Nullable private final PrefetchingPageIterator<FeedResponse<Record>> prefetcher;
   private Iterator<FeedResponse<Record>> recordsPages;
   private Iterator<Record> currentPageRecords;
   private ScannerIterator scannerIterator;
@@ -33,7 +37,43 @@ public final class ScannerImpl implements Scanner {
   @SuppressFBWarnings("EI_EXPOSE_REP2")
   public ScannerImpl(
       Iterator<FeedResponse<Record>> recordsPages, ResultInterpreter resultInterpreter) {
-    this.recordsPages = checkNotNull(recordsPages);
+    this(recordsPages, resultInterpreter, 0, 0, null);
+  }
+
+  /**
+   * Create a Scanner for Cosmos DB query operations that fetches the pages ahead of the consumer in
+   * the background
+   *
+   * @param recordsPages an iterator over the pages {@code FeedResponse<Record>}, each containing
+   *     records.
+   * @param resultInterpreter to interpret the result
+   * @param prefetchMaxPages the maximum number of pages fetched ahead of the consumer. 0 disables
+   *     the prefetch
+   * @param prefetchMaxRecords the maximum number of records fetched ahead of the consumer
+   * @param prefetchExecutorService an executor service to fetch the pages. It can be null only if
+   *     the prefetch is disabled
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public ScannerImpl(
+      Iterator<FeedResponse<Record>> recordsPages,
+      ResultInterpreter resultInterpreter,
+      int prefetchMaxPages,
+      int prefetchMaxRecords,
+      @Nullable ExecutorService prefetchExecutorService) {
+    checkNotNull(recordsPages);
+    if (prefetchMaxPages > 0 && prefetchExecutorService != null) {
+      prefetcher =
+          new PrefetchingPageIterator<>(
+              recordsPages,
+              page -> page.getResults().size(),
+              prefetchMaxPages,
+              prefetchMaxRecords,
+              prefetchExecutorService);
+      this.recordsPages = prefetcher;
+    } else {
+      prefetcher = null;
+      this.recordsPages = recordsPages;
+    }
     this.currentPageRecords = Collections.emptyIterator();
     this.resultInterpreter = checkNotNull(resultInterpreter);
   }
@@ -83,5 +123,9 @@ public final class ScannerImpl implements Scanner {
   }
 
   @Override
-  public void close() {}
+  public void close() {
+    if (prefetcher != null) {
+      prefetcher.close();
+    }
+  }
 }
@@ -1,13 +1,16 @@
 package com.scalar.db.storage.cosmos;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.scalar.db.storage.cosmos.CosmosUtils.quoteKeyword;
 
 import com.azure.cosmos.CosmosClient;
 import com.azure.cosmos.CosmosException;
+import com.azure.cosmos.models.CosmosItemIdentity;
 import com.azure.cosmos.models.CosmosQueryRequestOptions;
 import com.azure.cosmos.models.FeedResponse;
 import com.azure.cosmos.models.PartitionKey;
 import com.scalar.db.api.Get;
+import com.scalar.db.api.Result;
 import com.scalar.db.api.Scan;
 import com.scalar.db.api.Scan.Ordering.Order;
 import com.scalar.db.api.ScanAll;
@@ -20,14 +23,23 @@ import com.scalar.db.common.error.CoreError;
 import com.scalar.db.exception.storage.ExecutionException;
 import com.scalar.db.io.Column;
 import com.scalar.db.util.ScalarDbUtils;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
+import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.SQLDialect;
 import org.jooq.SelectConditionStep;
@@ -44,8 +56,38 @@ import org.jooq.impl.DSL;
 @ThreadSafe
 public class SelectStatementHandler extends StatementHandler {
 
+  private final int scanPrefetchMaxPages;
+  private final int scanPrefetchMaxRecords;
+  @Nullable private final ExecutorService scanPrefetchExecutorService;
+
   public SelectStatementHandler(CosmosClient client, TableMetadataManager metadataManager) {
+    this(client, metadataManager, 0, 0, null);
+  }
+
+  /**
+   * Constructs a {@code SelectStatementHandler} that fetches the pages of queries ahead of the
+   * consumer
+   *
+   * @param client {@code CosmosClient}
+   * @param metadataManager {@code TableMetadataManager}
+   * @param scanPrefetchMaxPages the maximum number of pages fetched ahead of the consumer. 0
+   *     disables the prefetch
+   * @param scanPrefetchMaxRecords the maximum number of records fetched ahead of the consumer
+   * @param scanPrefetchExecutorService an executor service to fetch the pages. It can be null only
+   *     if the prefetch is disabled
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public SelectStatementHandler(
+      CosmosClient client,
+      TableMetadataManager metadataManager,
+      int scanPrefetchMaxPages,
+      int scanPrefetchMaxRecords,
+      @Nullable ExecutorService scanPrefetchExecutorService) {
     super(client, metadataManager);
+    checkArgument(scanPrefetchMaxPages == 0 || scanPrefetchExecutorService != null);
+    this.scanPrefetchMaxPages = scanPrefetchMaxPages;
+    this.scanPrefetchMaxRecords = scanPrefetchMaxRecords;
+    this.scanPrefetchExecutorService = scanPrefetchExecutorService;
   }
 
   /**
@@ -77,6 +119,94 @@ public class SelectStatementHandler extends StatementHandler {
     }
   }
 
+  /**
+   * Retrieves the records of the specified gets. The gets that specify a primary key are retrieved
+   * with a readMany request for each container, and the other gets are retrieved one by one.
+   *
+   * @param gets a list of gets
+   * @return a list of the results of the gets in the same order as the gets
+   * @throws ExecutionException if the operation fails
+   */
+  @Nonnull
+  protected List<Optional<Result>> handle(List<Get> gets) throws ExecutionException {
+    List<Optional<Result>> results = new ArrayList<>(Collections.nCopies(gets.size(), null));
+    Map<String, List<Integer>> indexesByTable = new LinkedHashMap<>();
+    for (int i = 0; i < gets.size(); i++) {
+      Get get = gets.get(i);
+      TableMetadata tableMetadata = metadataManager.getTableMetadata(get);
+      if (ScalarDbUtils.isSecondaryIndexSpecified(get, tableMetadata)) {
+        results.set(i, getOne(get));
+        continue;
+      }
+      indexesByTable
+          .computeIfAbsent(get.forFullTableName().get(), k -> new ArrayList<>())
+          .add(i);
+    }
+
+    try {
+      for (List<Integer> indexes : indexesByTable.values()) {
+        executeReadMany(gets, indexes, results);
+      }
+    } catch (RuntimeException e) {
+      throw new ExecutionException(
+          CoreError.COSMOS_ERROR_OCCURRED_IN_SELECTION.buildMessage(e.getMessage()), e);
+    }
+    return results;
+  }
+
+  private Optional<Result> getOne(Get get) throws ExecutionException {
+    // The scanner of a get holds no resources, so it doesn't need to be closed
+    Scanner scanner = handle(get);
+    Optional<Result> ret = scanner.one();
+    if (scanner.one().isPresent()) {
+      throw new IllegalArgumentException(
+          CoreError.GET_OPERATION_USED_FOR_NON_EXACT_MATCH_SELECTION.buildMessage(get));
+    }
+    return ret;
+  }
+
+  private void executeReadMany(
+      List<Get> gets, List<Integer> indexes, List<Optional<Result>> results)
+      throws ExecutionException {
+    Get first = gets.get(indexes.get(0));
+    TableMetadata tableMetadata = metadataManager.getTableMetadata(first);
+
+    // Records are identified by the pair of the concatenated partition key and the ID
+    Map<List<String>, List<Integer>> indexesByIdentity = new LinkedHashMap<>();
+    List<CosmosItemIdentity> identities = new ArrayList<>(indexes.size());
+    for (int index : indexes) {
+      CosmosOperation cosmosOperation = new CosmosOperation(gets.get(index), tableMetadata);
+      List<String> identity =
+          Arrays.asList(cosmosOperation.getConcatenatedPartitionKey(), cosmosOperation.getId());
+      indexesByIdentity
+          .computeIfAbsent(
+              identity,
+              k -> {
+                identities.add(
+                    new CosmosItemIdentity(
+                        cosmosOperation.getCosmosPartitionKey(), cosmosOperation.getId()));
+                return new ArrayList<>();
+              })
+          .add(index);
+      results.set(index, Optional.empty());
+    }
+
+    FeedResponse<Record> response = getContainer(first).readMany(identities, Record.class);
+    for (Record record : response.getResults()) {
+      List<Integer> matched =
+          indexesByIdentity.get(
+              Arrays.asList(record.getConcatenatedPartitionKey(), record.getId()));
+      if (matched == null) {
+        continue;
+      }
+      for (int index : matched) {
+        ResultInterpreter resultInterpreter =
+            new ResultInterpreter(gets.get(index).getProjections(), tableMetadata);
+        results.set(index, Optional.of(resultInterpreter.interpret(record)));
+      }
+    }
+  }
+
   private Scanner executeRead(Get get, TableMetadata tableMetadata) throws CosmosException {
     CosmosOperation cosmosOperation = new CosmosOperation(get, tableMetadata);
     cosmosOperation.checkArgument(Get.class);
@@ -116,7 +246,13 @@ public class SelectStatementHandler extends StatementHandler {
     CosmosQueryRequestOptions options;
 
     if (scan instanceof ScanAll) {
-      query = makeQueryWithProjections(scan, tableMetadata).getSQL(ParamType.INLINED);
+      SelectJoinStep<org.jooq.Record> select = makeQueryWithProjections(scan, tableMetadata);
+      Optional<Condition> condition =
+          ConditionalQueryBuilder.buildCondition(scan.getConjunctions(), tableMetadata);
+      query =
+          condition.isPresent()
+              ? select.where(condition.get()).getSQL(ParamType.INLINED)
+              : select.getSQL(ParamType.INLINED);
       options = new CosmosQueryRequestOptions();
     } else if (ScalarDbUtils.isSecondaryIndexSpecified(scan, tableMetadata)) {
       query = makeQueryWithIndex(scan, tableMetadata);
@@ -145,6 +281,7 @@ public class SelectStatementHandler extends StatementHandler {
 
     setStart(select, scan);
     setEnd(select, scan);
+    setConjunctions(select, scan, tableMetadata);
 
     setOrderings(select, scan.getOrderings(), tableMetadata);
 
@@ -276,6 +413,20 @@ public class SelectStatementHandler extends StatementHandler {
             });
   }
 
+  /**
+   * Pushes down the conjunctions of the selection to Cosmos DB. When some of the conditions can't
+   * be expressed in a query, the query matches a superset of the records, and the caller is
+   * responsible for filtering them on the client side. See {@link
+   * ConditionalQueryBuilder#buildCondition} for details.
+   */
+  private void setConjunctions(
+      SelectConditionStep<org.jooq.Record> select,
+      Selection selection,
+      TableMetadata tableMetadata) {
+    ConditionalQueryBuilder.buildCondition(selection.getConjunctions(), tableMetadata)
+        .ifPresent(select::and);
+  }
+
   private void setOrderings(
       SelectConditionStep<org.jooq.Record> select,
       List<Scan.Ordering> scanOrderings,
@@ -314,7 +465,7 @@ public class SelectStatementHandler extends StatementHandler {
     Field<Object> field = DSL.field(fieldName + quoteKeyword(column.getName()));
 
     ValueBinder binder = new ValueBinder();
-    binder.set(v -> select.where(field.eq(v)));
+    binder.set(v -> setConjunctions(select.where(field.eq(v)), selection, tableMetadata));
     column.accept(binder);
 
     return select.getSQL(ParamType.INLINED);
@@ -332,7 +483,11 @@ public class SelectStatementHandler extends StatementHandler {
             .iterator();
 
     return new ScannerImpl(
-        pagesIterator, new ResultInterpreter(selection.getProjections(), tableMetadata));
+        pagesIterator,
+        new ResultInterpreter(selection.getProjections(), tableMetadata),
+        scanPrefetchMaxPages,
+        scanPrefetchMaxRecords,
+        scanPrefetchExecutorService);
   }
 
   private Scanner executeQuery(Selection selection, TableMetadata tableMetadata, String query) {
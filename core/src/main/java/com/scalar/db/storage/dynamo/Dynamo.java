@@ -3,6 +3,7 @@ package com.scalar.db.storage.dynamo;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.scalar.db.api.Delete;
 import com.scalar.db.api.DistributedStorage;
@@ -21,9 +22,14 @@ import com.scalar.db.config.DatabaseConfig;
 import com.scalar.db.exception.storage.ExecutionException;
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,6 +53,7 @@ public class Dynamo extends AbstractDistributedStorage {
   private final PutStatementHandler putStatementHandler;
   private final DeleteStatementHandler deleteStatementHandler;
   private final BatchHandler batchHandler;
+  @Nullable private final ExecutorService scanExecutorService;
   private final OperationChecker operationChecker;
 
   @Inject
@@ -76,8 +83,27 @@ public class Dynamo extends AbstractDistributedStorage {
             new DynamoAdmin(client, config), databaseConfig.getMetadataCacheExpirationTimeSecs());
     operationChecker = new DynamoOperationChecker(databaseConfig, metadataManager);
 
+    if (config.getParallelScanSegments() > 1 || config.getScanPrefetchMaxPages() > 0) {
+      // A cached thread pool is used since each open scanner of a parallel scan or a prefetching
+      // scan occupies a thread per segment until the pages are fetched or the scanner is closed
+      scanExecutorService =
+          Executors.newCachedThreadPool(
+              new ThreadFactoryBuilder().setNameFormat("dynamo-scan-%d").setDaemon(true).build());
+    } else {
+      scanExecutorService = null;
+    }
+
     selectStatementHandler =
-        new SelectStatementHandler(client, metadataManager, config.getNamespacePrefix());
+        new SelectStatementHandler(
+            client,
+            metadataManager,
+            config.getNamespacePrefix(),
+            config.getParallelScanSegments(),
+            config.getParallelScanBufferSize(),
+            config.isParallelScanOrdered(),
+            config.getScanPrefetchMaxPages(),
+            config.getScanPrefetchMaxRecords(),
+            scanExecutorService);
     putStatementHandler =
         new PutStatementHandler(client, metadataManager, config.getNamespacePrefix());
     deleteStatementHandler =
@@ -103,6 +129,7 @@ public class Dynamo extends AbstractDistributedStorage {
     this.deleteStatementHandler = delete;
     this.batchHandler = batch;
     this.operationChecker = operationChecker;
+    scanExecutorService = null;
   }
 
   @Override
@@ -137,12 +164,42 @@ public class Dynamo extends AbstractDistributedStorage {
     }
   }
 
+  @Override
+  @Nonnull
+  public List<Optional<Result>> get(List<Get> gets) throws ExecutionException {
+    // Gets with conjunctions are filtered on the client side, so they are retrieved one by one
+    List<Optional<Result>> results = new ArrayList<>(Collections.nCopies(gets.size(), null));
+    List<Get> batchGets = new ArrayList<>(gets.size());
+    List<Integer> batchGetIndexes = new ArrayList<>(gets.size());
+    for (int i = 0; i < gets.size(); i++) {
+      Get get = copyAndSetTargetToIfNot(gets.get(i));
+      if (!get.getConjunctions().isEmpty()) {
+        results.set(i, get(get));
+        continue;
+      }
+      operationChecker.check(get);
+      batchGets.add(get);
+      batchGetIndexes.add(i);
+    }
+
+    if (!batchGets.isEmpty()) {
+      List<Optional<Result>> batchGetResults = selectStatementHandler.handle(batchGets);
+      for (int i = 0; i < batchGetIndexes.size(); i++) {
+        results.set(batchGetIndexes.get(i), batchGetResults.get(i));
+      }
+    }
+    return results;
+  }
+
   @Override
   public Scanner scan(Scan scan) throws ExecutionException {
     scan = copyAndSetTargetToIfNot(scan);
     operationChecker.check(scan);
 
-    if (scan.getConjunctions().isEmpty()) {
+    // The conjunctions are pushed down to DynamoDB as a filter expression. Only when some of the
+    // conditions can't be expressed in the filter expression, the records are also filtered on the
+    // client side
+    if (FilterExpressionBuilder.isFullySupported(scan.getConjunctions())) {
       return selectStatementHandler.handle(scan);
     } else {
       return new FilterableScanner(
@@ -197,6 +254,9 @@ public class Dynamo extends AbstractDistributedStorage {
 
   @Override
   public void close() {
+    if (scanExecutorService != null) {
+      scanExecutorService.shutdownNow();
+    }
     client.close();
   }
 }
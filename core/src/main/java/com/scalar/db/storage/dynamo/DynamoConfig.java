@@ -1,5 +1,7 @@
 package com.scalar.db.storage.dynamo;
 
+import static com.scalar.db.config.ConfigUtils.getBoolean;
+import static com.scalar.db.config.ConfigUtils.getInt;
 import static com.scalar.db.config.ConfigUtils.getString;
 
 import com.scalar.db.common.error.CoreError;
@@ -24,12 +26,40 @@ public class DynamoConfig {
 
   public static final String NAMESPACE_PREFIX = PREFIX + "namespace.prefix";
 
+  // A full-table scan is divided into the specified number of segments that are scanned in
+  // parallel. Each segment buffers up to the specified number of pages ahead of the consumer. If
+  // the ordered option is enabled, the results are returned segment by segment in the segment
+  // order. Otherwise, they are returned in the order in which the segments fetch them
+  public static final String PARALLEL_SCAN_SEGMENTS = PREFIX + "parallel_scan.segments";
+  public static final String PARALLEL_SCAN_BUFFER_SIZE = PREFIX + "parallel_scan.buffer_size";
+  public static final String PARALLEL_SCAN_ORDERED = PREFIX + "parallel_scan.ordered";
+
+  public static final int DEFAULT_PARALLEL_SCAN_SEGMENTS = 1;
+  public static final int DEFAULT_PARALLEL_SCAN_BUFFER_SIZE = 2;
+
+  // A scan fetches up to the specified number of pages ahead of the consumer in the background,
+  // as long as the fetched pages have no more than the specified number of records in total. The
+  // prefetch is disabled if the number of pages is 0
+  public static final String SCAN_PREFETCH_MAX_PAGES = PREFIX + "scan_prefetch.max_pages";
+  public static final String SCAN_PREFETCH_MAX_RECORDS = PREFIX + "scan_prefetch.max_records";
+
+  public static final int DEFAULT_SCAN_PREFETCH_MAX_PAGES = 0;
+  public static final int DEFAULT_SCAN_PREFETCH_MAX_RECORDS = 10000;
+
+  // The maximum number of segments that DynamoDB accepts for a parallel scan
+  private static final int MAX_PARALLEL_SCAN_SEGMENTS = 1000000;
+
   private final String region;
   private final String accessKeyId;
   private final String secretAccessKey;
   @Nullable private final String endpointOverride;
   private final String metadataNamespace;
   @Nullable private final String namespacePrefix;
+  private final int parallelScanSegments;
+  private final int parallelScanBufferSize;
+  private final boolean parallelScanOrdered;
+  private final int scanPrefetchMaxPages;
+  private final int scanPrefetchMaxRecords;
 
   public DynamoConfig(DatabaseConfig databaseConfig) {
     String storage = databaseConfig.getStorage();
@@ -75,6 +105,36 @@ public class DynamoConfig {
     }
 
     namespacePrefix = getString(databaseConfig.getProperties(), NAMESPACE_PREFIX, null);
+
+    parallelScanSegments =
+        getInt(
+            databaseConfig.getProperties(), PARALLEL_SCAN_SEGMENTS, DEFAULT_PARALLEL_SCAN_SEGMENTS);
+    if (parallelScanSegments < 1 || parallelScanSegments > MAX_PARALLEL_SCAN_SEGMENTS) {
+      throw new IllegalArgumentException(
+          CoreError.DYNAMO_INVALID_PARALLEL_SCAN_SEGMENTS.buildMessage(parallelScanSegments));
+    }
+    parallelScanBufferSize =
+        Math.max(
+            1,
+            getInt(
+                databaseConfig.getProperties(),
+                PARALLEL_SCAN_BUFFER_SIZE,
+                DEFAULT_PARALLEL_SCAN_BUFFER_SIZE));
+    parallelScanOrdered = getBoolean(databaseConfig.getProperties(), PARALLEL_SCAN_ORDERED, false);
+    scanPrefetchMaxPages =
+        Math.max(
+            0,
+            getInt(
+                databaseConfig.getProperties(),
+                SCAN_PREFETCH_MAX_PAGES,
+                DEFAULT_SCAN_PREFETCH_MAX_PAGES));
+    scanPrefetchMaxRecords =
+        Math.max(
+            1,
+            getInt(
+                databaseConfig.getProperties(),
+                SCAN_PREFETCH_MAX_RECORDS,
+                DEFAULT_SCAN_PREFETCH_MAX_RECORDS));
   }
 
   public String getRegion() {
@@ -100,4 +160,24 @@ public class DynamoConfig {
   public Optional<String> getNamespacePrefix() {
     return Optional.ofNullable(namespacePrefix);
   }
+
+  public int getParallelScanSegments() {
+    return parallelScanSegments;
+  }
+
+  public int getParallelScanBufferSize() {
+    return parallelScanBufferSize;
+  }
+
+  public boolean isParallelScanOrdered() {
+    return parallelScanOrdered;
+  }
+
+  public int getScanPrefetchMaxPages() {
+    return scanPrefetchMaxPages;
+  }
+
+  public int getScanPrefetchMaxRecords() {
+    return scanPrefetchMaxRecords;
+  }
 }
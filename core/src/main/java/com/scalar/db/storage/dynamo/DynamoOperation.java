@@ -21,9 +21,11 @@ public class DynamoOperation {
   static final String START_CLUSTERING_KEY_ALIAS = ":sck";
   static final String END_CLUSTERING_KEY_ALIAS = ":eck";
   static final String CONDITION_VALUE_ALIAS = ":cval";
+  static final String FILTER_VALUE_ALIAS = ":fval";
   static final String VALUE_ALIAS = ":val";
   static final String COLUMN_NAME_ALIAS = "#col";
   static final String CONDITION_COLUMN_NAME_ALIAS = "#ccol";
+  static final String FILTER_COLUMN_NAME_ALIAS = "#fcol";
   static final String INDEX_NAME_PREFIX = "index";
   static final String GLOBAL_INDEX_NAME_PREFIX = "global_index";
 
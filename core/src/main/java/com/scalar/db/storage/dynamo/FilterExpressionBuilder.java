@@ -0,0 +1,189 @@
+package com.scalar.db.storage.dynamo;
+
+import com.scalar.db.api.ConditionalExpression;
+import com.scalar.db.api.LikeExpression;
+import com.scalar.db.api.Selection.Conjunction;
+import com.scalar.db.io.Column;
+import com.scalar.db.io.DataType;
+import com.scalar.db.io.TextColumn;
+import com.scalar.db.util.ScalarDbUtils;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * A builder to make a filter expression of DynamoDB from the conjunctions of a selection.
+ *
+ * <p>A conjunction can be pushed down to DynamoDB only when all of its conditions can be expressed
+ * in a filter expression. For a conjunction that includes unsupported conditions, the unsupported
+ * conditions are dropped from the filter expression, so the filter expression matches a superset
+ * of the records that match the conjunctions, and the records need to be filtered on the client
+ * side as well. If any of the conjunctions has only unsupported conditions, no filter expression
+ * is made since every record can match it.
+ *
+ * <p>Null values are stored as NULL attributes or missing attributes in DynamoDB, while they are
+ * treated as smaller than any non-null value in ScalarDB. The filter expression follows the
+ * semantics of ScalarDB.
+ */
+@NotThreadSafe
+public class FilterExpressionBuilder {
+  private static final String NULL_TYPE = "NULL";
+
+  private final String columnNameAlias;
+  private final String valueAlias;
+  private final Map<String, String> columnNameAliases = new HashMap<>();
+  private final Map<String, String> expressionAttributeNames = new HashMap<>();
+  private final ValueBinder binder;
+  private final Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+  private int valueIndex;
+
+  public FilterExpressionBuilder(String columnNameAlias, String valueAlias) {
+    this.columnNameAlias = columnNameAlias;
+    this.valueAlias = valueAlias;
+    binder = new ValueBinder(valueAlias);
+  }
+
+  /**
+   * Returns whether all the conditions of the specified conjunctions can be expressed in a filter
+   * expression. If so, the records don't need to be filtered on the client side.
+   *
+   * @param conjunctions the conjunctions of a selection
+   * @return whether all the conditions can be expressed in a filter expression
+   */
+  public static boolean isFullySupported(Set<Conjunction> conjunctions) {
+    for (Conjunction conjunction : conjunctions) {
+      for (ConditionalExpression condition : conjunction.getConditions()) {
+        if (!isSupported(condition)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Builds a filter expression from the specified conjunctions. The column names and values used in
+   * the filter expression are available with {@link #getExpressionAttributeNames()} and {@link
+   * #getExpressionAttributeValues()} afterwards.
+   *
+   * @param conjunctions the conjunctions of a selection
+   * @return a filter expression, or empty if no condition can be pushed down
+   */
+  @Nonnull
+  public Optional<String> build(Set<Conjunction> conjunctions) {
+    if (conjunctions.isEmpty()) {
+      return Optional.empty();
+    }
+
+    List<String> disjuncts = new ArrayList<>(conjunctions.size());
+    for (Conjunction conjunction : conjunctions) {
+      List<String> conjuncts = new ArrayList<>(conjunction.getConditions().size());
+      for (ConditionalExpression condition : conjunction.getConditions()) {
+        if (isSupported(condition)) {
+          conjuncts.add(createConditionWith(condition));
+        }
+      }
+      if (conjuncts.isEmpty()) {
+        // This conjunction can match any record, so the filter expression can't narrow the records
+        return Optional.empty();
+      }
+      disjuncts.add("(" + String.join(" AND ", conjuncts) + ")");
+    }
+    return Optional.of(String.join(" OR ", disjuncts));
+  }
+
+  @SuppressFBWarnings("EI_EXPOSE_REP")
+  @Nonnull
+  public Map<String, String> getExpressionAttributeNames() {
+    return expressionAttributeNames;
+  }
+
+  @Nonnull
+  public Map<String, AttributeValue> getExpressionAttributeValues() {
+    Map<String, AttributeValue> ret = new HashMap<>(binder.build());
+    ret.putAll(expressionAttributeValues);
+    return ret;
+  }
+
+  private static boolean isSupported(ConditionalExpression condition) {
+    Column<?> column = condition.getColumn();
+    switch (condition.getOperator()) {
+      case IS_NULL:
+      case IS_NOT_NULL:
+        return true;
+      case EQ:
+      case NE:
+        return !column.hasNullValue();
+      case GT:
+      case GTE:
+      case LT:
+      case LTE:
+        // DynamoDB doesn't support the comparison of BOOL attributes
+        return !column.hasNullValue() && column.getDataType() != DataType.BOOLEAN;
+      case LIKE:
+        return ScalarDbUtils.getPrefixOfLikePattern((LikeExpression) condition).isPresent();
+      default:
+        return false;
+    }
+  }
+
+  private String createConditionWith(ConditionalExpression condition) {
+    String name = columnNameAliases.computeIfAbsent(condition.getColumn().getName(), this::alias);
+    switch (condition.getOperator()) {
+      case EQ:
+        return name + " = " + bind(condition.getColumn());
+      case NE:
+        // A missing attribute doesn't equal any value, so the records with a null value match
+        return "(NOT " + name + " = " + bind(condition.getColumn()) + ")";
+      case GT:
+        return name + " > " + bind(condition.getColumn());
+      case GTE:
+        return name + " >= " + bind(condition.getColumn());
+      case LT:
+        return "(" + name + " < " + bind(condition.getColumn()) + " OR " + isNull(name) + ")";
+      case LTE:
+        return "(" + name + " <= " + bind(condition.getColumn()) + " OR " + isNull(name) + ")";
+      case IS_NULL:
+        return "(" + isNull(name) + ")";
+      case IS_NOT_NULL:
+        return "(attribute_exists(" + name + ") AND NOT " + isNullType(name) + ")";
+      case LIKE:
+        Optional<String> prefix = ScalarDbUtils.getPrefixOfLikePattern((LikeExpression) condition);
+        assert prefix.isPresent();
+        String value = bind(TextColumn.of(condition.getColumn().getName(), prefix.get()));
+        return "begins_with(" + name + ", " + value + ")";
+      default:
+        throw new AssertionError("Unsupported operator: " + condition.getOperator());
+    }
+  }
+
+  private String alias(String columnName) {
+    String alias = columnNameAlias + expressionAttributeNames.size();
+    expressionAttributeNames.put(alias, columnName);
+    return alias;
+  }
+
+  private String bind(Column<?> column) {
+    // ValueBinder names the values with the alias and the sequence number of the bound values
+    column.accept(binder);
+    return valueAlias + valueIndex++;
+  }
+
+  private String isNull(String name) {
+    return "attribute_not_exists(" + name + ") OR " + isNullType(name);
+  }
+
+  private String isNullType(String name) {
+    String alias = valueAlias + NULL_TYPE;
+    expressionAttributeValues.computeIfAbsent(
+        alias, k -> AttributeValue.builder().s(NULL_TYPE).build());
+    return "attribute_type(" + name + ", " + alias + ")";
+  }
+}
@@ -2,45 +2,83 @@ package com.scalar.db.storage.dynamo;
 
 import com.scalar.db.api.Result;
 import com.scalar.db.api.Scanner;
+import com.scalar.db.common.PrefetchingPageIterator;
 import com.scalar.db.common.ScannerIterator;
 import com.scalar.db.storage.dynamo.request.PaginatedRequest;
 import com.scalar.db.storage.dynamo.request.PaginatedRequestResponse;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
+/**
+ * A scanner for a paginated request of DynamoDB. If an executor service is specified, the pages
+ * after the first one are fetched ahead of the consumer in the background with {@link
+ * PrefetchingPageIterator}.
+ */
 @NotThreadSafe
 public class QueryScanner implements Scanner {
 
-  private final PaginatedRequest request;
   private final ResultInterpreter resultInterpreter;
+  private final Iterator<List<Map<String, AttributeValue>>> pages;
+  @Nullable private final PrefetchingPageIterator<List<Map<String, AttributeValue>>> prefetcher;
 
-  private Iterator<Map<String, AttributeValue>> itemsIterator;
-  @Nullable private Integer remainingLimit;
-  @Nullable private Map<String, AttributeValue> lastEvaluatedKey;
+  private Iterator<Map<String, AttributeValue>> itemsIterator = Collections.emptyIterator();
 
   private ScannerIterator scannerIterator;
 
   @SuppressFBWarnings("EI_EXPOSE_REP2")
   public QueryScanner(PaginatedRequest request, int limit, ResultInterpreter resultInterpreter) {
-    this.request = request;
+    this(request, limit, resultInterpreter, 0, 0, null);
+  }
+
+  /**
+   * Constructs a {@code QueryScanner} that fetches the pages ahead of the consumer
+   *
+   * @param request a paginated request
+   * @param limit the maximum number of items to return. 0 means no limit
+   * @param resultInterpreter to interpret the result
+   * @param prefetchMaxPages the maximum number of pages buffered ahead of the consumer. 0 disables
+   *     the prefetch
+   * @param prefetchMaxRecords the maximum number of items buffered ahead of the consumer
+   * @param prefetchExecutorService an executor service to fetch the pages. It can be null only if
+   *     the prefetch is disabled
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public QueryScanner(
+      PaginatedRequest request,
+      int limit,
+      ResultInterpreter resultInterpreter,
+      int prefetchMaxPages,
+      int prefetchMaxRecords,
+      @Nullable ExecutorService prefetchExecutorService) {
+    this.resultInterpreter = resultInterpreter;
 
-    if (limit > 0) {
-      remainingLimit = limit;
-      handleResponse(request.execute(limit));
+    // The first page is fetched synchronously so that an error of the request is thrown here
+    Pages requestPages = new Pages(request, limit);
+    if (prefetchMaxPages > 0 && prefetchExecutorService != null && requestPages.hasMorePages()) {
+      itemsIterator = requestPages.next().iterator();
+      prefetcher =
+          new PrefetchingPageIterator<>(
+              requestPages,
+              List::size,
+              prefetchMaxPages,
+              prefetchMaxRecords,
+              prefetchExecutorService);
+      pages = prefetcher;
     } else {
-      remainingLimit = null;
-      handleResponse(request.execute());
+      prefetcher = null;
+      pages = requestPages;
     }
-
-    this.resultInterpreter = resultInterpreter;
   }
 
   @Override
@@ -54,31 +92,13 @@ public class QueryScanner implements Scanner {
   }
 
   private boolean hasNext() {
-    if (itemsIterator.hasNext()) {
-      return true;
-    }
-    if (lastEvaluatedKey != null) {
-      if (remainingLimit != null) {
-        handleResponse(request.execute(lastEvaluatedKey, remainingLimit));
-      } else {
-        handleResponse(request.execute(lastEvaluatedKey));
+    while (!itemsIterator.hasNext()) {
+      if (!pages.hasNext()) {
+        return false;
       }
-      return itemsIterator.hasNext();
-    }
-    return false;
-  }
-
-  private void handleResponse(PaginatedRequestResponse response) {
-    List<Map<String, AttributeValue>> items = response.items();
-    if (remainingLimit != null) {
-      remainingLimit -= items.size();
-    }
-    itemsIterator = items.iterator();
-    if ((remainingLimit == null || remainingLimit > 0) && response.hasLastEvaluatedKey()) {
-      lastEvaluatedKey = response.lastEvaluatedKey();
-    } else {
-      lastEvaluatedKey = null;
+      itemsIterator = pages.next().iterator();
     }
+    return true;
   }
 
   @Override
@@ -105,5 +125,72 @@ public class QueryScanner implements Scanner {
   }
 
   @Override
-  public void close() {}
+  public void close() {
+    if (prefetcher != null) {
+      prefetcher.close();
+    }
+  }
+
+  /** The pages of a paginated request. The first page is fetched on construction. */
+  private static class Pages implements Iterator<List<Map<String, AttributeValue>>> {
+    private final PaginatedRequest request;
+    @Nullable private Integer remainingLimit;
+    @Nullable private List<Map<String, AttributeValue>> nextPage;
+    @Nullable private Map<String, AttributeValue> lastEvaluatedKey;
+
+    private Pages(PaginatedRequest request, int limit) {
+      this.request = request;
+      if (limit > 0) {
+        remainingLimit = limit;
+        handleResponse(request.execute(limit));
+      } else {
+        remainingLimit = null;
+        handleResponse(request.execute());
+      }
+    }
+
+    private boolean hasMorePages() {
+      return lastEvaluatedKey != null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (nextPage != null) {
+        return true;
+      }
+      if (lastEvaluatedKey == null) {
+        return false;
+      }
+      if (remainingLimit != null) {
+        handleResponse(request.execute(lastEvaluatedKey, remainingLimit));
+      } else {
+        handleResponse(request.execute(lastEvaluatedKey));
+      }
+      return true;
+    }
+
+    @Override
+    public List<Map<String, AttributeValue>> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      assert nextPage != null;
+      List<Map<String, AttributeValue>> page = nextPage;
+      nextPage = null;
+      return page;
+    }
+
+    private void handleResponse(PaginatedRequestResponse response) {
+      List<Map<String, AttributeValue>> items = response.items();
+      if (remainingLimit != null) {
+        remainingLimit -= items.size();
+      }
+      nextPage = items;
+      if ((remainingLimit == null || remainingLimit > 0) && response.hasLastEvaluatedKey()) {
+        lastEvaluatedKey = response.lastEvaluatedKey();
+      } else {
+        lastEvaluatedKey = null;
+      }
+    }
+  }
 }
@@ -2,23 +2,11 @@ package com.scalar.db.storage.dynamo;
 
 import com.scalar.db.api.Result;
 import com.scalar.db.api.TableMetadata;
-import com.scalar.db.common.ResultImpl;
-import com.scalar.db.io.BigIntColumn;
-import com.scalar.db.io.BlobColumn;
-import com.scalar.db.io.BooleanColumn;
-import com.scalar.db.io.Column;
+import com.scalar.db.common.ColumnDictionary;
+import com.scalar.db.common.CompactResult;
 import com.scalar.db.io.DataType;
-import com.scalar.db.io.DateColumn;
-import com.scalar.db.io.DoubleColumn;
-import com.scalar.db.io.FloatColumn;
-import com.scalar.db.io.IntColumn;
-import com.scalar.db.io.TextColumn;
-import com.scalar.db.io.TimeColumn;
-import com.scalar.db.io.TimestampColumn;
-import com.scalar.db.io.TimestampTZColumn;
 import com.scalar.db.util.TimeRelatedColumnEncodingUtils;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -29,76 +17,71 @@ import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 @ThreadSafe
 public class ResultInterpreter {
 
-  private final List<String> projections;
-  private final TableMetadata metadata;
+  private final ColumnDictionary dictionary;
 
   @SuppressFBWarnings("EI_EXPOSE_REP2")
   public ResultInterpreter(List<String> projections, TableMetadata metadata) {
-    this.projections = Objects.requireNonNull(projections);
-    this.metadata = Objects.requireNonNull(metadata);
+    dictionary = ColumnDictionary.of(Objects.requireNonNull(metadata), projections);
   }
 
   public Result interpret(Map<String, AttributeValue> item) {
-    Map<String, Column<?>> ret = new HashMap<>();
-    if (projections.isEmpty()) {
-      metadata.getColumnNames().forEach(name -> add(ret, name, item.get(name)));
-    } else {
-      projections.forEach(name -> add(ret, name, item.get(name)));
+    CompactResult.Builder builder = CompactResult.newBuilder(dictionary);
+    int index = 0;
+    for (String name : dictionary.getColumnNames()) {
+      set(builder, index, item.get(name), dictionary.getDataType(index));
+      index++;
     }
-    return new ResultImpl(ret, metadata);
+    return builder.build();
   }
 
-  private void add(Map<String, Column<?>> columns, String name, AttributeValue itemValue) {
-    columns.put(name, convert(itemValue, name, metadata.getColumnDataType(name)));
-  }
-
-  private Column<?> convert(@Nullable AttributeValue itemValue, String name, DataType dataType) {
-    boolean isNull = itemValue == null || (itemValue.nul() != null && itemValue.nul());
+  private void set(
+      CompactResult.Builder builder,
+      int index,
+      @Nullable AttributeValue itemValue,
+      DataType dataType) {
+    if (itemValue == null || (itemValue.nul() != null && itemValue.nul())) {
+      builder.nullValue(index);
+      return;
+    }
     switch (dataType) {
       case BOOLEAN:
-        return isNull ? BooleanColumn.ofNull(name) : BooleanColumn.of(name, itemValue.bool());
+        builder.booleanValue(index, itemValue.bool());
+        break;
       case INT:
-        return isNull
-            ? IntColumn.ofNull(name)
-            : IntColumn.of(name, Integer.parseInt(itemValue.n()));
+        builder.intValue(index, Integer.parseInt(itemValue.n()));
+        break;
       case BIGINT:
-        return isNull
-            ? BigIntColumn.ofNull(name)
-            : BigIntColumn.of(name, Long.parseLong(itemValue.n()));
+        builder.bigIntValue(index, Long.parseLong(itemValue.n()));
+        break;
       case FLOAT:
-        return isNull
-            ? FloatColumn.ofNull(name)
-            : FloatColumn.of(name, Float.parseFloat(itemValue.n()));
+        builder.floatValue(index, Float.parseFloat(itemValue.n()));
+        break;
       case DOUBLE:
-        return isNull
-            ? DoubleColumn.ofNull(name)
-            : DoubleColumn.of(name, Double.parseDouble(itemValue.n()));
+        builder.doubleValue(index, Double.parseDouble(itemValue.n()));
+        break;
       case TEXT:
-        return isNull ? TextColumn.ofNull(name) : TextColumn.of(name, itemValue.s());
+        builder.textValue(index, itemValue.s());
+        break;
       case BLOB:
-        return isNull ? BlobColumn.ofNull(name) : BlobColumn.of(name, itemValue.b().asByteArray());
+        builder.blobValue(index, itemValue.b().asByteArray());
+        break;
       case DATE:
-        return isNull
-            ? DateColumn.ofNull(name)
-            : DateColumn.of(
-                name, TimeRelatedColumnEncodingUtils.decodeDate(Long.parseLong(itemValue.n())));
+        builder.dateValue(
+            index, TimeRelatedColumnEncodingUtils.decodeDate(Long.parseLong(itemValue.n())));
+        break;
       case TIME:
-        return isNull
-            ? TimeColumn.ofNull(name)
-            : TimeColumn.of(
-                name, TimeRelatedColumnEncodingUtils.decodeTime(Long.parseLong(itemValue.n())));
+        builder.timeValue(
+            index, TimeRelatedColumnEncodingUtils.decodeTime(Long.parseLong(itemValue.n())));
+        break;
       case TIMESTAMP:
-        return isNull
-            ? TimestampColumn.ofNull(name)
-            : TimestampColumn.of(
-                name,
-                TimeRelatedColumnEncodingUtils.decodeTimestamp(Long.parseLong(itemValue.n())));
+        builder.timestampValue(
+            index, TimeRelatedColumnEncodingUtils.decodeTimestamp(Long.parseLong(itemValue.n())));
+        break;
       case TIMESTAMPTZ:
-        return isNull
-            ? TimestampTZColumn.ofNull(name)
-            : TimestampTZColumn.of(
-                name,
-                TimeRelatedColumnEncodingUtils.decodeTimestampTZ(Long.parseLong(itemValue.n())));
+        builder.timestampTZValue(
+            index,
+            TimeRelatedColumnEncodingUtils.decodeTimestampTZ(Long.parseLong(itemValue.n())));
+        break;
       default:
         throw new AssertionError();
     }
@@ -0,0 +1,229 @@
+package com.scalar.db.storage.dynamo;
+
+import com.scalar.db.api.Result;
+import com.scalar.db.api.Scanner;
+import com.scalar.db.common.ScannerIterator;
+import com.scalar.db.common.error.CoreError;
+import com.scalar.db.exception.storage.ExecutionException;
+import com.scalar.db.storage.dynamo.request.PaginatedRequest;
+import com.scalar.db.storage.dynamo.request.PaginatedRequestResponse;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * A scanner for a parallel scan of DynamoDB. Each segment of the scan is fetched page by page in a
+ * separate thread, and the fetched pages are buffered in bounded queues until they are consumed,
+ * so a segment fetches at most the buffer size of pages ahead of the consumer.
+ *
+ * <p>In the ordered mode, each segment has its own queue and the queues are consumed in the segment
+ * order. Otherwise, all the segments share a single queue, and the results are returned in the
+ * order in which the segments fetch them.
+ */
+@NotThreadSafe
+public class SegmentedScanner implements Scanner {
+  private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+  private final ResultInterpreter resultInterpreter;
+  private final List<BlockingQueue<Page>> queues;
+  private final int endMarksPerQueue;
+  private final List<Future<?>> producers;
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  private int currentQueueIndex;
+  private int remainingEndMarks;
+  private Iterator<Map<String, AttributeValue>> itemsIterator = Collections.emptyIterator();
+  @Nullable private Integer remainingLimit;
+
+  private ScannerIterator scannerIterator;
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public SegmentedScanner(
+      List<PaginatedRequest> segmentRequests,
+      int limit,
+      boolean ordered,
+      int bufferSize,
+      ResultInterpreter resultInterpreter,
+      ExecutorService executorService) {
+    this.resultInterpreter = resultInterpreter;
+    remainingLimit = limit > 0 ? limit : null;
+
+    int segments = segmentRequests.size();
+    queues = new ArrayList<>(ordered ? segments : 1);
+    if (ordered) {
+      for (int i = 0; i < segments; i++) {
+        queues.add(new ArrayBlockingQueue<>(bufferSize));
+      }
+      endMarksPerQueue = 1;
+    } else {
+      queues.add(new ArrayBlockingQueue<>(bufferSize * segments));
+      endMarksPerQueue = segments;
+    }
+    remainingEndMarks = endMarksPerQueue;
+
+    producers = new ArrayList<>(segments);
+    for (int i = 0; i < segments; i++) {
+      PaginatedRequest request = segmentRequests.get(i);
+      BlockingQueue<Page> queue = queues.get(ordered ? i : 0);
+      producers.add(executorService.submit(() -> produce(request, limit, queue)));
+    }
+  }
+
+  private void produce(PaginatedRequest request, int limit, BlockingQueue<Page> queue) {
+    try {
+      // Since every segment can have all the results, each segment is limited by the limit itself
+      Integer remaining = limit > 0 ? limit : null;
+      PaginatedRequestResponse response =
+          remaining != null ? request.execute(remaining) : request.execute();
+      while (true) {
+        List<Map<String, AttributeValue>> items = response.items();
+        if (!items.isEmpty() && !offer(queue, new Page(items, null))) {
+          return;
+        }
+        if (remaining != null) {
+          remaining -= items.size();
+        }
+        if ((remaining != null && remaining <= 0) || !response.hasLastEvaluatedKey()) {
+          break;
+        }
+        Map<String, AttributeValue> lastEvaluatedKey = response.lastEvaluatedKey();
+        response =
+            remaining != null
+                ? request.execute(lastEvaluatedKey, remaining)
+                : request.execute(lastEvaluatedKey);
+      }
+      offer(queue, Page.END);
+    } catch (InterruptedException e) {
+      // The scanner is closed
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      try {
+        offer(queue, new Page(null, e));
+      } catch (InterruptedException ignored) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  // Waits until the page is queued, giving up if the scanner is closed so that a producer doesn't
+  // block forever on a queue that is no longer consumed
+  private boolean offer(BlockingQueue<Page> queue, Page page) throws InterruptedException {
+    while (!closed.get()) {
+      if (queue.offer(page, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  @Nonnull
+  public Optional<Result> one() throws ExecutionException {
+    if (!hasNext()) {
+      return Optional.empty();
+    }
+
+    if (remainingLimit != null) {
+      remainingLimit--;
+    }
+    return Optional.of(resultInterpreter.interpret(itemsIterator.next()));
+  }
+
+  private boolean hasNext() throws ExecutionException {
+    if (remainingLimit != null && remainingLimit <= 0) {
+      close();
+      return false;
+    }
+
+    while (!itemsIterator.hasNext()) {
+      if (currentQueueIndex >= queues.size()) {
+        return false;
+      }
+
+      Page page = take(queues.get(currentQueueIndex));
+      if (page == Page.END) {
+        if (--remainingEndMarks == 0) {
+          currentQueueIndex++;
+          remainingEndMarks = endMarksPerQueue;
+        }
+      } else if (page.error != null) {
+        close();
+        throw new ExecutionException(
+            CoreError.DYNAMO_ERROR_OCCURRED_IN_SELECTION.buildMessage(page.error.getMessage()),
+            page.error);
+      } else {
+        assert page.items != null;
+        itemsIterator = page.items.iterator();
+      }
+    }
+    return true;
+  }
+
+  private Page take(BlockingQueue<Page> queue) throws ExecutionException {
+    try {
+      return queue.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      close();
+      throw new ExecutionException(
+          CoreError.DYNAMO_ERROR_OCCURRED_IN_SELECTION.buildMessage(e.getMessage()), e);
+    }
+  }
+
+  @Override
+  @Nonnull
+  public List<Result> all() throws ExecutionException {
+    List<Result> ret = new ArrayList<>();
+    while (true) {
+      Optional<Result> one = one();
+      if (!one.isPresent()) {
+        break;
+      }
+      ret.add(one.get());
+    }
+    return ret;
+  }
+
+  @Override
+  @Nonnull
+  public Iterator<Result> iterator() {
+    if (scannerIterator == null) {
+      scannerIterator = new ScannerIterator(this);
+    }
+    return scannerIterator;
+  }
+
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      producers.forEach(p -> p.cancel(true));
+    }
+  }
+
+  private static final class Page {
+    private static final Page END = new Page(null, null);
+
+    @Nullable private final List<Map<String, AttributeValue>> items;
+    @Nullable private final RuntimeException error;
+
+    private Page(
+        @Nullable List<Map<String, AttributeValue>> items, @Nullable RuntimeException error) {
+      this.items = items;
+      this.error = error;
+    }
+  }
+}
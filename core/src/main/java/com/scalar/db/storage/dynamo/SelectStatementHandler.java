@@ -1,10 +1,14 @@
 package com.scalar.db.storage.dynamo;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.Lists;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.scalar.db.api.Consistency;
 import com.scalar.db.api.Get;
+import com.scalar.db.api.Result;
 import com.scalar.db.api.Scan;
 import com.scalar.db.api.Scan.Ordering;
 import com.scalar.db.api.Scan.Ordering.Order;
@@ -20,22 +24,32 @@ import com.scalar.db.io.Column;
 import com.scalar.db.io.Key;
 import com.scalar.db.storage.dynamo.bytes.BytesUtils;
 import com.scalar.db.storage.dynamo.bytes.KeyBytesEncoder;
+import com.scalar.db.storage.dynamo.request.PaginatedRequest;
 import com.scalar.db.util.ScalarDbUtils;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbRequest;
 import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
 import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
 import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
 
@@ -46,9 +60,19 @@ import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
  */
 @ThreadSafe
 public class SelectStatementHandler {
+  // The maximum number of keys in a BatchGetItem request
+  private static final int BATCH_GET_MAX_KEYS = 100;
+  private static final long BATCH_GET_BACKOFF_BASE_MILLIS = 10;
+
   private final DynamoDbClient client;
   private final TableMetadataManager metadataManager;
   private final String namespacePrefix;
+  private final int parallelScanSegments;
+  private final int parallelScanBufferSize;
+  private final boolean parallelScanOrdered;
+  private final int scanPrefetchMaxPages;
+  private final int scanPrefetchMaxRecords;
+  @Nullable private final ExecutorService scanExecutorService;
 
   /**
    * Constructs a {@code SelectStatementHandler} with the specified {@link DynamoDbClient} and a new
@@ -63,9 +87,84 @@ public class SelectStatementHandler {
       DynamoDbClient client,
       TableMetadataManager metadataManager,
       Optional<String> namespacePrefix) {
+    this(client, metadataManager, namespacePrefix, 1, 1, false, 0, 0, null);
+  }
+
+  /**
+   * Constructs a {@code SelectStatementHandler} that executes a full-table scan with a parallel
+   * scan of the specified number of segments
+   *
+   * @param client {@code DynamoDbClient}
+   * @param metadataManager {@code TableMetadataManager}
+   * @param namespacePrefix a namespace prefix
+   * @param parallelScanSegments the number of segments of a parallel scan
+   * @param parallelScanBufferSize the maximum number of pages buffered for each segment
+   * @param parallelScanOrdered whether the results of a parallel scan are returned in the segment
+   *     order
+   * @param parallelScanExecutorService an executor service to fetch the segments. It can be null
+   *     only if the number of segments is 1
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public SelectStatementHandler(
+      DynamoDbClient client,
+      TableMetadataManager metadataManager,
+      Optional<String> namespacePrefix,
+      int parallelScanSegments,
+      int parallelScanBufferSize,
+      boolean parallelScanOrdered,
+      @Nullable ExecutorService parallelScanExecutorService) {
+    this(
+        client,
+        metadataManager,
+        namespacePrefix,
+        parallelScanSegments,
+        parallelScanBufferSize,
+        parallelScanOrdered,
+        0,
+        0,
+        parallelScanExecutorService);
+  }
+
+  /**
+   * Constructs a {@code SelectStatementHandler} that executes a full-table scan with a parallel
+   * scan of the specified number of segments and fetches the pages of the other scans ahead of the
+   * consumer
+   *
+   * @param client {@code DynamoDbClient}
+   * @param metadataManager {@code TableMetadataManager}
+   * @param namespacePrefix a namespace prefix
+   * @param parallelScanSegments the number of segments of a parallel scan
+   * @param parallelScanBufferSize the maximum number of pages buffered for each segment
+   * @param parallelScanOrdered whether the results of a parallel scan are returned in the segment
+   *     order
+   * @param scanPrefetchMaxPages the maximum number of pages fetched ahead of the consumer. 0
+   *     disables the prefetch
+   * @param scanPrefetchMaxRecords the maximum number of records fetched ahead of the consumer
+   * @param scanExecutorService an executor service to fetch the segments and the pages. It can be
+   *     null only if the number of segments is 1 and the prefetch is disabled
+   */
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public SelectStatementHandler(
+      DynamoDbClient client,
+      TableMetadataManager metadataManager,
+      Optional<String> namespacePrefix,
+      int parallelScanSegments,
+      int parallelScanBufferSize,
+      boolean parallelScanOrdered,
+      int scanPrefetchMaxPages,
+      int scanPrefetchMaxRecords,
+      @Nullable ExecutorService scanExecutorService) {
+    checkArgument(
+        (parallelScanSegments == 1 && scanPrefetchMaxPages == 0) || scanExecutorService != null);
     this.client = checkNotNull(client);
     this.metadataManager = checkNotNull(metadataManager);
     this.namespacePrefix = namespacePrefix.orElse("");
+    this.parallelScanSegments = parallelScanSegments;
+    this.parallelScanBufferSize = parallelScanBufferSize;
+    this.parallelScanOrdered = parallelScanOrdered;
+    this.scanPrefetchMaxPages = scanPrefetchMaxPages;
+    this.scanPrefetchMaxRecords = scanPrefetchMaxRecords;
+    this.scanExecutorService = scanExecutorService;
   }
 
   @Nonnull
@@ -96,6 +195,120 @@ public class SelectStatementHandler {
     }
   }
 
+  /**
+   * Retrieves the records of the specified gets. The gets that specify a primary key are retrieved
+   * with BatchGetItem requests for each table, and the other gets are retrieved one by one.
+   *
+   * @param gets a list of gets
+   * @return a list of the results of the gets in the same order as the gets
+   * @throws ExecutionException if the operation fails
+   */
+  @Nonnull
+  public List<Optional<Result>> handle(List<Get> gets) throws ExecutionException {
+    List<Optional<Result>> results = new ArrayList<>(Collections.nCopies(gets.size(), null));
+    Map<BatchGetGroup, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < gets.size(); i++) {
+      Get get = gets.get(i);
+      TableMetadata tableMetadata = metadataManager.getTableMetadata(get);
+      if (ScalarDbUtils.isSecondaryIndexSpecified(get, tableMetadata)) {
+        results.set(i, getOne(get));
+        continue;
+      }
+      groups
+          .computeIfAbsent(
+              new BatchGetGroup(copyAndAppendNamespacePrefix(get), tableMetadata),
+              k -> new ArrayList<>())
+          .add(i);
+    }
+
+    try {
+      for (Map.Entry<BatchGetGroup, List<Integer>> entry : groups.entrySet()) {
+        for (List<Integer> indexes : Lists.partition(entry.getValue(), BATCH_GET_MAX_KEYS)) {
+          executeBatchGet(entry.getKey(), gets, indexes, results);
+        }
+      }
+    } catch (DynamoDbException e) {
+      throw new ExecutionException(
+          CoreError.DYNAMO_ERROR_OCCURRED_IN_SELECTION.buildMessage(e.getMessage()), e);
+    }
+    return results;
+  }
+
+  private Optional<Result> getOne(Get get) throws ExecutionException {
+    // The scanner of a get holds no resources, so it doesn't need to be closed
+    Scanner scanner = handle(get);
+    Optional<Result> ret = scanner.one();
+    if (scanner.one().isPresent()) {
+      throw new IllegalArgumentException(
+          CoreError.GET_OPERATION_USED_FOR_NON_EXACT_MATCH_SELECTION.buildMessage(get));
+    }
+    return ret;
+  }
+
+  private void executeBatchGet(
+      BatchGetGroup group, List<Get> gets, List<Integer> indexes, List<Optional<Result>> results) {
+    // Duplicate keys are not allowed in a BatchGetItem request
+    Map<Map<String, AttributeValue>, List<Integer>> indexesByKey = new LinkedHashMap<>();
+    for (int index : indexes) {
+      Map<String, AttributeValue> key =
+          new DynamoOperation(gets.get(index), group.tableMetadata).getKeyMap();
+      indexesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(index);
+      results.set(index, Optional.empty());
+    }
+
+    KeysAndAttributes.Builder builder =
+        KeysAndAttributes.builder()
+            .keys(new ArrayList<>(indexesByKey.keySet()))
+            .consistentRead(group.consistentRead);
+    if (!group.projections.isEmpty()) {
+      // The key attributes are always retrieved to find the gets of the returned items
+      Map<String, String> expressionAttributeNames = new HashMap<>();
+      List<String> projections = new ArrayList<>(group.projections.size() + 2);
+      for (String projection : group.projections) {
+        String alias = DynamoOperation.COLUMN_NAME_ALIAS + expressionAttributeNames.size();
+        projections.add(alias);
+        expressionAttributeNames.put(alias, projection);
+      }
+      projections.add(DynamoOperation.PARTITION_KEY);
+      if (!group.tableMetadata.getClusteringKeyNames().isEmpty()) {
+        projections.add(DynamoOperation.CLUSTERING_KEY);
+      }
+      builder
+          .projectionExpression(String.join(",", projections))
+          .expressionAttributeNames(expressionAttributeNames);
+    }
+
+    ResultInterpreter resultInterpreter =
+        new ResultInterpreter(group.projections, group.tableMetadata);
+    Map<String, KeysAndAttributes> requestItems =
+        Collections.singletonMap(group.tableName, builder.build());
+    for (int attempt = 0; !requestItems.isEmpty(); attempt++) {
+      if (attempt > 0) {
+        // Back off before retrying the keys that DynamoDB didn't process due to throttling or the
+        // response size limit
+        Uninterruptibles.sleepUninterruptibly(
+            Math.min(BATCH_GET_BACKOFF_BASE_MILLIS << Math.min(attempt - 1, 10), 1000),
+            TimeUnit.MILLISECONDS);
+      }
+      BatchGetItemResponse response =
+          client.batchGetItem(BatchGetItemRequest.builder().requestItems(requestItems).build());
+      for (Map<String, AttributeValue> item :
+          response.responses().getOrDefault(group.tableName, Collections.emptyList())) {
+        Map<String, AttributeValue> key = new HashMap<>();
+        key.put(DynamoOperation.PARTITION_KEY, item.get(DynamoOperation.PARTITION_KEY));
+        if (item.containsKey(DynamoOperation.CLUSTERING_KEY)) {
+          key.put(DynamoOperation.CLUSTERING_KEY, item.get(DynamoOperation.CLUSTERING_KEY));
+        }
+        List<Integer> matched = indexesByKey.get(key);
+        if (matched != null) {
+          Optional<Result> result = Optional.of(resultInterpreter.interpret(item));
+          matched.forEach(i -> results.set(i, result));
+        }
+      }
+      requestItems = response.unprocessedKeys();
+    }
+  }
+
   private Scanner executeGet(Get get, TableMetadata tableMetadata) {
     DynamoOperation dynamoOperation = new DynamoOperation(get, tableMetadata);
 
@@ -131,7 +344,7 @@ public class SelectStatementHandler {
     ValueBinder binder = new ValueBinder(DynamoOperation.VALUE_ALIAS);
     keyColumn.accept(binder);
     Map<String, AttributeValue> bindMap = binder.build();
-    builder.keyConditionExpression(condition).expressionAttributeValues(bindMap);
+    builder.keyConditionExpression(condition);
 
     Map<String, String> expressionAttributeNames = new HashMap<>();
     expressionAttributeNames.put(expressionColumnName, column);
@@ -140,7 +353,9 @@ public class SelectStatementHandler {
       projectionExpression(builder, selection, expressionAttributeNames);
     }
 
-    builder.expressionAttributeNames(expressionAttributeNames);
+    filterExpression(builder, selection, expressionAttributeNames, bindMap);
+
+    builder.expressionAttributeNames(expressionAttributeNames).expressionAttributeValues(bindMap);
 
     int limit = 0;
     if (selection instanceof Scan) {
@@ -150,7 +365,7 @@ public class SelectStatementHandler {
 
     com.scalar.db.storage.dynamo.request.QueryRequest request =
         new com.scalar.db.storage.dynamo.request.QueryRequest(client, builder.build());
-    return new QueryScanner(
+    return newQueryScanner(
         request, limit, new ResultInterpreter(selection.getProjections(), tableMetadata));
   }
 
@@ -158,7 +373,8 @@ public class SelectStatementHandler {
     DynamoOperation dynamoOperation = new DynamoOperation(scan, tableMetadata);
     QueryRequest.Builder builder = QueryRequest.builder().tableName(dynamoOperation.getTableName());
 
-    if (!setConditions(builder, scan, tableMetadata)) {
+    Map<String, AttributeValue> bindMap = new HashMap<>();
+    if (!setConditions(builder, scan, tableMetadata, bindMap)) {
       // if setConditions() fails, return an empty scanner
       return new EmptyScanner();
     }
@@ -171,11 +387,17 @@ public class SelectStatementHandler {
       }
     }
 
+    Map<String, String> expressionAttributeNames = new HashMap<>();
     if (!scan.getProjections().isEmpty()) {
-      Map<String, String> expressionAttributeNames = new HashMap<>();
       projectionExpression(builder, scan, expressionAttributeNames);
+    }
+
+    filterExpression(builder, scan, expressionAttributeNames, bindMap);
+
+    if (!expressionAttributeNames.isEmpty()) {
       builder.expressionAttributeNames(expressionAttributeNames);
     }
+    builder.expressionAttributeValues(bindMap);
 
     if (scan.getConsistency() != Consistency.EVENTUAL) {
       builder.consistentRead(true);
@@ -183,7 +405,7 @@ public class SelectStatementHandler {
 
     com.scalar.db.storage.dynamo.request.QueryRequest queryRequest =
         new com.scalar.db.storage.dynamo.request.QueryRequest(client, builder.build());
-    return new QueryScanner(
+    return newQueryScanner(
         queryRequest, scan.getLimit(), new ResultInterpreter(scan.getProjections(), tableMetadata));
   }
 
@@ -191,24 +413,61 @@ public class SelectStatementHandler {
     DynamoOperation dynamoOperation = new DynamoOperation(scan, tableMetadata);
     ScanRequest.Builder builder = ScanRequest.builder().tableName(dynamoOperation.getTableName());
 
+    Map<String, String> expressionAttributeNames = new HashMap<>();
     if (!scan.getProjections().isEmpty()) {
-      Map<String, String> expressionAttributeNames = new HashMap<>();
       projectionExpression(builder, scan, expressionAttributeNames);
+    }
+
+    Map<String, AttributeValue> bindMap = new HashMap<>();
+    filterExpression(builder, scan, expressionAttributeNames, bindMap);
+
+    if (!expressionAttributeNames.isEmpty()) {
       builder.expressionAttributeNames(expressionAttributeNames);
     }
+    if (!bindMap.isEmpty()) {
+      builder.expressionAttributeValues(bindMap);
+    }
 
     if (scan.getConsistency() != Consistency.EVENTUAL) {
       builder.consistentRead(true);
     }
 
+    ExecutorService executorService = scanExecutorService;
+    if (parallelScanSegments > 1 && executorService != null) {
+      List<PaginatedRequest> segmentRequests = new ArrayList<>(parallelScanSegments);
+      for (int i = 0; i < parallelScanSegments; i++) {
+        segmentRequests.add(
+            new com.scalar.db.storage.dynamo.request.ScanRequest(
+                client, builder.segment(i).totalSegments(parallelScanSegments).build()));
+      }
+      return new SegmentedScanner(
+          segmentRequests,
+          scan.getLimit(),
+          parallelScanOrdered,
+          parallelScanBufferSize,
+          new ResultInterpreter(scan.getProjections(), tableMetadata),
+          executorService);
+    }
+
     com.scalar.db.storage.dynamo.request.ScanRequest requestWrapper =
         new com.scalar.db.storage.dynamo.request.ScanRequest(client, builder.build());
-    return new QueryScanner(
+    return newQueryScanner(
         requestWrapper,
         scan.getLimit(),
         new ResultInterpreter(scan.getProjections(), tableMetadata));
   }
 
+  private QueryScanner newQueryScanner(
+      PaginatedRequest request, int limit, ResultInterpreter resultInterpreter) {
+    return new QueryScanner(
+        request,
+        limit,
+        resultInterpreter,
+        scanPrefetchMaxPages,
+        scanPrefetchMaxRecords,
+        scanExecutorService);
+  }
+
   private void projectionExpression(
       DynamoDbRequest.Builder builder,
       Selection selection,
@@ -234,10 +493,42 @@ public class SelectStatementHandler {
     }
   }
 
+  /**
+   * Pushes down the conjunctions of the selection to DynamoDB as a filter expression. When some of
+   * the conditions can't be expressed in a filter expression, the filter expression matches a
+   * superset of the records, and the caller is responsible for filtering them on the client side.
+   * See {@link FilterExpressionBuilder} for details.
+   */
+  private void filterExpression(
+      DynamoDbRequest.Builder builder,
+      Selection selection,
+      Map<String, String> expressionAttributeNames,
+      Map<String, AttributeValue> bindMap) {
+    assert builder instanceof QueryRequest.Builder || builder instanceof ScanRequest.Builder;
+
+    FilterExpressionBuilder filterExpressionBuilder =
+        new FilterExpressionBuilder(
+            DynamoOperation.FILTER_COLUMN_NAME_ALIAS, DynamoOperation.FILTER_VALUE_ALIAS);
+    Optional<String> filterExpression = filterExpressionBuilder.build(selection.getConjunctions());
+    if (!filterExpression.isPresent()) {
+      return;
+    }
+    expressionAttributeNames.putAll(filterExpressionBuilder.getExpressionAttributeNames());
+    bindMap.putAll(filterExpressionBuilder.getExpressionAttributeValues());
+
+    if (builder instanceof QueryRequest.Builder) {
+      ((QueryRequest.Builder) builder).filterExpression(filterExpression.get());
+    } else {
+      ((ScanRequest.Builder) builder).filterExpression(filterExpression.get());
+    }
+  }
+
   private boolean setConditions(
-      QueryRequest.Builder builder, Scan scan, TableMetadata tableMetadata) {
+      QueryRequest.Builder builder,
+      Scan scan,
+      TableMetadata tableMetadata,
+      Map<String, AttributeValue> bindMap) {
     List<String> conditions = new ArrayList<>();
-    Map<String, AttributeValue> bindMap = new HashMap<>();
 
     setConditionForPartitionKey(scan, tableMetadata, conditions, bindMap);
 
@@ -307,9 +598,7 @@ public class SelectStatementHandler {
       }
     }
 
-    builder
-        .keyConditionExpression(String.join(" AND ", conditions))
-        .expressionAttributeValues(bindMap);
+    builder.keyConditionExpression(String.join(" AND ", conditions));
     return true;
   }
 
@@ -528,4 +817,38 @@ public class SelectStatementHandler {
     assert scan.forNamespace().isPresent();
     return Scan.newBuilder(scan).namespace(namespacePrefix + scan.forNamespace().get()).build();
   }
+
+  // Gets of the same table with the same projections and consistency are retrieved together
+  private static final class BatchGetGroup {
+    private final String tableName;
+    private final List<String> projections;
+    private final boolean consistentRead;
+    private final TableMetadata tableMetadata;
+
+    private BatchGetGroup(Get get, TableMetadata tableMetadata) {
+      tableName = get.forFullTableName().get();
+      projections = get.getProjections();
+      consistentRead = get.getConsistency() != Consistency.EVENTUAL;
+      this.tableMetadata = tableMetadata;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof BatchGetGroup)) {
+        return false;
+      }
+      BatchGetGroup that = (BatchGetGroup) o;
+      return tableName.equals(that.tableName)
+          && projections.equals(that.projections)
+          && consistentRead == that.consistentRead;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(tableName, projections, consistentRead);
+    }
+  }
 }
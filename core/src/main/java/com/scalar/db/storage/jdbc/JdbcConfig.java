@@ -32,6 +32,8 @@ public class JdbcConfig {
 
   public static final String ISOLATION_LEVEL = PREFIX + "isolation_level";
 
+  public static final String SCAN_FETCH_SIZE = PREFIX + "scan_fetch_size";
+
   /** @deprecated As of 5.0, will be removed. */
   @Deprecated public static final String TABLE_METADATA_SCHEMA = PREFIX + "table_metadata.schema";
 
@@ -61,6 +63,11 @@ public class JdbcConfig {
   public static final boolean DEFAULT_PREPARED_STATEMENTS_POOL_ENABLED = false;
   public static final int DEFAULT_PREPARED_STATEMENTS_POOL_MAX_OPEN = -1;
 
+  // The number of rows fetched from the database at a time when iterating a scanner. 0 leaves it to
+  // the JDBC driver. A positive value keeps the drivers from buffering the whole result set of a
+  // large scan in the heap.
+  public static final int DEFAULT_SCAN_FETCH_SIZE = 0;
+
   public static final int DEFAULT_TABLE_METADATA_CONNECTION_POOL_MIN_IDLE = 5;
   public static final int DEFAULT_TABLE_METADATA_CONNECTION_POOL_MAX_IDLE = 10;
   public static final int DEFAULT_TABLE_METADATA_CONNECTION_POOL_MAX_TOTAL = 25;
@@ -105,6 +112,8 @@ public class JdbcConfig {
 
   @Nullable private final Isolation isolation;
 
+  private final int scanFetchSize;
+
   private final String metadataSchema;
   private final int tableMetadataConnectionPoolMinIdle;
   private final int tableMetadataConnectionPoolMaxIdle;
@@ -172,6 +181,9 @@ public class JdbcConfig {
       isolation = null;
     }
 
+    scanFetchSize =
+        getInt(databaseConfig.getProperties(), SCAN_FETCH_SIZE, DEFAULT_SCAN_FETCH_SIZE);
+
     tableMetadataConnectionPoolMinIdle =
         getInt(
             databaseConfig.getProperties(),
@@ -283,6 +295,10 @@ public class JdbcConfig {
     return Optional.ofNullable(isolation);
   }
 
+  public int getScanFetchSize() {
+    return scanFetchSize;
+  }
+
   public String getMetadataSchema() {
     return metadataSchema;
   }
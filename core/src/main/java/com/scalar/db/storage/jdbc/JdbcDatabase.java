@@ -20,6 +20,7 @@ import com.scalar.db.exception.storage.NoMutationException;
 import com.scalar.db.exception.storage.RetriableExecutionException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import javax.annotation.concurrent.ThreadSafe;
@@ -43,6 +44,7 @@ public class JdbcDatabase extends AbstractDistributedStorage {
   private final BasicDataSource tableMetadataDataSource;
   private final RdbEngineStrategy rdbEngine;
   private final JdbcService jdbcService;
+  private final int scanFetchSize;
 
   @Inject
   public JdbcDatabase(DatabaseConfig databaseConfig) {
@@ -59,7 +61,8 @@ public class JdbcDatabase extends AbstractDistributedStorage {
             databaseConfig.getMetadataCacheExpirationTimeSecs());
 
     OperationChecker operationChecker = new OperationChecker(databaseConfig, tableMetadataManager);
-    jdbcService = new JdbcService(tableMetadataManager, operationChecker, rdbEngine);
+    scanFetchSize = config.getScanFetchSize();
+    jdbcService = new JdbcService(tableMetadataManager, operationChecker, rdbEngine, scanFetchSize);
   }
 
   @VisibleForTesting
@@ -68,12 +71,14 @@ public class JdbcDatabase extends AbstractDistributedStorage {
       BasicDataSource dataSource,
       BasicDataSource tableMetadataDataSource,
       RdbEngineStrategy rdbEngine,
-      JdbcService jdbcService) {
+      JdbcService jdbcService,
+      int scanFetchSize) {
     super(databaseConfig);
     this.dataSource = dataSource;
     this.tableMetadataDataSource = tableMetadataDataSource;
     this.jdbcService = jdbcService;
     this.rdbEngine = rdbEngine;
+    this.scanFetchSize = scanFetchSize;
   }
 
   @Override
@@ -91,12 +96,34 @@ public class JdbcDatabase extends AbstractDistributedStorage {
     }
   }
 
+  @Override
+  public List<Optional<Result>> get(List<Get> gets) throws ExecutionException {
+    List<Get> copiedGets = new ArrayList<>(gets.size());
+    gets.forEach(g -> copiedGets.add(copyAndSetTargetToIfNot(g)));
+    Connection connection = null;
+    try {
+      connection = dataSource.getConnection();
+      return jdbcService.get(copiedGets, connection);
+    } catch (SQLException e) {
+      throw new ExecutionException(
+          CoreError.JDBC_ERROR_OCCURRED_IN_SELECTION.buildMessage(e.getMessage()), e);
+    } finally {
+      close(connection);
+    }
+  }
+
   @Override
   public Scanner scan(Scan scan) throws ExecutionException {
     scan = copyAndSetTargetToIfNot(scan);
     Connection connection = null;
     try {
       connection = dataSource.getConnection();
+      if (scanFetchSize > 0 && rdbEngine.isCursorFetchRequiringNonAutoCommit()) {
+        // Disable auto-commit so that the scanner streams the results with a cursor. The read-only
+        // transaction is rolled back and auto-commit is restored by the connection pool when the
+        // scanner closes the connection
+        connection.setAutoCommit(false);
+      }
       return jdbcService.getScanner(scan, connection);
     } catch (SQLException e) {
       close(connection);
@@ -3,6 +3,7 @@ package com.scalar.db.storage.jdbc;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import com.scalar.db.api.Delete;
 import com.scalar.db.api.Get;
 import com.scalar.db.api.Mutation;
@@ -17,18 +18,27 @@ import com.scalar.db.common.checker.OperationChecker;
 import com.scalar.db.common.error.CoreError;
 import com.scalar.db.exception.storage.ExecutionException;
 import com.scalar.db.storage.jdbc.query.DeleteQuery;
+import com.scalar.db.storage.jdbc.query.PreparedStatementBinder;
+import com.scalar.db.storage.jdbc.query.Query;
 import com.scalar.db.storage.jdbc.query.QueryBuilder;
 import com.scalar.db.storage.jdbc.query.SelectQuery;
+import com.scalar.db.storage.jdbc.query.SelectQueryBinder;
 import com.scalar.db.storage.jdbc.query.UpsertQuery;
+import com.scalar.db.util.ScalarDbUtils;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -39,18 +49,30 @@ import javax.annotation.concurrent.ThreadSafe;
 @SuppressFBWarnings("OBL_UNSATISFIED_OBLIGATION")
 @ThreadSafe
 public class JdbcService {
+  // The maximum number of keys retrieved with a single query in a multi-get
+  private static final int MULTI_GET_MAX_KEYS = 100;
+  // The column that holds the position of the get in a multi-get query
+  private static final String MULTI_GET_INDEX_COLUMN = "scalardb_multi_get_index";
 
   private final TableMetadataManager tableMetadataManager;
   private final OperationChecker operationChecker;
   private final RdbEngineStrategy rdbEngine;
   private final QueryBuilder queryBuilder;
+  private final int scanFetchSize;
+  private final SqlCache sqlCache = new SqlCache();
 
   @SuppressFBWarnings("EI_EXPOSE_REP2")
   public JdbcService(
       TableMetadataManager tableMetadataManager,
       OperationChecker operationChecker,
-      RdbEngineStrategy rdbEngine) {
-    this(tableMetadataManager, operationChecker, rdbEngine, new QueryBuilder(rdbEngine));
+      RdbEngineStrategy rdbEngine,
+      int scanFetchSize) {
+    this(
+        tableMetadataManager,
+        operationChecker,
+        rdbEngine,
+        new QueryBuilder(rdbEngine),
+        scanFetchSize);
   }
 
   @VisibleForTesting
@@ -58,11 +80,13 @@ public class JdbcService {
       TableMetadataManager tableMetadataManager,
       OperationChecker operationChecker,
       RdbEngineStrategy rdbEngine,
-      QueryBuilder queryBuilder) {
+      QueryBuilder queryBuilder,
+      int scanFetchSize) {
     this.tableMetadataManager = Objects.requireNonNull(tableMetadataManager);
     this.operationChecker = Objects.requireNonNull(operationChecker);
     this.rdbEngine = Objects.requireNonNull(rdbEngine);
     this.queryBuilder = Objects.requireNonNull(queryBuilder);
+    this.scanFetchSize = scanFetchSize;
   }
 
   public Optional<Result> get(Get get, Connection connection)
@@ -70,15 +94,14 @@ public class JdbcService {
     operationChecker.check(get);
     TableMetadata tableMetadata = tableMetadataManager.getTableMetadata(get);
 
-    SelectQuery selectQuery =
-        queryBuilder
-            .select(get.getProjections())
-            .from(get.forNamespace().get(), get.forTable().get(), tableMetadata)
-            .where(get.getPartitionKey(), get.getClusteringKey(), get.getConjunctions())
-            .build();
-
-    try (PreparedStatement preparedStatement = connection.prepareStatement(selectQuery.sql())) {
-      selectQuery.bind(preparedStatement);
+    // The query is built only when its SQL statement isn't cached yet, and the values are bound
+    // directly from the get
+    String sql =
+        sqlCache.getSql(
+            StatementShape.of(get, tableMetadata), () -> buildSelectQuery(get, tableMetadata));
+    try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+      SelectQueryBinder.bind(
+          new PreparedStatementBinder(preparedStatement, tableMetadata, rdbEngine), get);
       try (ResultSet resultSet = preparedStatement.executeQuery()) {
         if (resultSet.next()) {
           Optional<Result> ret =
@@ -96,22 +119,136 @@ public class JdbcService {
     }
   }
 
-  @SuppressFBWarnings("OBL_UNSATISFIED_OBLIGATION_EXCEPTION_EDGE")
+  /**
+   * Retrieves the records of the specified gets with the specified connection. The gets that
+   * specify only a primary key are retrieved with a single query for each table, which combines
+   * the queries of the gets with UNION ALL and tags each record with the position of its get. The
+   * other gets are retrieved one by one.
+   *
+   * @param gets a list of gets
+   * @param connection a connection
+   * @return a list of the results of the gets in the same order as the gets
+   * @throws SQLException if a database access error occurs
+   * @throws ExecutionException if the operation fails
+   */
+  public List<Optional<Result>> get(List<Get> gets, Connection connection)
+      throws SQLException, ExecutionException {
+    List<Optional<Result>> results = new ArrayList<>(Collections.nCopies(gets.size(), null));
+    Map<MultiGetGroup, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < gets.size(); i++) {
+      Get get = gets.get(i);
+      operationChecker.check(get);
+      TableMetadata tableMetadata = tableMetadataManager.getTableMetadata(get);
+      if (!get.getConjunctions().isEmpty()
+          || ScalarDbUtils.isSecondaryIndexSpecified(get, tableMetadata)) {
+        results.set(i, get(get, connection));
+        continue;
+      }
+      groups
+          .computeIfAbsent(new MultiGetGroup(get, tableMetadata), k -> new ArrayList<>())
+          .add(i);
+    }
+
+    for (Map.Entry<MultiGetGroup, List<Integer>> entry : groups.entrySet()) {
+      for (List<Integer> indexes : Lists.partition(entry.getValue(), MULTI_GET_MAX_KEYS)) {
+        getByPrimaryKeys(entry.getKey(), gets, indexes, results, connection);
+      }
+    }
+    return results;
+  }
+
+  private void getByPrimaryKeys(
+      MultiGetGroup group,
+      List<Get> gets,
+      List<Integer> indexes,
+      List<Optional<Result>> results,
+      Connection connection)
+      throws SQLException {
+    TableMetadata tableMetadata = group.tableMetadata;
+    Get first = gets.get(indexes.get(0));
+    String getSql =
+        sqlCache.getSql(
+            StatementShape.of(first, tableMetadata), () -> buildSelectQuery(first, tableMetadata));
+
+    // The records are matched with the gets by the position of the get in the query rather than
+    // by comparing the key values, whose equality depends on the collation of the database
+    String indexColumn = rdbEngine.enclose(MULTI_GET_INDEX_COLUMN);
+    StringBuilder sql = new StringBuilder();
+    for (int i = 0; i < indexes.size(); i++) {
+      if (i > 0) {
+        sql.append(" UNION ALL ");
+      }
+      sql.append("SELECT ")
+          .append(i)
+          .append(" AS ")
+          .append(indexColumn)
+          .append(",t.* FROM (")
+          .append(getSql)
+          .append(") t");
+      results.set(indexes.get(i), Optional.empty());
+    }
+
+    try (PreparedStatement preparedStatement = connection.prepareStatement(sql.toString())) {
+      PreparedStatementBinder binder =
+          new PreparedStatementBinder(preparedStatement, tableMetadata, rdbEngine);
+      for (int index : indexes) {
+        SelectQueryBinder.bind(binder, gets.get(index));
+      }
+      try (ResultSet resultSet = preparedStatement.executeQuery()) {
+        ResultInterpreter resultInterpreter =
+            new ResultInterpreter(group.projections, tableMetadata, rdbEngine);
+        while (resultSet.next()) {
+          int index = indexes.get(resultSet.getInt(MULTI_GET_INDEX_COLUMN));
+          results.set(index, Optional.of(resultInterpreter.interpret(resultSet)));
+        }
+      }
+    }
+  }
+
   public Scanner getScanner(Scan scan, Connection connection)
       throws SQLException, ExecutionException {
+    return getScanner(scan, connection, true);
+  }
+
+  /**
+   * Returns a scanner for the specified scan.
+   *
+   * @param scan a scan
+   * @param connection a connection to execute the scan with
+   * @param closeConnectionOnClose whether the scanner closes the connection when it is closed.
+   *     This should be false when the connection is used for a transaction that outlives the
+   *     scanner
+   * @return a scanner
+   * @throws SQLException if executing the scan fails
+   * @throws ExecutionException if getting the table metadata fails
+   */
+  @SuppressFBWarnings("OBL_UNSATISFIED_OBLIGATION_EXCEPTION_EDGE")
+  public Scanner getScanner(
+      Scan scan, Connection connection, boolean closeConnectionOnClose)
+      throws SQLException, ExecutionException {
     operationChecker.check(scan);
 
     TableMetadata tableMetadata = tableMetadataManager.getTableMetadata(scan);
 
-    SelectQuery selectQuery = buildSelectQuery(scan, tableMetadata);
-    PreparedStatement preparedStatement = connection.prepareStatement(selectQuery.sql());
-    selectQuery.bind(preparedStatement);
+    String sql =
+        sqlCache.getSql(
+            StatementShape.of(scan, tableMetadata), () -> buildSelectQuery(scan, tableMetadata));
+    // The statement is forward-only and read-only, which lets the driver stream the results in
+    // chunks of the fetch size rather than buffering the whole result set
+    PreparedStatement preparedStatement =
+        connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    if (scanFetchSize > 0) {
+      preparedStatement.setFetchSize(scanFetchSize);
+    }
+    SelectQueryBinder.bind(
+        new PreparedStatementBinder(preparedStatement, tableMetadata, rdbEngine), scan);
     ResultSet resultSet = preparedStatement.executeQuery();
     return new ScannerImpl(
         new ResultInterpreter(scan.getProjections(), tableMetadata, rdbEngine),
         connection,
         preparedStatement,
-        resultSet);
+        resultSet,
+        closeConnectionOnClose);
   }
 
   public List<Result> scan(Scan scan, Connection connection)
@@ -120,9 +257,12 @@ public class JdbcService {
 
     TableMetadata tableMetadata = tableMetadataManager.getTableMetadata(scan);
 
-    SelectQuery selectQuery = buildSelectQuery(scan, tableMetadata);
-    try (PreparedStatement preparedStatement = connection.prepareStatement(selectQuery.sql())) {
-      selectQuery.bind(preparedStatement);
+    String sql =
+        sqlCache.getSql(
+            StatementShape.of(scan, tableMetadata), () -> buildSelectQuery(scan, tableMetadata));
+    try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+      SelectQueryBinder.bind(
+          new PreparedStatementBinder(preparedStatement, tableMetadata, rdbEngine), scan);
       try (ResultSet resultSet = preparedStatement.executeQuery()) {
         List<Result> ret = new ArrayList<>();
         ResultInterpreter resultInterpreter =
@@ -135,6 +275,14 @@ public class JdbcService {
     }
   }
 
+  private SelectQuery buildSelectQuery(Get get, TableMetadata tableMetadata) {
+    return queryBuilder
+        .select(get.getProjections())
+        .from(get.forNamespace().get(), get.forTable().get(), tableMetadata)
+        .where(get.getPartitionKey(), get.getClusteringKey(), get.getConjunctions())
+        .build();
+  }
+
   private SelectQuery buildSelectQuery(Scan scan, TableMetadata tableMetadata) {
     if (scan instanceof ScanAll) {
       return buildSelectQuery((ScanAll) scan, tableMetadata);
@@ -175,12 +323,9 @@ public class JdbcService {
     TableMetadata tableMetadata = tableMetadataManager.getTableMetadata(put);
 
     if (!put.getCondition().isPresent()) {
-      UpsertQuery upsertQuery =
-          queryBuilder
-              .upsertInto(put.forNamespace().get(), put.forTable().get(), tableMetadata)
-              .values(put.getPartitionKey(), put.getClusteringKey(), put.getColumns())
-              .build();
-      try (PreparedStatement preparedStatement = connection.prepareStatement(upsertQuery.sql())) {
+      UpsertQuery upsertQuery = buildUpsertQuery(put, tableMetadata);
+      String sql = sqlCache.getSql(StatementShape.of(put, tableMetadata), () -> upsertQuery);
+      try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
         upsertQuery.bind(preparedStatement);
         preparedStatement.executeUpdate();
         return true;
@@ -191,6 +336,13 @@ public class JdbcService {
     }
   }
 
+  private UpsertQuery buildUpsertQuery(Put put, TableMetadata tableMetadata) {
+    return queryBuilder
+        .upsertInto(put.forNamespace().get(), put.forTable().get(), tableMetadata)
+        .values(put.getPartitionKey(), put.getClusteringKey(), put.getColumns())
+        .build();
+  }
+
   public boolean delete(Delete delete, Connection connection)
       throws SQLException, ExecutionException {
     operationChecker.check(delete);
@@ -202,12 +354,9 @@ public class JdbcService {
     TableMetadata tableMetadata = tableMetadataManager.getTableMetadata(delete);
 
     if (!delete.getCondition().isPresent()) {
-      DeleteQuery deleteQuery =
-          queryBuilder
-              .deleteFrom(delete.forNamespace().get(), delete.forTable().get(), tableMetadata)
-              .where(delete.getPartitionKey(), delete.getClusteringKey())
-              .build();
-      try (PreparedStatement preparedStatement = connection.prepareStatement(deleteQuery.sql())) {
+      DeleteQuery deleteQuery = buildDeleteQuery(delete, tableMetadata);
+      String sql = sqlCache.getSql(StatementShape.of(delete, tableMetadata), () -> deleteQuery);
+      try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
         deleteQuery.bind(preparedStatement);
         preparedStatement.executeUpdate();
         return true;
@@ -218,23 +367,137 @@ public class JdbcService {
     }
   }
 
+  private DeleteQuery buildDeleteQuery(Delete delete, TableMetadata tableMetadata) {
+    return queryBuilder
+        .deleteFrom(delete.forNamespace().get(), delete.forTable().get(), tableMetadata)
+        .where(delete.getPartitionKey(), delete.getClusteringKey())
+        .build();
+  }
+
+  /**
+   * Executes the specified mutations. Consecutive unconditional mutations that produce the same SQL
+   * statement are sent as a single JDBC batch, while conditional mutations are executed one by one
+   * so that an unsatisfied condition is still detected per mutation. The order of the mutations is
+   * preserved.
+   */
   public boolean mutate(List<? extends Mutation> mutations, Connection connection)
       throws SQLException, ExecutionException {
     checkArgument(!mutations.isEmpty(), CoreError.EMPTY_MUTATIONS_SPECIFIED.buildMessage());
     operationChecker.check(mutations);
 
+    MutationBatch batch = new MutationBatch(connection);
     for (Mutation mutation : mutations) {
-      if (mutation instanceof Put) {
-        if (!putInternal((Put) mutation, connection)) {
+      if (mutation.getCondition().isPresent()) {
+        // Flush the pending unconditional mutations first to preserve the order of the mutations
+        batch.execute();
+
+        TableMetadata tableMetadata = tableMetadataManager.getTableMetadata(mutation);
+        if (!new ConditionalMutator(mutation, tableMetadata, connection, rdbEngine, queryBuilder)
+            .mutate()) {
           return false;
         }
+        continue;
+      }
+
+      TableMetadata tableMetadata = tableMetadataManager.getTableMetadata(mutation);
+      Query query;
+      StatementShape shape;
+      if (mutation instanceof Put) {
+        query = buildUpsertQuery((Put) mutation, tableMetadata);
+        shape = StatementShape.of((Put) mutation, tableMetadata);
       } else {
         assert mutation instanceof Delete;
-        if (!deleteInternal((Delete) mutation, connection)) {
-          return false;
-        }
+        query = buildDeleteQuery((Delete) mutation, tableMetadata);
+        shape = StatementShape.of((Delete) mutation, tableMetadata);
       }
+      batch.add(query, sqlCache.getSql(shape, () -> query));
     }
+    batch.execute();
     return true;
   }
+
+  /**
+   * A group of consecutive unconditional mutation queries that share the same SQL statement and
+   * thus can be executed with a single {@link PreparedStatement} via JDBC batching.
+   */
+  @NotThreadSafe
+  private static class MutationBatch {
+    private final Connection connection;
+    private final List<Query> queries = new ArrayList<>();
+    @Nullable private Class<?> queryType;
+    @Nullable private String sql;
+
+    private MutationBatch(Connection connection) {
+      this.connection = connection;
+    }
+
+    public void add(Query query, String querySql) throws SQLException {
+      if (!queries.isEmpty()
+          && (!query.getClass().equals(queryType) || !Objects.equals(querySql, sql))) {
+        execute();
+      }
+      if (queries.isEmpty()) {
+        queryType = query.getClass();
+        sql = querySql;
+      }
+      queries.add(query);
+    }
+
+    public void execute() throws SQLException {
+      if (queries.isEmpty()) {
+        return;
+      }
+
+      try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        if (queries.size() == 1) {
+          queries.get(0).bind(preparedStatement);
+          preparedStatement.executeUpdate();
+        } else {
+          for (Query query : queries) {
+            query.bind(preparedStatement);
+            preparedStatement.addBatch();
+          }
+          preparedStatement.executeBatch();
+        }
+      } finally {
+        queries.clear();
+        queryType = null;
+        sql = null;
+      }
+    }
+  }
+
+  // Gets of the same table with the same projections are retrieved with a single query
+  private static final class MultiGetGroup {
+    private final String namespace;
+    private final String table;
+    private final List<String> projections;
+    private final TableMetadata tableMetadata;
+
+    private MultiGetGroup(Get get, TableMetadata tableMetadata) {
+      namespace = get.forNamespace().get();
+      table = get.forTable().get();
+      projections = get.getProjections();
+      this.tableMetadata = tableMetadata;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof MultiGetGroup)) {
+        return false;
+      }
+      MultiGetGroup that = (MultiGetGroup) o;
+      return namespace.equals(that.namespace)
+          && table.equals(that.table)
+          && projections.equals(that.projections);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(namespace, table, projections);
+    }
+  }
 }
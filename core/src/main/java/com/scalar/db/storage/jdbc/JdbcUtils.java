@@ -71,6 +71,12 @@ public final class JdbcUtils {
     for (Entry<String, String> entry : rdbEngine.getConnectionProperties().entrySet()) {
       dataSource.addConnectionProperty(entry.getKey(), entry.getValue());
     }
+    if (config.getScanFetchSize() > 0) {
+      for (Entry<String, String> entry :
+          rdbEngine.getCursorFetchConnectionProperties().entrySet()) {
+        dataSource.addConnectionProperty(entry.getKey(), entry.getValue());
+      }
+    }
 
     return dataSource;
   }
@@ -3,6 +3,8 @@ package com.scalar.db.storage.jdbc;
 import com.scalar.db.io.DataType;
 import java.sql.Driver;
 import java.sql.JDBCType;
+import java.util.Collections;
+import java.util.Map;
 import javax.annotation.Nullable;
 
 class RdbEngineMariaDB extends RdbEngineMysql {
@@ -11,6 +13,13 @@ class RdbEngineMariaDB extends RdbEngineMysql {
     return new org.mariadb.jdbc.Driver();
   }
 
+  @Override
+  public Map<String, String> getCursorFetchConnectionProperties() {
+    // Unlike the MySQL JDBC driver, the MariaDB JDBC driver honors the fetch size of a statement
+    // without any additional connection property
+    return Collections.emptyMap();
+  }
+
   @Override
   DataType getDataTypeForScalarDbInternal(
       JDBCType type,
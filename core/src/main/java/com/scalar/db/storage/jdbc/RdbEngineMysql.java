@@ -1,6 +1,7 @@
 package com.scalar.db.storage.jdbc;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
 import com.scalar.db.api.LikeExpression;
 import com.scalar.db.api.TableMetadata;
 import com.scalar.db.common.error.CoreError;
@@ -20,6 +21,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneOffset;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
@@ -428,9 +430,9 @@ class RdbEngineMysql extends AbstractRdbEngine {
   }
 
   @Override
-  public TimestampTZColumn parseTimestampTZColumn(ResultSet resultSet, String columnName)
-      throws SQLException {
-    LocalDateTime localDateTime = resultSet.getObject(columnName, LocalDateTime.class);
+  public TimestampTZColumn parseTimestampTZColumn(
+      ResultSet resultSet, int columnIndex, String columnName) throws SQLException {
+    LocalDateTime localDateTime = resultSet.getObject(columnIndex, LocalDateTime.class);
     if (localDateTime == null) {
       return TimestampTZColumn.ofNull(columnName);
     } else {
@@ -438,6 +440,14 @@ class RdbEngineMysql extends AbstractRdbEngine {
     }
   }
 
+  @Override
+  public Map<String, String> getCursorFetchConnectionProperties() {
+    // Without this property, the MySQL JDBC driver ignores the fetch size of a statement and loads
+    // the entire result set into memory. With it, the driver uses a server-side cursor and fetches
+    // the results in chunks of the fetch size.
+    return ImmutableMap.of("useCursorFetch", "true");
+  }
+
   @Override
   public RdbEngineTimeTypeStrategy<LocalDate, LocalTime, LocalDateTime, LocalDateTime>
       getTimeTypeStrategy() {
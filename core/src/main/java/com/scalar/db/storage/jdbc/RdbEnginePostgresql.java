@@ -366,6 +366,12 @@ class RdbEnginePostgresql extends AbstractRdbEngine {
     return createIndexSql.replace("CREATE INDEX", "CREATE INDEX IF NOT EXISTS");
   }
 
+  @Override
+  public boolean isCursorFetchRequiringNonAutoCommit() {
+    // The PostgreSQL JDBC driver fetches the results with a cursor only in a transaction
+    return true;
+  }
+
   @Override
   public RdbEngineTimeTypeStrategy<LocalDate, LocalTime, LocalDateTime, OffsetDateTime>
       getTimeTypeStrategy() {
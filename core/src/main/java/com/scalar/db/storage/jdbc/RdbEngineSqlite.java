@@ -305,30 +305,32 @@ class RdbEngineSqlite extends AbstractRdbEngine {
   }
 
   @Override
-  public DateColumn parseDateColumn(ResultSet resultSet, String columnName) throws SQLException {
+  public DateColumn parseDateColumn(
+      ResultSet resultSet, int columnIndex, String columnName) throws SQLException {
     return DateColumn.of(
-        columnName, TimeRelatedColumnEncodingUtils.decodeDate(resultSet.getLong(columnName)));
+        columnName, TimeRelatedColumnEncodingUtils.decodeDate(resultSet.getLong(columnIndex)));
   }
 
   @Override
-  public TimeColumn parseTimeColumn(ResultSet resultSet, String columnName) throws SQLException {
+  public TimeColumn parseTimeColumn(
+      ResultSet resultSet, int columnIndex, String columnName) throws SQLException {
     return TimeColumn.of(
-        columnName, TimeRelatedColumnEncodingUtils.decodeTime(resultSet.getLong(columnName)));
+        columnName, TimeRelatedColumnEncodingUtils.decodeTime(resultSet.getLong(columnIndex)));
   }
 
   @Override
-  public TimestampColumn parseTimestampColumn(ResultSet resultSet, String columnName)
-      throws SQLException {
+  public TimestampColumn parseTimestampColumn(
+      ResultSet resultSet, int columnIndex, String columnName) throws SQLException {
     return TimestampColumn.of(
-        columnName, TimeRelatedColumnEncodingUtils.decodeTimestamp(resultSet.getLong(columnName)));
+        columnName, TimeRelatedColumnEncodingUtils.decodeTimestamp(resultSet.getLong(columnIndex)));
   }
 
   @Override
-  public TimestampTZColumn parseTimestampTZColumn(ResultSet resultSet, String columnName)
-      throws SQLException {
+  public TimestampTZColumn parseTimestampTZColumn(
+      ResultSet resultSet, int columnIndex, String columnName) throws SQLException {
     return TimestampTZColumn.of(
         columnName,
-        TimeRelatedColumnEncodingUtils.decodeTimestampTZ(resultSet.getLong(columnName)));
+        TimeRelatedColumnEncodingUtils.decodeTimestampTZ(resultSet.getLong(columnIndex)));
   }
 
   @Override
@@ -169,22 +169,24 @@ public interface RdbEngineStrategy {
     return column.getTimestampTZValue().atOffset(ZoneOffset.UTC);
   }
 
-  default DateColumn parseDateColumn(ResultSet resultSet, String columnName) throws SQLException {
-    return DateColumn.of(columnName, resultSet.getObject(columnName, LocalDate.class));
+  default DateColumn parseDateColumn(
+      ResultSet resultSet, int columnIndex, String columnName) throws SQLException {
+    return DateColumn.of(columnName, resultSet.getObject(columnIndex, LocalDate.class));
   }
 
-  default TimeColumn parseTimeColumn(ResultSet resultSet, String columnName) throws SQLException {
-    return TimeColumn.of(columnName, resultSet.getObject(columnName, LocalTime.class));
+  default TimeColumn parseTimeColumn(
+      ResultSet resultSet, int columnIndex, String columnName) throws SQLException {
+    return TimeColumn.of(columnName, resultSet.getObject(columnIndex, LocalTime.class));
   }
 
-  default TimestampColumn parseTimestampColumn(ResultSet resultSet, String columnName)
-      throws SQLException {
-    return TimestampColumn.of(columnName, resultSet.getObject(columnName, LocalDateTime.class));
+  default TimestampColumn parseTimestampColumn(
+      ResultSet resultSet, int columnIndex, String columnName) throws SQLException {
+    return TimestampColumn.of(columnName, resultSet.getObject(columnIndex, LocalDateTime.class));
   }
 
-  default TimestampTZColumn parseTimestampTZColumn(ResultSet resultSet, String columnName)
-      throws SQLException {
-    OffsetDateTime offsetDateTime = resultSet.getObject(columnName, OffsetDateTime.class);
+  default TimestampTZColumn parseTimestampTZColumn(
+      ResultSet resultSet, int columnIndex, String columnName) throws SQLException {
+    OffsetDateTime offsetDateTime = resultSet.getObject(columnIndex, OffsetDateTime.class);
     if (offsetDateTime == null) {
       return TimestampTZColumn.ofNull(columnName);
     } else {
@@ -201,5 +203,26 @@ public interface RdbEngineStrategy {
     return Collections.emptyMap();
   }
 
+  /**
+   * Return the connection properties that make the JDBC driver of the underlying database honor the
+   * fetch size of a statement. They are added only when a scan fetch size is specified.
+   *
+   * @return a map where key=property_name and value=property_value
+   */
+  default Map<String, String> getCursorFetchConnectionProperties() {
+    return Collections.emptyMap();
+  }
+
+  /**
+   * Return whether the JDBC driver of the underlying database only honors the fetch size of a
+   * statement, i.e., fetches the results with a cursor instead of loading all of them at once, when
+   * the connection is not in auto-commit mode.
+   *
+   * @return true if auto-commit needs to be disabled for fetching results with a cursor
+   */
+  default boolean isCursorFetchRequiringNonAutoCommit() {
+    return false;
+  }
+
   RdbEngineTimeTypeStrategy<?, ?, ?, ?> getTimeTypeStrategy();
 }
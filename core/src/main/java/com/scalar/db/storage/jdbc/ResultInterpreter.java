@@ -2,134 +2,189 @@ package com.scalar.db.storage.jdbc;
 
 import com.scalar.db.api.Result;
 import com.scalar.db.api.TableMetadata;
-import com.scalar.db.common.ResultImpl;
-import com.scalar.db.io.BigIntColumn;
-import com.scalar.db.io.BlobColumn;
-import com.scalar.db.io.BooleanColumn;
+import com.scalar.db.common.ColumnDictionary;
+import com.scalar.db.common.CompactResult;
 import com.scalar.db.io.Column;
 import com.scalar.db.io.DataType;
-import com.scalar.db.io.DateColumn;
-import com.scalar.db.io.DoubleColumn;
-import com.scalar.db.io.FloatColumn;
-import com.scalar.db.io.IntColumn;
-import com.scalar.db.io.TextColumn;
-import com.scalar.db.io.TimeColumn;
-import com.scalar.db.io.TimestampColumn;
-import com.scalar.db.io.TimestampTZColumn;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
 import javax.annotation.concurrent.ThreadSafe;
 
+/**
+ * An interpreter to convert the rows of a {@code ResultSet} into {@code Result}s.
+ *
+ * <p>The column decoders are prepared when the interpreter is created, and the column ordinals in
+ * a {@code ResultSet} are resolved only once per {@code ResultSet}, so the columns of each row are
+ * read by index without resolving the column names. The values are stored in {@link
+ * CompactResult}s without making {@code Column} objects except for the date and time columns.
+ */
 @ThreadSafe
 public class ResultInterpreter {
 
-  private final List<String> projections;
-  private final TableMetadata metadata;
-  private final RdbEngineStrategy rdbEngine;
+  private final ColumnDictionary dictionary;
+  private final ColumnDecoder[] decoders;
+
+  // The column ordinals in the last interpreted result set
+  @Nullable private volatile ColumnOrdinals columnOrdinals;
 
   @SuppressFBWarnings("EI_EXPOSE_REP2")
   public ResultInterpreter(
       List<String> projections, TableMetadata metadata, RdbEngineStrategy rdbEngine) {
-    this.projections = Objects.requireNonNull(projections);
-    this.metadata = Objects.requireNonNull(metadata);
-    this.rdbEngine = rdbEngine;
+    dictionary = ColumnDictionary.of(Objects.requireNonNull(metadata), projections);
+    List<String> columnNames = dictionary.getColumnNames().asList();
+    decoders = new ColumnDecoder[columnNames.size()];
+    for (int i = 0; i < decoders.length; i++) {
+      decoders[i] = createDecoder(columnNames.get(i), dictionary.getDataType(i), rdbEngine);
+    }
   }
 
   public Result interpret(ResultSet resultSet) throws SQLException {
-    Map<String, Column<?>> ret = new HashMap<>();
-    if (projections.isEmpty()) {
-      for (String projection : metadata.getColumnNames()) {
-        ret.put(projection, convert(projection, resultSet));
-      }
-    } else {
-      for (String projection : projections) {
-        ret.put(projection, convert(projection, resultSet));
-      }
+    int[] ordinals = getColumnOrdinals(resultSet);
+    CompactResult.Builder builder = CompactResult.newBuilder(dictionary);
+    for (int i = 0; i < decoders.length; i++) {
+      decoders[i].decode(resultSet, ordinals[i], builder, i);
     }
-    return new ResultImpl(ret, metadata);
+    return builder.build();
   }
 
-  private Column<?> convert(String name, ResultSet resultSet) throws SQLException {
-    Column<?> ret;
+  private int[] getColumnOrdinals(ResultSet resultSet) throws SQLException {
+    ColumnOrdinals ordinals = columnOrdinals;
+    if (ordinals == null || ordinals.resultSet != resultSet) {
+      int[] values = new int[decoders.length];
+      int i = 0;
+      for (String columnName : dictionary.getColumnNames()) {
+        values[i++] = resultSet.findColumn(columnName);
+      }
+      ordinals = new ColumnOrdinals(resultSet, values);
+      columnOrdinals = ordinals;
+    }
+    return ordinals.values;
+  }
 
-    DataType dataType = metadata.getColumnDataType(name);
+  private static ColumnDecoder createDecoder(
+      String name, DataType dataType, RdbEngineStrategy rdbEngine) {
     switch (dataType) {
       case BOOLEAN:
-        ret = BooleanColumn.of(name, resultSet.getBoolean(name));
-        if (resultSet.wasNull()) {
-          ret = BooleanColumn.ofNull(name);
-        }
-        break;
+        return (resultSet, ordinal, builder, index) -> {
+          boolean value = resultSet.getBoolean(ordinal);
+          if (resultSet.wasNull()) {
+            builder.nullValue(index);
+          } else {
+            builder.booleanValue(index, value);
+          }
+        };
       case INT:
-        ret = IntColumn.of(name, resultSet.getInt(name));
-        if (resultSet.wasNull()) {
-          ret = IntColumn.ofNull(name);
-        }
-        break;
+        return (resultSet, ordinal, builder, index) -> {
+          int value = resultSet.getInt(ordinal);
+          if (resultSet.wasNull()) {
+            builder.nullValue(index);
+          } else {
+            builder.intValue(index, value);
+          }
+        };
       case BIGINT:
-        ret = BigIntColumn.of(name, resultSet.getLong(name));
-        if (resultSet.wasNull()) {
-          ret = BigIntColumn.ofNull(name);
-        }
-        break;
+        return (resultSet, ordinal, builder, index) -> {
+          long value = resultSet.getLong(ordinal);
+          if (resultSet.wasNull()) {
+            builder.nullValue(index);
+          } else {
+            builder.bigIntValue(index, value);
+          }
+        };
       case FLOAT:
-        // To handle Float.MAX_VALUE in MySQL, we need to get the value as double, then cast it to
-        // float
-        ret = FloatColumn.of(name, (float) resultSet.getDouble(name));
-        if (resultSet.wasNull()) {
-          ret = FloatColumn.ofNull(name);
-        }
-        break;
+        return (resultSet, ordinal, builder, index) -> {
+          // To handle Float.MAX_VALUE in MySQL, we need to get the value as double, then cast it to
+          // float
+          float value = (float) resultSet.getDouble(ordinal);
+          if (resultSet.wasNull()) {
+            builder.nullValue(index);
+          } else {
+            builder.floatValue(index, value);
+          }
+        };
       case DOUBLE:
-        ret = DoubleColumn.of(name, resultSet.getDouble(name));
-        if (resultSet.wasNull()) {
-          ret = DoubleColumn.ofNull(name);
-        }
-        break;
+        return (resultSet, ordinal, builder, index) -> {
+          double value = resultSet.getDouble(ordinal);
+          if (resultSet.wasNull()) {
+            builder.nullValue(index);
+          } else {
+            builder.doubleValue(index, value);
+          }
+        };
       case TEXT:
-        ret = TextColumn.of(name, resultSet.getString(name));
-        if (resultSet.wasNull()) {
-          ret = TextColumn.ofNull(name);
-        }
-        break;
+        return (resultSet, ordinal, builder, index) -> {
+          String value = resultSet.getString(ordinal);
+          if (resultSet.wasNull()) {
+            builder.nullValue(index);
+          } else {
+            builder.textValue(index, value);
+          }
+        };
       case BLOB:
-        ret = BlobColumn.of(name, resultSet.getBytes(name));
-        if (resultSet.wasNull()) {
-          ret = BlobColumn.ofNull(name);
-        }
-        break;
+        return (resultSet, ordinal, builder, index) -> {
+          byte[] value = resultSet.getBytes(ordinal);
+          if (resultSet.wasNull()) {
+            builder.nullValue(index);
+          } else {
+            builder.blobValue(index, value);
+          }
+        };
       case DATE:
-        ret = rdbEngine.parseDateColumn(resultSet, name);
-        if (resultSet.wasNull()) {
-          ret = DateColumn.ofNull(name);
-        }
-        break;
+        return (resultSet, ordinal, builder, index) ->
+            setColumn(
+                resultSet, rdbEngine.parseDateColumn(resultSet, ordinal, name), builder, index);
       case TIME:
-        ret = rdbEngine.parseTimeColumn(resultSet, name);
-        if (resultSet.wasNull()) {
-          ret = TimeColumn.ofNull(name);
-        }
-        break;
+        return (resultSet, ordinal, builder, index) ->
+            setColumn(
+                resultSet, rdbEngine.parseTimeColumn(resultSet, ordinal, name), builder, index);
       case TIMESTAMP:
-        ret = rdbEngine.parseTimestampColumn(resultSet, name);
-        if (resultSet.wasNull()) {
-          ret = TimestampColumn.ofNull(name);
-        }
-        break;
+        return (resultSet, ordinal, builder, index) ->
+            setColumn(
+                resultSet,
+                rdbEngine.parseTimestampColumn(resultSet, ordinal, name),
+                builder,
+                index);
       case TIMESTAMPTZ:
-        ret = rdbEngine.parseTimestampTZColumn(resultSet, name);
-        if (resultSet.wasNull()) {
-          ret = TimestampTZColumn.ofNull(name);
-        }
-        break;
+        return (resultSet, ordinal, builder, index) ->
+            setColumn(
+                resultSet,
+                rdbEngine.parseTimestampTZColumn(resultSet, ordinal, name),
+                builder,
+                index);
       default:
         throw new AssertionError();
     }
-    return ret;
+  }
+
+  private static void setColumn(
+      ResultSet resultSet, Column<?> column, CompactResult.Builder builder, int index)
+      throws SQLException {
+    if (resultSet.wasNull()) {
+      builder.nullValue(index);
+    } else {
+      builder.value(index, column);
+    }
+  }
+
+  @FunctionalInterface
+  private interface ColumnDecoder {
+    void decode(ResultSet resultSet, int ordinal, CompactResult.Builder builder, int index)
+        throws SQLException;
+  }
+
+  @Immutable
+  private static class ColumnOrdinals {
+    private final ResultSet resultSet;
+    private final int[] values;
+
+    private ColumnOrdinals(ResultSet resultSet, int[] values) {
+      this.resultSet = resultSet;
+      this.values = values;
+    }
   }
 }
@@ -28,19 +28,30 @@ public class ScannerImpl implements Scanner {
   private final Connection connection;
   private final PreparedStatement preparedStatement;
   private final ResultSet resultSet;
+  private final boolean closeConnectionOnClose;
 
   private ScannerIterator scannerIterator;
 
-  @SuppressFBWarnings("EI_EXPOSE_REP2")
   public ScannerImpl(
       ResultInterpreter resultInterpreter,
       Connection connection,
       PreparedStatement preparedStatement,
       ResultSet resultSet) {
+    this(resultInterpreter, connection, preparedStatement, resultSet, true);
+  }
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public ScannerImpl(
+      ResultInterpreter resultInterpreter,
+      Connection connection,
+      PreparedStatement preparedStatement,
+      ResultSet resultSet,
+      boolean closeConnectionOnClose) {
     this.resultInterpreter = Objects.requireNonNull(resultInterpreter);
     this.connection = Objects.requireNonNull(connection);
     this.preparedStatement = Objects.requireNonNull(preparedStatement);
     this.resultSet = Objects.requireNonNull(resultSet);
+    this.closeConnectionOnClose = closeConnectionOnClose;
   }
 
   @Override
@@ -89,6 +100,10 @@ public class ScannerImpl implements Scanner {
     } catch (SQLException e) {
       logger.warn("Failed to close the preparedStatement", e);
     }
+    if (!closeConnectionOnClose) {
+      // The connection is owned by a transaction
+      return;
+    }
     try {
       connection.close();
     } catch (SQLException e) {
@@ -0,0 +1,44 @@
+package com.scalar.db.storage.jdbc;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.scalar.db.storage.jdbc.query.Query;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A cache for SQL statements generated by {@link Query}, keyed by {@link StatementShape}. It saves
+ * building the SQL string and enclosing the identifiers for every operation. The cache will try to
+ * evict entries that haven't been used recently when it reaches or is approaching the size limit.
+ */
+@ThreadSafe
+class SqlCache {
+  static final int DEFAULT_CACHE_SIZE = 1024;
+  private final Cache<StatementShape, String> cache;
+
+  SqlCache() {
+    this(DEFAULT_CACHE_SIZE);
+  }
+
+  SqlCache(int maxSize) {
+    cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+  }
+
+  /**
+   * Returns the SQL statement associated with the specified shape. If it's not cached yet, it's
+   * generated from the query returned by the specified supplier and cached. The supplier is called
+   * only in that case, so the query doesn't need to be built when the SQL statement is cached.
+   *
+   * @param shape the shape of the operation that the query is built from
+   * @param querySupplier a supplier of a query built from the operation
+   * @return the SQL statement of the query
+   */
+  public String getSql(StatementShape shape, Supplier<? extends Query> querySupplier) {
+    String sql = cache.getIfPresent(shape);
+    if (sql == null) {
+      sql = querySupplier.get().sql();
+      cache.put(shape, sql);
+    }
+    return sql;
+  }
+}
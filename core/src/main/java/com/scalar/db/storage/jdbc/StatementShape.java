@@ -0,0 +1,186 @@
+package com.scalar.db.storage.jdbc;
+
+import com.google.common.collect.ImmutableList;
+import com.scalar.db.api.ConditionalExpression;
+import com.scalar.db.api.Delete;
+import com.scalar.db.api.Get;
+import com.scalar.db.api.LikeExpression;
+import com.scalar.db.api.Put;
+import com.scalar.db.api.Scan;
+import com.scalar.db.api.ScanAll;
+import com.scalar.db.api.Selection.Conjunction;
+import com.scalar.db.api.TableMetadata;
+import com.scalar.db.io.Column;
+import com.scalar.db.io.Key;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The shape of an operation, i.e., everything in the operation and its table metadata that affects
+ * the SQL statement generated for it, excluding the values to be bound. Two operations with the
+ * same shape are translated into the same SQL statement, so it is used as a key of {@link
+ * SqlCache}.
+ *
+ * <p>The table metadata is compared by identity so that an altered table, for which {@link
+ * com.scalar.db.common.TableMetadataManager} returns a new metadata instance, gets a new shape.
+ */
+@Immutable
+final class StatementShape {
+
+  private enum Kind {
+    GET,
+    SCAN,
+    SCAN_ALL,
+    UPSERT,
+    DELETE
+  }
+
+  private final Kind kind;
+  private final String namespace;
+  private final String table;
+  private final TableMetadata tableMetadata;
+  private final List<Object> components;
+  private final int hashCode;
+
+  private StatementShape(
+      Kind kind,
+      String namespace,
+      String table,
+      TableMetadata tableMetadata,
+      List<Object> components) {
+    this.kind = kind;
+    this.namespace = namespace;
+    this.table = table;
+    this.tableMetadata = tableMetadata;
+    this.components = components;
+    hashCode =
+        Objects.hash(kind, namespace, table, System.identityHashCode(tableMetadata), components);
+  }
+
+  public static StatementShape of(Get get, TableMetadata tableMetadata) {
+    return new StatementShape(
+        Kind.GET,
+        get.forNamespace().get(),
+        get.forTable().get(),
+        tableMetadata,
+        ImmutableList.of(
+            get.getProjections(),
+            columnNames(get.getPartitionKey()),
+            columnNames(get.getClusteringKey()),
+            conjunctionShapes(get.getConjunctions())));
+  }
+
+  public static StatementShape of(Scan scan, TableMetadata tableMetadata) {
+    if (scan instanceof ScanAll) {
+      return new StatementShape(
+          Kind.SCAN_ALL,
+          scan.forNamespace().get(),
+          scan.forTable().get(),
+          tableMetadata,
+          ImmutableList.of(
+              scan.getProjections(),
+              conjunctionShapes(scan.getConjunctions()),
+              scan.getOrderings(),
+              scan.getLimit()));
+    }
+
+    return new StatementShape(
+        Kind.SCAN,
+        scan.forNamespace().get(),
+        scan.forTable().get(),
+        tableMetadata,
+        ImmutableList.of(
+            scan.getProjections(),
+            columnNames(scan.getPartitionKey()),
+            columnNames(scan.getStartClusteringKey()),
+            scan.getStartInclusive(),
+            columnNames(scan.getEndClusteringKey()),
+            scan.getEndInclusive(),
+            conjunctionShapes(scan.getConjunctions()),
+            scan.getOrderings(),
+            scan.getLimit()));
+  }
+
+  public static StatementShape of(Put put, TableMetadata tableMetadata) {
+    assert !put.getCondition().isPresent();
+    return new StatementShape(
+        Kind.UPSERT,
+        put.forNamespace().get(),
+        put.forTable().get(),
+        tableMetadata,
+        ImmutableList.of(
+            columnNames(put.getPartitionKey()),
+            columnNames(put.getClusteringKey()),
+            ImmutableList.copyOf(put.getColumns().keySet())));
+  }
+
+  public static StatementShape of(Delete delete, TableMetadata tableMetadata) {
+    assert !delete.getCondition().isPresent();
+    return new StatementShape(
+        Kind.DELETE,
+        delete.forNamespace().get(),
+        delete.forTable().get(),
+        tableMetadata,
+        ImmutableList.of(
+            columnNames(delete.getPartitionKey()), columnNames(delete.getClusteringKey())));
+  }
+
+  private static List<String> columnNames(Optional<Key> key) {
+    return key.isPresent() ? columnNames(key.get()) : ImmutableList.of();
+  }
+
+  private static List<String> columnNames(Key key) {
+    ImmutableList.Builder<String> builder = ImmutableList.builderWithExpectedSize(key.size());
+    for (Column<?> column : key.getColumns()) {
+      builder.add(column.getName());
+    }
+    return builder.build();
+  }
+
+  // The conjunctions are translated into the SQL statement in their iteration order, so the order
+  // is kept in the shape as well
+  private static List<List<Object>> conjunctionShapes(Set<Conjunction> conjunctions) {
+    if (conjunctions.isEmpty()) {
+      return ImmutableList.of();
+    }
+
+    ImmutableList.Builder<List<Object>> builder =
+        ImmutableList.builderWithExpectedSize(conjunctions.size());
+    for (Conjunction conjunction : conjunctions) {
+      ImmutableList.Builder<Object> conditions = ImmutableList.builder();
+      for (ConditionalExpression condition : conjunction.getConditions()) {
+        conditions.add(condition.getColumn().getName()).add(condition.getOperator());
+        if (condition instanceof LikeExpression) {
+          conditions.add(((LikeExpression) condition).getEscape());
+        }
+      }
+      builder.add(conditions.build());
+    }
+    return builder.build();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof StatementShape)) {
+      return false;
+    }
+    StatementShape that = (StatementShape) o;
+    return hashCode == that.hashCode
+        && kind == that.kind
+        && tableMetadata == that.tableMetadata
+        && namespace.equals(that.namespace)
+        && table.equals(that.table)
+        && components.equals(that.components);
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+}
@@ -0,0 +1,97 @@
+package com.scalar.db.storage.jdbc.query;
+
+import com.scalar.db.api.ConditionalExpression;
+import com.scalar.db.api.ConditionalExpression.Operator;
+import com.scalar.db.api.Get;
+import com.scalar.db.api.LikeExpression;
+import com.scalar.db.api.Scan;
+import com.scalar.db.api.ScanAll;
+import com.scalar.db.api.Selection.Conjunction;
+import com.scalar.db.io.Column;
+import com.scalar.db.io.Key;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Binds the values of a get or a scan to a prepared statement of the {@link SelectQuery} built
+ * from it, in the same order as {@link SimpleSelectQuery#bind}. This allows executing a cached SQL
+ * statement without building the query again.
+ */
+public final class SelectQueryBinder {
+
+  private SelectQueryBinder() {}
+
+  /**
+   * Binds the values of the specified get with the specified binder.
+   *
+   * @param binder a prepared statement binder
+   * @param get a get
+   * @throws SQLException if binding a value fails
+   */
+  public static void bind(PreparedStatementBinder binder, Get get) throws SQLException {
+    bindColumns(binder, get.getPartitionKey().getColumns());
+    if (get.getClusteringKey().isPresent()) {
+      bindColumns(binder, get.getClusteringKey().get().getColumns());
+    }
+    bindConjunctions(binder, get.getConjunctions());
+  }
+
+  /**
+   * Binds the values of the specified scan with the specified binder.
+   *
+   * @param binder a prepared statement binder
+   * @param scan a scan
+   * @throws SQLException if binding a value fails
+   */
+  public static void bind(PreparedStatementBinder binder, Scan scan) throws SQLException {
+    if (!(scan instanceof ScanAll)) {
+      bindColumns(binder, scan.getPartitionKey().getColumns());
+
+      // The clustering key columns other than the last one of the start or end clustering key are
+      // the common clustering key
+      Optional<Key> startClusteringKey = scan.getStartClusteringKey();
+      Optional<Key> endClusteringKey = scan.getEndClusteringKey();
+      if (startClusteringKey.isPresent()) {
+        List<Column<?>> columns = startClusteringKey.get().getColumns();
+        bindColumns(binder, columns.subList(0, columns.size() - 1));
+      } else if (endClusteringKey.isPresent()) {
+        List<Column<?>> columns = endClusteringKey.get().getColumns();
+        bindColumns(binder, columns.subList(0, columns.size() - 1));
+      }
+      if (startClusteringKey.isPresent()) {
+        List<Column<?>> columns = startClusteringKey.get().getColumns();
+        bindColumns(binder, columns.subList(columns.size() - 1, columns.size()));
+      }
+      if (endClusteringKey.isPresent()) {
+        List<Column<?>> columns = endClusteringKey.get().getColumns();
+        bindColumns(binder, columns.subList(columns.size() - 1, columns.size()));
+      }
+    }
+    bindConjunctions(binder, scan.getConjunctions());
+  }
+
+  static void bindColumns(PreparedStatementBinder binder, List<Column<?>> columns)
+      throws SQLException {
+    for (Column<?> column : columns) {
+      column.accept(binder);
+      binder.throwSQLExceptionIfOccurred();
+    }
+  }
+
+  static void bindConjunctions(PreparedStatementBinder binder, Set<Conjunction> conjunctions)
+      throws SQLException {
+    for (Conjunction conjunction : conjunctions) {
+      for (ConditionalExpression condition : conjunction.getConditions()) {
+        if ((condition.getOperator().equals(Operator.LIKE)
+            || condition.getOperator().equals(Operator.NOT_LIKE))) {
+          binder.bindLikeClause((LikeExpression) condition);
+        } else if (!condition.getColumn().hasNullValue()) {
+          condition.getColumn().accept(binder);
+        }
+        binder.throwSQLExceptionIfOccurred();
+      }
+    }
+  }
+}
@@ -225,24 +225,15 @@ public class SimpleSelectQuery implements SelectQuery {
     PreparedStatementBinder binder =
         new PreparedStatementBinder(preparedStatement, tableMetadata, rdbEngine);
     if (partitionKey.isPresent()) {
-      for (Column<?> column : partitionKey.get().getColumns()) {
-        column.accept(binder);
-        binder.throwSQLExceptionIfOccurred();
-      }
+      SelectQueryBinder.bindColumns(binder, partitionKey.get().getColumns());
     }
 
     if (clusteringKey.isPresent()) {
-      for (Column<?> column : clusteringKey.get().getColumns()) {
-        column.accept(binder);
-        binder.throwSQLExceptionIfOccurred();
-      }
+      SelectQueryBinder.bindColumns(binder, clusteringKey.get().getColumns());
     }
 
     if (commonClusteringKey.isPresent()) {
-      for (Column<?> column : commonClusteringKey.get().getColumns()) {
-        column.accept(binder);
-        binder.throwSQLExceptionIfOccurred();
-      }
+      SelectQueryBinder.bindColumns(binder, commonClusteringKey.get().getColumns());
     }
 
     if (startColumn.isPresent()) {
@@ -255,16 +246,6 @@ public class SimpleSelectQuery implements SelectQuery {
       binder.throwSQLExceptionIfOccurred();
     }
 
-    for (Conjunction conjunction : conjunctions) {
-      for (ConditionalExpression condition : conjunction.getConditions()) {
-        if ((condition.getOperator().equals(Operator.LIKE)
-            || condition.getOperator().equals(Operator.NOT_LIKE))) {
-          binder.bindLikeClause((LikeExpression) condition);
-        } else if (!condition.getColumn().hasNullValue()) {
-          condition.getColumn().accept(binder);
-        }
-        binder.throwSQLExceptionIfOccurred();
-      }
-    }
+    SelectQueryBinder.bindConjunctions(binder, conjunctions);
   }
 }
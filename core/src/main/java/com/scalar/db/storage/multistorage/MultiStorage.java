@@ -19,7 +19,9 @@ import com.scalar.db.config.DatabaseConfig;
 import com.scalar.db.exception.storage.ExecutionException;
 import com.scalar.db.service.StorageFactory;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -93,6 +95,31 @@ public class MultiStorage extends AbstractDistributedStorage {
     return getStorage(get).get(get);
   }
 
+  @Override
+  public List<Optional<Result>> get(List<Get> gets) throws ExecutionException {
+    // Group the gets by storage so that each storage can retrieve its records at once, and then put
+    // the results back in the order of the gets
+    Map<DistributedStorage, List<Integer>> indexesByStorage = new LinkedHashMap<>();
+    List<Get> copiedGets = new ArrayList<>(gets.size());
+    for (int i = 0; i < gets.size(); i++) {
+      Get get = copyAndSetTargetToIfNot(gets.get(i));
+      copiedGets.add(get);
+      indexesByStorage.computeIfAbsent(getStorage(get), k -> new ArrayList<>()).add(i);
+    }
+
+    List<Optional<Result>> results = new ArrayList<>(Collections.nCopies(gets.size(), null));
+    for (Map.Entry<DistributedStorage, List<Integer>> entry : indexesByStorage.entrySet()) {
+      List<Integer> indexes = entry.getValue();
+      List<Get> storageGets = new ArrayList<>(indexes.size());
+      indexes.forEach(i -> storageGets.add(copiedGets.get(i)));
+      List<Optional<Result>> storageResults = entry.getKey().get(storageGets);
+      for (int i = 0; i < indexes.size(); i++) {
+        results.set(indexes.get(i), storageResults.get(i));
+      }
+    }
+    return results;
+  }
+
   @Override
   public Scanner scan(Scan scan) throws ExecutionException {
     scan = copyAndSetTargetToIfNot(scan);
@@ -2,9 +2,13 @@ package com.scalar.db.transaction.consensuscommit;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.errorprone.annotations.concurrent.LazyInit;
+import com.scalar.db.api.AsyncDistributedStorage;
+import com.scalar.db.api.Delete;
 import com.scalar.db.api.DistributedStorage;
+import com.scalar.db.api.Put;
 import com.scalar.db.api.TransactionState;
 import com.scalar.db.common.error.CoreError;
 import com.scalar.db.exception.storage.ExecutionException;
@@ -12,17 +16,26 @@ import com.scalar.db.exception.storage.NoMutationException;
 import com.scalar.db.exception.storage.RetriableExecutionException;
 import com.scalar.db.exception.transaction.CommitConflictException;
 import com.scalar.db.exception.transaction.CommitException;
+import com.scalar.db.exception.transaction.CrudConflictException;
+import com.scalar.db.exception.transaction.CrudException;
 import com.scalar.db.exception.transaction.PreparationConflictException;
 import com.scalar.db.exception.transaction.PreparationException;
 import com.scalar.db.exception.transaction.UnknownTransactionStatusException;
 import com.scalar.db.exception.transaction.ValidationConflictException;
 import com.scalar.db.exception.transaction.ValidationException;
 import com.scalar.db.transaction.consensuscommit.Coordinator.State;
+import com.scalar.db.transaction.consensuscommit.ParallelExecutor.AsyncParallelExecutorTask;
 import com.scalar.db.transaction.consensuscommit.ParallelExecutor.ParallelExecutorTask;
+import com.scalar.db.transaction.consensuscommit.TransactionMetricsRecorder.Outcome;
+import com.scalar.db.transaction.consensuscommit.TransactionMetricsRecorder.Phase;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.Future;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
@@ -33,11 +46,17 @@ import org.slf4j.LoggerFactory;
 public class CommitHandler {
   private static final Logger logger = LoggerFactory.getLogger(CommitHandler.class);
   private final DistributedStorage storage;
+  // Set when the storage supports non-blocking operations natively. Records are then prepared and
+  // committed without occupying a thread of the parallel executor per partition
+  @Nullable private final AsyncDistributedStorage asyncStorage;
   protected final Coordinator coordinator;
   private final TransactionTableMetadataManager tableMetadataManager;
   private final ParallelExecutor parallelExecutor;
+  private final boolean pipelinedPreparationEnabled;
+  private final boolean onePhaseCommitEnabled;
 
   @LazyInit @Nullable private BeforePreparationSnapshotHook beforePreparationSnapshotHook;
+  private volatile TransactionMetricsRecorder metricsRecorder = TransactionMetricsRecorder.NOOP;
 
   @SuppressFBWarnings("EI_EXPOSE_REP2")
   public CommitHandler(
@@ -45,10 +64,41 @@ public class CommitHandler {
       Coordinator coordinator,
       TransactionTableMetadataManager tableMetadataManager,
       ParallelExecutor parallelExecutor) {
+    this(storage, coordinator, tableMetadataManager, parallelExecutor, false);
+  }
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public CommitHandler(
+      DistributedStorage storage,
+      Coordinator coordinator,
+      TransactionTableMetadataManager tableMetadataManager,
+      ParallelExecutor parallelExecutor,
+      boolean pipelinedPreparationEnabled) {
+    this(
+        storage,
+        coordinator,
+        tableMetadataManager,
+        parallelExecutor,
+        pipelinedPreparationEnabled,
+        false);
+  }
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public CommitHandler(
+      DistributedStorage storage,
+      Coordinator coordinator,
+      TransactionTableMetadataManager tableMetadataManager,
+      ParallelExecutor parallelExecutor,
+      boolean pipelinedPreparationEnabled,
+      boolean onePhaseCommitEnabled) {
     this.storage = checkNotNull(storage);
+    asyncStorage =
+        storage instanceof AsyncDistributedStorage ? (AsyncDistributedStorage) storage : null;
     this.coordinator = checkNotNull(coordinator);
     this.tableMetadataManager = checkNotNull(tableMetadataManager);
     this.parallelExecutor = checkNotNull(parallelExecutor);
+    this.pipelinedPreparationEnabled = pipelinedPreparationEnabled;
+    this.onePhaseCommitEnabled = onePhaseCommitEnabled;
   }
 
   /**
@@ -58,6 +108,23 @@ public class CommitHandler {
    */
   protected void onFailureBeforeCommit(Snapshot snapshot) {}
 
+  /**
+   * Records the phase of the transaction that started at the specified time.
+   *
+   * @param id the transaction ID
+   * @param phase the phase
+   * @param startNanos the value of {@link System#nanoTime()} when the phase started
+   * @param exception the exception thrown by the phase, or null if the phase succeeded
+   */
+  protected void recordPhase(
+      String id, Phase phase, long startNanos, @Nullable Exception exception) {
+    metricsRecorder.recordPhase(id, phase, System.nanoTime() - startNanos, Outcome.of(exception));
+  }
+
+  protected void recordStorageOperations(String id, Phase phase, int count) {
+    metricsRecorder.recordStorageOperations(id, phase, count);
+  }
+
   private void safelyCallOnFailureBeforeCommit(Snapshot snapshot) {
     try {
       onFailureBeforeCommit(snapshot);
@@ -106,10 +173,43 @@ public class CommitHandler {
     }
   }
 
+  /**
+   * Returns whether the implicit pre-read of a transaction should be passed to {@link
+   * #commit(Snapshot, Map)} or {@link #prepare(Snapshot, Map)} so that it's pipelined with the
+   * preparation of records.
+   *
+   * @return whether the pipelined preparation is enabled
+   */
+  public boolean isPipelinedPreparationEnabled() {
+    // The before-preparation snapshot hook takes the complete read set before the preparation, so
+    // the implicit pre-read can't be pipelined with the preparation when the hook is set
+    return pipelinedPreparationEnabled && beforePreparationSnapshotHook == null;
+  }
+
   public void commit(Snapshot snapshot) throws CommitException, UnknownTransactionStatusException {
+    commit(snapshot, Collections.emptyMap());
+  }
+
+  /**
+   * Commits the snapshot, executing the specified implicit pre-read tasks as part of the
+   * preparation. See {@link #prepare(Snapshot, Map)} for details.
+   *
+   * @param snapshot the snapshot of the transaction
+   * @param implicitPreReadTasks the implicit pre-read tasks keyed by the record to read
+   * @throws CommitException if the commit fails
+   * @throws UnknownTransactionStatusException if the status of the transaction is unknown
+   */
+  public void commit(
+      Snapshot snapshot, Map<Snapshot.Key, ParallelExecutorTask> implicitPreReadTasks)
+      throws CommitException, UnknownTransactionStatusException {
+    if (implicitPreReadTasks.isEmpty() && canOnePhaseCommit(snapshot)) {
+      onePhaseCommitRecords(snapshot);
+      return;
+    }
+
     Optional<Future<Void>> snapshotHookFuture = invokeBeforePreparationSnapshotHook(snapshot);
     try {
-      prepare(snapshot);
+      prepare(snapshot, implicitPreReadTasks);
     } catch (PreparationException e) {
       safelyCallOnFailureBeforeCommit(snapshot);
       abortState(snapshot.getId());
@@ -144,6 +244,71 @@ public class CommitHandler {
     commitRecords(snapshot);
   }
 
+  @VisibleForTesting
+  boolean canOnePhaseCommit(Snapshot snapshot) {
+    // The before-preparation snapshot hook is supposed to be handled along with the preparation
+    return onePhaseCommitEnabled
+        && beforePreparationSnapshotHook == null
+        && snapshot.isOnePhaseCommittable();
+  }
+
+  /**
+   * Commits the records of the snapshot in one phase. Since all the records belong to a single
+   * partition, they are written in the COMMITTED state with a single conditional mutation, which
+   * the underlying storage applies atomically. Readers never see the records in the PREPARED state,
+   * so the records don't need to be recovered. The COMMITTED coordinator state is written after the
+   * records so that {@code getState()} and {@code abort()} with the transaction ID see that the
+   * transaction is committed.
+   *
+   * @param snapshot the snapshot of the transaction
+   * @throws CommitConflictException if the records are updated by a conflicting transaction
+   * @throws UnknownTransactionStatusException if it's unknown whether the records are written
+   */
+  protected void onePhaseCommitRecords(Snapshot snapshot)
+      throws CommitConflictException, UnknownTransactionStatusException {
+    long start = System.nanoTime();
+    try {
+      onePhaseCommitRecordsInternal(snapshot);
+    } catch (Exception e) {
+      recordPhase(snapshot.getId(), Phase.ONE_PHASE_COMMIT, start, e);
+      throw e;
+    }
+    recordPhase(snapshot.getId(), Phase.ONE_PHASE_COMMIT, start, null);
+  }
+
+  private void onePhaseCommitRecordsInternal(Snapshot snapshot)
+      throws CommitConflictException, UnknownTransactionStatusException {
+    try {
+      OnePhaseCommitMutationComposer composer =
+          new OnePhaseCommitMutationComposer(snapshot.getId(), tableMetadataManager);
+      snapshot.to(composer);
+      recordStorageOperations(snapshot.getId(), Phase.ONE_PHASE_COMMIT, 1);
+      storage.mutate(composer.get());
+    } catch (NoMutationException | PreparationConflictException e) {
+      throw new CommitConflictException(
+          CoreError.CONSENSUS_COMMIT_CONFLICT_OCCURRED_WHEN_COMMITTING_RECORDS.buildMessage(),
+          e,
+          snapshot.getId());
+    } catch (ExecutionException e) {
+      // The records are written in the COMMITTED state without a coordinator state to fence them,
+      // so they might have been committed even if the storage reports a retriable exception such as
+      // a write timeout. Retrying the transaction could apply the writes twice
+      throw new UnknownTransactionStatusException(
+          CoreError.CONSENSUS_COMMIT_COMMITTING_RECORDS_FAILED.buildMessage(), e, snapshot.getId());
+    }
+
+    String id = snapshot.getId();
+    try {
+      recordStorageOperations(id, Phase.ONE_PHASE_COMMIT, 1);
+      coordinator.putState(new Coordinator.State(id, TransactionState.COMMITTED));
+    } catch (CoordinatorException e) {
+      // The records are already committed, but the coordinator state might be missing or might
+      // have been aborted by another process in the meantime
+      throw new UnknownTransactionStatusException(
+          CoreError.CONSENSUS_COMMIT_UNKNOWN_COORDINATOR_STATUS.buildMessage(), e, id);
+    }
+  }
+
   protected void handleCommitConflict(Snapshot snapshot, Exception cause)
       throws CommitConflictException, UnknownTransactionStatusException {
     try {
@@ -172,6 +337,17 @@ public class CommitHandler {
   }
 
   public void prepare(Snapshot snapshot) throws PreparationException {
+    long start = System.nanoTime();
+    try {
+      prepareInternal(snapshot);
+    } catch (Exception e) {
+      recordPhase(snapshot.getId(), Phase.PREPARATION, start, e);
+      throw e;
+    }
+    recordPhase(snapshot.getId(), Phase.PREPARATION, start, null);
+  }
+
+  private void prepareInternal(Snapshot snapshot) throws PreparationException {
     try {
       prepareRecords(snapshot);
     } catch (NoMutationException e) {
@@ -188,6 +364,114 @@ public class CommitHandler {
     }
   }
 
+  /**
+   * Prepares the records of the snapshot, executing the specified implicit pre-read tasks in a
+   * pipelined manner. The records are grouped by partition, and each group proceeds from its
+   * implicit pre-read to its preparation independently of the other groups, so a partition whose
+   * pre-read finishes early doesn't wait for the slowest pre-read of the transaction. The method
+   * returns after all the groups finish, so the coordinator state is still written only after all
+   * the records are prepared.
+   *
+   * <p>Since some of the records might already be prepared when a pre-read fails, the caller must
+   * abort the transaction and roll back the records when this method fails, as with a failure of
+   * the preparation itself.
+   *
+   * @param snapshot the snapshot of the transaction
+   * @param implicitPreReadTasks the implicit pre-read tasks keyed by the record to read
+   * @throws PreparationException if the implicit pre-read or the preparation fails
+   */
+  public void prepare(
+      Snapshot snapshot, Map<Snapshot.Key, ParallelExecutorTask> implicitPreReadTasks)
+      throws PreparationException {
+    if (implicitPreReadTasks.isEmpty()) {
+      prepare(snapshot);
+      return;
+    }
+
+    long start = System.nanoTime();
+    try {
+      prepareInternal(snapshot, implicitPreReadTasks);
+    } catch (Exception e) {
+      recordPhase(snapshot.getId(), Phase.PREPARATION, start, e);
+      throw e;
+    }
+    recordPhase(snapshot.getId(), Phase.PREPARATION, start, null);
+  }
+
+  private void prepareInternal(
+      Snapshot snapshot, Map<Snapshot.Key, ParallelExecutorTask> implicitPreReadTasks)
+      throws PreparationException {
+    try {
+      prepareRecordsPipelined(snapshot, implicitPreReadTasks);
+    } catch (NoMutationException e) {
+      throw new PreparationConflictException(
+          CoreError.CONSENSUS_COMMIT_PREPARING_RECORD_EXISTS.buildMessage(), e, snapshot.getId());
+    } catch (RetriableExecutionException e) {
+      throw new PreparationConflictException(
+          CoreError.CONSENSUS_COMMIT_CONFLICT_OCCURRED_WHEN_PREPARING_RECORDS.buildMessage(),
+          e,
+          snapshot.getId());
+    } catch (ExecutionException e) {
+      throw new PreparationException(
+          CoreError.CONSENSUS_COMMIT_PREPARING_RECORDS_FAILED.buildMessage(), e, snapshot.getId());
+    } catch (CrudConflictException e) {
+      throw new PreparationConflictException(
+          CoreError.CONSENSUS_COMMIT_CONFLICT_OCCURRED_WHILE_IMPLICIT_PRE_READ.buildMessage(),
+          e,
+          snapshot.getId());
+    } catch (CrudException e) {
+      throw new PreparationException(
+          CoreError.CONSENSUS_COMMIT_EXECUTING_IMPLICIT_PRE_READ_FAILED.buildMessage(),
+          e,
+          snapshot.getId());
+    }
+  }
+
+  private void prepareRecordsPipelined(
+      Snapshot snapshot, Map<Snapshot.Key, ParallelExecutorTask> implicitPreReadTasks)
+      throws ExecutionException, PreparationConflictException, CrudException {
+    // Group the records to be written by partition in the same order as PartitionedMutations
+    SortedMap<PartitionedMutations.Key, List<Snapshot.Key>> keysByPartition = new TreeMap<>();
+    for (Put put : snapshot.getPutsInWriteSet()) {
+      keysByPartition
+          .computeIfAbsent(new PartitionedMutations.Key(put), k -> new ArrayList<>())
+          .add(new Snapshot.Key(put));
+    }
+    for (Delete delete : snapshot.getDeletesInDeleteSet()) {
+      keysByPartition
+          .computeIfAbsent(new PartitionedMutations.Key(delete), k -> new ArrayList<>())
+          .add(new Snapshot.Key(delete));
+    }
+
+    List<ParallelExecutorTask> tasks = new ArrayList<>(keysByPartition.size() + 1);
+    for (List<Snapshot.Key> keys : keysByPartition.values()) {
+      tasks.add(
+          () -> {
+            for (Snapshot.Key key : keys) {
+              ParallelExecutorTask implicitPreReadTask = implicitPreReadTasks.get(key);
+              if (implicitPreReadTask != null) {
+                implicitPreReadTask.run();
+              }
+            }
+            PrepareMutationComposer composer =
+                new PrepareMutationComposer(snapshot.getId(), tableMetadataManager);
+            snapshot.to(composer, keys);
+            storage.mutate(composer.get());
+          });
+    }
+
+    // The extra writes for the serializable isolation don't depend on the implicit pre-read
+    PrepareMutationComposer extraWriteComposer =
+        new PrepareMutationComposer(snapshot.getId(), tableMetadataManager);
+    snapshot.toSerializableWithExtraWrite(extraWriteComposer);
+    PartitionedMutations extraWrites = new PartitionedMutations(extraWriteComposer.get());
+    for (PartitionedMutations.Key key : extraWrites.getOrderedKeys()) {
+      tasks.add(() -> storage.mutate(extraWrites.get(key)));
+    }
+
+    parallelExecutor.prepareWithImplicitPreRead(tasks, snapshot.getId());
+  }
+
   private void prepareRecords(Snapshot snapshot)
       throws ExecutionException, PreparationConflictException {
     PrepareMutationComposer composer =
@@ -196,6 +480,16 @@ public class CommitHandler {
     PartitionedMutations mutations = new PartitionedMutations(composer.get());
 
     ImmutableList<PartitionedMutations.Key> orderedKeys = mutations.getOrderedKeys();
+    AsyncDistributedStorage async = asyncStorage;
+    if (async != null) {
+      List<AsyncParallelExecutorTask> tasks = new ArrayList<>(orderedKeys.size());
+      for (PartitionedMutations.Key key : orderedKeys) {
+        tasks.add(() -> async.mutateAsync(mutations.get(key)));
+      }
+      parallelExecutor.prepareAsync(tasks, snapshot.getId());
+      return;
+    }
+
     List<ParallelExecutorTask> tasks = new ArrayList<>(orderedKeys.size());
     for (PartitionedMutations.Key key : orderedKeys) {
       tasks.add(() -> storage.mutate(mutations.get(key)));
@@ -204,6 +498,20 @@ public class CommitHandler {
   }
 
   public void validate(Snapshot snapshot) throws ValidationException {
+    long start = System.nanoTime();
+    try {
+      validateInternal(snapshot);
+    } catch (Exception e) {
+      recordPhase(snapshot.getId(), Phase.VALIDATION, start, e);
+      throw e;
+    }
+    // Nothing is validated unless the validation is required, so only the actual ones are recorded
+    if (snapshot.isValidationRequired()) {
+      recordPhase(snapshot.getId(), Phase.VALIDATION, start, null);
+    }
+  }
+
+  private void validateInternal(Snapshot snapshot) throws ValidationException {
     try {
       // validation is executed when SERIALIZABLE with EXTRA_READ strategy is chosen.
       snapshot.toSerializableWithExtraRead(storage);
@@ -215,9 +523,22 @@ public class CommitHandler {
 
   public void commitState(Snapshot snapshot)
       throws CommitConflictException, UnknownTransactionStatusException {
+    long start = System.nanoTime();
+    try {
+      commitStateInternal(snapshot);
+    } catch (Exception e) {
+      recordPhase(snapshot.getId(), Phase.COMMIT_STATE, start, e);
+      throw e;
+    }
+    recordPhase(snapshot.getId(), Phase.COMMIT_STATE, start, null);
+  }
+
+  private void commitStateInternal(Snapshot snapshot)
+      throws CommitConflictException, UnknownTransactionStatusException {
     String id = snapshot.getId();
     try {
       Coordinator.State state = new Coordinator.State(id, TransactionState.COMMITTED);
+      recordStorageOperations(id, Phase.COMMIT_STATE, 1);
       coordinator.putState(state);
       logger.debug(
           "Transaction {} is committed successfully at {}", id, System.currentTimeMillis());
@@ -230,6 +551,14 @@ public class CommitHandler {
   }
 
   public void commitRecords(Snapshot snapshot) {
+    long start = System.nanoTime();
+    Exception exception = commitRecordsInternal(snapshot);
+    recordPhase(snapshot.getId(), Phase.COMMIT_RECORDS, start, exception);
+  }
+
+  // Returns the exception if committing the records fails, or null otherwise
+  @Nullable
+  private Exception commitRecordsInternal(Snapshot snapshot) {
     try {
       CommitMutationComposer composer =
           new CommitMutationComposer(snapshot.getId(), tableMetadataManager);
@@ -237,20 +566,46 @@ public class CommitHandler {
       PartitionedMutations mutations = new PartitionedMutations(composer.get());
 
       ImmutableList<PartitionedMutations.Key> orderedKeys = mutations.getOrderedKeys();
+      AsyncDistributedStorage async = asyncStorage;
+      if (async != null) {
+        List<AsyncParallelExecutorTask> tasks = new ArrayList<>(orderedKeys.size());
+        for (PartitionedMutations.Key key : orderedKeys) {
+          tasks.add(() -> async.mutateAsync(mutations.get(key)));
+        }
+        parallelExecutor.commitRecordsAsync(tasks, snapshot.getId());
+        return null;
+      }
+
       List<ParallelExecutorTask> tasks = new ArrayList<>(orderedKeys.size());
       for (PartitionedMutations.Key key : orderedKeys) {
         tasks.add(() -> storage.mutate(mutations.get(key)));
       }
       parallelExecutor.commitRecords(tasks, snapshot.getId());
+      return null;
     } catch (Exception e) {
       logger.warn("Committing records failed. Transaction ID: {}", snapshot.getId(), e);
       // ignore since records are recovered lazily
+      return e;
     }
   }
 
   public TransactionState abortState(String id) throws UnknownTransactionStatusException {
+    long start = System.nanoTime();
+    TransactionState state;
+    try {
+      state = abortStateInternal(id);
+    } catch (Exception e) {
+      recordPhase(id, Phase.ABORT_STATE, start, e);
+      throw e;
+    }
+    recordPhase(id, Phase.ABORT_STATE, start, null);
+    return state;
+  }
+
+  private TransactionState abortStateInternal(String id) throws UnknownTransactionStatusException {
     try {
       Coordinator.State state = new Coordinator.State(id, TransactionState.ABORTED);
+      recordStorageOperations(id, Phase.ABORT_STATE, 1);
       coordinator.putState(state);
       return TransactionState.ABORTED;
     } catch (CoordinatorConflictException e) {
@@ -277,6 +632,14 @@ public class CommitHandler {
   }
 
   public void rollbackRecords(Snapshot snapshot) {
+    long start = System.nanoTime();
+    Exception exception = rollbackRecordsInternal(snapshot);
+    recordPhase(snapshot.getId(), Phase.ROLLBACK_RECORDS, start, exception);
+  }
+
+  // Returns the exception if rolling back the records fails, or null otherwise
+  @Nullable
+  private Exception rollbackRecordsInternal(Snapshot snapshot) {
     logger.debug("Rollback from snapshot for {}", snapshot.getId());
     try {
       RollbackMutationComposer composer =
@@ -290,9 +653,11 @@ public class CommitHandler {
         tasks.add(() -> storage.mutate(mutations.get(key)));
       }
       parallelExecutor.rollbackRecords(tasks, snapshot.getId());
+      return null;
     } catch (Exception e) {
       logger.warn("Rolling back records failed. Transaction ID: {}", snapshot.getId(), e);
       // ignore since records are recovered lazily
+      return e;
     }
   }
 
@@ -307,4 +672,19 @@ public class CommitHandler {
       BeforePreparationSnapshotHook beforePreparationSnapshotHook) {
     this.beforePreparationSnapshotHook = checkNotNull(beforePreparationSnapshotHook);
   }
+
+  /**
+   * Sets the {@link TransactionMetricsRecorder}. {@link TransactionMetricsRecorder#NOOP} is used by
+   * default.
+   *
+   * @param metricsRecorder The metrics recorder to set.
+   * @throws NullPointerException If the argument is null.
+   */
+  public void setMetricsRecorder(TransactionMetricsRecorder metricsRecorder) {
+    this.metricsRecorder = checkNotNull(metricsRecorder);
+  }
+
+  TransactionMetricsRecorder getMetricsRecorder() {
+    return metricsRecorder;
+  }
 }
@@ -7,6 +7,7 @@ import com.scalar.db.api.TransactionState;
 import com.scalar.db.exception.transaction.CommitConflictException;
 import com.scalar.db.exception.transaction.UnknownTransactionStatusException;
 import com.scalar.db.transaction.consensuscommit.Coordinator.State;
+import com.scalar.db.transaction.consensuscommit.TransactionMetricsRecorder.Phase;
 import com.scalar.db.util.groupcommit.Emittable;
 import com.scalar.db.util.groupcommit.GroupCommitConflictException;
 import com.scalar.db.util.groupcommit.GroupCommitException;
@@ -29,7 +30,43 @@ public class CommitHandlerWithGroupCommit extends CommitHandler {
       TransactionTableMetadataManager tableMetadataManager,
       ParallelExecutor parallelExecutor,
       CoordinatorGroupCommitter groupCommitter) {
-    super(storage, coordinator, tableMetadataManager, parallelExecutor);
+    this(storage, coordinator, tableMetadataManager, parallelExecutor, groupCommitter, false);
+  }
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public CommitHandlerWithGroupCommit(
+      DistributedStorage storage,
+      Coordinator coordinator,
+      TransactionTableMetadataManager tableMetadataManager,
+      ParallelExecutor parallelExecutor,
+      CoordinatorGroupCommitter groupCommitter,
+      boolean pipelinedPreparationEnabled) {
+    this(
+        storage,
+        coordinator,
+        tableMetadataManager,
+        parallelExecutor,
+        groupCommitter,
+        pipelinedPreparationEnabled,
+        false);
+  }
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public CommitHandlerWithGroupCommit(
+      DistributedStorage storage,
+      Coordinator coordinator,
+      TransactionTableMetadataManager tableMetadataManager,
+      ParallelExecutor parallelExecutor,
+      CoordinatorGroupCommitter groupCommitter,
+      boolean pipelinedPreparationEnabled,
+      boolean onePhaseCommitEnabled) {
+    super(
+        storage,
+        coordinator,
+        tableMetadataManager,
+        parallelExecutor,
+        pipelinedPreparationEnabled,
+        onePhaseCommitEnabled);
 
     checkNotNull(groupCommitter);
     // The methods of this emitter will be called via GroupCommitter.ready().
@@ -42,6 +79,15 @@ public class CommitHandlerWithGroupCommit extends CommitHandler {
     cancelGroupCommitIfNeeded(snapshot.getId());
   }
 
+  @Override
+  protected void onePhaseCommitRecords(Snapshot snapshot)
+      throws CommitConflictException, UnknownTransactionStatusException {
+    // The coordinator state of a one-phase commit is written with the full ID right after the
+    // records, so the transaction doesn't need to join a group
+    cancelGroupCommitIfNeeded(snapshot.getId());
+    super.onePhaseCommitRecords(snapshot);
+  }
+
   private void commitStateViaGroupCommit(Snapshot snapshot)
       throws CommitConflictException, UnknownTransactionStatusException {
     String id = snapshot.getId();
@@ -83,7 +129,15 @@ public class CommitHandlerWithGroupCommit extends CommitHandler {
   @Override
   public void commitState(Snapshot snapshot)
       throws CommitConflictException, UnknownTransactionStatusException {
-    commitStateViaGroupCommit(snapshot);
+    long start = System.nanoTime();
+    try {
+      commitStateViaGroupCommit(snapshot);
+    } catch (Exception e) {
+      recordPhase(snapshot.getId(), Phase.COMMIT_STATE, start, e);
+      throw e;
+    }
+    // The latency includes the time waiting for the other transactions in the same group
+    recordPhase(snapshot.getId(), Phase.COMMIT_STATE, start, null);
   }
 
   @Override
@@ -22,6 +22,7 @@ import com.scalar.db.exception.transaction.CrudConflictException;
 import com.scalar.db.exception.transaction.CrudException;
 import com.scalar.db.exception.transaction.UnknownTransactionStatusException;
 import com.scalar.db.exception.transaction.UnsatisfiedConditionException;
+import com.scalar.db.transaction.consensuscommit.TransactionMetricsRecorder.Outcome;
 import com.scalar.db.util.ScalarDbUtils;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.List;
@@ -52,6 +53,7 @@ public class ConsensusCommit extends AbstractDistributedTransaction {
   private final RecoveryHandler recovery;
   private final ConsensusCommitMutationOperationChecker mutationOperationChecker;
   @Nullable private final CoordinatorGroupCommitter groupCommitter;
+  private final TransactionMetricsRecorder metricsRecorder;
   private Runnable beforeRecoveryHook;
 
   @SuppressFBWarnings("EI_EXPOSE_REP2")
@@ -61,11 +63,29 @@ public class ConsensusCommit extends AbstractDistributedTransaction {
       RecoveryHandler recovery,
       ConsensusCommitMutationOperationChecker mutationOperationChecker,
       @Nullable CoordinatorGroupCommitter groupCommitter) {
+    this(
+        crud,
+        commit,
+        recovery,
+        mutationOperationChecker,
+        groupCommitter,
+        TransactionMetricsRecorder.NOOP);
+  }
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public ConsensusCommit(
+      CrudHandler crud,
+      CommitHandler commit,
+      RecoveryHandler recovery,
+      ConsensusCommitMutationOperationChecker mutationOperationChecker,
+      @Nullable CoordinatorGroupCommitter groupCommitter,
+      TransactionMetricsRecorder metricsRecorder) {
     this.crud = checkNotNull(crud);
     this.commit = checkNotNull(commit);
     this.recovery = checkNotNull(recovery);
     this.mutationOperationChecker = mutationOperationChecker;
     this.groupCommitter = groupCommitter;
+    this.metricsRecorder = checkNotNull(metricsRecorder);
     this.beforeRecoveryHook = () -> {};
   }
 
@@ -96,6 +116,12 @@ public class ConsensusCommit extends AbstractDistributedTransaction {
     }
   }
 
+  @Override
+  public Scanner getScanner(Scan scan) throws CrudException {
+    scan = copyAndSetTargetToIfNot(scan);
+    return crud.getScanner(scan, this::lazyRecovery);
+  }
+
   /** @deprecated As of release 3.13.0. Will be removed in release 5.0.0. */
   @Deprecated
   @Override
@@ -208,6 +234,31 @@ public class ConsensusCommit extends AbstractDistributedTransaction {
 
   @Override
   public void commit() throws CommitException, UnknownTransactionStatusException {
+    long start = System.nanoTime();
+    try {
+      commitInternal();
+    } catch (Exception e) {
+      recordCommit(start, e);
+      throw e;
+    }
+    recordCommit(start, null);
+  }
+
+  private void commitInternal() throws CommitException, UnknownTransactionStatusException {
+    // Put the results read through the open scanners into the snapshot before validating it
+    crud.closeScanners();
+
+    if (commit.isPipelinedPreparationEnabled()) {
+      // Execute implicit pre-read as part of the preparation
+      try {
+        commit.commit(crud.getSnapshot(), crud.getImplicitPreReadTasks());
+      } catch (CommitConflictException e) {
+        lazyRecoveryIfCausedByUncommittedRecord(e);
+        throw e;
+      }
+      return;
+    }
+
     // Execute implicit pre-read
     try {
       crud.readIfImplicitPreReadEnabled();
@@ -227,8 +278,22 @@ public class ConsensusCommit extends AbstractDistributedTransaction {
     commit.commit(crud.getSnapshot());
   }
 
+  private void recordCommit(long startNanos, @Nullable Exception exception) {
+    if (metricsRecorder == TransactionMetricsRecorder.NOOP) {
+      return;
+    }
+    Snapshot snapshot = crud.getSnapshot();
+    metricsRecorder.recordCommit(
+        snapshot.getId(),
+        snapshot.getReadSetSize(),
+        snapshot.getWriteSetSize(),
+        System.nanoTime() - startNanos,
+        Outcome.of(exception));
+  }
+
   @Override
   public void rollback() {
+    crud.closeScanners();
     if (groupCommitter != null) {
       groupCommitter.remove(crud.getSnapshot().getId());
     }
@@ -254,10 +319,19 @@ public class ConsensusCommit extends AbstractDistributedTransaction {
     this.beforeRecoveryHook = beforeRecoveryHook;
   }
 
+  private void lazyRecoveryIfCausedByUncommittedRecord(Exception e) {
+    for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+      if (cause instanceof UncommittedRecordException) {
+        lazyRecovery((UncommittedRecordException) cause);
+        return;
+      }
+    }
+  }
+
   private void lazyRecovery(UncommittedRecordException e) {
     logger.debug("Recover uncommitted records: {}", e.getResults());
     beforeRecoveryHook.run();
-    e.getResults().forEach(r -> recovery.recover(e.getSelection(), r));
+    recovery.recover(e.getSelection(), e.getResults());
   }
 
   private void checkMutation(Mutation mutation) throws CrudException {
@@ -31,6 +31,7 @@ public class ConsensusCommitAdmin implements DistributedTransactionAdmin {
 
   private final DistributedStorageAdmin admin;
   private final String coordinatorNamespace;
+  private final List<String> coordinatorTables;
   private final boolean isIncludeMetadataEnabled;
 
   @SuppressFBWarnings("EI_EXPOSE_REP2")
@@ -39,6 +40,7 @@ public class ConsensusCommitAdmin implements DistributedTransactionAdmin {
     this.admin = admin;
     ConsensusCommitConfig config = new ConsensusCommitConfig(databaseConfig);
     coordinatorNamespace = config.getCoordinatorNamespace().orElse(Coordinator.NAMESPACE);
+    coordinatorTables = Coordinator.getTableNames(config.getCoordinatorShards());
     isIncludeMetadataEnabled = config.isIncludeMetadataEnabled();
   }
 
@@ -48,6 +50,7 @@ public class ConsensusCommitAdmin implements DistributedTransactionAdmin {
 
     ConsensusCommitConfig config = new ConsensusCommitConfig(databaseConfig);
     coordinatorNamespace = config.getCoordinatorNamespace().orElse(Coordinator.NAMESPACE);
+    coordinatorTables = Coordinator.getTableNames(config.getCoordinatorShards());
     isIncludeMetadataEnabled = config.isIncludeMetadataEnabled();
   }
 
@@ -58,18 +61,23 @@ public class ConsensusCommitAdmin implements DistributedTransactionAdmin {
       boolean isIncludeMetadataEnabled) {
     this.admin = admin;
     coordinatorNamespace = config.getCoordinatorNamespace().orElse(Coordinator.NAMESPACE);
+    coordinatorTables = Coordinator.getTableNames(config.getCoordinatorShards());
     this.isIncludeMetadataEnabled = isIncludeMetadataEnabled;
   }
 
   @Override
   public void createCoordinatorTables(Map<String, String> options) throws ExecutionException {
+    Coordinator.validateShards(admin, coordinatorNamespace, coordinatorTables.size());
     if (coordinatorTablesExist()) {
       throw new IllegalArgumentException(
           CoreError.CONSENSUS_COMMIT_COORDINATOR_TABLES_ALREADY_EXIST.buildMessage());
     }
 
     admin.createNamespace(coordinatorNamespace, options);
-    admin.createTable(coordinatorNamespace, Coordinator.TABLE, Coordinator.TABLE_METADATA, options);
+    for (String coordinatorTable : coordinatorTables) {
+      admin.createTable(
+          coordinatorNamespace, coordinatorTable, Coordinator.TABLE_METADATA, options);
+    }
   }
 
   @Override
@@ -79,7 +87,9 @@ public class ConsensusCommitAdmin implements DistributedTransactionAdmin {
           CoreError.CONSENSUS_COMMIT_COORDINATOR_TABLES_NOT_FOUND.buildMessage());
     }
 
-    admin.dropTable(coordinatorNamespace, Coordinator.TABLE);
+    for (String coordinatorTable : coordinatorTables) {
+      admin.dropTable(coordinatorNamespace, coordinatorTable);
+    }
     admin.dropNamespace(coordinatorNamespace);
   }
 
@@ -90,12 +100,19 @@ public class ConsensusCommitAdmin implements DistributedTransactionAdmin {
           CoreError.CONSENSUS_COMMIT_COORDINATOR_TABLES_NOT_FOUND.buildMessage());
     }
 
-    admin.truncateTable(coordinatorNamespace, Coordinator.TABLE);
+    for (String coordinatorTable : coordinatorTables) {
+      admin.truncateTable(coordinatorNamespace, coordinatorTable);
+    }
   }
 
   @Override
   public boolean coordinatorTablesExist() throws ExecutionException {
-    return admin.tableExists(coordinatorNamespace, Coordinator.TABLE);
+    for (String coordinatorTable : coordinatorTables) {
+      if (!admin.tableExists(coordinatorNamespace, coordinatorTable)) {
+        return false;
+      }
+    }
+    return true;
   }
 
   @Override
@@ -218,7 +235,10 @@ public class ConsensusCommitAdmin implements DistributedTransactionAdmin {
   @Override
   public void repairCoordinatorTables(Map<String, String> options) throws ExecutionException {
     admin.repairNamespace(coordinatorNamespace, options);
-    admin.repairTable(coordinatorNamespace, Coordinator.TABLE, Coordinator.TABLE_METADATA, options);
+    for (String coordinatorTable : coordinatorTables) {
+      admin.repairTable(
+          coordinatorNamespace, coordinatorTable, Coordinator.TABLE_METADATA, options);
+    }
   }
 
   @Override
@@ -285,11 +305,13 @@ public class ConsensusCommitAdmin implements DistributedTransactionAdmin {
   public void upgrade(Map<String, String> options) throws ExecutionException {
     admin.upgrade(options);
 
-    upgradeCoordinatorTable();
+    for (String coordinatorTable : coordinatorTables) {
+      upgradeCoordinatorTable(coordinatorTable);
+    }
   }
 
-  private void upgradeCoordinatorTable() throws ExecutionException {
-    TableMetadata currentMetadata = admin.getTableMetadata(coordinatorNamespace, Coordinator.TABLE);
+  private void upgradeCoordinatorTable(String coordinatorTable) throws ExecutionException {
+    TableMetadata currentMetadata = admin.getTableMetadata(coordinatorNamespace, coordinatorTable);
     if (currentMetadata == null) {
       return;
     }
@@ -320,8 +342,7 @@ public class ConsensusCommitAdmin implements DistributedTransactionAdmin {
         continue;
       }
       DataType columnDataType = Coordinator.TABLE_METADATA.getColumnDataType(columnName);
-      admin.addNewColumnToTable(
-          coordinatorNamespace, Coordinator.TABLE, columnName, columnDataType);
+      admin.addNewColumnToTable(coordinatorNamespace, coordinatorTable, columnName, columnDataType);
     }
   }
 
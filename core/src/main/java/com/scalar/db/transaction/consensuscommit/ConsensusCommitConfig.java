@@ -3,10 +3,14 @@ package com.scalar.db.transaction.consensuscommit;
 import static com.scalar.db.config.ConfigUtils.getBoolean;
 import static com.scalar.db.config.ConfigUtils.getInt;
 import static com.scalar.db.config.ConfigUtils.getString;
+import static com.scalar.db.config.ConfigUtils.getStringArray;
 
+import com.google.common.collect.ImmutableList;
+import com.scalar.db.common.error.CoreError;
 import com.scalar.db.config.DatabaseConfig;
 import com.scalar.db.storage.jdbc.JdbcConfig;
 import com.scalar.db.storage.multistorage.MultiStorageConfig;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Properties;
@@ -24,8 +28,12 @@ public class ConsensusCommitConfig {
   public static final String ISOLATION_LEVEL = PREFIX + "isolation_level";
   public static final String SERIALIZABLE_STRATEGY = PREFIX + "serializable_strategy";
   public static final String COORDINATOR_NAMESPACE = PREFIX + "coordinator.namespace";
+  public static final String COORDINATOR_SHARDS = PREFIX + "coordinator.shards";
+
+  public static final int DEFAULT_COORDINATOR_SHARDS = 1;
 
   public static final String PARALLEL_EXECUTOR_COUNT = PREFIX + "parallel_executor_count";
+  public static final String PARALLEL_EXECUTOR_MODE = PREFIX + "parallel_executor_mode";
   public static final String PARALLEL_PREPARATION_ENABLED = PREFIX + "parallel_preparation.enabled";
   public static final String PARALLEL_VALIDATION_ENABLED = PREFIX + "parallel_validation.enabled";
   public static final String PARALLEL_COMMIT_ENABLED = PREFIX + "parallel_commit.enabled";
@@ -34,9 +42,25 @@ public class ConsensusCommitConfig {
   public static final String ASYNC_COMMIT_ENABLED = PREFIX + "async_commit.enabled";
   public static final String ASYNC_ROLLBACK_ENABLED = PREFIX + "async_rollback.enabled";
 
+  public static final String PIPELINED_PREPARATION_ENABLED =
+      PREFIX + "pipelined_preparation.enabled";
+
+  public static final String ONE_PHASE_COMMIT_ENABLED = PREFIX + "one_phase_commit.enabled";
+
   public static final String PARALLEL_IMPLICIT_PRE_READ =
       PREFIX + "parallel_implicit_pre_read.enabled";
 
+  public static final String PARALLEL_PREPARATION_MAX_CONCURRENCY =
+      PREFIX + "parallel_preparation.max_concurrency";
+  public static final String PARALLEL_VALIDATION_MAX_CONCURRENCY =
+      PREFIX + "parallel_validation.max_concurrency";
+  public static final String PARALLEL_COMMIT_MAX_CONCURRENCY =
+      PREFIX + "parallel_commit.max_concurrency";
+  public static final String PARALLEL_ROLLBACK_MAX_CONCURRENCY =
+      PREFIX + "parallel_rollback.max_concurrency";
+  public static final String PARALLEL_IMPLICIT_PRE_READ_MAX_CONCURRENCY =
+      PREFIX + "parallel_implicit_pre_read.max_concurrency";
+
   public static final int DEFAULT_PARALLEL_EXECUTOR_COUNT = 128;
 
   public static final String INCLUDE_METADATA_ENABLED = PREFIX + "include_metadata.enabled";
@@ -56,18 +80,58 @@ public class ConsensusCommitConfig {
       COORDINATOR_GROUP_COMMIT_PREFIX + "timeout_check_interval_millis";
   public static final String COORDINATOR_GROUP_COMMIT_METRICS_MONITOR_LOG_ENABLED =
       COORDINATOR_GROUP_COMMIT_PREFIX + "metrics_monitor_log_enabled";
+  public static final String COORDINATOR_GROUP_COMMIT_ADAPTIVE_SIZING_ENABLED =
+      COORDINATOR_GROUP_COMMIT_PREFIX + "adaptive_sizing.enabled";
+  public static final String COORDINATOR_GROUP_COMMIT_MIN_SLOT_CAPACITY =
+      COORDINATOR_GROUP_COMMIT_PREFIX + "adaptive_sizing.min_slot_capacity";
+  public static final String COORDINATOR_GROUP_COMMIT_MIN_GROUP_SIZE_FIX_TIMEOUT_MILLIS =
+      COORDINATOR_GROUP_COMMIT_PREFIX + "adaptive_sizing.min_group_size_fix_timeout_millis";
+  public static final String COORDINATOR_GROUP_COMMIT_METRICS_ENABLED =
+      COORDINATOR_GROUP_COMMIT_PREFIX + "metrics.enabled";
 
   public static final int DEFAULT_COORDINATOR_GROUP_COMMIT_SLOT_CAPACITY = 20;
   public static final int DEFAULT_COORDINATOR_GROUP_COMMIT_GROUP_SIZE_FIX_TIMEOUT_MILLIS = 40;
   public static final int DEFAULT_COORDINATOR_GROUP_COMMIT_DELAYED_SLOT_MOVE_TIMEOUT_MILLIS = 1200;
   public static final int DEFAULT_COORDINATOR_GROUP_COMMIT_OLD_GROUP_ABORT_TIMEOUT_MILLIS = 60000;
   public static final int DEFAULT_COORDINATOR_GROUP_COMMIT_TIMEOUT_CHECK_INTERVAL_MILLIS = 20;
+  public static final int DEFAULT_COORDINATOR_GROUP_COMMIT_MIN_SLOT_CAPACITY = 1;
+  public static final int DEFAULT_COORDINATOR_GROUP_COMMIT_MIN_GROUP_SIZE_FIX_TIMEOUT_MILLIS = 1;
+
+  public static final String COORDINATOR_STATE_CACHE_PREFIX = PREFIX + "coordinator.state_cache.";
+  public static final String COORDINATOR_STATE_CACHE_ENABLED =
+      COORDINATOR_STATE_CACHE_PREFIX + "enabled";
+  public static final String COORDINATOR_STATE_CACHE_MAX_SIZE =
+      COORDINATOR_STATE_CACHE_PREFIX + "max_size";
+  public static final String COORDINATOR_STATE_CACHE_EXPIRATION_TIME_MILLIS =
+      COORDINATOR_STATE_CACHE_PREFIX + "expiration_time_millis";
+
+  public static final int DEFAULT_COORDINATOR_STATE_CACHE_MAX_SIZE = 100000;
+  public static final int DEFAULT_COORDINATOR_STATE_CACHE_EXPIRATION_TIME_MILLIS = 60000;
+
+  public static final String RECOVERY_SWEEPER_PREFIX = PREFIX + "recovery_sweeper.";
+  public static final String RECOVERY_SWEEPER_ENABLED = RECOVERY_SWEEPER_PREFIX + "enabled";
+  public static final String RECOVERY_SWEEPER_TABLES = RECOVERY_SWEEPER_PREFIX + "tables";
+  public static final String RECOVERY_SWEEPER_INTERVAL_MILLIS =
+      RECOVERY_SWEEPER_PREFIX + "interval_millis";
+  public static final String RECOVERY_SWEEPER_CONCURRENCY = RECOVERY_SWEEPER_PREFIX + "concurrency";
+  public static final String RECOVERY_SWEEPER_BATCH_SIZE = RECOVERY_SWEEPER_PREFIX + "batch_size";
+  public static final String RECOVERY_SWEEPER_MAX_RECORDS_PER_SECOND =
+      RECOVERY_SWEEPER_PREFIX + "max_records_per_second";
+
+  public static final int DEFAULT_RECOVERY_SWEEPER_INTERVAL_MILLIS = 60000;
+  public static final int DEFAULT_RECOVERY_SWEEPER_CONCURRENCY = 4;
+  public static final int DEFAULT_RECOVERY_SWEEPER_BATCH_SIZE = 100;
+  public static final int DEFAULT_RECOVERY_SWEEPER_MAX_RECORDS_PER_SECOND = 1000;
+
+  public static final String TRANSACTION_METRICS_ENABLED = PREFIX + "transaction_metrics.enabled";
 
   private final Isolation isolation;
   private final SerializableStrategy strategy;
   @Nullable private final String coordinatorNamespace;
+  private final int coordinatorShards;
 
   private final int parallelExecutorCount;
+  private final ParallelExecutorMode parallelExecutorMode;
   private final boolean parallelPreparationEnabled;
   private final boolean parallelValidationEnabled;
   private final boolean parallelCommitEnabled;
@@ -75,6 +139,15 @@ public class ConsensusCommitConfig {
   private final boolean asyncCommitEnabled;
   private final boolean asyncRollbackEnabled;
 
+  private final boolean pipelinedPreparationEnabled;
+  private final boolean onePhaseCommitEnabled;
+
+  private final int parallelPreparationMaxConcurrency;
+  private final int parallelValidationMaxConcurrency;
+  private final int parallelCommitMaxConcurrency;
+  private final int parallelRollbackMaxConcurrency;
+  private final int parallelImplicitPreReadMaxConcurrency;
+
   private final boolean isIncludeMetadataEnabled;
 
   private final boolean parallelImplicitPreReadEnabled;
@@ -86,6 +159,23 @@ public class ConsensusCommitConfig {
   private final int coordinatorGroupCommitOldGroupAbortTimeoutMillis;
   private final int coordinatorGroupCommitTimeoutCheckIntervalMillis;
   private final boolean coordinatorGroupCommitMetricsMonitorLogEnabled;
+  private final boolean coordinatorGroupCommitAdaptiveSizingEnabled;
+  private final int coordinatorGroupCommitMinSlotCapacity;
+  private final int coordinatorGroupCommitMinGroupSizeFixTimeoutMillis;
+  private final boolean coordinatorGroupCommitMetricsEnabled;
+
+  private final boolean coordinatorStateCacheEnabled;
+  private final int coordinatorStateCacheMaxSize;
+  private final int coordinatorStateCacheExpirationTimeMillis;
+
+  private final boolean recoverySweeperEnabled;
+  private final ImmutableList<String> recoverySweeperTables;
+  private final int recoverySweeperIntervalMillis;
+  private final int recoverySweeperConcurrency;
+  private final int recoverySweeperBatchSize;
+  private final int recoverySweeperMaxRecordsPerSecond;
+
+  private final boolean transactionMetricsEnabled;
 
   public ConsensusCommitConfig(DatabaseConfig databaseConfig) {
     String transactionManager = databaseConfig.getTransactionManager();
@@ -123,12 +213,25 @@ public class ConsensusCommitConfig {
                 .toUpperCase(Locale.ROOT));
 
     coordinatorNamespace = getString(databaseConfig.getProperties(), COORDINATOR_NAMESPACE, null);
+    coordinatorShards =
+        getInt(databaseConfig.getProperties(), COORDINATOR_SHARDS, DEFAULT_COORDINATOR_SHARDS);
+    if (coordinatorShards < 1) {
+      throw new IllegalArgumentException(
+          CoreError.CONSENSUS_COMMIT_INVALID_COORDINATOR_SHARDS.buildMessage(coordinatorShards));
+    }
 
     parallelExecutorCount =
         getInt(
             databaseConfig.getProperties(),
             PARALLEL_EXECUTOR_COUNT,
             DEFAULT_PARALLEL_EXECUTOR_COUNT);
+    parallelExecutorMode =
+        ParallelExecutorMode.valueOf(
+            getString(
+                    databaseConfig.getProperties(),
+                    PARALLEL_EXECUTOR_MODE,
+                    ParallelExecutorMode.FIXED_THREAD_POOL.toString())
+                .toUpperCase(Locale.ROOT));
     parallelPreparationEnabled =
         getBoolean(databaseConfig.getProperties(), PARALLEL_PREPARATION_ENABLED, true);
     parallelCommitEnabled =
@@ -149,12 +252,29 @@ public class ConsensusCommitConfig {
     asyncRollbackEnabled =
         getBoolean(databaseConfig.getProperties(), ASYNC_ROLLBACK_ENABLED, asyncCommitEnabled);
 
+    pipelinedPreparationEnabled =
+        getBoolean(databaseConfig.getProperties(), PIPELINED_PREPARATION_ENABLED, false);
+    onePhaseCommitEnabled =
+        getBoolean(databaseConfig.getProperties(), ONE_PHASE_COMMIT_ENABLED, false);
+
     isIncludeMetadataEnabled =
         getBoolean(databaseConfig.getProperties(), INCLUDE_METADATA_ENABLED, false);
 
     parallelImplicitPreReadEnabled =
         getBoolean(databaseConfig.getProperties(), PARALLEL_IMPLICIT_PRE_READ, true);
 
+    // 0 means that the number of concurrently running tasks in the phase is not limited
+    parallelPreparationMaxConcurrency =
+        getInt(databaseConfig.getProperties(), PARALLEL_PREPARATION_MAX_CONCURRENCY, 0);
+    parallelValidationMaxConcurrency =
+        getInt(databaseConfig.getProperties(), PARALLEL_VALIDATION_MAX_CONCURRENCY, 0);
+    parallelCommitMaxConcurrency =
+        getInt(databaseConfig.getProperties(), PARALLEL_COMMIT_MAX_CONCURRENCY, 0);
+    parallelRollbackMaxConcurrency =
+        getInt(databaseConfig.getProperties(), PARALLEL_ROLLBACK_MAX_CONCURRENCY, 0);
+    parallelImplicitPreReadMaxConcurrency =
+        getInt(databaseConfig.getProperties(), PARALLEL_IMPLICIT_PRE_READ_MAX_CONCURRENCY, 0);
+
     coordinatorGroupCommitEnabled =
         getBoolean(databaseConfig.getProperties(), COORDINATOR_GROUP_COMMIT_ENABLED, false);
     coordinatorGroupCommitSlotCapacity =
@@ -187,6 +307,78 @@ public class ConsensusCommitConfig {
             databaseConfig.getProperties(),
             COORDINATOR_GROUP_COMMIT_METRICS_MONITOR_LOG_ENABLED,
             false);
+    // When the adaptive sizing is enabled, the slot capacity and the group size fix timeout are
+    // used as the upper bounds
+    coordinatorGroupCommitAdaptiveSizingEnabled =
+        getBoolean(
+            databaseConfig.getProperties(),
+            COORDINATOR_GROUP_COMMIT_ADAPTIVE_SIZING_ENABLED,
+            false);
+    coordinatorGroupCommitMinSlotCapacity =
+        getInt(
+            databaseConfig.getProperties(),
+            COORDINATOR_GROUP_COMMIT_MIN_SLOT_CAPACITY,
+            DEFAULT_COORDINATOR_GROUP_COMMIT_MIN_SLOT_CAPACITY);
+    coordinatorGroupCommitMinGroupSizeFixTimeoutMillis =
+        getInt(
+            databaseConfig.getProperties(),
+            COORDINATOR_GROUP_COMMIT_MIN_GROUP_SIZE_FIX_TIMEOUT_MILLIS,
+            DEFAULT_COORDINATOR_GROUP_COMMIT_MIN_GROUP_SIZE_FIX_TIMEOUT_MILLIS);
+    coordinatorGroupCommitMetricsEnabled =
+        getBoolean(databaseConfig.getProperties(), COORDINATOR_GROUP_COMMIT_METRICS_ENABLED, false);
+
+    coordinatorStateCacheEnabled =
+        getBoolean(databaseConfig.getProperties(), COORDINATOR_STATE_CACHE_ENABLED, false);
+    coordinatorStateCacheMaxSize =
+        getInt(
+            databaseConfig.getProperties(),
+            COORDINATOR_STATE_CACHE_MAX_SIZE,
+            DEFAULT_COORDINATOR_STATE_CACHE_MAX_SIZE);
+    // A negative value means that the cached states don't expire
+    coordinatorStateCacheExpirationTimeMillis =
+        getInt(
+            databaseConfig.getProperties(),
+            COORDINATOR_STATE_CACHE_EXPIRATION_TIME_MILLIS,
+            DEFAULT_COORDINATOR_STATE_CACHE_EXPIRATION_TIME_MILLIS);
+
+    recoverySweeperEnabled =
+        getBoolean(databaseConfig.getProperties(), RECOVERY_SWEEPER_ENABLED, false);
+    recoverySweeperTables = loadRecoverySweeperTables(databaseConfig.getProperties());
+    recoverySweeperIntervalMillis =
+        getInt(
+            databaseConfig.getProperties(),
+            RECOVERY_SWEEPER_INTERVAL_MILLIS,
+            DEFAULT_RECOVERY_SWEEPER_INTERVAL_MILLIS);
+    recoverySweeperConcurrency =
+        getInt(
+            databaseConfig.getProperties(),
+            RECOVERY_SWEEPER_CONCURRENCY,
+            DEFAULT_RECOVERY_SWEEPER_CONCURRENCY);
+    recoverySweeperBatchSize =
+        getInt(
+            databaseConfig.getProperties(),
+            RECOVERY_SWEEPER_BATCH_SIZE,
+            DEFAULT_RECOVERY_SWEEPER_BATCH_SIZE);
+    recoverySweeperMaxRecordsPerSecond =
+        getInt(
+            databaseConfig.getProperties(),
+            RECOVERY_SWEEPER_MAX_RECORDS_PER_SECOND,
+            DEFAULT_RECOVERY_SWEEPER_MAX_RECORDS_PER_SECOND);
+
+    transactionMetricsEnabled =
+        getBoolean(databaseConfig.getProperties(), TRANSACTION_METRICS_ENABLED, false);
+  }
+
+  private ImmutableList<String> loadRecoverySweeperTables(Properties properties) {
+    String[] tables = getStringArray(properties, RECOVERY_SWEEPER_TABLES, new String[0]);
+    for (String table : tables) {
+      int index = table.indexOf('.');
+      if (index <= 0 || index == table.length() - 1) {
+        throw new IllegalArgumentException(
+            CoreError.CONSENSUS_COMMIT_INVALID_RECOVERY_SWEEPER_TABLE_FORMAT.buildMessage(table));
+      }
+    }
+    return ImmutableList.copyOf(tables);
   }
 
   public Isolation getIsolation() {
@@ -201,10 +393,18 @@ public class ConsensusCommitConfig {
     return Optional.ofNullable(coordinatorNamespace);
   }
 
+  public int getCoordinatorShards() {
+    return coordinatorShards;
+  }
+
   public int getParallelExecutorCount() {
     return parallelExecutorCount;
   }
 
+  public ParallelExecutorMode getParallelExecutorMode() {
+    return parallelExecutorMode;
+  }
+
   public boolean isParallelPreparationEnabled() {
     return parallelPreparationEnabled;
   }
@@ -229,6 +429,34 @@ public class ConsensusCommitConfig {
     return asyncRollbackEnabled;
   }
 
+  public boolean isPipelinedPreparationEnabled() {
+    return pipelinedPreparationEnabled;
+  }
+
+  public boolean isOnePhaseCommitEnabled() {
+    return onePhaseCommitEnabled;
+  }
+
+  public int getParallelPreparationMaxConcurrency() {
+    return parallelPreparationMaxConcurrency;
+  }
+
+  public int getParallelValidationMaxConcurrency() {
+    return parallelValidationMaxConcurrency;
+  }
+
+  public int getParallelCommitMaxConcurrency() {
+    return parallelCommitMaxConcurrency;
+  }
+
+  public int getParallelRollbackMaxConcurrency() {
+    return parallelRollbackMaxConcurrency;
+  }
+
+  public int getParallelImplicitPreReadMaxConcurrency() {
+    return parallelImplicitPreReadMaxConcurrency;
+  }
+
   public boolean isIncludeMetadataEnabled() {
     return isIncludeMetadataEnabled;
   }
@@ -265,6 +493,68 @@ public class ConsensusCommitConfig {
     return coordinatorGroupCommitMetricsMonitorLogEnabled;
   }
 
+  public boolean isCoordinatorGroupCommitAdaptiveSizingEnabled() {
+    return coordinatorGroupCommitAdaptiveSizingEnabled;
+  }
+
+  public int getCoordinatorGroupCommitMinSlotCapacity() {
+    return coordinatorGroupCommitMinSlotCapacity;
+  }
+
+  public int getCoordinatorGroupCommitMinGroupSizeFixTimeoutMillis() {
+    return coordinatorGroupCommitMinGroupSizeFixTimeoutMillis;
+  }
+
+  public boolean isCoordinatorGroupCommitMetricsEnabled() {
+    return coordinatorGroupCommitMetricsEnabled;
+  }
+
+  public boolean isCoordinatorStateCacheEnabled() {
+    return coordinatorStateCacheEnabled;
+  }
+
+  public int getCoordinatorStateCacheMaxSize() {
+    return coordinatorStateCacheMaxSize;
+  }
+
+  public int getCoordinatorStateCacheExpirationTimeMillis() {
+    return coordinatorStateCacheExpirationTimeMillis;
+  }
+
+  public boolean isRecoverySweeperEnabled() {
+    return recoverySweeperEnabled;
+  }
+
+  /**
+   * Returns the fully qualified names ({@code <namespace>.<table>}) of the tables swept by the
+   * recovery sweeper.
+   *
+   * @return the table names
+   */
+  public List<String> getRecoverySweeperTables() {
+    return recoverySweeperTables;
+  }
+
+  public int getRecoverySweeperIntervalMillis() {
+    return recoverySweeperIntervalMillis;
+  }
+
+  public int getRecoverySweeperConcurrency() {
+    return recoverySweeperConcurrency;
+  }
+
+  public int getRecoverySweeperBatchSize() {
+    return recoverySweeperBatchSize;
+  }
+
+  public int getRecoverySweeperMaxRecordsPerSecond() {
+    return recoverySweeperMaxRecordsPerSecond;
+  }
+
+  public boolean isTransactionMetricsEnabled() {
+    return transactionMetricsEnabled;
+  }
+
   private void validateCrossPartitionScanConfig(DatabaseConfig databaseConfig) {
     // It might be better to let each storage have metadata (e.g., linearizable cross-partition scan
     // is supported or not) and check it rather than checking specific storage types. We will
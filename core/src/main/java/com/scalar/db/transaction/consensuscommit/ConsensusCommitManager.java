@@ -31,6 +31,8 @@ import com.scalar.db.exception.transaction.UnknownTransactionStatusException;
 import com.scalar.db.service.StorageFactory;
 import com.scalar.db.transaction.consensuscommit.Coordinator.State;
 import com.scalar.db.util.ThrowableFunction;
+import com.scalar.db.util.groupcommit.GroupCommitMetricsRecorder;
+import com.scalar.db.util.groupcommit.HistogramGroupCommitMetricsRecorder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.List;
 import java.util.Optional;
@@ -50,10 +52,14 @@ public class ConsensusCommitManager extends ActiveTransactionManagedDistributedT
   private final Coordinator coordinator;
   private final ParallelExecutor parallelExecutor;
   private final RecoveryHandler recovery;
+  @Nullable private final RecoverySweeper recoverySweeper;
   protected final CommitHandler commit;
   private final boolean isIncludeMetadataEnabled;
   private final ConsensusCommitMutationOperationChecker mutationOperationChecker;
   @Nullable private final CoordinatorGroupCommitter groupCommitter;
+  @Nullable private final HistogramGroupCommitMetricsRecorder groupCommitMetrics;
+  @Nullable private final TransactionMetrics transactionMetrics;
+  private volatile TransactionMetricsRecorder metricsRecorder;
 
   @SuppressFBWarnings("EI_EXPOSE_REP2")
   @Inject
@@ -63,16 +69,25 @@ public class ConsensusCommitManager extends ActiveTransactionManagedDistributedT
     this.storage = storage;
     this.admin = admin;
     config = new ConsensusCommitConfig(databaseConfig);
+    Coordinator.validateShards(
+        admin,
+        config.getCoordinatorNamespace().orElse(Coordinator.NAMESPACE),
+        config.getCoordinatorShards());
     coordinator = new Coordinator(storage, config);
     parallelExecutor = new ParallelExecutor(config);
     tableMetadataManager =
         new TransactionTableMetadataManager(
             admin, databaseConfig.getMetadataCacheExpirationTimeSecs());
     recovery = new RecoveryHandler(storage, coordinator, tableMetadataManager);
+    recoverySweeper = RecoverySweeper.from(config, storage, recovery).orElse(null);
     groupCommitter = CoordinatorGroupCommitter.from(config).orElse(null);
+    groupCommitMetrics = createGroupCommitMetrics();
     commit = createCommitHandler();
     isIncludeMetadataEnabled = config.isIncludeMetadataEnabled();
     mutationOperationChecker = new ConsensusCommitMutationOperationChecker(tableMetadataManager);
+    transactionMetrics = config.isTransactionMetricsEnabled() ? new TransactionMetrics() : null;
+    applyMetricsRecorder(
+        transactionMetrics != null ? transactionMetrics : TransactionMetricsRecorder.NOOP);
   }
 
   protected ConsensusCommitManager(DatabaseConfig databaseConfig) {
@@ -82,16 +97,25 @@ public class ConsensusCommitManager extends ActiveTransactionManagedDistributedT
     admin = storageFactory.getStorageAdmin();
 
     config = new ConsensusCommitConfig(databaseConfig);
+    Coordinator.validateShards(
+        admin,
+        config.getCoordinatorNamespace().orElse(Coordinator.NAMESPACE),
+        config.getCoordinatorShards());
     coordinator = new Coordinator(storage, config);
     parallelExecutor = new ParallelExecutor(config);
     tableMetadataManager =
         new TransactionTableMetadataManager(
             admin, databaseConfig.getMetadataCacheExpirationTimeSecs());
     recovery = new RecoveryHandler(storage, coordinator, tableMetadataManager);
+    recoverySweeper = RecoverySweeper.from(config, storage, recovery).orElse(null);
     groupCommitter = CoordinatorGroupCommitter.from(config).orElse(null);
+    groupCommitMetrics = createGroupCommitMetrics();
     commit = createCommitHandler();
     isIncludeMetadataEnabled = config.isIncludeMetadataEnabled();
     mutationOperationChecker = new ConsensusCommitMutationOperationChecker(tableMetadataManager);
+    transactionMetrics = config.isTransactionMetricsEnabled() ? new TransactionMetrics() : null;
+    applyMetricsRecorder(
+        transactionMetrics != null ? transactionMetrics : TransactionMetricsRecorder.NOOP);
   }
 
   @SuppressFBWarnings("EI_EXPOSE_REP2")
@@ -116,23 +140,105 @@ public class ConsensusCommitManager extends ActiveTransactionManagedDistributedT
     this.coordinator = coordinator;
     this.parallelExecutor = parallelExecutor;
     this.recovery = recovery;
+    recoverySweeper = null;
     this.commit = commit;
     this.groupCommitter = groupCommitter;
+    groupCommitMetrics = null;
     this.isIncludeMetadataEnabled = config.isIncludeMetadataEnabled();
     this.mutationOperationChecker =
         new ConsensusCommitMutationOperationChecker(tableMetadataManager);
+    transactionMetrics = null;
+    metricsRecorder = TransactionMetricsRecorder.NOOP;
+  }
+
+  // `groupCommitter` must be set before calling this method.
+  @Nullable
+  private HistogramGroupCommitMetricsRecorder createGroupCommitMetrics() {
+    if (!isGroupCommitEnabled() || !config.isCoordinatorGroupCommitMetricsEnabled()) {
+      return null;
+    }
+    HistogramGroupCommitMetricsRecorder metrics = new HistogramGroupCommitMetricsRecorder();
+    groupCommitter.setMetricsRecorder(metrics);
+    return metrics;
   }
 
   // `groupCommitter` must be set before calling this method.
   private CommitHandler createCommitHandler() {
     if (isGroupCommitEnabled()) {
       return new CommitHandlerWithGroupCommit(
-          storage, coordinator, tableMetadataManager, parallelExecutor, groupCommitter);
+          storage,
+          coordinator,
+          tableMetadataManager,
+          parallelExecutor,
+          groupCommitter,
+          config.isPipelinedPreparationEnabled(),
+          config.isOnePhaseCommitEnabled());
     } else {
-      return new CommitHandler(storage, coordinator, tableMetadataManager, parallelExecutor);
+      return new CommitHandler(
+          storage,
+          coordinator,
+          tableMetadataManager,
+          parallelExecutor,
+          config.isPipelinedPreparationEnabled(),
+          config.isOnePhaseCommitEnabled());
     }
   }
 
+  private void applyMetricsRecorder(TransactionMetricsRecorder metricsRecorder) {
+    parallelExecutor.setMetricsRecorder(metricsRecorder);
+    recovery.setMetricsRecorder(metricsRecorder);
+    commit.setMetricsRecorder(metricsRecorder);
+    // Transactions begun after this are recorded to the new recorder
+    this.metricsRecorder = metricsRecorder;
+  }
+
+  /**
+   * Sets the {@link TransactionMetricsRecorder} to which the metrics of the transactions, such as
+   * the latencies of their phases, are recorded. This replaces the {@link TransactionMetrics}
+   * enabled with {@link ConsensusCommitConfig#TRANSACTION_METRICS_ENABLED}.
+   *
+   * @param metricsRecorder a metrics recorder
+   */
+  public void setTransactionMetricsRecorder(TransactionMetricsRecorder metricsRecorder) {
+    applyMetricsRecorder(checkNotNull(metricsRecorder));
+  }
+
+  /**
+   * Returns the metrics aggregated from the transactions if {@link
+   * ConsensusCommitConfig#TRANSACTION_METRICS_ENABLED} is enabled.
+   *
+   * @return the transaction metrics
+   */
+  public Optional<TransactionMetrics> getTransactionMetrics() {
+    return Optional.ofNullable(transactionMetrics);
+  }
+
+  /**
+   * Sets the {@link GroupCommitMetricsRecorder} to which the metrics of the coordinator group
+   * commit, such as group sizes and slot wait times, are recorded. This replaces the {@link
+   * HistogramGroupCommitMetricsRecorder} enabled with {@link
+   * ConsensusCommitConfig#COORDINATOR_GROUP_COMMIT_METRICS_ENABLED}, and does nothing if the
+   * coordinator group commit is disabled.
+   *
+   * @param metricsRecorder a metrics recorder
+   */
+  public void setGroupCommitMetricsRecorder(GroupCommitMetricsRecorder metricsRecorder) {
+    checkNotNull(metricsRecorder);
+    if (isGroupCommitEnabled()) {
+      groupCommitter.setMetricsRecorder(metricsRecorder);
+    }
+  }
+
+  /**
+   * Returns the metrics aggregated from the coordinator group commit if the group commit and {@link
+   * ConsensusCommitConfig#COORDINATOR_GROUP_COMMIT_METRICS_ENABLED} are enabled.
+   *
+   * @return the group commit metrics
+   */
+  public Optional<HistogramGroupCommitMetricsRecorder> getGroupCommitMetrics() {
+    return Optional.ofNullable(groupCommitMetrics);
+  }
+
   @Override
   public DistributedTransaction begin() throws TransactionException {
     return begin(config.getIsolation(), config.getSerializableStrategy());
@@ -227,8 +333,11 @@ public class ConsensusCommitManager extends ActiveTransactionManagedDistributedT
     CrudHandler crud =
         new CrudHandler(
             storage, snapshot, tableMetadataManager, isIncludeMetadataEnabled, parallelExecutor);
+    TransactionMetricsRecorder metricsRecorder = this.metricsRecorder;
+    crud.setMetricsRecorder(metricsRecorder);
     ConsensusCommit consensus =
-        new ConsensusCommit(crud, commit, recovery, mutationOperationChecker, groupCommitter);
+        new ConsensusCommit(
+            crud, commit, recovery, mutationOperationChecker, groupCommitter, metricsRecorder);
     getNamespace().ifPresent(consensus::withNamespace);
     getTable().ifPresent(consensus::withTable);
     return decorate ? decorate(consensus) : consensus;
@@ -396,11 +505,23 @@ public class ConsensusCommitManager extends ActiveTransactionManagedDistributedT
 
   @Override
   public void close() {
+    if (recoverySweeper != null) {
+      recoverySweeper.close();
+    }
     storage.close();
     admin.close();
     parallelExecutor.close();
     if (isGroupCommitEnabled()) {
       groupCommitter.close();
     }
+    coordinator
+        .getStateCacheMetrics()
+        .ifPresent(metrics -> logger.info("Coordinator state cache metrics: {}", metrics));
+    if (transactionMetrics != null) {
+      logger.info("Transaction metrics: {}", transactionMetrics);
+    }
+    if (groupCommitMetrics != null) {
+      logger.info("Group commit metrics: {}", groupCommitMetrics);
+    }
   }
 }
@@ -1,5 +1,6 @@
 package com.scalar.db.transaction.consensuscommit;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -8,12 +9,14 @@ import com.google.common.base.Splitter;
 import com.google.common.util.concurrent.Uninterruptibles;
 import com.scalar.db.api.Consistency;
 import com.scalar.db.api.DistributedStorage;
+import com.scalar.db.api.DistributedStorageAdmin;
 import com.scalar.db.api.Get;
 import com.scalar.db.api.Put;
 import com.scalar.db.api.PutIfNotExists;
 import com.scalar.db.api.Result;
 import com.scalar.db.api.TableMetadata;
 import com.scalar.db.api.TransactionState;
+import com.scalar.db.common.error.CoreError;
 import com.scalar.db.exception.storage.ExecutionException;
 import com.scalar.db.exception.storage.NoMutationException;
 import com.scalar.db.io.DataType;
@@ -23,12 +26,16 @@ import com.scalar.db.transaction.consensuscommit.CoordinatorGroupCommitter.Coord
 import com.scalar.db.util.groupcommit.GroupCommitKeyManipulator.Keys;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,6 +58,8 @@ public class Coordinator {
   private static final Logger logger = LoggerFactory.getLogger(Coordinator.class);
   private final DistributedStorage storage;
   private final String coordinatorNamespace;
+  private final int coordinatorShards;
+  @Nullable private final CoordinatorStateCache stateCache;
   private final CoordinatorGroupCommitKeyManipulator keyManipulator;
 
   /**
@@ -62,6 +71,8 @@ public class Coordinator {
   public Coordinator(DistributedStorage storage) {
     this.storage = storage;
     coordinatorNamespace = NAMESPACE;
+    coordinatorShards = ConsensusCommitConfig.DEFAULT_COORDINATOR_SHARDS;
+    stateCache = null;
     keyManipulator = new CoordinatorGroupCommitKeyManipulator();
   }
 
@@ -69,16 +80,124 @@ public class Coordinator {
   public Coordinator(DistributedStorage storage, ConsensusCommitConfig config) {
     this.storage = storage;
     coordinatorNamespace = config.getCoordinatorNamespace().orElse(NAMESPACE);
+    coordinatorShards = config.getCoordinatorShards();
+    if (config.isCoordinatorStateCacheEnabled()) {
+      stateCache =
+          new CoordinatorStateCache(
+              config.getCoordinatorStateCacheMaxSize(),
+              config.getCoordinatorStateCacheExpirationTimeMillis());
+    } else {
+      stateCache = null;
+    }
     keyManipulator = new CoordinatorGroupCommitKeyManipulator();
   }
 
+  /**
+   * Returns the name of the specified shard of the Coordinator table. The first shard is named
+   * {@link #TABLE}, which is the name of the Coordinator table when it isn't sharded, and the rest
+   * are named {@code state_1}, {@code state_2} and so on.
+   *
+   * @param shard the index of the shard
+   * @param shards the number of the shards
+   * @return the name of the shard
+   */
+  public static String getTableName(int shard, int shards) {
+    checkArgument(shard >= 0 && shard < shards);
+    if (shard == 0) {
+      return TABLE;
+    }
+    return TABLE + "_" + shard;
+  }
+
+  /**
+   * Returns the names of all the shards of the Coordinator table.
+   *
+   * @param shards the number of the shards
+   * @return the names of the shards
+   */
+  public static List<String> getTableNames(int shards) {
+    List<String> tableNames = new ArrayList<>(shards);
+    for (int i = 0; i < shards; i++) {
+      tableNames.add(getTableName(i, shards));
+    }
+    return tableNames;
+  }
+
+  /**
+   * Checks that the Coordinator tables are provisioned with the specified number of shards. The
+   * shard of a transaction is derived from the number of the shards, so using a different number
+   * from the provisioned one would make the states of existing transactions unreachable. This does
+   * nothing if the Coordinator tables don't exist yet.
+   *
+   * @param admin an admin for the underlying storage
+   * @param namespace the namespace of the Coordinator tables
+   * @param shards the number of the shards
+   * @throws IllegalArgumentException if the provisioned number of the shards is different
+   */
+  public static void validateShards(DistributedStorageAdmin admin, String namespace, int shards) {
+    try {
+      if (!admin.tableExists(namespace, TABLE)) {
+        return;
+      }
+      if ((shards > 1 && !admin.tableExists(namespace, getTableName(shards - 1, shards)))
+          || admin.tableExists(namespace, TABLE + "_" + shards)) {
+        throw new IllegalArgumentException(
+            CoreError.CONSENSUS_COMMIT_COORDINATOR_SHARDS_MISMATCH.buildMessage(shards));
+      }
+    } catch (ExecutionException e) {
+      logger.warn("Failed to check the shards of the Coordinator tables", e);
+    }
+  }
+
   public Optional<Coordinator.State> getState(String id) throws CoordinatorException {
     if (keyManipulator.isFullKey(id)) {
       return getStateForGroupCommit(id);
     }
 
-    Get get = createGetWith(id);
-    return get(get);
+    return get(id);
+  }
+
+  /**
+   * Returns the states of the specified transactions. The states that are not cached are read from
+   * the storage with a single multi-get, except the states of the transactions committed with the
+   * group commit, which are read one by one in the same way as {@link #getState(String)}.
+   *
+   * @param ids the transaction IDs
+   * @return a map from the transaction IDs to their states, which is empty if a state doesn't exist
+   * @throws CoordinatorException if reading the states fails
+   */
+  public Map<String, Optional<Coordinator.State>> getStates(Collection<String> ids)
+      throws CoordinatorException {
+    Map<String, Optional<Coordinator.State>> states = new HashMap<>();
+    List<String> idsToRead = new ArrayList<>();
+    for (String id : ids) {
+      if (keyManipulator.isFullKey(id)) {
+        states.put(id, getStateForGroupCommit(id));
+        continue;
+      }
+      Optional<Coordinator.State> cached =
+          stateCache == null ? Optional.empty() : stateCache.get(id);
+      if (cached.isPresent()) {
+        states.put(id, cached);
+      } else {
+        idsToRead.add(id);
+      }
+    }
+    if (idsToRead.isEmpty()) {
+      return states;
+    }
+
+    List<Get> gets = new ArrayList<>(idsToRead.size());
+    for (String id : idsToRead) {
+      gets.add(createGetWith(id));
+    }
+    List<Optional<Coordinator.State>> read = get(gets);
+    for (int i = 0; i < idsToRead.size(); i++) {
+      Optional<Coordinator.State> state = read.get(i);
+      state.ifPresent(this::cache);
+      states.put(idsToRead.get(i), state);
+    }
+    return states;
   }
 
   @VisibleForTesting
@@ -88,8 +207,7 @@ public class Coordinator {
 
     String parentId = idForGroupCommit.parentKey;
     String childId = idForGroupCommit.childKey;
-    Get get = createGetWith(parentId);
-    Optional<State> state = get(get);
+    Optional<State> state = get(parentId);
     // The current implementation is optimized for cases where most transactions are
     // group-committed. It first looks up a transaction state using the parent ID with a single read
     // operation. If no matching transaction state is found (i.e., the transaction was delayed and
@@ -106,12 +224,13 @@ public class Coordinator {
       return stateContainingTargetTxId;
     }
 
-    return get(createGetWith(fullId));
+    return get(fullId);
   }
 
   public void putState(Coordinator.State state) throws CoordinatorException {
     Put put = createPutWith(state);
     put(put);
+    cache(state);
   }
 
   void putStateForGroupCommit(
@@ -133,6 +252,7 @@ public class Coordinator {
 
     Put put = createPutWith(state);
     put(put);
+    cache(state);
   }
 
   public void putStateForLazyRecoveryRollback(String id) throws CoordinatorException {
@@ -240,7 +360,51 @@ public class Coordinator {
     return new Get(new Key(Attribute.toIdValue(id)))
         .withConsistency(Consistency.LINEARIZABLE)
         .forNamespace(coordinatorNamespace)
-        .forTable(TABLE);
+        .forTable(getTableName(id));
+  }
+
+  /**
+   * Resolves the shard of the Coordinator table for the specified ID. The shard is derived only
+   * from the ID, so that the state of a transaction is always written to and read from the same
+   * shard, even across processes since {@link String#hashCode()} is defined by the specification.
+   * Note that, in a group commit, the state with a parent ID and the state with a full ID can be in
+   * different shards, but each of them is looked up with its own ID.
+   */
+  @VisibleForTesting
+  String getTableName(String id) {
+    if (coordinatorShards == 1) {
+      return TABLE;
+    }
+    return getTableName(Math.floorMod(id.hashCode(), coordinatorShards), coordinatorShards);
+  }
+
+  /**
+   * Returns the metrics of the coordinator state cache.
+   *
+   * @return an {@code Optional} with the metrics, or an empty {@code Optional} if the cache is
+   *     disabled
+   */
+  public Optional<CoordinatorStateCache.Metrics> getStateCacheMetrics() {
+    return Optional.ofNullable(stateCache).map(CoordinatorStateCache::getMetrics);
+  }
+
+  private Optional<Coordinator.State> get(String id) throws CoordinatorException {
+    if (stateCache == null) {
+      return get(createGetWith(id));
+    }
+    Optional<Coordinator.State> cached = stateCache.get(id);
+    if (cached.isPresent()) {
+      return cached;
+    }
+    Optional<Coordinator.State> state = get(createGetWith(id));
+    state.ifPresent(stateCache::put);
+    return state;
+  }
+
+  private void cache(Coordinator.State state) {
+    if (stateCache != null) {
+      stateCache.put(state);
+    }
   }
 
   private Optional<Coordinator.State> get(Get get) throws CoordinatorException {
@@ -263,6 +427,26 @@ public class Coordinator {
     }
   }
 
+  private List<Optional<Coordinator.State>> get(List<Get> gets) throws CoordinatorException {
+    int counter = 0;
+    while (true) {
+      if (counter >= MAX_RETRY_COUNT) {
+        throw new CoordinatorException("Can't get coordinator states");
+      }
+      try {
+        List<Optional<Result>> results = storage.get(gets);
+        List<Optional<Coordinator.State>> states = new ArrayList<>(results.size());
+        for (Optional<Result> result : results) {
+          states.add(result.isPresent() ? Optional.of(new State(result.get())) : Optional.empty());
+        }
+        return states;
+      } catch (ExecutionException e) {
+        logger.warn("Can't get coordinator states", e);
+      }
+      exponentialBackoff(counter++);
+    }
+  }
+
   @VisibleForTesting
   Put createPutWith(Coordinator.State state) {
     Put put = new Put(new Key(Attribute.toIdValue(state.getId())));
@@ -275,7 +459,7 @@ public class Coordinator {
         .withConsistency(Consistency.LINEARIZABLE)
         .withCondition(new PutIfNotExists())
         .forNamespace(coordinatorNamespace)
-        .forTable(TABLE);
+        .forTable(getTableName(state.getId()));
   }
 
   private void put(Put put) throws CoordinatorException {
@@ -19,7 +19,10 @@ public class CoordinatorGroupCommitter
             config.getCoordinatorGroupCommitDelayedSlotMoveTimeoutMillis(),
             config.getCoordinatorGroupCommitOldGroupAbortTimeoutMillis(),
             config.getCoordinatorGroupCommitTimeoutCheckIntervalMillis(),
-            config.isCoordinatorGroupCommitMetricsMonitorLogEnabled()));
+            config.isCoordinatorGroupCommitMetricsMonitorLogEnabled(),
+            config.isCoordinatorGroupCommitAdaptiveSizingEnabled(),
+            config.getCoordinatorGroupCommitMinSlotCapacity(),
+            config.getCoordinatorGroupCommitMinGroupSizeFixTimeoutMillis()));
   }
 
   public static Optional<CoordinatorGroupCommitter> from(ConsensusCommitConfig config) {
@@ -0,0 +1,127 @@
+package com.scalar.db.transaction.consensuscommit;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.scalar.db.api.TransactionState;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A cache for the states in the Coordinator table. The states are keyed by the IDs of the
+ * Coordinator table records.
+ *
+ * <p>A Coordinator table record is only inserted with {@code PutIfNotExists} and never updated, so
+ * once a state is COMMITTED or ABORTED, it never changes. Only such terminal states are cached. The
+ * absence of a state and the other states are never cached since they can change later.
+ */
+@ThreadSafe
+public class CoordinatorStateCache {
+  private final Cache<String, Coordinator.State> cache;
+
+  /**
+   * Constructs a cache with the specified max size and expiration time
+   *
+   * @param maxSize the max size
+   * @param expirationTimeMillis the time after which a cached state expires. A negative value
+   *     means that the states don't expire
+   */
+  public CoordinatorStateCache(long maxSize, long expirationTimeMillis) {
+    CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(maxSize);
+    if (expirationTimeMillis >= 0) {
+      builder.expireAfterWrite(expirationTimeMillis, TimeUnit.MILLISECONDS);
+    }
+    cache = builder.recordStats().build();
+  }
+
+  /**
+   * Returns the cached state associated with the specified ID
+   *
+   * @param id the ID of a Coordinator table record
+   * @return an {@code Optional} with the cached state
+   */
+  public Optional<Coordinator.State> get(String id) {
+    return Optional.ofNullable(cache.getIfPresent(id));
+  }
+
+  /**
+   * Caches the specified state if it's a terminal state
+   *
+   * @param state a state read from or written to the Coordinator table
+   */
+  public void put(Coordinator.State state) {
+    if (isTerminal(state.getState())) {
+      cache.put(state.getId(), state);
+    }
+  }
+
+  private static boolean isTerminal(TransactionState state) {
+    return state == TransactionState.COMMITTED || state == TransactionState.ABORTED;
+  }
+
+  /**
+   * Returns the metrics of the cache
+   *
+   * @return the metrics of the cache
+   */
+  public Metrics getMetrics() {
+    CacheStats stats = cache.stats();
+    return new Metrics(cache.size(), stats.hitCount(), stats.missCount(), stats.evictionCount());
+  }
+
+  /** The metrics of a coordinator state cache. */
+  @Immutable
+  public static class Metrics {
+    private final long size;
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+
+    private Metrics(long size, long hitCount, long missCount, long evictionCount) {
+      this.size = size;
+      this.hitCount = hitCount;
+      this.missCount = missCount;
+      this.evictionCount = evictionCount;
+    }
+
+    /** @return the number of the cached states */
+    public long getSize() {
+      return size;
+    }
+
+    /** @return the number of the lookups that found a cached state */
+    public long getHitCount() {
+      return hitCount;
+    }
+
+    /** @return the number of the lookups that didn't find a cached state */
+    public long getMissCount() {
+      return missCount;
+    }
+
+    /** @return the number of the states evicted because of the size limit or the expiration */
+    public long getEvictionCount() {
+      return evictionCount;
+    }
+
+    /** @return the ratio of the hits to the lookups, or 1.0 if there are no lookups */
+    public double getHitRate() {
+      long requestCount = hitCount + missCount;
+      return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("size", size)
+          .add("hitCount", hitCount)
+          .add("missCount", missCount)
+          .add("evictionCount", evictionCount)
+          .add("hitRate", getHitRate())
+          .toString();
+    }
+  }
+}
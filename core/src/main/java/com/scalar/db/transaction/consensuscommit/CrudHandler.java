@@ -4,6 +4,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.scalar.db.transaction.consensuscommit.ConsensusCommitOperationAttributes.isImplicitPreReadEnabled;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import com.scalar.db.api.Consistency;
 import com.scalar.db.api.Delete;
 import com.scalar.db.api.DistributedStorage;
@@ -16,19 +17,28 @@ import com.scalar.db.api.Scan;
 import com.scalar.db.api.Scanner;
 import com.scalar.db.api.Selection;
 import com.scalar.db.api.TableMetadata;
+import com.scalar.db.api.TransactionCrudOperable;
+import com.scalar.db.common.AbstractTransactionCrudOperableScanner;
 import com.scalar.db.common.error.CoreError;
 import com.scalar.db.exception.storage.ExecutionException;
 import com.scalar.db.exception.transaction.CrudException;
+import com.scalar.db.transaction.consensuscommit.TransactionMetricsRecorder.Outcome;
+import com.scalar.db.transaction.consensuscommit.TransactionMetricsRecorder.Phase;
 import com.scalar.db.util.ScalarDbUtils;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,12 +46,22 @@ import org.slf4j.LoggerFactory;
 @NotThreadSafe
 public class CrudHandler {
   private static final Logger logger = LoggerFactory.getLogger(CrudHandler.class);
+
+  // The maximum number of records read with a single multi-get in the implicit pre-read
+  @VisibleForTesting static final int IMPLICIT_PRE_READ_BATCH_SIZE = 100;
+
+  // The maximum number of the records that a scan reads after it finds an uncommitted record, to
+  // find more uncommitted records to recover together
+  @VisibleForTesting static final int MAX_RECORDS_READ_AFTER_UNCOMMITTED_RECORD = 100;
+
   private final DistributedStorage storage;
   private final Snapshot snapshot;
   private final TransactionTableMetadataManager tableMetadataManager;
   private final boolean isIncludeMetadataEnabled;
   private final MutationConditionsValidator mutationConditionsValidator;
   private final ParallelExecutor parallelExecutor;
+  private final List<ConsensusCommitStorageScanner> scanners = new ArrayList<>();
+  private TransactionMetricsRecorder metricsRecorder = TransactionMetricsRecorder.NOOP;
 
   @SuppressFBWarnings("EI_EXPOSE_REP2")
   public CrudHandler(
@@ -75,6 +95,19 @@ public class CrudHandler {
   }
 
   public Optional<Result> get(Get originalGet) throws CrudException {
+    long start = System.nanoTime();
+    Optional<Result> result;
+    try {
+      result = getInternal(originalGet);
+    } catch (Exception e) {
+      recordPhase(Phase.READ, start, e);
+      throw e;
+    }
+    recordPhase(Phase.READ, start, null);
+    return result;
+  }
+
+  private Optional<Result> getInternal(Get originalGet) throws CrudException {
     List<String> originalProjections = new ArrayList<>(originalGet.getProjections());
     Get get = (Get) prepareStorageSelection(originalGet);
     Snapshot.Key key = new Snapshot.Key(get);
@@ -85,6 +118,7 @@ public class CrudHandler {
   @VisibleForTesting
   void readUnread(Snapshot.Key key, Get get) throws CrudException {
     if (!snapshot.containsKeyInGetSet(get)) {
+      metricsRecorder.recordStorageOperations(snapshot.getId(), Phase.READ, 1);
       read(key, get);
     }
   }
@@ -93,7 +127,30 @@ public class CrudHandler {
   // concurrently in the implicit pre-read
   @VisibleForTesting
   void read(Snapshot.Key key, Get get) throws CrudException {
-    Optional<TransactionResult> result = getFromStorage(get);
+    putIntoSnapshot(key, get, getFromStorage(get));
+  }
+
+  /**
+   * Reads the records of the specified keys with a single multi-get of the storage, and puts them
+   * into the snapshot in the same way as {@link #read(Snapshot.Key, Get)}.
+   *
+   * @param keys the keys of the records to read
+   * @throws CrudException if reading the records fails
+   */
+  @VisibleForTesting
+  void read(List<Snapshot.Key> keys) throws CrudException {
+    List<Get> gets = new ArrayList<>(keys.size());
+    for (Snapshot.Key key : keys) {
+      gets.add(createGet(key));
+    }
+    List<Optional<TransactionResult>> results = getFromStorage(gets);
+    for (int i = 0; i < keys.size(); i++) {
+      putIntoSnapshot(keys.get(i), gets.get(i), results.get(i));
+    }
+  }
+
+  private void putIntoSnapshot(Snapshot.Key key, Get get, Optional<TransactionResult> result)
+      throws CrudException {
     if (!result.isPresent() || result.get().isCommitted()) {
       if (result.isPresent() || get.getConjunctions().isEmpty()) {
         // Keep the read set latest to create before image by using the latest record (result)
@@ -122,7 +179,15 @@ public class CrudHandler {
   }
 
   public List<Result> scan(Scan scan) throws CrudException {
-    List<Result> results = scanInternal(scan);
+    long start = System.nanoTime();
+    List<Result> results;
+    try {
+      results = scanInternal(scan);
+    } catch (Exception e) {
+      recordPhase(Phase.READ, start, e);
+      throw e;
+    }
+    recordPhase(Phase.READ, start, null);
 
     // We verify if this scan does not overlap previous writes using the actual scan result. Because
     // we support arbitrary conditions in the where clause of a scan (not only ScanAll, but also
@@ -145,18 +210,30 @@ public class CrudHandler {
     }
 
     Map<Snapshot.Key, TransactionResult> results = new LinkedHashMap<>();
+    List<TransactionResult> uncommittedResults = new ArrayList<>();
 
     Scanner scanner = null;
     try {
+      metricsRecorder.recordStorageOperations(snapshot.getId(), Phase.READ, 1);
       scanner = scanFromStorage(scan);
+      int readAfterUncommittedRecord = 0;
       for (Result r : scanner) {
         TransactionResult result = new TransactionResult(r);
+        if (!uncommittedResults.isEmpty()) {
+          // This scan fails anyway, so only look for more uncommitted records to recover them
+          // together. The number of the records read for it is bounded since the rest of the scan
+          // may be large
+          if (!result.isCommitted()) {
+            uncommittedResults.add(result);
+          }
+          if (++readAfterUncommittedRecord >= MAX_RECORDS_READ_AFTER_UNCOMMITTED_RECORD) {
+            break;
+          }
+          continue;
+        }
         if (!result.isCommitted()) {
-          throw new UncommittedRecordException(
-              scan,
-              result,
-              CoreError.CONSENSUS_COMMIT_READ_UNCOMMITTED_RECORD.buildMessage(),
-              snapshot.getId());
+          uncommittedResults.add(result);
+          continue;
         }
 
         Snapshot.Key key = new Snapshot.Key(scan, r);
@@ -177,11 +254,84 @@ public class CrudHandler {
         }
       }
     }
+
+    if (!uncommittedResults.isEmpty()) {
+      throw new UncommittedRecordException(
+          scan,
+          uncommittedResults,
+          CoreError.CONSENSUS_COMMIT_READ_UNCOMMITTED_RECORD.buildMessage(),
+          snapshot.getId());
+    }
+
     snapshot.putIntoScanSet(scan, results);
 
     return createScanResults(scan, originalProjections, results);
   }
 
+  /**
+   * Returns a scanner that reads the results of the specified scan from the storage lazily. The
+   * results are put into the read set as they are read, and into the scan set when the scanner
+   * reaches the end of the scan. If the scanner is closed before that, only the results read so far
+   * are put into the snapshot as the results of the scan for validation.
+   *
+   * @param originalScan a scan
+   * @param uncommittedRecordHandler a handler called when the scanner reads an uncommitted record
+   * @return a scanner
+   * @throws CrudException if opening the scanner fails
+   */
+  public TransactionCrudOperable.Scanner getScanner(
+      Scan originalScan, Consumer<UncommittedRecordException> uncommittedRecordHandler)
+      throws CrudException {
+    List<String> originalProjections = new ArrayList<>(originalScan.getProjections());
+    Scan scan = (Scan) prepareStorageSelection(originalScan);
+
+    Optional<Map<Snapshot.Key, TransactionResult>> resultsInSnapshot = snapshot.getResults(scan);
+    if (resultsInSnapshot.isPresent()) {
+      // The scan has already been read through to the end, so the results in the snapshot are
+      // returned in the same way as scan()
+      List<Result> results =
+          createScanResults(scan, originalProjections, resultsInSnapshot.get());
+      snapshot.verify(scan);
+      return new ListScanner(results);
+    }
+
+    assert scan.forNamespace().isPresent() && scan.forTable().isPresent();
+    TableMetadata metadata = getTableMetadata(scan.forNamespace().get(), scan.forTable().get());
+
+    // Verify the scan against the writes done before opening the scanner, as scan() does. The
+    // writes done after this are checked only against the results read after them, so the records
+    // read through the scanner can be updated while iterating it
+    snapshot.verify(scan, Collections.emptyMap());
+
+    long start = System.nanoTime();
+    Scanner scanner;
+    try {
+      metricsRecorder.recordStorageOperations(snapshot.getId(), Phase.READ, 1);
+      scanner = scanFromStorage(scan);
+    } catch (Exception e) {
+      recordPhase(Phase.READ, start, e);
+      throw e;
+    }
+    recordPhase(Phase.READ, start, null);
+
+    ConsensusCommitStorageScanner ret =
+        new ConsensusCommitStorageScanner(
+            scan, originalProjections, metadata, scanner, uncommittedRecordHandler);
+    scanners.add(ret);
+    return ret;
+  }
+
+  /**
+   * Closes the scanners that have not been closed yet, so that the results read through them are
+   * put into the snapshot. This needs to be called before the snapshot is validated.
+   */
+  public void closeScanners() {
+    // Copy the scanners since closing a scanner removes it from the list
+    for (ConsensusCommitStorageScanner scanner : new ArrayList<>(scanners)) {
+      scanner.close();
+    }
+  }
+
   private List<Result> createScanResults(
       Scan scan, List<String> projections, Map<Snapshot.Key, TransactionResult> results)
       throws CrudException {
@@ -229,7 +379,55 @@ public class CrudHandler {
   }
 
   public void readIfImplicitPreReadEnabled() throws CrudException {
+    List<Snapshot.Key> keys = getImplicitPreReadKeys();
+    if (keys.isEmpty()) {
+      return;
+    }
+
+    // The records of each table are read with multi-gets of up to IMPLICIT_PRE_READ_BATCH_SIZE
+    // keys, which storages retrieve in fewer round trips than reading them one by one. Each
+    // multi-get is a separate task so that the tables and batches are still read in parallel
+    Map<String, List<Snapshot.Key>> keysByTable = new LinkedHashMap<>();
+    for (Snapshot.Key key : keys) {
+      keysByTable
+          .computeIfAbsent(
+              ScalarDbUtils.getFullTableName(key.getNamespace(), key.getTable()),
+              k -> new ArrayList<>())
+          .add(key);
+    }
     List<ParallelExecutor.ParallelExecutorTask> tasks = new ArrayList<>();
+    for (List<Snapshot.Key> tableKeys : keysByTable.values()) {
+      for (List<Snapshot.Key> batch : Lists.partition(tableKeys, IMPLICIT_PRE_READ_BATCH_SIZE)) {
+        tasks.add(() -> read(batch));
+      }
+    }
+
+    long start = System.nanoTime();
+    try {
+      parallelExecutor.executeImplicitPreRead(tasks, snapshot.getId());
+    } catch (Exception e) {
+      recordPhase(Phase.IMPLICIT_PRE_READ, start, e);
+      throw e;
+    }
+    recordPhase(Phase.IMPLICIT_PRE_READ, start, null);
+  }
+
+  /**
+   * Returns the implicit pre-read tasks keyed by the record to read, without executing them. This
+   * is used to pipeline the implicit pre-read with the preparation of records.
+   *
+   * @return the implicit pre-read tasks
+   */
+  public Map<Snapshot.Key, ParallelExecutor.ParallelExecutorTask> getImplicitPreReadTasks() {
+    Map<Snapshot.Key, ParallelExecutor.ParallelExecutorTask> tasks = new LinkedHashMap<>();
+    for (Snapshot.Key key : getImplicitPreReadKeys()) {
+      tasks.put(key, () -> read(key, createGet(key)));
+    }
+    return tasks;
+  }
+
+  private List<Snapshot.Key> getImplicitPreReadKeys() {
+    Set<Snapshot.Key> keys = new LinkedHashSet<>();
 
     // For each put in the write set, if implicit pre-read is enabled and the record is not read
     // yet, read the record
@@ -237,7 +435,7 @@ public class CrudHandler {
       if (isImplicitPreReadEnabled(put)) {
         Snapshot.Key key = new Snapshot.Key(put);
         if (!snapshot.containsKeyInReadSet(key)) {
-          tasks.add(() -> read(key, createGet(key)));
+          keys.add(key);
         }
       }
     }
@@ -246,13 +444,11 @@ public class CrudHandler {
     for (Delete delete : snapshot.getDeletesInDeleteSet()) {
       Snapshot.Key key = new Snapshot.Key(delete);
       if (!snapshot.containsKeyInReadSet(key)) {
-        tasks.add(() -> read(key, createGet(key)));
+        keys.add(key);
       }
     }
 
-    if (!tasks.isEmpty()) {
-      parallelExecutor.executeImplicitPreRead(tasks, snapshot.getId());
-    }
+    return new ArrayList<>(keys);
   }
 
   private Get createGet(Snapshot.Key key) throws CrudException {
@@ -279,6 +475,20 @@ public class CrudHandler {
     }
   }
 
+  private List<Optional<TransactionResult>> getFromStorage(List<Get> gets) throws CrudException {
+    try {
+      List<Optional<Result>> results = storage.get(gets);
+      List<Optional<TransactionResult>> ret = new ArrayList<>(results.size());
+      results.forEach(r -> ret.add(r.map(TransactionResult::new)));
+      return ret;
+    } catch (ExecutionException e) {
+      throw new CrudException(
+          CoreError.CONSENSUS_COMMIT_READING_RECORD_FROM_STORAGE_FAILED.buildMessage(),
+          e,
+          snapshot.getId());
+    }
+  }
+
   private Scanner scanFromStorage(Scan scan) throws CrudException {
     try {
       return storage.scan(scan);
@@ -337,8 +547,155 @@ public class CrudHandler {
     }
   }
 
+  private void recordPhase(Phase phase, long startNanos, @Nullable Exception exception) {
+    metricsRecorder.recordPhase(
+        snapshot.getId(), phase, System.nanoTime() - startNanos, Outcome.of(exception));
+  }
+
+  /**
+   * Sets the {@link TransactionMetricsRecorder}. {@link TransactionMetricsRecorder#NOOP} is used by
+   * default.
+   *
+   * @param metricsRecorder The metrics recorder to set.
+   * @throws NullPointerException If the argument is null.
+   */
+  public void setMetricsRecorder(TransactionMetricsRecorder metricsRecorder) {
+    this.metricsRecorder = checkNotNull(metricsRecorder);
+  }
+
   @SuppressFBWarnings("EI_EXPOSE_REP")
   public Snapshot getSnapshot() {
     return snapshot;
   }
+
+  @NotThreadSafe
+  private class ConsensusCommitStorageScanner extends AbstractTransactionCrudOperableScanner {
+
+    private final Scan scan;
+    private final List<String> projections;
+    private final TableMetadata metadata;
+    // The storage scanner. The simple name refers to TransactionCrudOperable.Scanner in this class
+    private final com.scalar.db.api.Scanner scanner;
+    private final Consumer<UncommittedRecordException> uncommittedRecordHandler;
+    private final LinkedHashMap<Snapshot.Key, TransactionResult> results = new LinkedHashMap<>();
+    private boolean fullyScanned;
+    private boolean closed;
+
+    private ConsensusCommitStorageScanner(
+        Scan scan,
+        List<String> projections,
+        TableMetadata metadata,
+        com.scalar.db.api.Scanner scanner,
+        Consumer<UncommittedRecordException> uncommittedRecordHandler) {
+      this.scan = scan;
+      this.projections = projections;
+      this.metadata = metadata;
+      this.scanner = scanner;
+      this.uncommittedRecordHandler = uncommittedRecordHandler;
+    }
+
+    @Override
+    public Optional<Result> one() throws CrudException {
+      if (closed || fullyScanned) {
+        return Optional.empty();
+      }
+
+      while (true) {
+        Optional<Result> r = fetch();
+        if (!r.isPresent()) {
+          fullyScanned = true;
+          snapshot.putIntoScanSet(scan, results);
+          return Optional.empty();
+        }
+
+        TransactionResult result = new TransactionResult(r.get());
+        if (!result.isCommitted()) {
+          // Unlike scan(), the uncommitted record is recovered alone since the rest of the scan is
+          // not read yet
+          UncommittedRecordException e =
+              new UncommittedRecordException(
+                  scan,
+                  result,
+                  CoreError.CONSENSUS_COMMIT_READ_UNCOMMITTED_RECORD.buildMessage(),
+                  snapshot.getId());
+          uncommittedRecordHandler.accept(e);
+          throw e;
+        }
+
+        Snapshot.Key key = new Snapshot.Key(scan, r.get());
+
+        // We always update the read set to create before image by using the latest record (result)
+        // because another conflicting transaction might have updated the record after this
+        // transaction read it first.
+        snapshot.putIntoReadSet(key, Optional.of(result));
+
+        Optional<TransactionResult> latestResult = snapshot.getResult(key);
+        if (!latestResult.isPresent()) {
+          // The record has been deleted in this transaction
+          continue;
+        }
+        results.put(key, latestResult.get());
+
+        // Only the writes done before reading the result are checked, since the results already
+        // returned are allowed to be updated in the same way as the results of scan()
+        if (snapshot.containsKeyInWriteSet(key)) {
+          throw new IllegalArgumentException(
+              CoreError.CONSENSUS_COMMIT_READING_ALREADY_WRITTEN_DATA_NOT_ALLOWED.buildMessage());
+        }
+
+        return Optional.of(
+            new FilteredResult(
+                latestResult.get(), projections, metadata, isIncludeMetadataEnabled));
+      }
+    }
+
+    private Optional<Result> fetch() throws CrudException {
+      try {
+        return scanner.one();
+      } catch (ExecutionException e) {
+        throw new CrudException(
+            CoreError.CONSENSUS_COMMIT_SCANNING_RECORDS_FROM_STORAGE_FAILED.buildMessage(),
+            e,
+            snapshot.getId());
+      }
+    }
+
+    @Override
+    public void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      scanners.remove(this);
+
+      try {
+        scanner.close();
+      } catch (IOException e) {
+        logger.warn("Failed to close the scanner", e);
+      }
+
+      if (!fullyScanned && !results.isEmpty()) {
+        // Only the results read so far are treated as the results of the scan
+        snapshot.putIntoScannerSet(scan, results);
+      }
+    }
+  }
+
+  @NotThreadSafe
+  private static class ListScanner extends AbstractTransactionCrudOperableScanner {
+
+    private final Iterator<Result> iterator;
+
+    private ListScanner(List<Result> results) {
+      iterator = results.iterator();
+    }
+
+    @Override
+    public Optional<Result> one() {
+      return iterator.hasNext() ? Optional.of(iterator.next()) : Optional.empty();
+    }
+
+    @Override
+    public void close() {}
+  }
 }
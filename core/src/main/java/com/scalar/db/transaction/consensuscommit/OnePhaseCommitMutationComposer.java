@@ -0,0 +1,121 @@
+package com.scalar.db.transaction.consensuscommit;
+
+import static com.scalar.db.transaction.consensuscommit.Attribute.ID;
+import static com.scalar.db.transaction.consensuscommit.Attribute.VERSION;
+import static com.scalar.db.transaction.consensuscommit.ConsensusCommitOperationAttributes.isInsertModeEnabled;
+import static com.scalar.db.transaction.consensuscommit.ConsensusCommitUtils.getNextTxVersion;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.scalar.db.api.ConditionBuilder;
+import com.scalar.db.api.Consistency;
+import com.scalar.db.api.Delete;
+import com.scalar.db.api.DeleteBuilder;
+import com.scalar.db.api.Operation;
+import com.scalar.db.api.Put;
+import com.scalar.db.api.PutBuilder;
+import com.scalar.db.api.TransactionState;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A composer of the mutations for a one-phase commit. Unlike {@link PrepareMutationComposer}, the
+ * records are written in the COMMITTED state directly, and the deleted records are deleted
+ * directly, so they never need to be recovered via the coordinator state. The conditions for
+ * detecting conflicting transactions are the same as those of {@link PrepareMutationComposer}.
+ */
+@NotThreadSafe
+public class OnePhaseCommitMutationComposer extends AbstractMutationComposer {
+
+  public OnePhaseCommitMutationComposer(
+      String id, TransactionTableMetadataManager tableMetadataManager) {
+    super(id, tableMetadataManager);
+  }
+
+  @VisibleForTesting
+  OnePhaseCommitMutationComposer(
+      String id, long current, TransactionTableMetadataManager tableMetadataManager) {
+    super(id, current, tableMetadataManager);
+  }
+
+  @Override
+  public void add(Operation base, @Nullable TransactionResult result) {
+    if (base instanceof Put) {
+      add((Put) base, result);
+    } else if (base instanceof Delete) {
+      add((Delete) base, result);
+    } else {
+      throw new AssertionError("OnePhaseCommitMutationComposer.add only accepts Put or Delete");
+    }
+  }
+
+  private void add(Put base, @Nullable TransactionResult result) {
+    PutBuilder.Buildable putBuilder =
+        Put.newBuilder()
+            .namespace(base.forNamespace().get())
+            .table(base.forTable().get())
+            .partitionKey(base.getPartitionKey())
+            .consistency(Consistency.LINEARIZABLE);
+    base.getClusteringKey().ifPresent(putBuilder::clusteringKey);
+    base.getColumns().values().forEach(putBuilder::value);
+
+    putBuilder.textValue(Attribute.ID, id);
+    putBuilder.intValue(Attribute.STATE, TransactionState.COMMITTED.get());
+    putBuilder.bigIntValue(Attribute.PREPARED_AT, current);
+    putBuilder.bigIntValue(Attribute.COMMITTED_AT, current);
+
+    if (!isInsertModeEnabled(base) && result != null) { // overwrite existing record
+      int version = result.getVersion();
+      putBuilder.intValue(Attribute.VERSION, getNextTxVersion(version));
+
+      // check if the record is not interrupted by other conflicting transactions
+      if (result.isDeemedAsCommitted()) {
+        // record is deemed-commit state
+        putBuilder.condition(
+            ConditionBuilder.putIf(ConditionBuilder.column(ID).isNullText())
+                .and(ConditionBuilder.column(VERSION).isNullInt())
+                .build());
+      } else {
+        putBuilder.condition(
+            ConditionBuilder.putIf(ConditionBuilder.column(ID).isEqualToText(result.getId()))
+                .and(ConditionBuilder.column(VERSION).isEqualToInt(version))
+                .build());
+      }
+    } else { // initial record or insert mode enabled
+      putBuilder.intValue(Attribute.VERSION, getNextTxVersion(null));
+
+      // check if the record is not created by other conflicting transactions
+      putBuilder.condition(ConditionBuilder.putIfNotExists());
+    }
+
+    mutations.add(putBuilder.build());
+  }
+
+  private void add(Delete base, @Nullable TransactionResult result) {
+    // A delete of a non-existing record can't be conditioned on the absence of the record, so such
+    // a transaction must not be committed in one phase
+    assert result != null;
+
+    DeleteBuilder.Buildable deleteBuilder =
+        Delete.newBuilder()
+            .namespace(base.forNamespace().get())
+            .table(base.forTable().get())
+            .partitionKey(base.getPartitionKey())
+            .consistency(Consistency.LINEARIZABLE);
+    base.getClusteringKey().ifPresent(deleteBuilder::clusteringKey);
+
+    // check if the record is not interrupted by other conflicting transactions
+    if (result.isDeemedAsCommitted()) {
+      deleteBuilder.condition(
+          ConditionBuilder.deleteIf(ConditionBuilder.column(ID).isNullText())
+              .and(ConditionBuilder.column(VERSION).isNullInt())
+              .build());
+    } else {
+      deleteBuilder.condition(
+          ConditionBuilder.deleteIf(ConditionBuilder.column(ID).isEqualToText(result.getId()))
+              .and(ConditionBuilder.column(VERSION).isEqualToInt(result.getVersion()))
+              .build());
+    }
+
+    mutations.add(deleteBuilder.build());
+  }
+}
@@ -1,19 +1,36 @@
 package com.scalar.db.transaction.consensuscommit;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.common.util.concurrent.Uninterruptibles;
 import com.scalar.db.exception.storage.ExecutionException;
 import com.scalar.db.exception.transaction.CrudException;
 import com.scalar.db.exception.transaction.ValidationConflictException;
-import com.scalar.db.util.ScalarDbUtils;
+import com.scalar.db.util.CompletableFutures;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.concurrent.CompletionService;
-import java.util.concurrent.ExecutorCompletionService;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
 import javax.annotation.concurrent.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,8 +44,38 @@ public class ParallelExecutor {
     void run() throws ExecutionException, ValidationConflictException, CrudException;
   }
 
+  /**
+   * A task that issues a non-blocking operation, e.g., with {@link
+   * com.scalar.db.api.AsyncDistributedStorage}, and returns a future completed when the operation
+   * finishes. Such tasks occupy a thread only while issuing the operation, not while waiting for it
+   * to finish.
+   */
+  @FunctionalInterface
+  public interface AsyncParallelExecutorTask {
+    CompletableFuture<Void> run();
+  }
+
+  /** The phases of a transaction whose tasks are executed by the parallel executor. */
+  public enum Phase {
+    PREPARATION("preparation", TransactionMetricsRecorder.Phase.PREPARATION),
+    VALIDATION("validation", TransactionMetricsRecorder.Phase.VALIDATION),
+    COMMIT("commitRecords", TransactionMetricsRecorder.Phase.COMMIT_RECORDS),
+    ROLLBACK("rollbackRecords", TransactionMetricsRecorder.Phase.ROLLBACK_RECORDS),
+    IMPLICIT_PRE_READ("executeImplicitPreRead", TransactionMetricsRecorder.Phase.IMPLICIT_PRE_READ);
+
+    private final String taskName;
+    private final TransactionMetricsRecorder.Phase transactionPhase;
+
+    Phase(String taskName, TransactionMetricsRecorder.Phase transactionPhase) {
+      this.taskName = taskName;
+      this.transactionPhase = transactionPhase;
+    }
+  }
+
   private final ConsensusCommitConfig config;
   @Nullable private final ExecutorService parallelExecutorService;
+  private final Map<Phase, PhaseExecutor> phaseExecutors;
+  private volatile TransactionMetricsRecorder metricsRecorder = TransactionMetricsRecorder.NOOP;
 
   public ParallelExecutor(ConsensusCommitConfig config) {
     this.config = config;
@@ -38,19 +85,12 @@ public class ParallelExecutor {
         || config.isParallelRollbackEnabled()
         || config.isParallelImplicitPreReadEnabled()) {
       parallelExecutorService =
-          Executors.newFixedThreadPool(
-              config.getParallelExecutorCount(),
-              // Make this thread factory create daemon threads not to block JVM termination. JVM
-              // shutdown hook is executed before terminating daemon threads. So, daemon threads
-              // created by this thread factory will be properly terminated after pre-termination
-              // operations are done if the operations are set in JVM shutdown hook.
-              new ThreadFactoryBuilder()
-                  .setNameFormat("parallel-executor-%d")
-                  .setDaemon(true)
-                  .build());
+          createExecutorService(
+              config.getParallelExecutorMode(), config.getParallelExecutorCount());
     } else {
       parallelExecutorService = null;
     }
+    phaseExecutors = createPhaseExecutors(config, parallelExecutorService);
   }
 
   @VisibleForTesting
@@ -58,6 +98,85 @@ public class ParallelExecutor {
       ConsensusCommitConfig config, @Nullable ExecutorService parallelExecutorService) {
     this.config = config;
     this.parallelExecutorService = parallelExecutorService;
+    phaseExecutors = createPhaseExecutors(config, parallelExecutorService);
+  }
+
+  private static ExecutorService createExecutorService(
+      ParallelExecutorMode mode, int parallelExecutorCount) {
+    switch (mode) {
+      case FIXED_THREAD_POOL:
+        return Executors.newFixedThreadPool(
+            parallelExecutorCount,
+            // Make this thread factory create daemon threads not to block JVM termination. JVM
+            // shutdown hook is executed before terminating daemon threads. So, daemon threads
+            // created by this thread factory will be properly terminated after pre-termination
+            // operations are done if the operations are set in JVM shutdown hook.
+            new ThreadFactoryBuilder()
+                .setNameFormat("parallel-executor-%d")
+                .setDaemon(true)
+                .build());
+      case VIRTUAL_THREAD:
+        ExecutorService executorService = createVirtualThreadExecutorService();
+        if (executorService != null) {
+          return executorService;
+        }
+        logger.warn(
+            "Virtual threads are not available in this JVM. Falling back to the {} mode",
+            ParallelExecutorMode.WORK_STEALING);
+        return createWorkStealingExecutorService(parallelExecutorCount);
+      case WORK_STEALING:
+        return createWorkStealingExecutorService(parallelExecutorCount);
+      default:
+        throw new AssertionError();
+    }
+  }
+
+  @Nullable
+  private static ExecutorService createVirtualThreadExecutorService() {
+    try {
+      // Use reflection since virtual threads are available only on JDK 21 or later
+      Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) method.invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  private static ExecutorService createWorkStealingExecutorService(int parallelExecutorCount) {
+    AtomicInteger threadCount = new AtomicInteger();
+    // The worker threads of ForkJoinPool are daemon threads
+    return new ForkJoinPool(
+        parallelExecutorCount,
+        pool -> {
+          ForkJoinWorkerThread thread =
+              ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+          thread.setName("parallel-executor-" + threadCount.getAndIncrement());
+          return thread;
+        },
+        null,
+        true);
+  }
+
+  private static Map<Phase, PhaseExecutor> createPhaseExecutors(
+      ConsensusCommitConfig config, @Nullable Executor executor) {
+    Map<Phase, PhaseExecutor> phaseExecutors = new EnumMap<>(Phase.class);
+    if (executor == null) {
+      return phaseExecutors;
+    }
+    phaseExecutors.put(
+        Phase.PREPARATION,
+        new PhaseExecutor(executor, config.getParallelPreparationMaxConcurrency()));
+    phaseExecutors.put(
+        Phase.VALIDATION,
+        new PhaseExecutor(executor, config.getParallelValidationMaxConcurrency()));
+    phaseExecutors.put(
+        Phase.COMMIT, new PhaseExecutor(executor, config.getParallelCommitMaxConcurrency()));
+    phaseExecutors.put(
+        Phase.ROLLBACK, new PhaseExecutor(executor, config.getParallelRollbackMaxConcurrency()));
+    phaseExecutors.put(
+        Phase.IMPLICIT_PRE_READ,
+        new PhaseExecutor(executor, config.getParallelImplicitPreReadMaxConcurrency()));
+    return phaseExecutors;
   }
 
   public void prepare(List<ParallelExecutorTask> tasks, String transactionId)
@@ -76,7 +195,7 @@ public class ParallelExecutor {
           config.isParallelPreparationEnabled(),
           false,
           stopOnError,
-          "preparation",
+          Phase.PREPARATION,
           transactionId);
     } catch (ValidationConflictException | CrudException e) {
       throw new AssertionError(
@@ -85,11 +204,68 @@ public class ParallelExecutor {
     }
   }
 
+  /**
+   * Executes the specified preparation tasks that also execute the implicit pre-read for the
+   * records to be prepared. The tasks are executed in the same way as {@link #prepare(List,
+   * String)}, but they can also throw {@link CrudException}.
+   *
+   * @param tasks preparation tasks including the implicit pre-read
+   * @param transactionId a transaction ID
+   * @throws ExecutionException if the preparation of any of the tasks fails
+   * @throws CrudException if the implicit pre-read of any of the tasks fails
+   */
+  public void prepareWithImplicitPreRead(List<ParallelExecutorTask> tasks, String transactionId)
+      throws ExecutionException, CrudException {
+    try {
+      // See prepare() for the reason why stopOnError is disabled in parallel preparation
+      boolean stopOnError = !config.isParallelPreparationEnabled();
+
+      executeTasks(
+          tasks,
+          config.isParallelPreparationEnabled(),
+          false,
+          stopOnError,
+          Phase.PREPARATION,
+          transactionId);
+    } catch (ValidationConflictException e) {
+      throw new AssertionError(
+          "Tasks for preparing a transaction should not throw ValidationConflictException", e);
+    }
+  }
+
+  /**
+   * Executes the specified non-blocking preparation tasks. When parallel preparation is enabled,
+   * the tasks are issued through the executor of the phase, so they are subject to the same
+   * concurrency limit and metrics as the blocking tasks, and their completion is awaited. The error
+   * handling is the same as {@link #prepare(List, String)}.
+   *
+   * @param tasks non-blocking preparation tasks
+   * @param transactionId a transaction ID
+   * @throws ExecutionException if any of the tasks fails
+   */
+  public void prepareAsync(List<AsyncParallelExecutorTask> tasks, String transactionId)
+      throws ExecutionException {
+    // See prepare() for the reason why stopOnError is disabled in parallel preparation
+    boolean stopOnError = !config.isParallelPreparationEnabled();
+    executeAsyncTasks(
+        tasks,
+        config.isParallelPreparationEnabled(),
+        false,
+        stopOnError,
+        Phase.PREPARATION,
+        transactionId);
+  }
+
   public void validate(List<ParallelExecutorTask> tasks, String transactionId)
       throws ExecutionException, ValidationConflictException {
     try {
       executeTasks(
-          tasks, config.isParallelValidationEnabled(), false, true, "validation", transactionId);
+          tasks,
+          config.isParallelValidationEnabled(),
+          false,
+          true,
+          Phase.VALIDATION,
+          transactionId);
     } catch (CrudException e) {
       throw new AssertionError(
           "Tasks for validating a transaction should not throw CrudException", e);
@@ -104,7 +280,7 @@ public class ParallelExecutor {
           config.isParallelCommitEnabled(),
           config.isAsyncCommitEnabled(),
           false,
-          "commitRecords",
+          Phase.COMMIT,
           transactionId);
     } catch (ValidationConflictException | CrudException e) {
       throw new AssertionError(
@@ -113,6 +289,26 @@ public class ParallelExecutor {
     }
   }
 
+  /**
+   * Executes the specified non-blocking commit tasks. When parallel commit is enabled, the tasks
+   * are issued through the executor of the phase in the same way as {@link #prepareAsync(List,
+   * String)}, and their completion is awaited unless async commit is enabled.
+   *
+   * @param tasks non-blocking commit tasks
+   * @param transactionId a transaction ID
+   * @throws ExecutionException if any of the tasks fails
+   */
+  public void commitRecordsAsync(List<AsyncParallelExecutorTask> tasks, String transactionId)
+      throws ExecutionException {
+    executeAsyncTasks(
+        tasks,
+        config.isParallelCommitEnabled(),
+        config.isAsyncCommitEnabled(),
+        false,
+        Phase.COMMIT,
+        transactionId);
+  }
+
   public void rollbackRecords(List<ParallelExecutorTask> tasks, String transactionId)
       throws ExecutionException {
     try {
@@ -121,7 +317,7 @@ public class ParallelExecutor {
           config.isParallelRollbackEnabled(),
           config.isAsyncRollbackEnabled(),
           false,
-          "rollbackRecords",
+          Phase.ROLLBACK,
           transactionId);
     } catch (ValidationConflictException | CrudException e) {
       throw new AssertionError(
@@ -138,7 +334,7 @@ public class ParallelExecutor {
           config.isParallelImplicitPreReadEnabled(),
           false,
           true,
-          "executeImplicitPreRead",
+          Phase.IMPLICIT_PRE_READ,
           transactionId);
     } catch (ExecutionException | ValidationConflictException e) {
       throw new AssertionError(
@@ -152,13 +348,15 @@ public class ParallelExecutor {
       boolean parallel,
       boolean noWait,
       boolean stopOnError,
-      String taskName,
+      Phase phase,
       String transactionId)
       throws ExecutionException, ValidationConflictException, CrudException {
+    // Each task issues a storage operation
+    metricsRecorder.recordStorageOperations(transactionId, phase.transactionPhase, tasks.size());
     if (parallel) {
-      executeTasksInParallel(tasks, noWait, stopOnError, taskName, transactionId);
+      executeTasksInParallel(tasks, noWait, stopOnError, phase, transactionId);
     } else {
-      executeTasksSerially(tasks, stopOnError, taskName, transactionId);
+      executeTasksSerially(tasks, stopOnError, phase.taskName, transactionId);
     }
   }
 
@@ -166,31 +364,35 @@ public class ParallelExecutor {
       List<ParallelExecutorTask> tasks,
       boolean noWait,
       boolean stopOnError,
-      String taskName,
+      Phase phase,
       String transactionId)
       throws ExecutionException, ValidationConflictException, CrudException {
     assert parallelExecutorService != null;
 
-    CompletionService<Void> completionService =
-        new ExecutorCompletionService<>(parallelExecutorService);
-    tasks.forEach(
-        t ->
-            completionService.submit(
-                () -> {
-                  try {
-                    t.run();
-                  } catch (Exception e) {
-                    logger.warn(
-                        "Failed to run a {} task. Transaction ID: {}", taskName, transactionId, e);
-                    throw e;
-                  }
-                  return null;
-                }));
+    String taskName = phase.taskName;
+    PhaseExecutor phaseExecutor = phaseExecutors.get(phase);
+    // The futures of the tasks in the order of their completion
+    BlockingQueue<CompletableFuture<Void>> completedFutures = new LinkedBlockingQueue<>();
+    for (ParallelExecutorTask t : tasks) {
+      CompletableFuture<Void> future =
+          phaseExecutor.submit(
+              () -> {
+                try {
+                  t.run();
+                } catch (Exception e) {
+                  logger.warn(
+                      "Failed to run a {} task. Transaction ID: {}", taskName, transactionId, e);
+                  throw e;
+                }
+                return null;
+              });
+      future.whenComplete((r, e) -> completedFutures.add(future));
+    }
 
     if (!noWait) {
       Exception exception = null;
       for (int i = 0; i < tasks.size(); i++) {
-        Future<Void> future = ScalarDbUtils.takeUninterruptibly(completionService);
+        CompletableFuture<Void> future = Uninterruptibles.takeUninterruptibly(completedFutures);
 
         try {
           Uninterruptibles.getUninterruptibly(future);
@@ -264,10 +466,336 @@ public class ParallelExecutor {
     }
   }
 
+  private void executeAsyncTasks(
+      List<AsyncParallelExecutorTask> tasks,
+      boolean parallel,
+      boolean noWait,
+      boolean stopOnError,
+      Phase phase,
+      String transactionId)
+      throws ExecutionException {
+    metricsRecorder.recordStorageOperations(transactionId, phase.transactionPhase, tasks.size());
+    String taskName = phase.taskName;
+    if (!parallel) {
+      ExecutionException exception = null;
+      for (AsyncParallelExecutorTask task : tasks) {
+        try {
+          await(task.run());
+        } catch (ExecutionException e) {
+          logger.warn("Failed to run a {} task. Transaction ID: {}", taskName, transactionId, e);
+          if (stopOnError) {
+            throw e;
+          }
+          exception = e;
+        }
+      }
+      if (exception != null) {
+        throw exception;
+      }
+      return;
+    }
+
+    assert parallelExecutorService != null;
+
+    PhaseExecutor phaseExecutor = phaseExecutors.get(phase);
+    List<CompletableFuture<Void>> futures = new ArrayList<>(tasks.size());
+    for (AsyncParallelExecutorTask task : tasks) {
+      CompletableFuture<Void> future = phaseExecutor.submitAsync(task);
+      future.whenComplete(
+          (r, t) -> {
+            if (t != null) {
+              logger.warn(
+                  "Failed to run a {} task. Transaction ID: {}",
+                  taskName,
+                  transactionId,
+                  CompletableFutures.unwrap(t));
+            }
+          });
+      futures.add(future);
+    }
+
+    if (noWait) {
+      return;
+    }
+
+    ExecutionException exception = null;
+    for (CompletableFuture<Void> future : futures) {
+      try {
+        await(future);
+      } catch (ExecutionException e) {
+        exception = e;
+      }
+    }
+    if (exception != null) {
+      throw exception;
+    }
+  }
+
+  private void await(CompletableFuture<Void> future) throws ExecutionException {
+    try {
+      Uninterruptibles.getUninterruptibly(future);
+    } catch (java.util.concurrent.ExecutionException e) {
+      Throwable cause = CompletableFutures.unwrap(e);
+      if (cause instanceof ExecutionException) {
+        throw (ExecutionException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      } else {
+        throw new AssertionError("Can't reach here. Maybe a bug", e);
+      }
+    }
+  }
+
+  /**
+   * Returns the metrics of the tasks of the specified phase executed in parallel. Tasks executed
+   * serially are not counted.
+   *
+   * @param phase a phase
+   * @return the metrics of the phase
+   */
+  public PhaseMetrics getMetrics(Phase phase) {
+    PhaseExecutor phaseExecutor = phaseExecutors.get(phase);
+    if (phaseExecutor == null) {
+      return new PhaseMetrics(0, 0, 0, 0, 0);
+    }
+    return phaseExecutor.getMetrics();
+  }
+
+  /**
+   * Sets the {@link TransactionMetricsRecorder} to which the number of the tasks executed in each
+   * phase is recorded as the number of the storage operations. {@link
+   * TransactionMetricsRecorder#NOOP} is used by default.
+   *
+   * @param metricsRecorder a metrics recorder
+   */
+  public void setMetricsRecorder(TransactionMetricsRecorder metricsRecorder) {
+    this.metricsRecorder = checkNotNull(metricsRecorder);
+  }
+
   public void close() {
     if (parallelExecutorService != null) {
       parallelExecutorService.shutdown();
       Uninterruptibles.awaitTerminationUninterruptibly(parallelExecutorService);
     }
   }
+
+  /**
+   * An executor that passes the tasks of a phase to the underlying executor so that at most {@code
+   * maxConcurrency} tasks of the phase are running at the same time. The rest of the tasks wait in
+   * a queue of the phase, which prevents a phase (e.g., asynchronous commit) from occupying all the
+   * threads of the underlying executor and starving the other phases.
+   */
+  @ThreadSafe
+  private static class PhaseExecutor {
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final Queue<QueuedTask> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedTaskCount = new AtomicInteger();
+    private final AtomicInteger runningTaskCount = new AtomicInteger();
+    private final LongAdder completedTaskCount = new LongAdder();
+    private final LongAdder totalWaitTimeNanos = new LongAdder();
+    private final LongAdder totalExecutionTimeNanos = new LongAdder();
+
+    private PhaseExecutor(Executor executor, int maxConcurrency) {
+      this.executor = executor;
+      // A non-positive value means no limit
+      this.maxConcurrency = maxConcurrency > 0 ? maxConcurrency : Integer.MAX_VALUE;
+    }
+
+    /** Submits a blocking task. The task counts against the concurrency limit while it's running. */
+    private CompletableFuture<Void> submit(Callable<Void> task) {
+      CompletableFuture<Void> result = new CompletableFuture<>();
+      long enqueuedAt = System.nanoTime();
+      enqueue(new QueuedTask(() -> run(task, result, enqueuedAt), result));
+      return result;
+    }
+
+    /**
+     * Submits a non-blocking task. Unlike {@link #submit(Callable)}, the task keeps counting
+     * against the concurrency limit until the returned future is completed, not only while it's
+     * issuing the operation.
+     */
+    private CompletableFuture<Void> submitAsync(AsyncParallelExecutorTask task) {
+      CompletableFuture<Void> result = new CompletableFuture<>();
+      long enqueuedAt = System.nanoTime();
+      enqueue(new QueuedTask(() -> runAsync(task, result, enqueuedAt), result));
+      return result;
+    }
+
+    private void enqueue(QueuedTask task) {
+      queue.add(task);
+      queuedTaskCount.incrementAndGet();
+      dispatch();
+    }
+
+    private void dispatch() {
+      RuntimeException exception = null;
+      while (true) {
+        int running = runningTaskCount.get();
+        if (running >= maxConcurrency) {
+          // One of the running tasks will dispatch the queued tasks when it finishes
+          break;
+        }
+        if (!runningTaskCount.compareAndSet(running, running + 1)) {
+          continue;
+        }
+
+        QueuedTask task = queue.poll();
+        if (task == null) {
+          runningTaskCount.decrementAndGet();
+          // Another thread might have added a task after polling, and it might have given up
+          // dispatching it because of the increment above
+          if (queue.isEmpty()) {
+            break;
+          }
+          continue;
+        }
+
+        queuedTaskCount.decrementAndGet();
+        try {
+          executor.execute(task.runnable);
+        } catch (RuntimeException e) {
+          // The task has already been removed from the queue, so fail its future. Otherwise, its
+          // submitter would wait for it forever, since this might be running on the thread of
+          // another task
+          runningTaskCount.decrementAndGet();
+          task.result.completeExceptionally(e);
+          if (exception == null) {
+            exception = e;
+          }
+        }
+      }
+      if (exception != null) {
+        throw exception;
+      }
+    }
+
+    private void run(Callable<Void> task, CompletableFuture<Void> result, long enqueuedAt) {
+      long startedAt = System.nanoTime();
+      totalWaitTimeNanos.add(startedAt - enqueuedAt);
+      try {
+        task.call();
+        result.complete(null);
+      } catch (Throwable t) {
+        result.completeExceptionally(t);
+      } finally {
+        totalExecutionTimeNanos.add(System.nanoTime() - startedAt);
+        completedTaskCount.increment();
+        runningTaskCount.decrementAndGet();
+        dispatch();
+      }
+    }
+
+    private void runAsync(
+        AsyncParallelExecutorTask task, CompletableFuture<Void> result, long enqueuedAt) {
+      long startedAt = System.nanoTime();
+      totalWaitTimeNanos.add(startedAt - enqueuedAt);
+      CompletableFuture<Void> future;
+      try {
+        future = task.run();
+      } catch (Throwable t) {
+        future = CompletableFutures.failedFuture(t);
+      }
+      future.whenComplete(
+          (r, t) -> {
+            totalExecutionTimeNanos.add(System.nanoTime() - startedAt);
+            completedTaskCount.increment();
+            runningTaskCount.decrementAndGet();
+            if (t != null) {
+              result.completeExceptionally(t);
+            } else {
+              result.complete(null);
+            }
+            dispatch();
+          });
+    }
+
+    private PhaseMetrics getMetrics() {
+      return new PhaseMetrics(
+          queuedTaskCount.get(),
+          runningTaskCount.get(),
+          completedTaskCount.sum(),
+          totalWaitTimeNanos.sum(),
+          totalExecutionTimeNanos.sum());
+    }
+  }
+
+  /** A task waiting for the concurrency limit of a phase, with the future of its result. */
+  private static class QueuedTask {
+    private final Runnable runnable;
+    private final CompletableFuture<Void> result;
+
+    private QueuedTask(Runnable runnable, CompletableFuture<Void> result) {
+      this.runnable = runnable;
+      this.result = result;
+    }
+  }
+
+  /** The metrics of the tasks of a phase executed by the parallel executor. */
+  @Immutable
+  public static class PhaseMetrics {
+    private final int queuedTaskCount;
+    private final int runningTaskCount;
+    private final long completedTaskCount;
+    private final long totalWaitTimeNanos;
+    private final long totalExecutionTimeNanos;
+
+    private PhaseMetrics(
+        int queuedTaskCount,
+        int runningTaskCount,
+        long completedTaskCount,
+        long totalWaitTimeNanos,
+        long totalExecutionTimeNanos) {
+      this.queuedTaskCount = queuedTaskCount;
+      this.runningTaskCount = runningTaskCount;
+      this.completedTaskCount = completedTaskCount;
+      this.totalWaitTimeNanos = totalWaitTimeNanos;
+      this.totalExecutionTimeNanos = totalExecutionTimeNanos;
+    }
+
+    /** @return the number of the tasks waiting for the concurrency limit of the phase */
+    public int getQueuedTaskCount() {
+      return queuedTaskCount;
+    }
+
+    /** @return the number of the tasks passed to the underlying executor and not finished yet */
+    public int getRunningTaskCount() {
+      return runningTaskCount;
+    }
+
+    /** @return the number of the finished tasks */
+    public long getCompletedTaskCount() {
+      return completedTaskCount;
+    }
+
+    /** @return the average time in microseconds from submitting a task to starting it */
+    public long getAverageWaitTimeMicros() {
+      return average(totalWaitTimeNanos);
+    }
+
+    /** @return the average time in microseconds to run a task */
+    public long getAverageExecutionTimeMicros() {
+      return average(totalExecutionTimeNanos);
+    }
+
+    private long average(long totalNanos) {
+      if (completedTaskCount == 0) {
+        return 0;
+      }
+      return TimeUnit.NANOSECONDS.toMicros(totalNanos / completedTaskCount);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("queuedTaskCount", queuedTaskCount)
+          .add("runningTaskCount", runningTaskCount)
+          .add("completedTaskCount", completedTaskCount)
+          .add("averageWaitTimeMicros", getAverageWaitTimeMicros())
+          .add("averageExecutionTimeMicros", getAverageExecutionTimeMicros())
+          .toString();
+    }
+  }
 }
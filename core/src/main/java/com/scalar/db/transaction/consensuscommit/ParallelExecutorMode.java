@@ -0,0 +1,19 @@
+package com.scalar.db.transaction.consensuscommit;
+
+/** The kind of executor service that {@link ParallelExecutor} runs tasks on. */
+public enum ParallelExecutorMode {
+  /** A fixed thread pool whose size is the parallel executor count. */
+  FIXED_THREAD_POOL,
+  /**
+   * A work-stealing {@link java.util.concurrent.ForkJoinPool} whose parallelism is the parallel
+   * executor count. Idle workers take tasks from busy ones, so short tasks of one phase don't queue
+   * up behind long tasks of another phase.
+   */
+  WORK_STEALING,
+  /**
+   * A virtual thread per task executor. Since tasks mostly wait for storage I/O, this mode doesn't
+   * limit the number of tasks running at the same time by the number of platform threads. It's
+   * available only on JDK 21 or later, and {@link #WORK_STEALING} is used as a fallback otherwise.
+   */
+  VIRTUAL_THREAD,
+}
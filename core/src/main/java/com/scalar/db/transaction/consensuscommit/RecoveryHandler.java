@@ -3,14 +3,28 @@ package com.scalar.db.transaction.consensuscommit;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.scalar.db.api.DistributedStorage;
 import com.scalar.db.api.Mutation;
 import com.scalar.db.api.Selection;
 import com.scalar.db.api.TransactionState;
 import com.scalar.db.exception.storage.ExecutionException;
+import com.scalar.db.exception.storage.NoMutationException;
+import com.scalar.db.transaction.consensuscommit.TransactionMetricsRecorder.RecoveryAction;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.annotation.concurrent.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +37,13 @@ public class RecoveryHandler {
   private final Coordinator coordinator;
   private final TransactionTableMetadataManager tableMetadataManager;
 
+  // The coordinator state reads in flight, keyed by transaction ID. Threads recovering records of
+  // the same transaction concurrently share a single coordinator state read
+  private final ConcurrentMap<String, CompletableFuture<Optional<Coordinator.State>>>
+      inFlightStateReads = new ConcurrentHashMap<>();
+
+  private volatile TransactionMetricsRecorder metricsRecorder = TransactionMetricsRecorder.NOOP;
+
   @SuppressFBWarnings("EI_EXPOSE_REP2")
   public RecoveryHandler(
       DistributedStorage storage,
@@ -35,81 +56,208 @@ public class RecoveryHandler {
 
   // lazy recovery in read phase
   public void recover(Selection selection, TransactionResult result) {
-    logger.debug("Recovering for {}", result.getId());
+    recover(selection, ImmutableList.of(result));
+  }
+
+  /**
+   * Recovers the specified uncommitted records read by the selection. The coordinator states of
+   * the transactions that left the records are read together with a single multi-get, and the
+   * records of the same transaction are rolled forward or back with one mutation per storage
+   * partition.
+   *
+   * @param selection the selection that read the records
+   * @param results the uncommitted records
+   */
+  public void recover(Selection selection, List<TransactionResult> results) {
+    Map<String, List<TransactionResult>> resultsByTransactionId = new LinkedHashMap<>();
+    for (TransactionResult result : results) {
+      resultsByTransactionId.computeIfAbsent(result.getId(), k -> new ArrayList<>()).add(result);
+    }
 
-    Optional<Coordinator.State> state;
+    Map<String, Optional<Coordinator.State>> states;
     try {
-      state = coordinator.getState(result.getId());
+      states = getStates(resultsByTransactionId.keySet());
     } catch (CoordinatorException e) {
-      logger.warn("Can't get coordinator state. Transaction ID: {}", result.getId(), e);
+      logger.warn(
+          "Can't get coordinator states. Transaction IDs: {}", resultsByTransactionId.keySet(), e);
       return;
     }
+    resultsByTransactionId.forEach((id, r) -> recover(selection, id, r, states.get(id)));
+  }
+
+  private void recover(
+      Selection selection,
+      String id,
+      List<TransactionResult> results,
+      Optional<Coordinator.State> state) {
+    logger.debug("Recovering {} record(s) for {}", results.size(), id);
 
     if (state.isPresent()) {
       if (state.get().getState().equals(TransactionState.COMMITTED)) {
-        rollforwardRecord(selection, result);
+        metricsRecorder.recordRecovery(id, RecoveryAction.ROLLFORWARD, results.size());
+        rollforwardRecords(selection, id, results);
       } else {
-        rollbackRecord(selection, result);
+        metricsRecorder.recordRecovery(id, RecoveryAction.ROLLBACK, results.size());
+        rollbackRecords(selection, id, results);
       }
     } else {
-      abortIfExpired(selection, result);
+      abortIfExpired(selection, id, results);
+    }
+  }
+
+  private Map<String, Optional<Coordinator.State>> getStates(Set<String> ids)
+      throws CoordinatorException {
+    // Read the states that no other thread is reading, and wait for the rest. The states are read
+    // before waiting, so that threads reading overlapping sets of states never wait on each other
+    // in a cycle
+    Map<String, CompletableFuture<Optional<Coordinator.State>>> futures = new LinkedHashMap<>();
+    Map<String, CompletableFuture<Optional<Coordinator.State>>> inFlights = new LinkedHashMap<>();
+    for (String id : ids) {
+      CompletableFuture<Optional<Coordinator.State>> future = new CompletableFuture<>();
+      CompletableFuture<Optional<Coordinator.State>> inFlight =
+          inFlightStateReads.putIfAbsent(id, future);
+      if (inFlight == null) {
+        futures.put(id, future);
+      } else {
+        inFlights.put(id, inFlight);
+      }
+    }
+
+    Map<String, Optional<Coordinator.State>> states = new HashMap<>();
+    if (!futures.isEmpty()) {
+      try {
+        states.putAll(readStates(futures.keySet()));
+        futures.forEach((id, future) -> future.complete(states.get(id)));
+      } catch (Throwable t) {
+        // Complete the futures with any exception so that the waiting threads don't hang
+        futures.values().forEach(future -> future.completeExceptionally(t));
+        throw t;
+      } finally {
+        futures.forEach(inFlightStateReads::remove);
+      }
+    }
+
+    for (Map.Entry<String, CompletableFuture<Optional<Coordinator.State>>> entry :
+        inFlights.entrySet()) {
+      // Another thread is reading the state of the same transaction, so wait for its result
+      try {
+        states.put(entry.getKey(), Uninterruptibles.getUninterruptibly(entry.getValue()));
+      } catch (java.util.concurrent.ExecutionException e) {
+        Throwables.throwIfInstanceOf(e.getCause(), CoordinatorException.class);
+        Throwables.throwIfUnchecked(e.getCause());
+        throw new AssertionError("Can't reach here. Maybe a bug", e);
+      }
     }
+    return states;
+  }
+
+  private Map<String, Optional<Coordinator.State>> readStates(Set<String> ids)
+      throws CoordinatorException {
+    if (ids.size() == 1) {
+      String id = ids.iterator().next();
+      return Collections.singletonMap(id, coordinator.getState(id));
+    }
+    return coordinator.getStates(ids);
   }
 
   @VisibleForTesting
-  void rollbackRecord(Selection selection, TransactionResult result) {
+  void rollbackRecords(Selection selection, String id, List<TransactionResult> results) {
     logger.debug(
-        "Rollback for {}, {} mutated by {}",
-        selection.getPartitionKey(),
-        selection.getClusteringKey(),
-        result.getId());
+        "Rollback for {} record(s) read by {} and mutated by {}", results.size(), selection, id);
     try {
       RollbackMutationComposer composer =
-          new RollbackMutationComposer(result.getId(), storage, tableMetadataManager);
-      composer.add(selection, result);
-      mutate(composer.get());
+          new RollbackMutationComposer(id, storage, tableMetadataManager);
+      for (TransactionResult result : results) {
+        composer.add(selection, result);
+      }
+      mutate(composer.get(), id);
     } catch (Exception e) {
-      logger.warn("Rolling back a record failed. Transaction ID: {}", result.getId(), e);
-      // ignore since the record is recovered lazily
+      logger.warn("Rolling back records failed. Transaction ID: {}", id, e);
+      // ignore since the records are recovered lazily
     }
   }
 
   @VisibleForTesting
-  void rollforwardRecord(Selection selection, TransactionResult result) {
+  void rollforwardRecords(Selection selection, String id, List<TransactionResult> results) {
     logger.debug(
-        "Rollforward for {}, {} mutated by {}",
-        selection.getPartitionKey(),
-        selection.getClusteringKey(),
-        result.getId());
+        "Rollforward for {} record(s) read by {} and mutated by {}", results.size(), selection, id);
     try {
-      CommitMutationComposer composer =
-          new CommitMutationComposer(result.getId(), tableMetadataManager);
-      composer.add(selection, result);
-      mutate(composer.get());
+      CommitMutationComposer composer = new CommitMutationComposer(id, tableMetadataManager);
+      for (TransactionResult result : results) {
+        composer.add(selection, result);
+      }
+      mutate(composer.get(), id);
     } catch (Exception e) {
-      logger.warn("Rolling forward a record failed. Transaction ID: {}", result.getId(), e);
-      // ignore since the record is recovered lazily
+      logger.warn("Rolling forward records failed. Transaction ID: {}", id, e);
+      // ignore since the records are recovered lazily
     }
   }
 
-  private void abortIfExpired(Selection selection, TransactionResult result) {
+  private void abortIfExpired(Selection selection, String id, List<TransactionResult> results) {
+    // Use the latest prepared time among the records to be conservative
+    long preparedAt = Long.MIN_VALUE;
+    for (TransactionResult result : results) {
+      preparedAt = Math.max(preparedAt, result.getPreparedAt());
+    }
+
     long current = System.currentTimeMillis();
-    if (current <= result.getPreparedAt() + TRANSACTION_LIFETIME_MILLIS) {
+    if (current <= preparedAt + TRANSACTION_LIFETIME_MILLIS) {
+      metricsRecorder.recordRecovery(id, RecoveryAction.SKIPPED, results.size());
       return;
     }
 
     try {
-      coordinator.putStateForLazyRecoveryRollback(result.getId());
-      rollbackRecord(selection, result);
+      coordinator.putStateForLazyRecoveryRollback(id);
+      metricsRecorder.recordRecovery(id, RecoveryAction.ABORT_EXPIRED, results.size());
+      rollbackRecords(selection, id, results);
     } catch (CoordinatorException e) {
-      logger.warn("Coordinator tries to abort {}, but failed", result.getId(), e);
+      logger.warn("Coordinator tries to abort {}, but failed", id, e);
     }
   }
 
-  private void mutate(List<Mutation> mutations) throws ExecutionException {
+  /**
+   * Sets the {@link TransactionMetricsRecorder} to which the lazy recoveries are recorded. {@link
+   * TransactionMetricsRecorder#NOOP} is used by default.
+   *
+   * @param metricsRecorder a metrics recorder
+   */
+  public void setMetricsRecorder(TransactionMetricsRecorder metricsRecorder) {
+    this.metricsRecorder = checkNotNull(metricsRecorder);
+  }
+
+  private void mutate(List<Mutation> mutations, String id) {
     if (mutations.isEmpty()) {
       return;
     }
-    storage.mutate(mutations);
+
+    PartitionedMutations partitionedMutations = new PartitionedMutations(mutations);
+    for (PartitionedMutations.Key key : partitionedMutations.getOrderedKeys()) {
+      List<Mutation> partition = partitionedMutations.get(key);
+      try {
+        storage.mutate(partition);
+      } catch (NoMutationException e) {
+        if (partition.size() == 1) {
+          logger.debug("The record has already been recovered. Transaction ID: {}", id, e);
+          continue;
+        }
+        // Some of the records in the partition might have already been recovered by another
+        // transaction. Since a mutation for a partition is atomic, recover the rest one by one
+        mutateOneByOne(partition, id);
+      } catch (ExecutionException e) {
+        logger.warn("Recovering records failed. Transaction ID: {}", id, e);
+      }
+    }
+  }
+
+  private void mutateOneByOne(List<Mutation> mutations, String id) {
+    for (Mutation mutation : mutations) {
+      try {
+        storage.mutate(ImmutableList.of(mutation));
+      } catch (NoMutationException e) {
+        logger.debug("The record has already been recovered. Transaction ID: {}", id, e);
+      } catch (ExecutionException e) {
+        logger.warn("Recovering a record failed. Transaction ID: {}", id, e);
+      }
+    }
   }
 }
@@ -0,0 +1,330 @@
+package com.scalar.db.transaction.consensuscommit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.scalar.db.api.Consistency;
+import com.scalar.db.api.DistributedStorage;
+import com.scalar.db.api.Result;
+import com.scalar.db.api.Scan;
+import com.scalar.db.api.Scanner;
+import com.scalar.db.exception.storage.ExecutionException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A background service that periodically scans the configured tables for uncommitted records
+ * (i.e., records in the PREPARED or DELETED state) whose transactions have outlived {@link
+ * RecoveryHandler#TRANSACTION_LIFETIME_MILLIS}, and recovers them with {@link RecoveryHandler}.
+ *
+ * <p>Without this service, such records are recovered only lazily when a transaction reads them,
+ * which makes the reading transaction fail. The found records are passed to the recovery handler
+ * in batches, so the coordinator state of each transaction is read only once per batch. The number
+ * of batches recovered concurrently and the number of records recovered per second are bounded so
+ * that the sweep does not overload the underlying storage.
+ */
+@ThreadSafe
+public class RecoverySweeper implements Closeable {
+  private static final Logger logger = LoggerFactory.getLogger(RecoverySweeper.class);
+
+  private final DistributedStorage storage;
+  private final RecoveryHandler recovery;
+  private final ImmutableList<String> tables;
+  private final int concurrency;
+  private final int batchSize;
+  private final RateLimiter rateLimiter;
+  private final Semaphore permits;
+  private final ExecutorService recoveryExecutorService;
+  @Nullable private final ScheduledExecutorService schedulerExecutorService;
+  private volatile boolean closed;
+
+  private final LongAdder sweepCount = new LongAdder();
+  private final LongAdder scannedRecordCount = new LongAdder();
+  private final LongAdder expiredRecordCount = new LongAdder();
+  private final LongAdder processedRecordCount = new LongAdder();
+  private final LongAdder failedRecordCount = new LongAdder();
+  private final AtomicLong lastSweepDurationMillis = new AtomicLong();
+
+  public static Optional<RecoverySweeper> from(
+      ConsensusCommitConfig config, DistributedStorage storage, RecoveryHandler recovery) {
+    if (config.isRecoverySweeperEnabled()) {
+      return Optional.of(new RecoverySweeper(config, storage, recovery));
+    } else {
+      return Optional.empty();
+    }
+  }
+
+  private RecoverySweeper(
+      ConsensusCommitConfig config, DistributedStorage storage, RecoveryHandler recovery) {
+    this(
+        storage,
+        recovery,
+        config.getRecoverySweeperTables(),
+        config.getRecoverySweeperConcurrency(),
+        config.getRecoverySweeperBatchSize(),
+        config.getRecoverySweeperMaxRecordsPerSecond(),
+        Executors.newFixedThreadPool(
+            config.getRecoverySweeperConcurrency(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("recovery-sweeper-%d")
+                .setDaemon(true)
+                .build()),
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("recovery-sweeper-scheduler-%d")
+                .setDaemon(true)
+                .build()));
+
+    long intervalMillis = config.getRecoverySweeperIntervalMillis();
+    assert schedulerExecutorService != null;
+    schedulerExecutorService.scheduleWithFixedDelay(
+        this::sweepSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @VisibleForTesting
+  RecoverySweeper(
+      DistributedStorage storage,
+      RecoveryHandler recovery,
+      List<String> tables,
+      int concurrency,
+      int batchSize,
+      int maxRecordsPerSecond,
+      ExecutorService recoveryExecutorService,
+      @Nullable ScheduledExecutorService schedulerExecutorService) {
+    checkArgument(concurrency > 0);
+    checkArgument(batchSize > 0);
+    checkArgument(maxRecordsPerSecond > 0);
+    this.storage = checkNotNull(storage);
+    this.recovery = checkNotNull(recovery);
+    this.tables = ImmutableList.copyOf(tables);
+    this.concurrency = concurrency;
+    this.batchSize = batchSize;
+    rateLimiter = RateLimiter.create(maxRecordsPerSecond);
+    permits = new Semaphore(concurrency);
+    this.recoveryExecutorService = checkNotNull(recoveryExecutorService);
+    this.schedulerExecutorService = schedulerExecutorService;
+  }
+
+  private void sweepSafely() {
+    try {
+      sweep();
+    } catch (Exception e) {
+      // Don't propagate the exception, otherwise the subsequent sweeps are suppressed
+      logger.warn("Sweeping uncommitted records failed", e);
+    }
+  }
+
+  /** Sweeps all the configured tables once and waits for the recovery of the found records. */
+  @VisibleForTesting
+  void sweep() {
+    long start = System.currentTimeMillis();
+    for (String table : tables) {
+      if (closed) {
+        break;
+      }
+      try {
+        sweep(table, start);
+      } catch (ExecutionException e) {
+        logger.warn("Sweeping uncommitted records in {} failed", table, e);
+      }
+    }
+
+    // Wait for the in-flight recoveries to finish
+    permits.acquireUninterruptibly(concurrency);
+    permits.release(concurrency);
+
+    sweepCount.increment();
+    lastSweepDurationMillis.set(System.currentTimeMillis() - start);
+    logger.info("Recovery sweep finished. Metrics: {}", getMetrics());
+  }
+
+  private void sweep(String fullTableName, long sweepStartMillis) throws ExecutionException {
+    int index = fullTableName.indexOf('.');
+    Scan scan =
+        Scan.newBuilder()
+            .namespace(fullTableName.substring(0, index))
+            .table(fullTableName.substring(index + 1))
+            .all()
+            .consistency(Consistency.LINEARIZABLE)
+            .build();
+
+    List<TransactionResult> batch = new ArrayList<>(batchSize);
+    Scanner scanner = storage.scan(scan);
+    try {
+      for (Result r : scanner) {
+        if (closed) {
+          return;
+        }
+        scannedRecordCount.increment();
+        TransactionResult result = new TransactionResult(r);
+        if (result.isCommitted() || !isExpired(result, sweepStartMillis)) {
+          // Skip the records of the transactions that might still be in progress
+          continue;
+        }
+        expiredRecordCount.increment();
+        batch.add(result);
+        if (batch.size() >= batchSize) {
+          submit(scan, batch);
+          batch = new ArrayList<>(batchSize);
+        }
+      }
+    } finally {
+      try {
+        scanner.close();
+      } catch (IOException e) {
+        logger.warn("Failed to close the scanner", e);
+      }
+    }
+
+    if (!batch.isEmpty()) {
+      submit(scan, batch);
+    }
+  }
+
+  private boolean isExpired(TransactionResult result, long currentMillis) {
+    return result.getPreparedAt() + RecoveryHandler.TRANSACTION_LIFETIME_MILLIS < currentMillis;
+  }
+
+  private void submit(Scan scan, List<TransactionResult> batch) {
+    rateLimiter.acquire(batch.size());
+    permits.acquireUninterruptibly();
+    try {
+      recoveryExecutorService.execute(
+          () -> {
+            try {
+              recovery.recover(scan, batch);
+              processedRecordCount.add(batch.size());
+            } catch (Exception e) {
+              failedRecordCount.add(batch.size());
+              logger.warn("Recovering uncommitted records in {} failed", scan, e);
+            } finally {
+              permits.release();
+            }
+          });
+    } catch (RuntimeException e) {
+      // The executor service rejected the task (e.g., it's being closed)
+      permits.release();
+      failedRecordCount.add(batch.size());
+      throw e;
+    }
+  }
+
+  public Metrics getMetrics() {
+    return new Metrics(
+        sweepCount.sum(),
+        scannedRecordCount.sum(),
+        expiredRecordCount.sum(),
+        processedRecordCount.sum(),
+        failedRecordCount.sum(),
+        concurrency - permits.availablePermits(),
+        lastSweepDurationMillis.get());
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    if (schedulerExecutorService != null) {
+      MoreExecutors.shutdownAndAwaitTermination(schedulerExecutorService, 10, TimeUnit.SECONDS);
+    }
+    MoreExecutors.shutdownAndAwaitTermination(recoveryExecutorService, 10, TimeUnit.SECONDS);
+  }
+
+  /** The progress of the recovery sweeper since it started. */
+  @Immutable
+  public static class Metrics {
+    private final long sweepCount;
+    private final long scannedRecordCount;
+    private final long expiredRecordCount;
+    private final long processedRecordCount;
+    private final long failedRecordCount;
+    private final int inFlightBatchCount;
+    private final long lastSweepDurationMillis;
+
+    @VisibleForTesting
+    Metrics(
+        long sweepCount,
+        long scannedRecordCount,
+        long expiredRecordCount,
+        long processedRecordCount,
+        long failedRecordCount,
+        int inFlightBatchCount,
+        long lastSweepDurationMillis) {
+      this.sweepCount = sweepCount;
+      this.scannedRecordCount = scannedRecordCount;
+      this.expiredRecordCount = expiredRecordCount;
+      this.processedRecordCount = processedRecordCount;
+      this.failedRecordCount = failedRecordCount;
+      this.inFlightBatchCount = inFlightBatchCount;
+      this.lastSweepDurationMillis = lastSweepDurationMillis;
+    }
+
+    /** @return the number of the finished sweeps */
+    public long getSweepCount() {
+      return sweepCount;
+    }
+
+    /** @return the number of the scanned records */
+    public long getScannedRecordCount() {
+      return scannedRecordCount;
+    }
+
+    /** @return the number of the found uncommitted records whose transactions expired */
+    public long getExpiredRecordCount() {
+      return expiredRecordCount;
+    }
+
+    /** @return the number of the records passed to the recovery handler */
+    public long getProcessedRecordCount() {
+      return processedRecordCount;
+    }
+
+    /** @return the number of the records whose recovery failed unexpectedly */
+    public long getFailedRecordCount() {
+      return failedRecordCount;
+    }
+
+    /** @return the number of the batches being recovered */
+    public int getInFlightBatchCount() {
+      return inFlightBatchCount;
+    }
+
+    /** @return the duration of the last sweep in milliseconds */
+    public long getLastSweepDurationMillis() {
+      return lastSweepDurationMillis;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("sweepCount", sweepCount)
+          .add("scannedRecordCount", scannedRecordCount)
+          .add("expiredRecordCount", expiredRecordCount)
+          .add("processedRecordCount", processedRecordCount)
+          .add("failedRecordCount", failedRecordCount)
+          .add("inFlightBatchCount", inFlightBatchCount)
+          .add("lastSweepDurationMillis", lastSweepDurationMillis)
+          .toString();
+    }
+  }
+}
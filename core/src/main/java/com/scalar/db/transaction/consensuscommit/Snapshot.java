@@ -6,6 +6,7 @@ import static com.scalar.db.transaction.consensuscommit.ConsensusCommitOperation
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ComparisonChain;
+import com.google.common.collect.Maps;
 import com.scalar.db.api.Consistency;
 import com.scalar.db.api.Delete;
 import com.scalar.db.api.DistributedStorage;
@@ -34,6 +35,7 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,6 +46,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.slf4j.Logger;
@@ -60,6 +63,9 @@ public class Snapshot {
   private final ConcurrentMap<Key, Optional<TransactionResult>> readSet;
   private final ConcurrentMap<Get, Optional<TransactionResult>> getSet;
   private final Map<Scan, Map<Key, TransactionResult>> scanSet;
+  // The results read through scanners closed before reaching the end of the scans. They are kept
+  // apart from the scan set because they can't serve later scans
+  private final List<Entry<Scan, Map<Key, TransactionResult>>> scannerSet;
   private final Map<Key, Put> writeSet;
   private final Map<Key, Delete> deleteSet;
 
@@ -77,6 +83,7 @@ public class Snapshot {
     readSet = new ConcurrentHashMap<>();
     getSet = new ConcurrentHashMap<>();
     scanSet = new HashMap<>();
+    scannerSet = new ArrayList<>();
     writeSet = new HashMap<>();
     deleteSet = new HashMap<>();
   }
@@ -101,6 +108,7 @@ public class Snapshot {
     this.readSet = readSet;
     this.getSet = getSet;
     this.scanSet = scanSet;
+    scannerSet = new ArrayList<>();
     this.writeSet = writeSet;
     this.deleteSet = deleteSet;
   }
@@ -132,6 +140,21 @@ public class Snapshot {
     scanSet.put(scan, results);
   }
 
+  /**
+   * Puts the results read through a scanner that was closed before reaching the end of the scan.
+   * Only the results are validated as read by the scan, in the order of the scan.
+   *
+   * @param scan the scan of the scanner
+   * @param results the results read through the scanner in the order of the scan
+   */
+  public void putIntoScannerSet(Scan scan, LinkedHashMap<Key, TransactionResult> results) {
+    scannerSet.add(Maps.immutableEntry(scan, results));
+  }
+
+  public boolean containsKeyInWriteSet(Key key) {
+    return writeSet.containsKey(key);
+  }
+
   public void putIntoWriteSet(Key key, Put put) {
     if (deleteSet.containsKey(key)) {
       throw new IllegalArgumentException(
@@ -184,6 +207,16 @@ public class Snapshot {
     return new ArrayList<>(deleteSet.values());
   }
 
+  // Returns the number of the records in the read set without copying it
+  int getReadSetSize() {
+    return readSet.size();
+  }
+
+  // Returns the number of the records to be written or deleted without copying them
+  int getWriteSetSize() {
+    return writeSet.size() + deleteSet.size();
+  }
+
   public ReadWriteSets getReadWriteSets() {
     return new ReadWriteSets(id, readSet, writeSet.entrySet(), deleteSet.entrySet());
   }
@@ -224,11 +257,12 @@ public class Snapshot {
       throws CrudException {
     if (deleteSet.containsKey(key)) {
       return Optional.empty();
-    } else if (writeSet.containsKey(key)) {
+    }
+    Put put = writeSet.get(key);
+    if (put != null) {
       // merge the result in the read set and the put in the write set
       return Optional.of(
-          new TransactionResult(
-              new MergedResult(result, writeSet.get(key), getTableMetadata(key))));
+          new TransactionResult(new MergedResult(result, put, getTableMetadata(key))));
     } else {
       return result;
     }
@@ -264,7 +298,19 @@ public class Snapshot {
   }
 
   public void verify(Scan scan) {
-    if (isWriteSetOverlappedWith(scan)) {
+    verify(scan, scanSet.get(scan));
+  }
+
+  /**
+   * Verifies that the specified scan doesn't overlap the writes of this transaction, using the
+   * specified results of the scan. This is used for the scans whose results are not in the scan set
+   * yet.
+   *
+   * @param scan the scan to verify
+   * @param results the results of the scan
+   */
+  public void verify(Scan scan, Map<Key, TransactionResult> results) {
+    if (isWriteSetOverlappedWith(scan, results)) {
       throw new IllegalArgumentException(
           CoreError.CONSENSUS_COMMIT_READING_ALREADY_WRITTEN_DATA_NOT_ALLOWED.buildMessage());
     }
@@ -275,26 +321,88 @@ public class Snapshot {
     toSerializableWithExtraWrite(composer);
 
     for (Entry<Key, Put> entry : writeSet.entrySet()) {
-      TransactionResult result =
-          readSet.containsKey(entry.getKey()) ? readSet.get(entry.getKey()).orElse(null) : null;
-      composer.add(entry.getValue(), result);
+      composer.add(entry.getValue(), getResultInReadSet(entry.getKey()));
     }
     for (Entry<Key, Delete> entry : deleteSet.entrySet()) {
-      TransactionResult result =
-          readSet.containsKey(entry.getKey()) ? readSet.get(entry.getKey()).orElse(null) : null;
-      composer.add(entry.getValue(), result);
+      composer.add(entry.getValue(), getResultInReadSet(entry.getKey()));
+    }
+  }
+
+  /**
+   * Adds the writes of the specified records in the write set and the delete set to the composer.
+   * Unlike {@link #to(MutationComposer)}, the extra writes for the serializable isolation are not
+   * added.
+   *
+   * @param composer a mutation composer
+   * @param keys the keys of the records
+   * @throws ExecutionException if composing a mutation fails
+   */
+  public void to(MutationComposer composer, Collection<Key> keys) throws ExecutionException {
+    for (Key key : keys) {
+      Put put = writeSet.get(key);
+      if (put != null) {
+        composer.add(put, getResultInReadSet(key));
+      }
+      Delete delete = deleteSet.get(key);
+      if (delete != null) {
+        composer.add(delete, getResultInReadSet(key));
+      }
     }
   }
 
-  private boolean isWriteSetOverlappedWith(Scan scan) {
+  /**
+   * Returns whether the writes of this snapshot can be committed in one phase, i.e., with a single
+   * conditional mutation without preparing the records before writing the coordinator state. This is
+   * possible when all the records to be written belong to a single partition, no extra read or
+   * extra write is required for the serializable isolation, and all the records to be deleted
+   * exist, since a delete can't be conditioned on the absence of the record.
+   *
+   * @return whether the writes can be committed in one phase
+   */
+  public boolean isOnePhaseCommittable() {
+    if (isolation == Isolation.SERIALIZABLE) {
+      return false;
+    }
+    if (writeSet.isEmpty() && deleteSet.isEmpty()) {
+      return false;
+    }
+
+    PartitionedMutations.Key partition = null;
+    for (Put put : writeSet.values()) {
+      PartitionedMutations.Key key = new PartitionedMutations.Key(put);
+      if (partition != null && !partition.equals(key)) {
+        return false;
+      }
+      partition = key;
+    }
+    for (Entry<Key, Delete> entry : deleteSet.entrySet()) {
+      if (getResultInReadSet(entry.getKey()) == null) {
+        return false;
+      }
+      PartitionedMutations.Key key = new PartitionedMutations.Key(entry.getValue());
+      if (partition != null && !partition.equals(key)) {
+        return false;
+      }
+      partition = key;
+    }
+    return true;
+  }
+
+  @Nullable
+  private TransactionResult getResultInReadSet(Key key) {
+    Optional<TransactionResult> result = readSet.get(key);
+    return result != null ? result.orElse(null) : null;
+  }
+
+  private boolean isWriteSetOverlappedWith(Scan scan, Map<Key, TransactionResult> results) {
     if (scan instanceof ScanWithIndex) {
-      return isWriteSetOverlappedWith((ScanWithIndex) scan);
+      return isWriteSetOverlappedWith((ScanWithIndex) scan, results);
     } else if (scan instanceof ScanAll) {
-      return isWriteSetOverlappedWith((ScanAll) scan);
+      return isWriteSetOverlappedWith((ScanAll) scan, results);
     }
 
     for (Map.Entry<Key, Put> entry : writeSet.entrySet()) {
-      if (scanSet.get(scan).containsKey(entry.getKey())) {
+      if (results.containsKey(entry.getKey())) {
         return true;
       }
 
@@ -355,9 +463,10 @@ public class Snapshot {
     return false;
   }
 
-  private boolean isWriteSetOverlappedWith(ScanWithIndex scan) {
+  private boolean isWriteSetOverlappedWith(
+      ScanWithIndex scan, Map<Key, TransactionResult> results) {
     for (Map.Entry<Key, Put> entry : writeSet.entrySet()) {
-      if (scanSet.get(scan).containsKey(entry.getKey())) {
+      if (results.containsKey(entry.getKey())) {
         return true;
       }
 
@@ -382,7 +491,7 @@ public class Snapshot {
     return false;
   }
 
-  private boolean isWriteSetOverlappedWith(ScanAll scan) {
+  private boolean isWriteSetOverlappedWith(ScanAll scan, Map<Key, TransactionResult> results) {
     for (Map.Entry<Key, Put> entry : writeSet.entrySet()) {
       // We need to consider three cases here to prevent scan-after-write.
       //   1) A put operation overlaps the scan range regardless of the update (put) results.
@@ -398,7 +507,7 @@ public class Snapshot {
       // yet. Thus, we need to evaluate if the scan condition potentially matches put operations.
 
       // Check for cases 1 and 2
-      if (scanSet.get(scan).containsKey(entry.getKey())) {
+      if (results.containsKey(entry.getKey())) {
         return true;
       }
 
@@ -472,7 +581,7 @@ public class Snapshot {
     }
 
     // if there is a scan and a write in a transaction
-    if (!scanSet.isEmpty() && !writeSet.isEmpty()) {
+    if ((!scanSet.isEmpty() || !scannerSet.isEmpty()) && !writeSet.isEmpty()) {
       throwExceptionDueToPotentialAntiDependency();
     }
   }
@@ -539,24 +648,88 @@ public class Snapshot {
           });
     }
 
-    // Read set by get is re-validated to check if there is no anti-dependency
-    for (Map.Entry<Get, Optional<TransactionResult>> entry : getSet.entrySet()) {
-      Get get = entry.getKey();
+    // Read set by scanners closed before reaching the end of the scans is also re-validated.
+    // Because only the first records of the scans were read, the records are compared in the order
+    // of the scans until all the records read through the scanners are checked
+    for (Entry<Scan, Map<Key, TransactionResult>> entry : scannerSet) {
+      tasks.add(
+          () -> {
+            List<Entry<Key, TransactionResult>> originalResultList = new ArrayList<>();
+            for (Entry<Key, TransactionResult> e : entry.getValue().entrySet()) {
+              if (!writeSet.containsKey(e.getKey()) && !deleteSet.containsKey(e.getKey())) {
+                originalResultList.add(e);
+              }
+            }
+            Iterator<Entry<Key, TransactionResult>> originalResults = originalResultList.iterator();
+            Scanner scanner = null;
+            Scan scan = entry.getKey();
+            try {
+              // only get tx_id and tx_version columns because we use only them to compare
+              scan.clearProjections();
+              scan.withProjection(Attribute.ID).withProjection(Attribute.VERSION);
+              ScalarDbUtils.addProjectionsForKeys(scan, getTableMetadata(scan));
+              scanner = storage.scan(scan);
+              for (Result result : scanner) {
+                if (!originalResults.hasNext()) {
+                  break;
+                }
+                TransactionResult transactionResult = new TransactionResult(result);
+                // Ignore records that this transaction has prepared (and that are in the write set)
+                if (transactionResult.getId() != null && transactionResult.getId().equals(id)) {
+                  continue;
+                }
+                // Check if the read record is not changed and no record is inserted before it
+                Entry<Key, TransactionResult> original = originalResults.next();
+                if (!original.getKey().equals(new Key(scan, result))
+                    || isChanged(
+                        Optional.of(transactionResult), Optional.of(original.getValue()))) {
+                  throwExceptionDueToAntiDependency();
+                }
+              }
+            } finally {
+              if (scanner != null) {
+                try {
+                  scanner.close();
+                } catch (IOException e) {
+                  logger.warn("Failed to close the scanner", e);
+                }
+              }
+            }
+
+            // Check if no read record is deleted
+            if (originalResults.hasNext()) {
+              throwExceptionDueToAntiDependency();
+            }
+          });
+    }
+
+    // Read set by get is re-validated to check if there is no anti-dependency. The records are
+    // re-read with a single multi-get, which storages retrieve in fewer round trips than reading
+    // them one by one
+    List<Get> gets = new ArrayList<>();
+    for (Get get : getSet.keySet()) {
       Key key = new Key(get);
-      if (writeSet.containsKey(key) || deleteSet.containsKey(key)) {
-        continue;
+      if (!writeSet.containsKey(key) && !deleteSet.containsKey(key)) {
+        gets.add(get);
       }
-
+    }
+    if (!gets.isEmpty()) {
       tasks.add(
           () -> {
-            Optional<TransactionResult> originalResult = getSet.get(get);
-            // only get tx_id and tx_version columns because we use only them to compare
-            get.clearProjections();
-            get.withProjection(Attribute.ID).withProjection(Attribute.VERSION);
-            Optional<TransactionResult> latestResult = storage.get(get).map(TransactionResult::new);
-            // Check if a read record is not changed
-            if (isChanged(latestResult, originalResult)) {
-              throwExceptionDueToAntiDependency();
+            List<Optional<TransactionResult>> originalResults = new ArrayList<>(gets.size());
+            for (Get get : gets) {
+              originalResults.add(getSet.get(get));
+              // only get tx_id and tx_version columns because we use only them to compare
+              get.clearProjections();
+              get.withProjection(Attribute.ID).withProjection(Attribute.VERSION);
+            }
+            List<Optional<Result>> latestResults = storage.get(gets);
+            for (int i = 0; i < gets.size(); i++) {
+              // Check if a read record is not changed
+              if (isChanged(
+                  latestResults.get(i).map(TransactionResult::new), originalResults.get(i))) {
+                throwExceptionDueToAntiDependency();
+              }
             }
           });
     }
@@ -603,12 +776,21 @@ public class Snapshot {
     return isExtraReadEnabled();
   }
 
+  /**
+   * The primary key of a record in the snapshot. Since the keys are looked up in the read set, the
+   * write set, and the delete set many times during a transaction, the hash code is computed only
+   * once when the key is created.
+   */
   @Immutable
   public static final class Key implements Comparable<Key> {
+    private static final Comparator<com.scalar.db.io.Key> CLUSTERING_KEY_COMPARATOR =
+        Comparator.nullsFirst(Comparator.naturalOrder());
+
     private final String namespace;
     private final String table;
     private final com.scalar.db.io.Key partitionKey;
-    private final Optional<com.scalar.db.io.Key> clusteringKey;
+    @Nullable private final com.scalar.db.io.Key clusteringKey;
+    private final int hashCode;
 
     public Key(Get get) {
       this((Operation) get);
@@ -623,17 +805,41 @@ public class Snapshot {
     }
 
     public Key(Scan scan, Result result) {
-      this.namespace = scan.forNamespace().get();
-      this.table = scan.forTable().get();
-      this.partitionKey = result.getPartitionKey().get();
-      this.clusteringKey = result.getClusteringKey();
+      this(
+          scan.forNamespace().get(),
+          scan.forTable().get(),
+          result.getPartitionKey().get(),
+          result.getClusteringKey().orElse(null));
     }
 
     private Key(Operation operation) {
-      namespace = operation.forNamespace().get();
-      table = operation.forTable().get();
-      partitionKey = operation.getPartitionKey();
-      clusteringKey = operation.getClusteringKey();
+      this(
+          operation.forNamespace().get(),
+          operation.forTable().get(),
+          operation.getPartitionKey(),
+          operation.getClusteringKey().orElse(null));
+    }
+
+    private Key(
+        String namespace,
+        String table,
+        com.scalar.db.io.Key partitionKey,
+        @Nullable com.scalar.db.io.Key clusteringKey) {
+      this.namespace = namespace;
+      this.table = table;
+      this.partitionKey = partitionKey;
+      this.clusteringKey = clusteringKey;
+      hashCode = computeHashCode();
+    }
+
+    // Same as Objects.hash(namespace, table, partitionKey, Optional.ofNullable(clusteringKey)) but
+    // without allocating the varargs array
+    private int computeHashCode() {
+      int result = 31 + namespace.hashCode();
+      result = 31 * result + table.hashCode();
+      result = 31 * result + partitionKey.hashCode();
+      result = 31 * result + (clusteringKey != null ? clusteringKey.hashCode() : 0);
+      return result;
     }
 
     public String getNamespace() {
@@ -649,12 +855,12 @@ public class Snapshot {
     }
 
     public Optional<com.scalar.db.io.Key> getClusteringKey() {
-      return clusteringKey;
+      return Optional.ofNullable(clusteringKey);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(namespace, table, partitionKey, clusteringKey);
+      return hashCode;
     }
 
     @Override
@@ -666,10 +872,11 @@ public class Snapshot {
         return false;
       }
       Key another = (Key) o;
-      return this.namespace.equals(another.namespace)
+      return this.hashCode == another.hashCode
+          && this.namespace.equals(another.namespace)
           && this.table.equals(another.table)
           && this.partitionKey.equals(another.partitionKey)
-          && this.clusteringKey.equals(another.clusteringKey);
+          && Objects.equals(this.clusteringKey, another.clusteringKey);
     }
 
     @Override
@@ -678,10 +885,7 @@ public class Snapshot {
           .compare(this.namespace, o.namespace)
           .compare(this.table, o.table)
           .compare(this.partitionKey, o.partitionKey)
-          .compare(
-              this.clusteringKey.orElse(null),
-              o.clusteringKey.orElse(null),
-              Comparator.nullsFirst(Comparator.naturalOrder()))
+          .compare(this.clusteringKey, o.clusteringKey, CLUSTERING_KEY_COMPARATOR)
           .result();
     }
 
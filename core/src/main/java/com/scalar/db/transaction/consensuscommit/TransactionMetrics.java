@@ -0,0 +1,176 @@
+package com.scalar.db.transaction.consensuscommit;
+
+import com.google.common.base.MoreObjects;
+import com.scalar.db.util.Histogram;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link TransactionMetricsRecorder} that aggregates the metrics of all the transactions into
+ * histograms and counters. The latencies are aggregated in microseconds.
+ *
+ * <p>Recording doesn't allocate objects or take locks, so it can be enabled in production.
+ */
+@ThreadSafe
+public class TransactionMetrics implements TransactionMetricsRecorder {
+  private static final Phase[] PHASES = Phase.values();
+  private static final Outcome[] OUTCOMES = Outcome.values();
+  private static final RecoveryAction[] RECOVERY_ACTIONS = RecoveryAction.values();
+
+  // Indexed by the ordinals of the enums to avoid boxing and map lookups when recording
+  private final Histogram[] phaseLatencies = new Histogram[PHASES.length];
+  private final LongAdder[][] phaseCounts = new LongAdder[PHASES.length][OUTCOMES.length];
+  private final LongAdder[] storageOperationCounts = new LongAdder[PHASES.length];
+  private final Histogram commitLatencies = new Histogram();
+  private final LongAdder[] commitCounts = new LongAdder[OUTCOMES.length];
+  private final Histogram readSetSizes = new Histogram();
+  private final Histogram writeSetSizes = new Histogram();
+  private final LongAdder[] recoveryCounts = new LongAdder[RECOVERY_ACTIONS.length];
+  private final LongAdder[] recoveredRecordCounts = new LongAdder[RECOVERY_ACTIONS.length];
+
+  public TransactionMetrics() {
+    for (int i = 0; i < PHASES.length; i++) {
+      phaseLatencies[i] = new Histogram();
+      storageOperationCounts[i] = new LongAdder();
+      for (int j = 0; j < OUTCOMES.length; j++) {
+        phaseCounts[i][j] = new LongAdder();
+      }
+    }
+    for (int i = 0; i < OUTCOMES.length; i++) {
+      commitCounts[i] = new LongAdder();
+    }
+    for (int i = 0; i < RECOVERY_ACTIONS.length; i++) {
+      recoveryCounts[i] = new LongAdder();
+      recoveredRecordCounts[i] = new LongAdder();
+    }
+  }
+
+  @Override
+  public void recordPhase(String transactionId, Phase phase, long latencyNanos, Outcome outcome) {
+    phaseLatencies[phase.ordinal()].record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    phaseCounts[phase.ordinal()][outcome.ordinal()].increment();
+  }
+
+  @Override
+  public void recordStorageOperations(String transactionId, Phase phase, int count) {
+    storageOperationCounts[phase.ordinal()].add(count);
+  }
+
+  @Override
+  public void recordCommit(
+      String transactionId, int readSetSize, int writeSetSize, long latencyNanos, Outcome outcome) {
+    commitLatencies.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    commitCounts[outcome.ordinal()].increment();
+    readSetSizes.record(readSetSize);
+    writeSetSizes.record(writeSetSize);
+  }
+
+  @Override
+  public void recordRecovery(String transactionId, RecoveryAction action, int recordCount) {
+    recoveryCounts[action.ordinal()].increment();
+    recoveredRecordCounts[action.ordinal()].add(recordCount);
+  }
+
+  /**
+   * Returns the histogram of the latencies of the specified phase in microseconds.
+   *
+   * @param phase a phase
+   * @return the histogram of the latencies
+   */
+  public Histogram getPhaseLatencyMicros(Phase phase) {
+    return phaseLatencies[phase.ordinal()];
+  }
+
+  /**
+   * Returns the number of the times the specified phase finished with the specified outcome.
+   *
+   * @param phase a phase
+   * @param outcome an outcome
+   * @return the number of the times
+   */
+  public long getPhaseCount(Phase phase, Outcome outcome) {
+    return phaseCounts[phase.ordinal()][outcome.ordinal()].sum();
+  }
+
+  /**
+   * Returns the number of the storage operations issued in the specified phase.
+   *
+   * @param phase a phase
+   * @return the number of the storage operations
+   */
+  public long getStorageOperationCount(Phase phase) {
+    return storageOperationCounts[phase.ordinal()].sum();
+  }
+
+  /** @return the histogram of the commit latencies in microseconds */
+  public Histogram getCommitLatencyMicros() {
+    return commitLatencies;
+  }
+
+  /**
+   * Returns the number of the commits finished with the specified outcome.
+   *
+   * @param outcome an outcome
+   * @return the number of the commits
+   */
+  public long getCommitCount(Outcome outcome) {
+    return commitCounts[outcome.ordinal()].sum();
+  }
+
+  /** @return the histogram of the read set sizes of the committed transactions */
+  public Histogram getReadSetSizes() {
+    return readSetSizes;
+  }
+
+  /** @return the histogram of the write set sizes of the committed transactions */
+  public Histogram getWriteSetSizes() {
+    return writeSetSizes;
+  }
+
+  /**
+   * Returns the number of the lazy recoveries that took the specified action.
+   *
+   * @param action a recovery action
+   * @return the number of the recoveries
+   */
+  public long getRecoveryCount(RecoveryAction action) {
+    return recoveryCounts[action.ordinal()].sum();
+  }
+
+  /**
+   * Returns the number of the records handled by the lazy recoveries that took the specified
+   * action.
+   *
+   * @param action a recovery action
+   * @return the number of the records
+   */
+  public long getRecoveredRecordCount(RecoveryAction action) {
+    return recoveredRecordCounts[action.ordinal()].sum();
+  }
+
+  @Override
+  public String toString() {
+    MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this);
+    helper.add("commit", commitLatencies);
+    for (Outcome outcome : OUTCOMES) {
+      helper.add("commit." + outcome, getCommitCount(outcome));
+    }
+    helper.add("readSetSize", readSetSizes).add("writeSetSize", writeSetSizes);
+    for (Phase phase : PHASES) {
+      if (phaseLatencies[phase.ordinal()].getCount() == 0) {
+        continue;
+      }
+      helper.add(phase.toString(), phaseLatencies[phase.ordinal()]);
+      for (Outcome outcome : OUTCOMES) {
+        helper.add(phase + "." + outcome, getPhaseCount(phase, outcome));
+      }
+      helper.add(phase + ".storageOperations", getStorageOperationCount(phase));
+    }
+    for (RecoveryAction action : RECOVERY_ACTIONS) {
+      helper.add("recovery." + action, getRecoveryCount(action));
+      helper.add("recovery." + action + ".records", getRecoveredRecordCount(action));
+    }
+    return helper.toString();
+  }
+}
@@ -0,0 +1,126 @@
+package com.scalar.db.transaction.consensuscommit;
+
+import com.scalar.db.exception.transaction.CommitConflictException;
+import com.scalar.db.exception.transaction.CrudConflictException;
+import com.scalar.db.exception.transaction.PreparationConflictException;
+import com.scalar.db.exception.transaction.ValidationConflictException;
+import javax.annotation.Nullable;
+
+/**
+ * A recorder of the metrics of consensus commit transactions. Implement this interface to publish
+ * the metrics of each transaction, for example, to a metrics registry or a tracer, and set it with
+ * {@link ConsensusCommitManager#setTransactionMetricsRecorder}. {@link TransactionMetrics} is an
+ * implementation that aggregates the metrics into histograms and counters.
+ *
+ * <p>The methods are called on the hot path of transactions by multiple threads concurrently, so
+ * implementations must be thread-safe and should return quickly without blocking. The metrics are
+ * passed as primitive values and enums so that recording them doesn't allocate objects.
+ *
+ * <p>All the methods do nothing by default.
+ */
+public interface TransactionMetricsRecorder {
+
+  /** A recorder that does nothing. This is used by default. */
+  TransactionMetricsRecorder NOOP = new TransactionMetricsRecorder() {};
+
+  /** The phases of a transaction. */
+  enum Phase {
+    /** Reading records with get and scan operations. */
+    READ,
+    /** Reading the records to be written that haven't been read yet, before the preparation. */
+    IMPLICIT_PRE_READ,
+    /** Preparing the records to be written. */
+    PREPARATION,
+    /** Validating the read set for the serializable isolation. */
+    VALIDATION,
+    /** Writing the COMMITTED state to the coordinator table. */
+    COMMIT_STATE,
+    /** Committing the prepared records. */
+    COMMIT_RECORDS,
+    /** Committing the records of a single partition without the coordinator table. */
+    ONE_PHASE_COMMIT,
+    /** Writing the ABORTED state to the coordinator table. */
+    ABORT_STATE,
+    /** Rolling back the prepared records. */
+    ROLLBACK_RECORDS
+  }
+
+  /** The outcomes of a phase or a transaction. */
+  enum Outcome {
+    SUCCEEDED,
+    /** Failed because of a conflict with another transaction. The transaction can be retried. */
+    CONFLICTED,
+    FAILED;
+
+    // Returns the outcome of an operation that threw the specified exception, or succeeded when it
+    // is null
+    static Outcome of(@Nullable Throwable t) {
+      if (t == null) {
+        return SUCCEEDED;
+      }
+      if (t instanceof CrudConflictException
+          || t instanceof PreparationConflictException
+          || t instanceof ValidationConflictException
+          || t instanceof CommitConflictException) {
+        return CONFLICTED;
+      }
+      return FAILED;
+    }
+  }
+
+  /** The actions of the lazy recovery of the records left by another transaction. */
+  enum RecoveryAction {
+    /** The records were rolled forward since the transaction was committed. */
+    ROLLFORWARD,
+    /** The records were rolled back since the transaction was aborted. */
+    ROLLBACK,
+    /** The transaction was expired, so it was aborted and its records were rolled back. */
+    ABORT_EXPIRED,
+    /** The transaction was still in progress, so its records were left as they were. */
+    SKIPPED
+  }
+
+  /**
+   * Records a phase of a transaction.
+   *
+   * @param transactionId the ID of the transaction
+   * @param phase the phase
+   * @param latencyNanos the time taken by the phase in nanoseconds
+   * @param outcome the outcome of the phase
+   */
+  default void recordPhase(String transactionId, Phase phase, long latencyNanos, Outcome outcome) {}
+
+  /**
+   * Records the storage operations issued in a phase of a transaction.
+   *
+   * @param transactionId the ID of the transaction
+   * @param phase the phase
+   * @param count the number of the storage operations
+   */
+  default void recordStorageOperations(String transactionId, Phase phase, int count) {}
+
+  /**
+   * Records a commit of a transaction.
+   *
+   * @param transactionId the ID of the transaction
+   * @param readSetSize the number of the records in the read set
+   * @param writeSetSize the number of the records written or deleted
+   * @param latencyNanos the time taken by the commit in nanoseconds
+   * @param outcome the outcome of the commit
+   */
+  default void recordCommit(
+      String transactionId,
+      int readSetSize,
+      int writeSetSize,
+      long latencyNanos,
+      Outcome outcome) {}
+
+  /**
+   * Records a lazy recovery of the records left by another transaction.
+   *
+   * @param transactionId the ID of the transaction that left the records
+   * @param action the action taken for the records
+   * @param recordCount the number of the records
+   */
+  default void recordRecovery(String transactionId, RecoveryAction action, int recordCount) {}
+}
@@ -25,10 +25,12 @@ import com.scalar.db.exception.transaction.RollbackException;
 import com.scalar.db.exception.transaction.UnknownTransactionStatusException;
 import com.scalar.db.exception.transaction.UnsatisfiedConditionException;
 import com.scalar.db.exception.transaction.ValidationException;
+import com.scalar.db.transaction.consensuscommit.TransactionMetricsRecorder.Outcome;
 import com.scalar.db.util.ScalarDbUtils;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.List;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +43,7 @@ public class TwoPhaseConsensusCommit extends AbstractTwoPhaseCommitTransaction {
   private final CommitHandler commit;
   private final RecoveryHandler recovery;
   private final ConsensusCommitMutationOperationChecker mutationOperationChecker;
+  private final TransactionMetricsRecorder metricsRecorder;
   private boolean validated;
   private boolean needRollback;
 
@@ -53,10 +56,21 @@ public class TwoPhaseConsensusCommit extends AbstractTwoPhaseCommitTransaction {
       CommitHandler commit,
       RecoveryHandler recovery,
       ConsensusCommitMutationOperationChecker mutationOperationChecker) {
+    this(crud, commit, recovery, mutationOperationChecker, TransactionMetricsRecorder.NOOP);
+  }
+
+  @SuppressFBWarnings("EI_EXPOSE_REP2")
+  public TwoPhaseConsensusCommit(
+      CrudHandler crud,
+      CommitHandler commit,
+      RecoveryHandler recovery,
+      ConsensusCommitMutationOperationChecker mutationOperationChecker,
+      TransactionMetricsRecorder metricsRecorder) {
     this.crud = crud;
     this.commit = commit;
     this.recovery = recovery;
     this.mutationOperationChecker = mutationOperationChecker;
+    this.metricsRecorder = metricsRecorder;
   }
 
   @Override
@@ -86,6 +100,12 @@ public class TwoPhaseConsensusCommit extends AbstractTwoPhaseCommitTransaction {
     }
   }
 
+  @Override
+  public Scanner getScanner(Scan scan) throws CrudException {
+    scan = copyAndSetTargetToIfNot(scan);
+    return crud.getScanner(scan, this::lazyRecovery);
+  }
+
   /** @deprecated As of release 3.13.0. Will be removed in release 5.0.0. */
   @Deprecated
   @Override
@@ -206,6 +226,22 @@ public class TwoPhaseConsensusCommit extends AbstractTwoPhaseCommitTransaction {
 
   @Override
   public void prepare() throws PreparationException {
+    // Put the results read through the open scanners into the snapshot before validating it
+    crud.closeScanners();
+
+    if (commit.isPipelinedPreparationEnabled()) {
+      // Execute implicit pre-read as part of the preparation
+      try {
+        commit.prepare(crud.getSnapshot(), crud.getImplicitPreReadTasks());
+      } catch (PreparationConflictException e) {
+        lazyRecoveryIfCausedByUncommittedRecord(e);
+        throw e;
+      } finally {
+        needRollback = true;
+      }
+      return;
+    }
+
     // Execute implicit pre-read
     try {
       crud.readIfImplicitPreReadEnabled();
@@ -237,6 +273,17 @@ public class TwoPhaseConsensusCommit extends AbstractTwoPhaseCommitTransaction {
 
   @Override
   public void commit() throws CommitConflictException, UnknownTransactionStatusException {
+    long start = System.nanoTime();
+    try {
+      commitInternal();
+    } catch (Exception e) {
+      recordCommit(start, e);
+      throw e;
+    }
+    recordCommit(start, null);
+  }
+
+  private void commitInternal() throws CommitConflictException, UnknownTransactionStatusException {
     if (crud.getSnapshot().isValidationRequired() && !validated) {
       throw new IllegalStateException(
           CoreError.CONSENSUS_COMMIT_TRANSACTION_NOT_VALIDATED_IN_EXTRA_READ.buildMessage());
@@ -254,8 +301,23 @@ public class TwoPhaseConsensusCommit extends AbstractTwoPhaseCommitTransaction {
     commit.commitRecords(crud.getSnapshot());
   }
 
+  private void recordCommit(long startNanos, @Nullable Exception exception) {
+    if (metricsRecorder == TransactionMetricsRecorder.NOOP) {
+      return;
+    }
+    Snapshot snapshot = crud.getSnapshot();
+    metricsRecorder.recordCommit(
+        snapshot.getId(),
+        snapshot.getReadSetSize(),
+        snapshot.getWriteSetSize(),
+        System.nanoTime() - startNanos,
+        Outcome.of(exception));
+  }
+
   @Override
   public void rollback() throws RollbackException {
+    crud.closeScanners();
+
     if (!needRollback) {
       return;
     }
@@ -296,10 +358,19 @@ public class TwoPhaseConsensusCommit extends AbstractTwoPhaseCommitTransaction {
     this.beforeRecoveryHook = beforeRecoveryHook;
   }
 
+  private void lazyRecoveryIfCausedByUncommittedRecord(Exception e) {
+    for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+      if (cause instanceof UncommittedRecordException) {
+        lazyRecovery((UncommittedRecordException) cause);
+        return;
+      }
+    }
+  }
+
   private void lazyRecovery(UncommittedRecordException e) {
     logger.debug("Recover uncommitted records: {}", e.getResults());
     beforeRecoveryHook.run();
-    e.getResults().forEach(r -> recovery.recover(e.getSelection(), r));
+    recovery.recover(e.getSelection(), e.getResults());
   }
 
   private void checkMutation(Mutation mutation) throws CrudException {
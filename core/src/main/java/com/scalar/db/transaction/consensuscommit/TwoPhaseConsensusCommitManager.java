@@ -1,6 +1,7 @@
 package com.scalar.db.transaction.consensuscommit;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
@@ -36,6 +37,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
 import org.slf4j.Logger;
@@ -55,9 +57,12 @@ public class TwoPhaseConsensusCommitManager
   private final Coordinator coordinator;
   private final ParallelExecutor parallelExecutor;
   private final RecoveryHandler recovery;
+  @Nullable private final RecoverySweeper recoverySweeper;
   private final CommitHandler commit;
   private final boolean isIncludeMetadataEnabled;
   private final ConsensusCommitMutationOperationChecker mutationOperationChecker;
+  @Nullable private final TransactionMetrics transactionMetrics;
+  private volatile TransactionMetricsRecorder metricsRecorder;
 
   @SuppressFBWarnings("EI_EXPOSE_REP2")
   @Inject
@@ -67,15 +72,29 @@ public class TwoPhaseConsensusCommitManager
     this.storage = storage;
     this.admin = admin;
     config = new ConsensusCommitConfig(databaseConfig);
+    Coordinator.validateShards(
+        admin,
+        config.getCoordinatorNamespace().orElse(Coordinator.NAMESPACE),
+        config.getCoordinatorShards());
     tableMetadataManager =
         new TransactionTableMetadataManager(
             admin, databaseConfig.getMetadataCacheExpirationTimeSecs());
     coordinator = new Coordinator(storage, config);
     parallelExecutor = new ParallelExecutor(config);
     recovery = new RecoveryHandler(storage, coordinator, tableMetadataManager);
-    commit = new CommitHandler(storage, coordinator, tableMetadataManager, parallelExecutor);
+    recoverySweeper = RecoverySweeper.from(config, storage, recovery).orElse(null);
+    commit =
+        new CommitHandler(
+            storage,
+            coordinator,
+            tableMetadataManager,
+            parallelExecutor,
+            config.isPipelinedPreparationEnabled());
     isIncludeMetadataEnabled = config.isIncludeMetadataEnabled();
     mutationOperationChecker = new ConsensusCommitMutationOperationChecker(tableMetadataManager);
+    transactionMetrics = config.isTransactionMetricsEnabled() ? new TransactionMetrics() : null;
+    applyMetricsRecorder(
+        transactionMetrics != null ? transactionMetrics : TransactionMetricsRecorder.NOOP);
   }
 
   public TwoPhaseConsensusCommitManager(DatabaseConfig databaseConfig) {
@@ -84,15 +103,29 @@ public class TwoPhaseConsensusCommitManager
     storage = storageFactory.getStorage();
     admin = storageFactory.getStorageAdmin();
     config = new ConsensusCommitConfig(databaseConfig);
+    Coordinator.validateShards(
+        admin,
+        config.getCoordinatorNamespace().orElse(Coordinator.NAMESPACE),
+        config.getCoordinatorShards());
     tableMetadataManager =
         new TransactionTableMetadataManager(
             admin, databaseConfig.getMetadataCacheExpirationTimeSecs());
     coordinator = new Coordinator(storage, config);
     parallelExecutor = new ParallelExecutor(config);
     recovery = new RecoveryHandler(storage, coordinator, tableMetadataManager);
-    commit = new CommitHandler(storage, coordinator, tableMetadataManager, parallelExecutor);
+    recoverySweeper = RecoverySweeper.from(config, storage, recovery).orElse(null);
+    commit =
+        new CommitHandler(
+            storage,
+            coordinator,
+            tableMetadataManager,
+            parallelExecutor,
+            config.isPipelinedPreparationEnabled());
     isIncludeMetadataEnabled = config.isIncludeMetadataEnabled();
     mutationOperationChecker = new ConsensusCommitMutationOperationChecker(tableMetadataManager);
+    transactionMetrics = config.isTransactionMetricsEnabled() ? new TransactionMetrics() : null;
+    applyMetricsRecorder(
+        transactionMetrics != null ? transactionMetrics : TransactionMetricsRecorder.NOOP);
   }
 
   @SuppressFBWarnings("EI_EXPOSE_REP2")
@@ -116,9 +149,41 @@ public class TwoPhaseConsensusCommitManager
     this.coordinator = coordinator;
     this.parallelExecutor = parallelExecutor;
     this.recovery = recovery;
+    recoverySweeper = null;
     this.commit = commit;
     isIncludeMetadataEnabled = config.isIncludeMetadataEnabled();
     mutationOperationChecker = new ConsensusCommitMutationOperationChecker(tableMetadataManager);
+    transactionMetrics = null;
+    metricsRecorder = TransactionMetricsRecorder.NOOP;
+  }
+
+  private void applyMetricsRecorder(TransactionMetricsRecorder metricsRecorder) {
+    parallelExecutor.setMetricsRecorder(metricsRecorder);
+    recovery.setMetricsRecorder(metricsRecorder);
+    commit.setMetricsRecorder(metricsRecorder);
+    // Transactions begun or joined after this are recorded to the new recorder
+    this.metricsRecorder = metricsRecorder;
+  }
+
+  /**
+   * Sets the {@link TransactionMetricsRecorder} to which the metrics of the transactions, such as
+   * the latencies of their phases, are recorded. This replaces the {@link TransactionMetrics}
+   * enabled with {@link ConsensusCommitConfig#TRANSACTION_METRICS_ENABLED}.
+   *
+   * @param metricsRecorder a metrics recorder
+   */
+  public void setTransactionMetricsRecorder(TransactionMetricsRecorder metricsRecorder) {
+    applyMetricsRecorder(checkNotNull(metricsRecorder));
+  }
+
+  /**
+   * Returns the metrics aggregated from the transactions if {@link
+   * ConsensusCommitConfig#TRANSACTION_METRICS_ENABLED} is enabled.
+   *
+   * @return the transaction metrics
+   */
+  public Optional<TransactionMetrics> getTransactionMetrics() {
+    return Optional.ofNullable(transactionMetrics);
   }
 
   private void throwIfGroupCommitIsEnabled() {
@@ -181,9 +246,12 @@ public class TwoPhaseConsensusCommitManager
     CrudHandler crud =
         new CrudHandler(
             storage, snapshot, tableMetadataManager, isIncludeMetadataEnabled, parallelExecutor);
+    TransactionMetricsRecorder metricsRecorder = this.metricsRecorder;
+    crud.setMetricsRecorder(metricsRecorder);
 
     TwoPhaseConsensusCommit transaction =
-        new TwoPhaseConsensusCommit(crud, commit, recovery, mutationOperationChecker);
+        new TwoPhaseConsensusCommit(
+            crud, commit, recovery, mutationOperationChecker, metricsRecorder);
     getNamespace().ifPresent(transaction::withNamespace);
     getTable().ifPresent(transaction::withTable);
     return decorate ? decorate(transaction) : transaction;
@@ -351,8 +419,17 @@ public class TwoPhaseConsensusCommitManager
 
   @Override
   public void close() {
+    if (recoverySweeper != null) {
+      recoverySweeper.close();
+    }
     storage.close();
     admin.close();
     parallelExecutor.close();
+    coordinator
+        .getStateCacheMetrics()
+        .ifPresent(metrics -> logger.info("Coordinator state cache metrics: {}", metrics));
+    if (transactionMetrics != null) {
+      logger.info("Transaction metrics: {}", transactionMetrics);
+    }
   }
 }
@@ -20,6 +20,7 @@ import com.scalar.db.api.UpdateIf;
 import com.scalar.db.api.UpdateIfExists;
 import com.scalar.db.api.Upsert;
 import com.scalar.db.common.AbstractDistributedTransaction;
+import com.scalar.db.common.AbstractTransactionCrudOperableScanner;
 import com.scalar.db.common.error.CoreError;
 import com.scalar.db.exception.storage.ExecutionException;
 import com.scalar.db.exception.transaction.CommitConflictException;
@@ -32,6 +33,7 @@ import com.scalar.db.exception.transaction.UnsatisfiedConditionException;
 import com.scalar.db.storage.jdbc.JdbcService;
 import com.scalar.db.storage.jdbc.RdbEngineStrategy;
 import com.scalar.db.util.ScalarDbUtils;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
@@ -94,6 +96,21 @@ public class JdbcTransaction extends AbstractDistributedTransaction {
     }
   }
 
+  @Override
+  public Scanner getScanner(Scan scan) throws CrudException {
+    scan = copyAndSetTargetToIfNot(scan);
+    try {
+      // The connection is kept open after the scanner is closed since it's used for this
+      // transaction
+      return new JdbcTransactionScanner(jdbcService.getScanner(scan, connection, false));
+    } catch (SQLException e) {
+      throw createCrudException(
+          e, CoreError.JDBC_TRANSACTION_SCAN_OPERATION_FAILED.buildMessage(e.getMessage()));
+    } catch (ExecutionException e) {
+      throw new CrudException(e.getMessage(), e, txId);
+    }
+  }
+
   /** @deprecated As of release 3.13.0. Will be removed in release 5.0.0. */
   @Deprecated
   @Override
@@ -346,4 +363,39 @@ public class JdbcTransaction extends AbstractDistributedTransaction {
         e,
         txId);
   }
+
+  @NotThreadSafe
+  private class JdbcTransactionScanner extends AbstractTransactionCrudOperableScanner {
+
+    // The storage scanner. The simple name refers to TransactionCrudOperable.Scanner in this class
+    private final com.scalar.db.api.Scanner scanner;
+
+    private JdbcTransactionScanner(com.scalar.db.api.Scanner scanner) {
+      this.scanner = scanner;
+    }
+
+    @Override
+    public Optional<Result> one() throws CrudException {
+      try {
+        return scanner.one();
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof SQLException) {
+          SQLException cause = (SQLException) e.getCause();
+          throw createCrudException(
+              cause,
+              CoreError.JDBC_TRANSACTION_SCAN_OPERATION_FAILED.buildMessage(cause.getMessage()));
+        }
+        throw new CrudException(e.getMessage(), e, txId);
+      }
+    }
+
+    @Override
+    public void close() {
+      try {
+        scanner.close();
+      } catch (IOException e) {
+        logger.warn("Failed to close the scanner", e);
+      }
+    }
+  }
 }
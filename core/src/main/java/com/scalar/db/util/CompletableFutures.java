@@ -0,0 +1,74 @@
+package com.scalar.db.util;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/** Utilities for {@link CompletableFuture}. */
+public final class CompletableFutures {
+
+  private CompletableFutures() {}
+
+  /**
+   * Returns a future that is already completed exceptionally with the specified exception. This is
+   * the same as {@code CompletableFuture.failedFuture()} introduced in Java 9.
+   *
+   * @param throwable an exception
+   * @param <T> the type of the result
+   * @return a failed future
+   */
+  public static <T> CompletableFuture<T> failedFuture(Throwable throwable) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(throwable);
+    return future;
+  }
+
+  /**
+   * Returns a {@link CompletableFuture} completed with the result of the specified {@link
+   * ListenableFuture}. The returned future is completed on the thread that completes the specified
+   * future.
+   *
+   * @param listenableFuture a {@code ListenableFuture}
+   * @param <T> the type of the result
+   * @return a {@code CompletableFuture}
+   */
+  public static <T> CompletableFuture<T> toCompletableFuture(
+      ListenableFuture<T> listenableFuture) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    Futures.addCallback(
+        listenableFuture,
+        new FutureCallback<T>() {
+          @Override
+          public void onSuccess(T result) {
+            future.complete(result);
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            future.completeExceptionally(t);
+          }
+        },
+        MoreExecutors.directExecutor());
+    return future;
+  }
+
+  /**
+   * Returns the actual cause of a failure of a future, i.e., the specified exception without the
+   * {@link CompletionException} and {@link ExecutionException} wrappers.
+   *
+   * @param throwable an exception thrown by or passed from a future
+   * @return the actual cause
+   */
+  public static Throwable unwrap(Throwable throwable) {
+    Throwable t = throwable;
+    while ((t instanceof CompletionException || t instanceof ExecutionException)
+        && t.getCause() != null) {
+      t = t.getCause();
+    }
+    return t;
+  }
+}
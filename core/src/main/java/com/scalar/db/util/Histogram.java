@@ -0,0 +1,97 @@
+package com.scalar.db.util;
+
+import com.google.common.base.MoreObjects;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A histogram of non-negative values with buckets of powers of two. A value {@code v} is counted in
+ * the bucket whose upper bound is the smallest power of two not less than {@code v}, so the
+ * percentiles are accurate within a factor of two.
+ */
+@ThreadSafe
+public class Histogram {
+  private static final int BUCKET_COUNT = 64;
+
+  private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  public Histogram() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records the specified value. A negative value is recorded as 0.
+   *
+   * @param value a value
+   */
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    buckets[bucketOf(value)].increment();
+    count.increment();
+    sum.add(value);
+    max.accumulate(value);
+  }
+
+  private static int bucketOf(long value) {
+    // The bucket i holds the values in (2^(i-1), 2^i], and the bucket 0 holds 0 and 1
+    return value <= 1 ? 0 : Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(value - 1));
+  }
+
+  /** @return the number of the recorded values */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /** @return the mean of the recorded values */
+  public double getMean() {
+    long c = count.sum();
+    return c == 0 ? 0 : (double) sum.sum() / c;
+  }
+
+  /** @return the maximum of the recorded values */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Returns an upper bound of the value at the specified percentile.
+   *
+   * @param percentile a percentile between 0 and 100
+   * @return an upper bound of the value at the percentile
+   */
+  public long getValueAtPercentile(double percentile) {
+    long c = count.sum();
+    if (c == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(c * percentile / 100));
+    long accumulated = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      accumulated += buckets[i].sum();
+      if (accumulated >= rank) {
+        // The last bucket has no upper bound
+        return i == BUCKET_COUNT - 1 ? getMax() : Math.min(1L << i, getMax());
+      }
+    }
+    return getMax();
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("count", getCount())
+        .add("mean", String.format("%.1f", getMean()))
+        .add("p50", getValueAtPercentile(50))
+        .add("p99", getValueAtPercentile(99))
+        .add("max", getMax())
+        .toString();
+  }
+}
@@ -368,6 +368,52 @@ public final class ScalarDbUtils {
     }
   }
 
+  /**
+   * Returns the prefix of the pattern of the specified LIKE expression if the pattern is a prefix
+   * match like {@code abc%}, that is, if it consists of a non-empty literal prefix followed only by
+   * percent signs. Storages can use it to push down such a LIKE expression as a prefix match.
+   *
+   * @param likeExpression a LIKE expression
+   * @return the unescaped prefix of the pattern, or empty if the pattern isn't a prefix match
+   */
+  public static Optional<String> getPrefixOfLikePattern(LikeExpression likeExpression) {
+    if (likeExpression.getOperator() != Operator.LIKE) {
+      return Optional.empty();
+    }
+    String pattern = likeExpression.getTextValue();
+    String escape = likeExpression.getEscape();
+    assert pattern != null : "LIKE pattern must not be null";
+    Character escapeChar = escape.isEmpty() ? null : escape.charAt(0);
+
+    StringBuilder prefix = new StringBuilder();
+    int i = 0;
+    for (; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (escapeChar != null && c == escapeChar) {
+        if (i + 1 == pattern.length()) {
+          return Optional.empty();
+        }
+        prefix.append(pattern.charAt(++i));
+      } else if (c == '%') {
+        break;
+      } else if (c == '_') {
+        return Optional.empty();
+      } else {
+        prefix.append(c);
+      }
+    }
+    if (i == pattern.length() || prefix.length() == 0) {
+      // A pattern without wildcards or without a prefix isn't a prefix match
+      return Optional.empty();
+    }
+    for (; i < pattern.length(); i++) {
+      if (pattern.charAt(i) != '%') {
+        return Optional.empty();
+      }
+    }
+    return Optional.of(prefix.toString());
+  }
+
   /**
    * Convert SQL 'like' pattern to a Java regular expression. Underscores (_) are converted to '.'
    * and percent signs (%) are converted to '.*', other characters are quoted literally. If an
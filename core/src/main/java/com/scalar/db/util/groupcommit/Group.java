@@ -156,6 +156,11 @@ abstract class Group<PARENT_KEY, CHILD_KEY, FULL_KEY, EMIT_PARENT_KEY, EMIT_FULL
     return size.get();
   }
 
+  // Returns the number of the slots currently in the group.
+  synchronized int slotCount() {
+    return slots.size();
+  }
+
   boolean isSizeFixed() {
     return status.get().isSizeFixed;
   }
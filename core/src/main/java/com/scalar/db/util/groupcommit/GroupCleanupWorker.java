@@ -44,6 +44,7 @@ class GroupCleanupWorker<PARENT_KEY, CHILD_KEY, FULL_KEY, EMIT_PARENT_KEY, EMIT_
       Group<PARENT_KEY, CHILD_KEY, FULL_KEY, EMIT_PARENT_KEY, EMIT_FULL_KEY, V> group) {
     if (group.oldGroupAbortTimeoutAtMillis() < System.currentTimeMillis()) {
       groupManager.removeGroupFromMap(group);
+      groupManager.recordOldGroupAbort(group.slotCount());
       group.abort();
       // Should remove the item.
       return true;
@@ -1,5 +1,7 @@
 package com.scalar.db.util.groupcommit;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.google.common.base.MoreObjects;
 import javax.annotation.concurrent.Immutable;
 
@@ -12,17 +14,27 @@ public class GroupCommitConfig {
   private final int oldGroupAbortTimeoutMillis;
   private final int timeoutCheckIntervalMillis;
   private final boolean metricsMonitorLogEnabled;
+  private final boolean adaptiveSizingEnabled;
+  private final int minSlotCapacity;
+  private final int minGroupSizeFixTimeoutMillis;
 
   /**
    * A configuration of group commit.
    *
-   * @param slotCapacity How many slots can be stored in a {@link NormalGroup}.
-   * @param groupSizeFixTimeoutMillis A timeout to close (or size-fix) a {@link NormalGroup}.
+   * @param slotCapacity How many slots can be stored in a {@link NormalGroup}. The upper bound of
+   *     the capacity if the adaptive sizing is enabled.
+   * @param groupSizeFixTimeoutMillis A timeout to close (or size-fix) a {@link NormalGroup}. The
+   *     upper bound of the timeout if the adaptive sizing is enabled.
    * @param delayedSlotMoveTimeoutMillis A timeout to move a delayed slot from {@link NormalGroup}
    *     to {@link DelayedGroup}.
    * @param oldGroupAbortTimeoutMillis A timeout to abort too old {@link Group}.
    * @param timeoutCheckIntervalMillis An interval to check the queues.
    * @param metricsMonitorLogEnabled Whether to enable the metrics monitor logging.
+   * @param adaptiveSizingEnabled Whether to tune the capacity and the size-fix timeout of each
+   *     {@link NormalGroup} from the observed arrival rate and emit latency.
+   * @param minSlotCapacity The lower bound of the capacity if the adaptive sizing is enabled.
+   * @param minGroupSizeFixTimeoutMillis The lower bound of the size-fix timeout if the adaptive
+   *     sizing is enabled.
    */
   public GroupCommitConfig(
       int slotCapacity,
@@ -30,13 +42,58 @@ public class GroupCommitConfig {
       int delayedSlotMoveTimeoutMillis,
       int oldGroupAbortTimeoutMillis,
       int timeoutCheckIntervalMillis,
-      boolean metricsMonitorLogEnabled) {
+      boolean metricsMonitorLogEnabled,
+      boolean adaptiveSizingEnabled,
+      int minSlotCapacity,
+      int minGroupSizeFixTimeoutMillis) {
+    if (adaptiveSizingEnabled) {
+      checkArgument(
+          minSlotCapacity >= 1 && minSlotCapacity <= slotCapacity,
+          "minSlotCapacity must be between 1 and slotCapacity");
+      checkArgument(
+          minGroupSizeFixTimeoutMillis >= 0
+              && minGroupSizeFixTimeoutMillis <= groupSizeFixTimeoutMillis,
+          "minGroupSizeFixTimeoutMillis must be between 0 and groupSizeFixTimeoutMillis");
+    }
     this.slotCapacity = slotCapacity;
     this.groupSizeFixTimeoutMillis = groupSizeFixTimeoutMillis;
     this.delayedSlotMoveTimeoutMillis = delayedSlotMoveTimeoutMillis;
     this.oldGroupAbortTimeoutMillis = oldGroupAbortTimeoutMillis;
     this.timeoutCheckIntervalMillis = timeoutCheckIntervalMillis;
     this.metricsMonitorLogEnabled = metricsMonitorLogEnabled;
+    this.adaptiveSizingEnabled = adaptiveSizingEnabled;
+    this.minSlotCapacity = minSlotCapacity;
+    this.minGroupSizeFixTimeoutMillis = minGroupSizeFixTimeoutMillis;
+  }
+
+  /**
+   * A configuration of group commit.
+   *
+   * @param slotCapacity How many slots can be stored in a {@link NormalGroup}.
+   * @param groupSizeFixTimeoutMillis A timeout to close (or size-fix) a {@link NormalGroup}.
+   * @param delayedSlotMoveTimeoutMillis A timeout to move a delayed slot from {@link NormalGroup}
+   *     to {@link DelayedGroup}.
+   * @param oldGroupAbortTimeoutMillis A timeout to abort too old {@link Group}.
+   * @param timeoutCheckIntervalMillis An interval to check the queues.
+   * @param metricsMonitorLogEnabled Whether to enable the metrics monitor logging.
+   */
+  public GroupCommitConfig(
+      int slotCapacity,
+      int groupSizeFixTimeoutMillis,
+      int delayedSlotMoveTimeoutMillis,
+      int oldGroupAbortTimeoutMillis,
+      int timeoutCheckIntervalMillis,
+      boolean metricsMonitorLogEnabled) {
+    this(
+        slotCapacity,
+        groupSizeFixTimeoutMillis,
+        delayedSlotMoveTimeoutMillis,
+        oldGroupAbortTimeoutMillis,
+        timeoutCheckIntervalMillis,
+        metricsMonitorLogEnabled,
+        false,
+        slotCapacity,
+        groupSizeFixTimeoutMillis);
   }
 
   /**
@@ -88,6 +145,18 @@ public class GroupCommitConfig {
     return metricsMonitorLogEnabled;
   }
 
+  public boolean adaptiveSizingEnabled() {
+    return adaptiveSizingEnabled;
+  }
+
+  public int minSlotCapacity() {
+    return minSlotCapacity;
+  }
+
+  public int minGroupSizeFixTimeoutMillis() {
+    return minGroupSizeFixTimeoutMillis;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -97,6 +166,9 @@ public class GroupCommitConfig {
         .add("oldGroupAbortTimeoutMillis", oldGroupAbortTimeoutMillis)
         .add("timeoutCheckIntervalMillis", timeoutCheckIntervalMillis)
         .add("metricsMonitorLogEnabled", metricsMonitorLogEnabled)
+        .add("adaptiveSizingEnabled", adaptiveSizingEnabled)
+        .add("minSlotCapacity", minSlotCapacity)
+        .add("minGroupSizeFixTimeoutMillis", minGroupSizeFixTimeoutMillis)
         .toString();
   }
 }
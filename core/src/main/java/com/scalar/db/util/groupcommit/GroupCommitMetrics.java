@@ -3,8 +3,12 @@ package com.scalar.db.util.groupcommit;
 import com.google.common.base.MoreObjects;
 import javax.annotation.concurrent.Immutable;
 
+/**
+ * A snapshot of the sizes of the queues of the background workers and the group maps of a {@link
+ * GroupCommitter}, which tell how many groups and slots are in flight.
+ */
 @Immutable
-class GroupCommitMetrics {
+public class GroupCommitMetrics {
   private final int queueLengthOfGroupCloseWorker;
   private final int queueLengthOfDelayedSlotMoveWorker;
   private final int queueLengthOfGroupCleanupWorker;
@@ -35,6 +39,31 @@ class GroupCommitMetrics {
         .toString();
   }
 
+  /** @return the number of the groups waiting for their sizes to be fixed */
+  public int getQueueLengthOfGroupCloseWorker() {
+    return queueLengthOfGroupCloseWorker;
+  }
+
+  /** @return the number of the groups waiting for their unready slots to be moved */
+  public int getQueueLengthOfDelayedSlotMoveWorker() {
+    return queueLengthOfDelayedSlotMoveWorker;
+  }
+
+  /** @return the number of the groups waiting to be removed after they are done */
+  public int getQueueLengthOfGroupCleanupWorker() {
+    return queueLengthOfGroupCleanupWorker;
+  }
+
+  /** @return the number of the normal groups being managed */
+  public int getSizeOfNormalGroupMap() {
+    return sizeOfNormalGroupMap;
+  }
+
+  /** @return the number of the delayed groups being managed */
+  public int getSizeOfDelayedGroupMap() {
+    return sizeOfDelayedGroupMap;
+  }
+
   public boolean hasRemaining() {
     return queueLengthOfGroupCloseWorker > 0
         || queueLengthOfDelayedSlotMoveWorker > 0
@@ -42,6 +71,4 @@ class GroupCommitMetrics {
         || sizeOfNormalGroupMap > 0
         || sizeOfDelayedGroupMap > 0;
   }
-
-  // Add getters if necessary
 }
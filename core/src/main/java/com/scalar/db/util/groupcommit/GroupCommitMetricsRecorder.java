@@ -0,0 +1,76 @@
+package com.scalar.db.util.groupcommit;
+
+import java.util.function.Supplier;
+
+/**
+ * A recorder of group commit metrics. Implement this interface to publish the metrics to a metrics
+ * registry such as Micrometer, for example, by recording the latencies to timers with histograms
+ * and the counts to counters and by registering the sizes passed to {@link #registerGauges} as
+ * gauges, and set it with {@link GroupCommitter#setMetricsRecorder}. {@link
+ * HistogramGroupCommitMetricsRecorder} is a built-in implementation that aggregates the metrics in
+ * memory.
+ *
+ * <p>The methods are called on the hot path of group commit by multiple threads concurrently, so
+ * implementations must be thread-safe and should return quickly without blocking. The metrics are
+ * passed as primitive values so that recording them doesn't allocate objects.
+ *
+ * <p>All the methods do nothing by default.
+ */
+public interface GroupCommitMetricsRecorder {
+
+  /** A recorder that does nothing. This is used by default. */
+  GroupCommitMetricsRecorder NOOP = new GroupCommitMetricsRecorder() {};
+
+  /**
+   * Registers the sizes of the queues and the group maps of a group committer as gauges. This is
+   * called once when the recorder is set to the group committer. The supplier returns the current
+   * sizes every time it's called, so it should be sampled when the gauges are read.
+   *
+   * @param metricsSupplier a supplier of the current sizes of the queues and the group maps
+   */
+  default void registerGauges(Supplier<GroupCommitMetrics> metricsSupplier) {}
+
+  /**
+   * Records an emit of a normal group.
+   *
+   * @param groupSize the number of the slots emitted together
+   * @param latencyNanos the time taken by the emit in nanoseconds
+   * @param succeeded whether the emit succeeded
+   */
+  default void recordNormalGroupEmit(int groupSize, long latencyNanos, boolean succeeded) {}
+
+  /**
+   * Records an emit of a delayed group, which contains only a single slot.
+   *
+   * @param latencyNanos the time taken by the emit in nanoseconds
+   * @param succeeded whether the emit succeeded
+   */
+  default void recordDelayedGroupEmit(long latencyNanos, boolean succeeded) {}
+
+  /**
+   * Records the time a client waited from setting a value to its slot until the group containing
+   * the slot was emitted successfully.
+   *
+   * @param waitNanos the wait time in nanoseconds
+   */
+  default void recordSlotWait(long waitNanos) {}
+
+  /**
+   * Records that a slot wasn't ready in time and was moved from a normal group to a new delayed
+   * group.
+   */
+  default void recordDelayedSlotMove() {}
+
+  /**
+   * Records that setting a value to a slot failed because the slot had already been removed from
+   * its group.
+   */
+  default void recordConflict() {}
+
+  /**
+   * Records that a group was aborted because it wasn't done before the timeout.
+   *
+   * @param slotCount the number of the slots aborted with the group
+   */
+  default void recordOldGroupAbort(int slotCount) {}
+}
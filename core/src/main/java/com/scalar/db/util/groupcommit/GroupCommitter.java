@@ -102,6 +102,18 @@ public class GroupCommitter<PARENT_KEY, CHILD_KEY, FULL_KEY, EMIT_PARENT_KEY, EM
     groupManager.setEmitter(emitter);
   }
 
+  /**
+   * Set a recorder to publish the metrics of group commit, such as group sizes, slot wait times and
+   * emit latencies. The sizes of the queues and the group maps are registered to the recorder as
+   * gauges. {@link GroupCommitMetricsRecorder#NOOP} is used by default.
+   *
+   * @param metricsRecorder A metrics recorder.
+   */
+  public void setMetricsRecorder(GroupCommitMetricsRecorder metricsRecorder) {
+    groupManager.setMetricsRecorder(metricsRecorder);
+    metricsRecorder.registerGauges(this::getMetrics);
+  }
+
   /**
    * Reserves a new slot in the current {@link NormalGroup}. The slot may be moved to a {@link
    * DelayedGroup} later.
@@ -138,6 +150,17 @@ public class GroupCommitter<PARENT_KEY, CHILD_KEY, FULL_KEY, EMIT_PARENT_KEY, EM
    * @throws GroupCommitException when group commit fails
    */
   public void ready(FULL_KEY fullKey, V value) throws GroupCommitException {
+    long start = System.nanoTime();
+    try {
+      readyInternal(fullKey, value);
+    } catch (GroupCommitConflictException e) {
+      groupManager.recordConflict();
+      throw e;
+    }
+    groupManager.recordSlotWait(System.nanoTime() - start);
+  }
+
+  private void readyInternal(FULL_KEY fullKey, V value) throws GroupCommitException {
     Keys<PARENT_KEY, CHILD_KEY, FULL_KEY> keys = keyManipulator.keysFromFullKey(fullKey);
     boolean failed = false;
     while (true) {
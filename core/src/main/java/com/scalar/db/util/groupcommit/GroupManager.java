@@ -56,12 +56,19 @@ class GroupManager<PARENT_KEY, CHILD_KEY, FULL_KEY, EMIT_PARENT_KEY, EMIT_FULL_K
 
   private final GroupCommitConfig config;
 
+  // Only used when the adaptive sizing is enabled.
+  @Nullable private final GroupSizeController groupSizeController;
+
+  private volatile GroupCommitMetricsRecorder metricsRecorder = GroupCommitMetricsRecorder.NOOP;
+
   GroupManager(
       GroupCommitConfig config,
       GroupCommitKeyManipulator<PARENT_KEY, CHILD_KEY, FULL_KEY, EMIT_PARENT_KEY, EMIT_FULL_KEY>
           keyManipulator) {
     this.keyManipulator = keyManipulator;
     this.config = config;
+    this.groupSizeController =
+        config.adaptiveSizingEnabled() ? new GroupSizeController(config) : null;
   }
 
   void setGroupSizeFixWorker(
@@ -82,10 +89,13 @@ class GroupManager<PARENT_KEY, CHILD_KEY, FULL_KEY, EMIT_PARENT_KEY, EMIT_FULL_K
   // If it returns null, the Group is already size-fixed and a retry is needed.
   @Nullable
   FULL_KEY reserveNewSlot(CHILD_KEY childKey) {
+    if (groupSizeController != null) {
+      groupSizeController.recordArrival();
+    }
     long stamp = lock.writeLock();
     try {
       if (currentGroup == null || currentGroup.isSizeFixed()) {
-        currentGroup = new NormalGroup<>(config, emitter, keyManipulator);
+        currentGroup = createNormalGroup();
         groupSizeFixWorker.add(currentGroup);
         normalGroupMap.put(currentGroup.parentKey(), currentGroup);
       }
@@ -95,6 +105,20 @@ class GroupManager<PARENT_KEY, CHILD_KEY, FULL_KEY, EMIT_PARENT_KEY, EMIT_FULL_K
     return currentGroup.reserveNewSlot(childKey);
   }
 
+  private NormalGroup<PARENT_KEY, CHILD_KEY, FULL_KEY, EMIT_PARENT_KEY, EMIT_FULL_KEY, V>
+      createNormalGroup() {
+    if (groupSizeController == null) {
+      return new NormalGroup<>(config, emitter, keyManipulator);
+    }
+    groupSizeController.update();
+    return new NormalGroup<>(
+        config,
+        groupSizeController.slotCapacity(),
+        groupSizeController.groupSizeFixTimeoutMillis(),
+        emitter,
+        keyManipulator);
+  }
+
   // Gets the corresponding group associated with the given key.
   Group<PARENT_KEY, CHILD_KEY, FULL_KEY, EMIT_PARENT_KEY, EMIT_FULL_KEY, V> getGroup(
       Keys<PARENT_KEY, CHILD_KEY, FULL_KEY> keys) throws GroupCommitException {
@@ -203,6 +227,8 @@ class GroupManager<PARENT_KEY, CHILD_KEY, FULL_KEY, EMIT_PARENT_KEY, EMIT_FULL_K
         // Internally delegate the emit-task to the client thread.
         checkNotNull(delayedGroup.reserveNewSlot(notReadySlot));
 
+        metricsRecorder.recordDelayedSlotMove();
+
         // Register the new DelayedGroup to the map and cleanup queue.
         DelayedGroup<PARENT_KEY, CHILD_KEY, FULL_KEY, EMIT_PARENT_KEY, EMIT_FULL_KEY, V> old =
             delayedGroupMap.put(fullKey, delayedGroup);
@@ -225,7 +251,58 @@ class GroupManager<PARENT_KEY, CHILD_KEY, FULL_KEY, EMIT_PARENT_KEY, EMIT_FULL_K
   }
 
   void setEmitter(Emittable<EMIT_PARENT_KEY, EMIT_FULL_KEY, V> emitter) {
-    this.emitter = emitter;
+    if (groupSizeController != null) {
+      // Observe the emit latency to tune the group size
+      emitter = groupSizeController.measure(emitter);
+    }
+    this.emitter = instrument(emitter);
+  }
+
+  // Returns an emitter that records the metrics of each emit of the specified emitter.
+  private Emittable<EMIT_PARENT_KEY, EMIT_FULL_KEY, V> instrument(
+      Emittable<EMIT_PARENT_KEY, EMIT_FULL_KEY, V> emitter) {
+    return new Emittable<EMIT_PARENT_KEY, EMIT_FULL_KEY, V>() {
+      @Override
+      public void emitNormalGroup(EMIT_PARENT_KEY parentKey, List<V> values) throws Exception {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+          emitter.emitNormalGroup(parentKey, values);
+          succeeded = true;
+        } finally {
+          metricsRecorder.recordNormalGroupEmit(
+              values.size(), System.nanoTime() - start, succeeded);
+        }
+      }
+
+      @Override
+      public void emitDelayedGroup(EMIT_FULL_KEY fullKey, V value) throws Exception {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+          emitter.emitDelayedGroup(fullKey, value);
+          succeeded = true;
+        } finally {
+          metricsRecorder.recordDelayedGroupEmit(System.nanoTime() - start, succeeded);
+        }
+      }
+    };
+  }
+
+  void setMetricsRecorder(GroupCommitMetricsRecorder metricsRecorder) {
+    this.metricsRecorder = checkNotNull(metricsRecorder);
+  }
+
+  void recordSlotWait(long waitNanos) {
+    metricsRecorder.recordSlotWait(waitNanos);
+  }
+
+  void recordConflict() {
+    metricsRecorder.recordConflict();
+  }
+
+  void recordOldGroupAbort(int slotCount) {
+    metricsRecorder.recordOldGroupAbort(slotCount);
   }
 
   int sizeOfNormalGroupMap() {
@@ -0,0 +1,167 @@
+package com.scalar.db.util.groupcommit;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.annotation.concurrent.ThreadSafe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// A controller that tunes the capacity and the size-fix timeout of new NormalGroups from the
+// observed arrival rate of slots and the observed emit latency, within the configured bounds.
+//
+// The number of slots expected to arrive while a group is being emitted is `arrival rate * emit
+// latency` (Little's law). Grouping that many slots keeps the emits at about one per emit latency:
+// - At low traffic, fewer than one peer is expected, so a group is size-fixed with the minimum
+//   capacity and timeout instead of waiting for peers that never arrive.
+// - At peak traffic, the capacity grows up to the maximum so that fewer emits are needed.
+// The timeout is the expected time to fill the capacity, but never longer than an emit, since
+// waiting longer than that costs more than emitting another group.
+@ThreadSafe
+class GroupSizeController {
+  private static final Logger logger = LoggerFactory.getLogger(GroupSizeController.class);
+
+  // The time constant of the exponentially weighted moving average of the arrival rate. A change
+  // of the load is reflected by 63% after this time.
+  private static final long ARRIVAL_RATE_TIME_CONSTANT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  // The weight of a new sample in the moving average of the emit latency.
+  private static final double EMIT_LATENCY_SMOOTHING_FACTOR = 0.2;
+  // The arrival rate is re-estimated at most once in this interval to keep the overhead low.
+  private static final long MIN_UPDATE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final int minSlotCapacity;
+  private final int maxSlotCapacity;
+  private final int minGroupSizeFixTimeoutMillis;
+  private final int maxGroupSizeFixTimeoutMillis;
+  private final LongSupplier nanoClock;
+  private final LongAdder arrivals = new LongAdder();
+
+  // Guarded by `this`.
+  private long lastUpdateAtNanos;
+  private double arrivalsPerMillis;
+  private double emitLatencyMillis = Double.NaN;
+
+  private volatile int slotCapacity;
+  private volatile int groupSizeFixTimeoutMillis;
+
+  GroupSizeController(GroupCommitConfig config) {
+    this(config, System::nanoTime);
+  }
+
+  @VisibleForTesting
+  GroupSizeController(GroupCommitConfig config, LongSupplier nanoClock) {
+    this.minSlotCapacity = config.minSlotCapacity();
+    this.maxSlotCapacity = config.slotCapacity();
+    this.minGroupSizeFixTimeoutMillis = config.minGroupSizeFixTimeoutMillis();
+    this.maxGroupSizeFixTimeoutMillis = config.groupSizeFixTimeoutMillis();
+    this.nanoClock = nanoClock;
+    this.lastUpdateAtNanos = nanoClock.getAsLong();
+    this.slotCapacity = minSlotCapacity;
+    this.groupSizeFixTimeoutMillis = minGroupSizeFixTimeoutMillis;
+  }
+
+  // Records an arrival of a slot. This is called for every slot reservation, so it must be cheap.
+  void recordArrival() {
+    arrivals.increment();
+  }
+
+  synchronized void recordEmitLatency(long latencyNanos) {
+    double latencyMillis = latencyNanos / 1_000_000.0;
+    if (Double.isNaN(emitLatencyMillis)) {
+      emitLatencyMillis = latencyMillis;
+    } else {
+      emitLatencyMillis += EMIT_LATENCY_SMOOTHING_FACTOR * (latencyMillis - emitLatencyMillis);
+    }
+  }
+
+  // Re-estimates the load and updates the capacity and the size-fix timeout for new groups.
+  synchronized void update() {
+    long now = nanoClock.getAsLong();
+    long elapsedNanos = now - lastUpdateAtNanos;
+    if (elapsedNanos < MIN_UPDATE_INTERVAL_NANOS) {
+      return;
+    }
+    lastUpdateAtNanos = now;
+
+    double currentArrivalsPerMillis = arrivals.sumThenReset() / (elapsedNanos / 1_000_000.0);
+    double weight = 1 - Math.exp(-(double) elapsedNanos / ARRIVAL_RATE_TIME_CONSTANT_NANOS);
+    arrivalsPerMillis += weight * (currentArrivalsPerMillis - arrivalsPerMillis);
+
+    if (Double.isNaN(emitLatencyMillis)) {
+      // No group is emitted yet. Emit with the minimum size to observe the latency first.
+      return;
+    }
+
+    double expectedPeers = arrivalsPerMillis * emitLatencyMillis;
+    int newSlotCapacity = clamp((int) Math.ceil(expectedPeers), minSlotCapacity, maxSlotCapacity);
+    int newGroupSizeFixTimeoutMillis;
+    if (expectedPeers < 1) {
+      newGroupSizeFixTimeoutMillis = minGroupSizeFixTimeoutMillis;
+    } else {
+      double fillTimeMillis = newSlotCapacity / arrivalsPerMillis;
+      newGroupSizeFixTimeoutMillis =
+          clamp(
+              (int) Math.ceil(Math.min(fillTimeMillis, emitLatencyMillis)),
+              minGroupSizeFixTimeoutMillis,
+              maxGroupSizeFixTimeoutMillis);
+    }
+
+    if (newSlotCapacity != slotCapacity
+        || newGroupSizeFixTimeoutMillis != groupSizeFixTimeoutMillis) {
+      slotCapacity = newSlotCapacity;
+      groupSizeFixTimeoutMillis = newGroupSizeFixTimeoutMillis;
+      logger.debug("Updated the group size. Controller: {}", this);
+    }
+  }
+
+  private static int clamp(int value, int min, int max) {
+    return Math.max(min, Math.min(max, value));
+  }
+
+  int slotCapacity() {
+    return slotCapacity;
+  }
+
+  int groupSizeFixTimeoutMillis() {
+    return groupSizeFixTimeoutMillis;
+  }
+
+  // Returns an emitter that records the latency of each emit of the specified emitter.
+  <EMIT_PARENT_KEY, EMIT_FULL_KEY, V> Emittable<EMIT_PARENT_KEY, EMIT_FULL_KEY, V> measure(
+      Emittable<EMIT_PARENT_KEY, EMIT_FULL_KEY, V> emitter) {
+    return new Emittable<EMIT_PARENT_KEY, EMIT_FULL_KEY, V>() {
+      @Override
+      public void emitNormalGroup(EMIT_PARENT_KEY parentKey, List<V> values) throws Exception {
+        long start = nanoClock.getAsLong();
+        try {
+          emitter.emitNormalGroup(parentKey, values);
+        } finally {
+          recordEmitLatency(nanoClock.getAsLong() - start);
+        }
+      }
+
+      @Override
+      public void emitDelayedGroup(EMIT_FULL_KEY fullKey, V value) throws Exception {
+        long start = nanoClock.getAsLong();
+        try {
+          emitter.emitDelayedGroup(fullKey, value);
+        } finally {
+          recordEmitLatency(nanoClock.getAsLong() - start);
+        }
+      }
+    };
+  }
+
+  @Override
+  public synchronized String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("slotCapacity", slotCapacity)
+        .add("groupSizeFixTimeoutMillis", groupSizeFixTimeoutMillis)
+        .add("arrivalsPerMillis", arrivalsPerMillis)
+        .add("emitLatencyMillis", emitLatencyMillis)
+        .toString();
+  }
+}
@@ -0,0 +1,152 @@
+package com.scalar.db.util.groupcommit;
+
+import com.google.common.base.MoreObjects;
+import com.scalar.db.util.Histogram;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link GroupCommitMetricsRecorder} that aggregates the metrics of group commit into histograms
+ * and counters. The latencies are aggregated in microseconds.
+ *
+ * <p>Recording doesn't allocate objects or take locks, so it can be enabled in production.
+ */
+@ThreadSafe
+public class HistogramGroupCommitMetricsRecorder implements GroupCommitMetricsRecorder {
+  private final Histogram normalGroupSizes = new Histogram();
+  private final Histogram normalGroupEmitLatencies = new Histogram();
+  private final LongAdder normalGroupEmitFailureCount = new LongAdder();
+  private final Histogram delayedGroupEmitLatencies = new Histogram();
+  private final LongAdder delayedGroupEmitFailureCount = new LongAdder();
+  private final Histogram slotWaitTimes = new Histogram();
+  private final LongAdder delayedSlotMoveCount = new LongAdder();
+  private final LongAdder conflictCount = new LongAdder();
+  private final LongAdder oldGroupAbortCount = new LongAdder();
+  private final LongAdder abortedSlotCount = new LongAdder();
+  @Nullable private volatile Supplier<GroupCommitMetrics> gauges;
+
+  @Override
+  public void registerGauges(Supplier<GroupCommitMetrics> metricsSupplier) {
+    gauges = metricsSupplier;
+  }
+
+  @Override
+  public void recordNormalGroupEmit(int groupSize, long latencyNanos, boolean succeeded) {
+    normalGroupSizes.record(groupSize);
+    normalGroupEmitLatencies.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    if (!succeeded) {
+      normalGroupEmitFailureCount.increment();
+    }
+  }
+
+  @Override
+  public void recordDelayedGroupEmit(long latencyNanos, boolean succeeded) {
+    delayedGroupEmitLatencies.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    if (!succeeded) {
+      delayedGroupEmitFailureCount.increment();
+    }
+  }
+
+  @Override
+  public void recordSlotWait(long waitNanos) {
+    slotWaitTimes.record(TimeUnit.NANOSECONDS.toMicros(waitNanos));
+  }
+
+  @Override
+  public void recordDelayedSlotMove() {
+    delayedSlotMoveCount.increment();
+  }
+
+  @Override
+  public void recordConflict() {
+    conflictCount.increment();
+  }
+
+  @Override
+  public void recordOldGroupAbort(int slotCount) {
+    oldGroupAbortCount.increment();
+    abortedSlotCount.add(slotCount);
+  }
+
+  /** @return the histogram of the numbers of the slots emitted together in normal groups */
+  public Histogram getNormalGroupSizes() {
+    return normalGroupSizes;
+  }
+
+  /** @return the histogram of the emit latencies of normal groups in microseconds */
+  public Histogram getNormalGroupEmitLatencyMicros() {
+    return normalGroupEmitLatencies;
+  }
+
+  /** @return the number of the failed emits of normal groups */
+  public long getNormalGroupEmitFailureCount() {
+    return normalGroupEmitFailureCount.sum();
+  }
+
+  /** @return the histogram of the emit latencies of delayed groups in microseconds */
+  public Histogram getDelayedGroupEmitLatencyMicros() {
+    return delayedGroupEmitLatencies;
+  }
+
+  /** @return the number of the failed emits of delayed groups */
+  public long getDelayedGroupEmitFailureCount() {
+    return delayedGroupEmitFailureCount.sum();
+  }
+
+  /** @return the histogram of the times clients waited for their slots in microseconds */
+  public Histogram getSlotWaitMicros() {
+    return slotWaitTimes;
+  }
+
+  /** @return the number of the slots moved from normal groups to delayed groups */
+  public long getDelayedSlotMoveCount() {
+    return delayedSlotMoveCount.sum();
+  }
+
+  /** @return the number of the values set to slots that had already been removed */
+  public long getConflictCount() {
+    return conflictCount.sum();
+  }
+
+  /** @return the number of the groups aborted because they weren't done before the timeout */
+  public long getOldGroupAbortCount() {
+    return oldGroupAbortCount.sum();
+  }
+
+  /** @return the number of the slots aborted with the old groups */
+  public long getAbortedSlotCount() {
+    return abortedSlotCount.sum();
+  }
+
+  /**
+   * Returns the current sizes of the queues and the group maps of the group committer that this
+   * recorder is set to.
+   *
+   * @return the current sizes, or empty if this recorder isn't set to a group committer yet
+   */
+  public Optional<GroupCommitMetrics> getCurrentSizes() {
+    Supplier<GroupCommitMetrics> gauges = this.gauges;
+    return gauges == null ? Optional.empty() : Optional.of(gauges.get());
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("normalGroupSize", normalGroupSizes)
+        .add("normalGroupEmit", normalGroupEmitLatencies)
+        .add("normalGroupEmit.failed", getNormalGroupEmitFailureCount())
+        .add("delayedGroupEmit", delayedGroupEmitLatencies)
+        .add("delayedGroupEmit.failed", getDelayedGroupEmitFailureCount())
+        .add("slotWait", slotWaitTimes)
+        .add("delayedSlotMoves", getDelayedSlotMoveCount())
+        .add("conflicts", getConflictCount())
+        .add("oldGroupAborts", getOldGroupAbortCount())
+        .add("abortedSlots", getAbortedSlotCount())
+        .add("currentSizes", getCurrentSizes().orElse(null))
+        .toString();
+  }
+}
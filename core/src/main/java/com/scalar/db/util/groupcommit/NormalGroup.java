@@ -29,10 +29,26 @@ class NormalGroup<PARENT_KEY, CHILD_KEY, FULL_KEY, EMIT_PARENT_KEY, EMIT_FULL_KE
       Emittable<EMIT_PARENT_KEY, EMIT_FULL_KEY, V> emitter,
       GroupCommitKeyManipulator<PARENT_KEY, CHILD_KEY, FULL_KEY, EMIT_PARENT_KEY, EMIT_FULL_KEY>
           keyManipulator) {
-    super(emitter, keyManipulator, config.slotCapacity(), config.oldGroupAbortTimeoutMillis());
+    this(
+        config,
+        config.slotCapacity(),
+        config.groupSizeFixTimeoutMillis(),
+        emitter,
+        keyManipulator);
+  }
+
+  // The capacity and the size-fix timeout can be different from the configured ones when the
+  // adaptive sizing is enabled.
+  NormalGroup(
+      GroupCommitConfig config,
+      int slotCapacity,
+      int groupSizeFixTimeoutMillis,
+      Emittable<EMIT_PARENT_KEY, EMIT_FULL_KEY, V> emitter,
+      GroupCommitKeyManipulator<PARENT_KEY, CHILD_KEY, FULL_KEY, EMIT_PARENT_KEY, EMIT_FULL_KEY>
+          keyManipulator) {
+    super(emitter, keyManipulator, slotCapacity, config.oldGroupAbortTimeoutMillis());
     this.delayedSlotMoveTimeoutMillis = config.delayedSlotMoveTimeoutMillis();
-    this.groupSizeFixTimeoutAtMillis =
-        System.currentTimeMillis() + config.groupSizeFixTimeoutMillis();
+    this.groupSizeFixTimeoutAtMillis = System.currentTimeMillis() + groupSizeFixTimeoutMillis;
     updateDelayedSlotMoveTimeoutAt();
     this.parentKey = keyManipulator.generateParentKey();
   }
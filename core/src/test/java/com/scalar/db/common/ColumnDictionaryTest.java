@@ -0,0 +1,77 @@
+package com.scalar.db.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.scalar.db.api.TableMetadata;
+import com.scalar.db.io.DataType;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ColumnDictionaryTest {
+
+  private static final String ANY_NAME_1 = "name1";
+  private static final String ANY_NAME_2 = "name2";
+  private static final String ANY_COLUMN_NAME_1 = "col1";
+  private static final String ANY_COLUMN_NAME_2 = "col2";
+
+  private static final TableMetadata TABLE_METADATA =
+      TableMetadata.newBuilder()
+          .addColumn(ANY_NAME_1, DataType.TEXT)
+          .addColumn(ANY_NAME_2, DataType.INT)
+          .addColumn(ANY_COLUMN_NAME_1, DataType.BLOB)
+          .addColumn(ANY_COLUMN_NAME_2, DataType.BIGINT)
+          .addPartitionKey(ANY_NAME_1)
+          .addClusteringKey(ANY_NAME_2)
+          .build();
+
+  @Test
+  public void of_SameTableMetadataGiven_ShouldReturnSharedDictionary() {
+    // Arrange
+
+    // Act
+    ColumnDictionary dictionary1 = ColumnDictionary.of(TABLE_METADATA);
+    ColumnDictionary dictionary2 = ColumnDictionary.of(TABLE_METADATA);
+
+    // Assert
+    assertThat(dictionary1).isSameAs(dictionary2);
+    assertThat(dictionary1.getColumnNames()).isEqualTo(TABLE_METADATA.getColumnNames());
+    assertThat(dictionary1.indexOf(ANY_COLUMN_NAME_1)).isEqualTo(2);
+    assertThat(dictionary1.getDataType(2)).isEqualTo(DataType.BLOB);
+    assertThat(dictionary1.indexOf("unknown")).isEqualTo(-1);
+    assertThat(dictionary1.getPrimitiveSlotCount()).isEqualTo(2);
+    assertThat(dictionary1.getObjectSlotCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void of_ProjectionsGiven_ShouldReturnDictionaryOnlyWithProjectedColumns() {
+    // Arrange
+
+    // Act
+    ColumnDictionary dictionary =
+        ColumnDictionary.of(TABLE_METADATA, Arrays.asList(ANY_COLUMN_NAME_2, ANY_NAME_1));
+
+    // Assert
+    assertThat(dictionary.getColumnNames()).containsExactly(ANY_COLUMN_NAME_2, ANY_NAME_1);
+    assertThat(dictionary.getPrimitiveSlotCount()).isEqualTo(1);
+    assertThat(dictionary.getObjectSlotCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void project_SameProjectionsGivenTwice_ShouldReuseProjectedDictionary() {
+    // Arrange
+    ColumnDictionary dictionary = ColumnDictionary.of(TABLE_METADATA);
+    List<String> projections = Arrays.asList(ANY_COLUMN_NAME_2, ANY_NAME_1);
+
+    // Act
+    ColumnDictionary projected1 = dictionary.project(projections);
+    ColumnDictionary projected2 = dictionary.project(Arrays.asList(ANY_COLUMN_NAME_2, ANY_NAME_1));
+
+    // Assert
+    assertThat(projected1).isSameAs(projected2);
+    assertThat(projected1.getColumnNames()).containsExactly(ANY_NAME_1, ANY_COLUMN_NAME_2);
+    // The projected dictionary shares the slots with the original one
+    assertThat(projected1.getSlot(1)).isEqualTo(dictionary.getSlot(3));
+    assertThat(projected1.getPrimitiveSlotCount()).isEqualTo(dictionary.getPrimitiveSlotCount());
+  }
+}
@@ -0,0 +1,157 @@
+package com.scalar.db.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.scalar.db.api.TableMetadata;
+import com.scalar.db.io.BlobColumn;
+import com.scalar.db.io.BooleanColumn;
+import com.scalar.db.io.Column;
+import com.scalar.db.io.DataType;
+import com.scalar.db.io.DateColumn;
+import com.scalar.db.io.DoubleColumn;
+import com.scalar.db.io.FloatColumn;
+import com.scalar.db.io.IntColumn;
+import com.scalar.db.io.TextColumn;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class CompactResultTest {
+
+  private static final String ANY_NAME_1 = "name1";
+  private static final String ANY_NAME_2 = "name2";
+  private static final String ANY_TEXT_1 = "text1";
+  private static final String ANY_COLUMN_NAME_1 = "col1";
+  private static final String ANY_COLUMN_NAME_2 = "col2";
+  private static final String ANY_COLUMN_NAME_3 = "col3";
+  private static final String ANY_COLUMN_NAME_4 = "col4";
+  private static final String ANY_COLUMN_NAME_5 = "col5";
+  private static final String ANY_COLUMN_NAME_6 = "col6";
+  private static final byte[] ANY_BYTES = "bytes".getBytes(StandardCharsets.UTF_8);
+  private static final LocalDate ANY_DATE = DateColumn.MAX_VALUE;
+
+  private static final TableMetadata TABLE_METADATA =
+      TableMetadata.newBuilder()
+          .addColumn(ANY_NAME_1, DataType.TEXT)
+          .addColumn(ANY_NAME_2, DataType.TEXT)
+          .addColumn(ANY_COLUMN_NAME_1, DataType.BOOLEAN)
+          .addColumn(ANY_COLUMN_NAME_2, DataType.INT)
+          .addColumn(ANY_COLUMN_NAME_3, DataType.FLOAT)
+          .addColumn(ANY_COLUMN_NAME_4, DataType.DOUBLE)
+          .addColumn(ANY_COLUMN_NAME_5, DataType.BLOB)
+          .addColumn(ANY_COLUMN_NAME_6, DataType.DATE)
+          .addPartitionKey(ANY_NAME_1)
+          .addClusteringKey(ANY_NAME_2)
+          .build();
+
+  private CompactResult newResult() {
+    ColumnDictionary dictionary = ColumnDictionary.of(TABLE_METADATA);
+    return CompactResult.newBuilder(dictionary)
+        .textValue(dictionary.indexOf(ANY_NAME_1), ANY_TEXT_1)
+        .nullValue(dictionary.indexOf(ANY_NAME_2))
+        .booleanValue(dictionary.indexOf(ANY_COLUMN_NAME_1), true)
+        .nullValue(dictionary.indexOf(ANY_COLUMN_NAME_2))
+        .floatValue(dictionary.indexOf(ANY_COLUMN_NAME_3), -Float.MAX_VALUE)
+        .doubleValue(dictionary.indexOf(ANY_COLUMN_NAME_4), Double.MIN_VALUE)
+        .blobValue(dictionary.indexOf(ANY_COLUMN_NAME_5), ANY_BYTES.clone())
+        .dateValue(dictionary.indexOf(ANY_COLUMN_NAME_6), ANY_DATE)
+        .build();
+  }
+
+  @Test
+  public void getters_ShouldReturnValuesSetWithBuilder() {
+    // Arrange
+    CompactResult result = newResult();
+
+    // Act Assert
+    assertThat(result.getContainedColumnNames()).isEqualTo(TABLE_METADATA.getColumnNames());
+    assertThat(result.getText(ANY_NAME_1)).isEqualTo(ANY_TEXT_1);
+    assertThat(result.isNull(ANY_NAME_2)).isTrue();
+    assertThat(result.getText(ANY_NAME_2)).isNull();
+    assertThat(result.isNull(ANY_COLUMN_NAME_1)).isFalse();
+    assertThat(result.getBoolean(ANY_COLUMN_NAME_1)).isTrue();
+    assertThat(result.isNull(ANY_COLUMN_NAME_2)).isTrue();
+    assertThat(result.getInt(ANY_COLUMN_NAME_2)).isEqualTo(0);
+    assertThat(result.getAsObject(ANY_COLUMN_NAME_2)).isNull();
+    assertThat(result.getFloat(ANY_COLUMN_NAME_3)).isEqualTo(-Float.MAX_VALUE);
+    assertThat(result.getDouble(ANY_COLUMN_NAME_4)).isEqualTo(Double.MIN_VALUE);
+    assertThat(result.getBlobAsBytes(ANY_COLUMN_NAME_5)).isEqualTo(ANY_BYTES);
+    assertThat(result.getBlobAsByteBuffer(ANY_COLUMN_NAME_5)).isEqualTo(ByteBuffer.wrap(ANY_BYTES));
+    assertThat(result.getAsObject(ANY_COLUMN_NAME_5)).isEqualTo(ByteBuffer.wrap(ANY_BYTES));
+    assertThat(result.getDate(ANY_COLUMN_NAME_6)).isEqualTo(ANY_DATE);
+  }
+
+  @Test
+  public void getters_WrongTypeOrUnknownColumnGiven_ShouldThrowException() {
+    // Arrange
+    CompactResult result = newResult();
+
+    // Act Assert
+    assertThatThrownBy(() -> result.getInt(ANY_COLUMN_NAME_1))
+        .isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> result.getText(ANY_COLUMN_NAME_5))
+        .isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> result.getText("unknown"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void getColumns_ShouldReturnColumnsMadeFromValues() {
+    // Arrange
+    CompactResult result = newResult();
+
+    // Act
+    Map<String, Column<?>> columns = result.getColumns();
+
+    // Assert
+    assertThat(columns)
+        .containsOnly(
+            entry(ANY_NAME_1, TextColumn.of(ANY_NAME_1, ANY_TEXT_1)),
+            entry(ANY_NAME_2, TextColumn.ofNull(ANY_NAME_2)),
+            entry(ANY_COLUMN_NAME_1, BooleanColumn.of(ANY_COLUMN_NAME_1, true)),
+            entry(ANY_COLUMN_NAME_2, IntColumn.ofNull(ANY_COLUMN_NAME_2)),
+            entry(ANY_COLUMN_NAME_3, FloatColumn.of(ANY_COLUMN_NAME_3, -Float.MAX_VALUE)),
+            entry(ANY_COLUMN_NAME_4, DoubleColumn.of(ANY_COLUMN_NAME_4, Double.MIN_VALUE)),
+            entry(ANY_COLUMN_NAME_5, BlobColumn.of(ANY_COLUMN_NAME_5, ANY_BYTES)),
+            entry(ANY_COLUMN_NAME_6, DateColumn.of(ANY_COLUMN_NAME_6, ANY_DATE)));
+    assertThatThrownBy(() -> columns.remove(ANY_NAME_1))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  public void project_ShouldReturnResultOnlyWithProjectedColumns() {
+    // Arrange
+    CompactResult result = newResult();
+
+    // Act
+    CompactResult projected =
+        result.project(Arrays.asList(ANY_COLUMN_NAME_2, ANY_NAME_1, ANY_COLUMN_NAME_3));
+
+    // Assert
+    assertThat(projected.getContainedColumnNames())
+        .containsExactly(ANY_NAME_1, ANY_COLUMN_NAME_2, ANY_COLUMN_NAME_3);
+    assertThat(projected.getText(ANY_NAME_1)).isEqualTo(ANY_TEXT_1);
+    assertThat(projected.isNull(ANY_COLUMN_NAME_2)).isTrue();
+    assertThat(projected.getFloat(ANY_COLUMN_NAME_3)).isEqualTo(-Float.MAX_VALUE);
+    assertThat(projected.contains(ANY_COLUMN_NAME_1)).isFalse();
+    assertThat(result.project(Collections.emptyList())).isSameAs(result);
+  }
+
+  @Test
+  public void equals_ResultImplWithSameColumnsGiven_ShouldReturnTrue() {
+    // Arrange
+    CompactResult result = newResult();
+    ResultImpl other = new ResultImpl(result.getColumns(), TABLE_METADATA);
+
+    // Act Assert
+    assertThat(result).isEqualTo(other);
+    assertThat(other).isEqualTo(result);
+    assertThat(result.hashCode()).isEqualTo(other.hashCode());
+  }
+}
@@ -0,0 +1,179 @@
+package com.scalar.db.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+public class PrefetchingPageIteratorTest {
+
+  private ExecutorService executorService;
+
+  @BeforeEach
+  public void setUp() {
+    executorService = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Test
+  public void next_ShouldReturnPagesInOrder() {
+    // Arrange
+    List<List<Integer>> pages =
+        Arrays.asList(Arrays.asList(1, 2), Collections.singletonList(3), Arrays.asList(4, 5));
+    PrefetchingPageIterator<List<Integer>> iterator =
+        new PrefetchingPageIterator<>(pages.iterator(), List::size, 2, 100, executorService);
+
+    // Act
+    List<List<Integer>> actual = new ArrayList<>();
+    iterator.forEachRemaining(actual::add);
+
+    // Assert
+    assertThat(actual).isEqualTo(pages);
+    assertThat(iterator.hasNext()).isFalse();
+    assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  public void next_PagesExceedingBoundsGiven_ShouldFetchOnlyUpToBoundsAhead() throws Exception {
+    // Arrange
+    AtomicInteger fetched = new AtomicInteger();
+    CountDownLatch firstTwoFetched = new CountDownLatch(2);
+    Iterator<List<Integer>> pages =
+        new Iterator<List<Integer>>() {
+          @Override
+          public boolean hasNext() {
+            return fetched.get() < 10;
+          }
+
+          @Override
+          public List<Integer> next() {
+            fetched.incrementAndGet();
+            firstTwoFetched.countDown();
+            return Arrays.asList(1, 2, 3);
+          }
+        };
+
+    // Act
+    PrefetchingPageIterator<List<Integer>> iterator =
+        new PrefetchingPageIterator<>(pages, List::size, 5, 3, executorService);
+
+    // Assert
+    // One page fits the record bound, and the next one is fetched and waits for room
+    assertThat(firstTwoFetched.await(10, TimeUnit.SECONDS)).isTrue();
+    TimeUnit.MILLISECONDS.sleep(100);
+    assertThat(fetched.get()).isEqualTo(2);
+
+    iterator.next();
+    assertThat(iterator.next()).containsExactly(1, 2, 3);
+    iterator.close();
+  }
+
+  @Test
+  public void hasNext_ExceptionThrownByPages_ShouldRethrowItAfterPrecedingPages() {
+    // Arrange
+    RuntimeException exception = new RuntimeException();
+    Iterator<List<Integer>> pages =
+        new Iterator<List<Integer>>() {
+          private int count;
+
+          @Override
+          public boolean hasNext() {
+            return true;
+          }
+
+          @Override
+          public List<Integer> next() {
+            if (count++ == 0) {
+              return Collections.singletonList(1);
+            }
+            throw exception;
+          }
+        };
+    PrefetchingPageIterator<List<Integer>> iterator =
+        new PrefetchingPageIterator<>(pages, List::size, 2, 100, executorService);
+
+    // Act Assert
+    assertThat(iterator.next()).containsExactly(1);
+    assertThatThrownBy(iterator::hasNext).isEqualTo(exception);
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  @Timeout(10)
+  public void hasNext_ErrorThrownByPages_ShouldRethrowItWrappedInRuntimeException() {
+    // Arrange
+    AssertionError error = new AssertionError();
+    Iterator<List<Integer>> pages =
+        new Iterator<List<Integer>>() {
+          @Override
+          public boolean hasNext() {
+            return true;
+          }
+
+          @Override
+          public List<Integer> next() {
+            throw error;
+          }
+        };
+    PrefetchingPageIterator<List<Integer>> iterator =
+        new PrefetchingPageIterator<>(pages, List::size, 2, 100, executorService);
+
+    // Act Assert
+    assertThatThrownBy(iterator::hasNext).isInstanceOf(RuntimeException.class).hasCause(error);
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  public void close_WhileFetching_ShouldInterruptFetchAndStopIteration() throws Exception {
+    // Arrange
+    CountDownLatch fetchStarted = new CountDownLatch(1);
+    CountDownLatch fetchInterrupted = new CountDownLatch(1);
+    Iterator<List<Integer>> pages =
+        new Iterator<List<Integer>>() {
+          @Override
+          public boolean hasNext() {
+            return true;
+          }
+
+          @Override
+          public List<Integer> next() {
+            fetchStarted.countDown();
+            try {
+              TimeUnit.MINUTES.sleep(1);
+            } catch (InterruptedException e) {
+              fetchInterrupted.countDown();
+              Thread.currentThread().interrupt();
+            }
+            return Collections.singletonList(1);
+          }
+        };
+    PrefetchingPageIterator<List<Integer>> iterator =
+        new PrefetchingPageIterator<>(pages, List::size, 2, 100, executorService);
+    assertThat(fetchStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+    // Act
+    iterator.close();
+
+    // Assert
+    assertThat(fetchInterrupted.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(iterator.hasNext()).isFalse();
+  }
+}
@@ -40,5 +40,40 @@ public class CassandraConfigTest {
     // Assert
     assertThat(config.getMetadataKeyspace())
         .isEqualTo(DatabaseConfig.DEFAULT_SYSTEM_NAMESPACE_NAME);
+    assertThat(config.getScanFetchSize()).isEqualTo(CassandraConfig.DEFAULT_SCAN_FETCH_SIZE);
+    assertThat(config.isScanPrefetchEnabled()).isFalse();
+    assertThat(config.getStatementCacheSize())
+        .isEqualTo(CassandraConfig.DEFAULT_STATEMENT_CACHE_SIZE);
+    assertThat(config.isStatementCachePrewarmEnabled()).isFalse();
+  }
+
+  @Test
+  public void constructor_StatementCachePropertiesGiven_ShouldLoadProperly() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(CassandraConfig.STATEMENT_CACHE_SIZE, "4096");
+    props.setProperty(CassandraConfig.STATEMENT_CACHE_PREWARM, "true");
+
+    // Act
+    CassandraConfig config = new CassandraConfig(new DatabaseConfig(props));
+
+    // Assert
+    assertThat(config.getStatementCacheSize()).isEqualTo(4096);
+    assertThat(config.isStatementCachePrewarmEnabled()).isTrue();
+  }
+
+  @Test
+  public void constructor_ScanPropertiesGiven_ShouldLoadProperly() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(CassandraConfig.SCAN_FETCH_SIZE, "1000");
+    props.setProperty(CassandraConfig.SCAN_PREFETCH, "true");
+
+    // Act
+    CassandraConfig config = new CassandraConfig(new DatabaseConfig(props));
+
+    // Assert
+    assertThat(config.getScanFetchSize()).isEqualTo(1000);
+    assertThat(config.isScanPrefetchEnabled()).isTrue();
   }
 }
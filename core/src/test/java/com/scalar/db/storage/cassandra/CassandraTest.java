@@ -1,16 +1,25 @@
 package com.scalar.db.storage.cassandra;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Session;
+import com.google.common.collect.ImmutableSet;
 import com.scalar.db.api.ConditionBuilder;
 import com.scalar.db.api.ConditionalExpression;
+import com.scalar.db.api.Delete;
 import com.scalar.db.api.Get;
+import com.scalar.db.api.Put;
 import com.scalar.db.api.Result;
 import com.scalar.db.api.Scan;
 import com.scalar.db.api.Scanner;
@@ -20,9 +29,13 @@ import com.scalar.db.common.TableMetadataManager;
 import com.scalar.db.common.checker.OperationChecker;
 import com.scalar.db.config.DatabaseConfig;
 import com.scalar.db.exception.storage.ExecutionException;
+import com.scalar.db.io.DataType;
 import com.scalar.db.io.Key;
+import com.scalar.db.io.TextColumn;
+import com.scalar.db.util.CompletableFutures;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -236,4 +249,123 @@ public class CassandraTest {
     Scan actualScan = captor.getValue();
     assertThat(actualScan.getProjections()).containsExactlyInAnyOrder("col1", "col2");
   }
+
+  @Test
+  public void getAsync_WithoutConjunction_ShouldHandledAsynchronously() throws Exception {
+    // Arrange
+    Get get =
+        Get.newBuilder()
+            .namespace("ns")
+            .table("tbl")
+            .partitionKey(partitionKey)
+            .projection("col1")
+            .build();
+    when(handlers.select()).thenReturn(handler);
+    when(handler.handleAsync(any(Get.class)))
+        .thenReturn(CompletableFuture.completedFuture(resultSet));
+    when(metadataManager.getTableMetadata(any(Get.class))).thenReturn(tableMetadata);
+
+    // Act
+    Optional<Result> actual = cassandra.getAsync(get).get();
+
+    // Assert
+    assertThat(actual.isPresent()).isFalse();
+    verify(handler).handleAsync(get);
+    verify(handler, never()).handle(any());
+  }
+
+  @Test
+  public void getAsync_HandlerFailed_ShouldReturnFailedFuture() throws Exception {
+    // Arrange
+    Get get =
+        Get.newBuilder()
+            .namespace("ns")
+            .table("tbl")
+            .partitionKey(partitionKey)
+            .projection("col1")
+            .build();
+    ExecutionException exception = new ExecutionException("error");
+    when(handlers.select()).thenReturn(handler);
+    when(handler.handleAsync(any(Get.class)))
+        .thenReturn(CompletableFutures.failedFuture(exception));
+    when(metadataManager.getTableMetadata(any(Get.class))).thenReturn(tableMetadata);
+
+    // Act
+    CompletableFuture<Optional<Result>> future = cassandra.getAsync(get);
+
+    // Assert
+    assertThatThrownBy(future::get)
+        .isInstanceOf(java.util.concurrent.ExecutionException.class)
+        .hasCause(exception);
+  }
+
+  @Test
+  public void putAsync_ShouldHandledAsynchronously() throws Exception {
+    // Arrange
+    Put put =
+        Put.newBuilder()
+            .namespace("ns")
+            .table("tbl")
+            .partitionKey(partitionKey)
+            .intValue("col1", 1)
+            .build();
+    InsertStatementHandler insertHandler = mock(InsertStatementHandler.class);
+    when(handlers.get(any(Put.class))).thenReturn(insertHandler);
+    when(insertHandler.handleAsync(any(Put.class)))
+        .thenReturn(CompletableFuture.completedFuture(resultSet));
+
+    // Act
+    cassandra.putAsync(put).get();
+
+    // Assert
+    verify(operationChecker).check(put);
+    verify(insertHandler).handleAsync(put);
+    verify(insertHandler, never()).handle(any());
+  }
+
+  @Test
+  public void prewarmStatementCache_ShouldPrepareStatementsForAllTables() throws Exception {
+    // Arrange
+    CassandraAdmin admin = mock(CassandraAdmin.class);
+    DeleteStatementHandler deleteHandler = mock(DeleteStatementHandler.class);
+    when(handlers.select()).thenReturn(handler);
+    when(handlers.delete()).thenReturn(deleteHandler);
+    when(admin.getNamespaceNames()).thenReturn(ImmutableSet.of("ns"));
+    when(admin.getNamespaceTableNames("ns")).thenReturn(ImmutableSet.of("tbl1", "tbl2"));
+    when(admin.getTableMetadata(eq("ns"), anyString()))
+        .thenReturn(
+            TableMetadata.newBuilder()
+                .addColumn("p", DataType.INT)
+                .addColumn("c", DataType.TEXT)
+                .addColumn("v", DataType.INT)
+                .addPartitionKey("p")
+                .addClusteringKey("c")
+                .build());
+
+    // Act
+    cassandra.prewarmStatementCache(admin);
+
+    // Assert
+    verify(handler, times(2)).prepare(any(Get.class));
+    verify(handler)
+        .prepare(
+            Get.newBuilder()
+                .namespace("ns")
+                .table("tbl1")
+                .partitionKey(Key.newBuilder().add(TextColumn.ofNull("p")).build())
+                .clusteringKey(Key.newBuilder().add(TextColumn.ofNull("c")).build())
+                .build());
+    verify(handler, times(2)).prepare(any(Scan.class));
+    verify(deleteHandler, times(2)).prepare(any(Delete.class));
+  }
+
+  @Test
+  public void prewarmStatementCache_AdminFailed_ShouldNotThrowAnyException() throws Exception {
+    // Arrange
+    CassandraAdmin admin = mock(CassandraAdmin.class);
+    when(admin.getNamespaceNames()).thenThrow(ExecutionException.class);
+
+    // Act Assert
+    assertThatCode(() -> cassandra.prewarmStatementCache(admin)).doesNotThrowAnyException();
+  }
 }
@@ -0,0 +1,89 @@
+package com.scalar.db.storage.cassandra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.scalar.db.api.Result;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class ScannerImplTest {
+
+  @Mock private ResultSet resultSet;
+  @Mock private ResultInterpreter resultInterpreter;
+  @Mock private Row row;
+  @Mock private Result result;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    MockitoAnnotations.openMocks(this).close();
+
+    // Arrange
+    when(resultSet.one()).thenReturn(row);
+    when(resultInterpreter.interpret(row)).thenReturn(result);
+  }
+
+  @Test
+  public void one_PrefetchEnabledAndRowsDroppedToThreshold_ShouldFetchMoreResults() {
+    // Arrange
+    when(resultSet.getAvailableWithoutFetching()).thenReturn(10);
+    when(resultSet.isFullyFetched()).thenReturn(false);
+    ScannerImpl scanner = new ScannerImpl(resultSet, resultInterpreter, 10);
+
+    // Act
+    Optional<Result> actual = scanner.one();
+
+    // Assert
+    assertThat(actual).hasValue(result);
+    verify(resultSet).fetchMoreResults();
+  }
+
+  @Test
+  public void one_PrefetchEnabledAndRowsAboveThreshold_ShouldNotFetchMoreResults() {
+    // Arrange
+    when(resultSet.getAvailableWithoutFetching()).thenReturn(11);
+    when(resultSet.isFullyFetched()).thenReturn(false);
+    ScannerImpl scanner = new ScannerImpl(resultSet, resultInterpreter, 10);
+
+    // Act
+    scanner.one();
+
+    // Assert
+    verify(resultSet, never()).fetchMoreResults();
+  }
+
+  @Test
+  public void one_PrefetchEnabledAndFullyFetched_ShouldNotFetchMoreResults() {
+    // Arrange
+    when(resultSet.getAvailableWithoutFetching()).thenReturn(1);
+    when(resultSet.isFullyFetched()).thenReturn(true);
+    ScannerImpl scanner = new ScannerImpl(resultSet, resultInterpreter, 10);
+
+    // Act
+    scanner.one();
+
+    // Assert
+    verify(resultSet, never()).fetchMoreResults();
+  }
+
+  @Test
+  public void one_PrefetchDisabled_ShouldNotFetchMoreResults() {
+    // Arrange
+    when(resultSet.getAvailableWithoutFetching()).thenReturn(1);
+    when(resultSet.isFullyFetched()).thenReturn(false);
+    ScannerImpl scanner = new ScannerImpl(resultSet, resultInterpreter);
+
+    // Act
+    scanner.one();
+
+    // Assert
+    verify(resultSet, never()).fetchMoreResults();
+  }
+}
@@ -7,6 +7,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -325,7 +326,7 @@ public class SelectStatementHandlerTest {
                   ANY_NAME_2,
                   ASC_ORDER.toString(),
                   "LIMIT",
-                  ANY_LIMIT + ";",
+                  "?;",
                 });
     configureBehavior(expected);
     scan = prepareScan();
@@ -359,7 +360,7 @@ public class SelectStatementHandlerTest {
                   ASC_ORDER + "," + ANY_NAME_3,
                   DESC_ORDER.toString(),
                   "LIMIT",
-                  ANY_LIMIT + ";",
+                  "?;",
                 });
     configureBehavior(expected);
     scan = prepareScan();
@@ -540,7 +541,7 @@ public class SelectStatementHandlerTest {
                   "SELECT * FROM",
                   ANY_NAMESPACE_NAME + "." + ANY_TABLE_NAME,
                   "LIMIT",
-                  ANY_LIMIT + ";",
+                  "?;",
                 });
     configureBehavior(expected);
     ScanAll scanAll = prepareScanAll();
@@ -595,4 +596,48 @@ public class SelectStatementHandlerTest {
     // Assert
     verify(session).prepare(expected);
   }
+
+  @Test
+  public void bind_ScanOperationWithLimitGiven_ShouldBindLimitAndSetItAsFetchSize() {
+    // Arrange
+    configureBehavior(null);
+    scan = prepareScan().withLimit(ANY_LIMIT);
+
+    // Act
+    handler.bind(prepared, scan);
+
+    // Assert
+    verify(bound).setString(0, ANY_TEXT_1);
+    verify(bound).setInt(1, ANY_LIMIT);
+    verify(bound).setFetchSize(ANY_LIMIT);
+  }
+
+  @Test
+  public void bind_ScanOperationWithoutLimitGiven_ShouldNotSetFetchSize() {
+    // Arrange
+    configureBehavior(null);
+    scan = prepareScan();
+
+    // Act
+    handler.bind(prepared, scan);
+
+    // Assert
+    verify(bound, never()).setFetchSize(anyInt());
+  }
+
+  @Test
+  public void
+      bind_ScanFetchSizeConfiguredAndScanAllWithLargerLimitGiven_ShouldSetScanFetchSize() {
+    // Arrange
+    handler = new SelectStatementHandler(session, 10);
+    configureBehavior(null);
+    ScanAll scanAll = prepareScanAll().withLimit(ANY_LIMIT);
+
+    // Act
+    handler.bind(prepared, scanAll);
+
+    // Assert
+    verify(bound).setInt(0, ANY_LIMIT);
+    verify(bound).setFetchSize(10);
+  }
 }
@@ -0,0 +1,47 @@
+package com.scalar.db.storage.cassandra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.datastax.driver.core.PreparedStatement;
+import org.junit.jupiter.api.Test;
+
+public class StatementCacheTest {
+
+  @Test
+  public void getMetrics_AfterHitsMissesAndEvictions_ShouldReturnProperMetrics() {
+    // Arrange
+    StatementCache cache = new StatementCache(1);
+    PreparedStatement statement1 = mock(PreparedStatement.class);
+    PreparedStatement statement2 = mock(PreparedStatement.class);
+
+    // Act
+    cache.get("q1");
+    cache.put("q1", statement1);
+    cache.get("q1");
+    cache.put("q2", statement2);
+    cache.get("q2");
+    cache.get("q1");
+    StatementCache.Metrics metrics = cache.getMetrics();
+
+    // Assert
+    assertThat(metrics.getSize()).isEqualTo(1);
+    assertThat(metrics.getHitCount()).isEqualTo(2);
+    assertThat(metrics.getMissCount()).isEqualTo(2);
+    assertThat(metrics.getEvictionCount()).isEqualTo(1);
+    assertThat(metrics.getHitRate()).isEqualTo(0.5);
+  }
+
+  @Test
+  public void getMetrics_WithoutLookups_ShouldReturnHitRateOfOne() {
+    // Arrange
+    StatementCache cache = new StatementCache();
+
+    // Act
+    StatementCache.Metrics metrics = cache.getMetrics();
+
+    // Assert
+    assertThat(metrics.getSize()).isZero();
+    assertThat(metrics.getHitRate()).isEqualTo(1.0);
+  }
+}
@@ -12,7 +12,11 @@ import com.scalar.db.api.DeleteIf;
 import com.scalar.db.api.PutIf;
 import com.scalar.db.api.PutIfExists;
 import com.scalar.db.api.PutIfNotExists;
+import com.scalar.db.api.Scan;
+import com.scalar.db.api.TableMetadata;
+import com.scalar.db.io.DataType;
 import com.scalar.db.io.IntValue;
+import java.util.Optional;
 import org.jooq.Condition;
 import org.jooq.SQLDialect;
 import org.jooq.SelectConditionStep;
@@ -30,6 +34,14 @@ public class ConditionalQueryBuilderTest {
   private static final String ANY_NAME_4 = "name4";
   private static final int ANY_INT = 1;
   private static final IntValue ANY_INT_VALUE = new IntValue("any_int", ANY_INT);
+  private static final TableMetadata TABLE_METADATA =
+      TableMetadata.newBuilder()
+          .addColumn(ANY_NAME_1, DataType.TEXT)
+          .addColumn(ANY_NAME_2, DataType.INT)
+          .addColumn(ANY_NAME_3, DataType.TEXT)
+          .addColumn(ANY_NAME_4, DataType.BLOB)
+          .addPartitionKey(ANY_NAME_1)
+          .build();
 
   @Mock private SelectConditionStep<org.jooq.Record> select;
 
@@ -153,4 +165,82 @@ public class ConditionalQueryBuilderTest {
     verify(select).and(DSL.field("r.values[\"" + ANY_NAME_1 + "\"]").equal(ANY_INT));
     verify(select).and(DSL.field("r.values[\"" + ANY_NAME_2 + "\"]").greaterThan(ANY_INT));
   }
+
+  @Test
+  public void buildCondition_SupportedConditionsGiven_ShouldReturnCondition() {
+    // Arrange
+    Scan scan =
+        Scan.newBuilder()
+            .namespace("ns")
+            .table("tbl")
+            .all()
+            .where(ConditionBuilder.column(ANY_NAME_1).isEqualToText("a"))
+            .and(ConditionBuilder.column(ANY_NAME_2).isLessThanInt(ANY_INT))
+            .or(ConditionBuilder.column(ANY_NAME_3).isLikeText("abc%"))
+            .build();
+
+    // Act
+    Optional<Condition> actual =
+        ConditionalQueryBuilder.buildCondition(scan.getConjunctions(), TABLE_METADATA);
+
+    // Assert
+    assertThat(ConditionalQueryBuilder.isFullySupported(scan.getConjunctions())).isTrue();
+    assertThat(actual).isPresent();
+    String query = DSL.using(SQLDialect.DEFAULT).renderInlined(actual.get());
+    assertThat(query)
+        .contains("r.partitionKey[\"" + ANY_NAME_1 + "\"] = 'a'")
+        .contains("r.values[\"" + ANY_NAME_2 + "\"] < " + ANY_INT)
+        .contains(
+            "NOT IS_DEFINED(r.values[\""
+                + ANY_NAME_2
+                + "\"]) OR IS_NULL(r.values[\""
+                + ANY_NAME_2
+                + "\"])")
+        .contains("STARTSWITH(r.values[\"" + ANY_NAME_3 + "\"], 'abc')")
+        .contains(" or ");
+  }
+
+  @Test
+  public void buildCondition_PartlyUnsupportedConjunctionGiven_ShouldReturnSupportedPart() {
+    // Arrange
+    Scan scan =
+        Scan.newBuilder()
+            .namespace("ns")
+            .table("tbl")
+            .all()
+            .where(ConditionBuilder.column(ANY_NAME_2).isGreaterThanInt(ANY_INT))
+            .and(ConditionBuilder.column(ANY_NAME_3).isLikeText("%abc"))
+            .build();
+
+    // Act
+    Optional<Condition> actual =
+        ConditionalQueryBuilder.buildCondition(scan.getConjunctions(), TABLE_METADATA);
+
+    // Assert
+    assertThat(ConditionalQueryBuilder.isFullySupported(scan.getConjunctions())).isFalse();
+    assertThat(actual).isPresent();
+    assertThat(DSL.using(SQLDialect.DEFAULT).renderInlined(actual.get()))
+        .isEqualTo("r.values[\"" + ANY_NAME_2 + "\"] > " + ANY_INT);
+  }
+
+  @Test
+  public void buildCondition_FullyUnsupportedConjunctionGiven_ShouldReturnEmpty() {
+    // Arrange
+    Scan scan =
+        Scan.newBuilder()
+            .namespace("ns")
+            .table("tbl")
+            .all()
+            .where(ConditionBuilder.column(ANY_NAME_2).isGreaterThanInt(ANY_INT))
+            .or(ConditionBuilder.column(ANY_NAME_4).isGreaterThanBlob(new byte[] {1}))
+            .build();
+
+    // Act
+    Optional<Condition> actual =
+        ConditionalQueryBuilder.buildCondition(scan.getConjunctions(), TABLE_METADATA);
+
+    // Assert
+    assertThat(ConditionalQueryBuilder.isFullySupported(scan.getConjunctions())).isFalse();
+    assertThat(actual).isEmpty();
+  }
 }
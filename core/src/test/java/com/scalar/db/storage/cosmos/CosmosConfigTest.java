@@ -24,6 +24,8 @@ public class CosmosConfigTest {
     props.setProperty(DatabaseConfig.STORAGE, COSMOS_STORAGE);
     props.setProperty(DatabaseConfig.SYSTEM_NAMESPACE_NAME, ANY_TABLE_METADATA_DATABASE);
     props.setProperty(CosmosConfig.CONSISTENCY_LEVEL, ANY_CONSISTENCY_LEVEL);
+    props.setProperty(CosmosConfig.SCAN_PREFETCH_MAX_PAGES, "3");
+    props.setProperty(CosmosConfig.SCAN_PREFETCH_MAX_RECORDS, "500");
 
     // Act
     CosmosConfig config = new CosmosConfig(new DatabaseConfig(props));
@@ -33,6 +35,8 @@ public class CosmosConfigTest {
     assertThat(config.getKey()).isEqualTo(ANY_KEY);
     assertThat(config.getMetadataDatabase()).isEqualTo(ANY_TABLE_METADATA_DATABASE);
     assertThat(config.getConsistencyLevel()).hasValue(ANY_CONSISTENCY_LEVEL);
+    assertThat(config.getScanPrefetchMaxPages()).isEqualTo(3);
+    assertThat(config.getScanPrefetchMaxRecords()).isEqualTo(500);
   }
 
   @Test
@@ -64,6 +68,10 @@ public class CosmosConfigTest {
     assertThat(config.getMetadataDatabase())
         .isEqualTo(DatabaseConfig.DEFAULT_SYSTEM_NAMESPACE_NAME);
     assertThat(config.getConsistencyLevel()).isEmpty();
+    assertThat(config.getScanPrefetchMaxPages())
+        .isEqualTo(CosmosConfig.DEFAULT_SCAN_PREFETCH_MAX_PAGES);
+    assertThat(config.getScanPrefetchMaxRecords())
+        .isEqualTo(CosmosConfig.DEFAULT_SCAN_PREFETCH_MAX_RECORDS);
   }
 
   @Test
@@ -10,7 +10,6 @@ import static org.mockito.Mockito.when;
 
 import com.azure.cosmos.CosmosClient;
 import com.scalar.db.api.ConditionBuilder;
-import com.scalar.db.api.ConditionalExpression;
 import com.scalar.db.api.Delete;
 import com.scalar.db.api.Get;
 import com.scalar.db.api.Put;
@@ -150,14 +149,39 @@ public class CosmosTest {
   }
 
   @Test
-  public void scan_WithLimitAndConjunction_ShouldHandledWithoutLimit() throws ExecutionException {
+  public void scan_WithLimitAndSupportedConjunction_ShouldHandledWithOriginalScan()
+      throws ExecutionException {
+    // Arrange
+    Scan scan =
+        Scan.newBuilder()
+            .namespace("ns")
+            .table("tbl")
+            .all()
+            .projections("col1")
+            .where(ConditionBuilder.column("col2").isLessThanInt(0))
+            .or(ConditionBuilder.column("col3").isLikeText("abc%"))
+            .limit(ANY_LIMIT)
+            .build();
+    when(selectStatementHandler.handle(scan)).thenReturn(scanner);
+
+    // Act
+    Scanner actual = cosmos.scan(scan);
+
+    // Assert
+    assertThat(actual).isInstanceOf(ScannerImpl.class);
+    verify(selectStatementHandler).handle(scan);
+  }
+
+  @Test
+  public void scan_WithLimitAndUnsupportedConjunction_ShouldHandledWithoutLimit()
+      throws ExecutionException {
     // Arrange
     Scan scan =
         Scan.newBuilder()
             .namespace("ns")
             .table("tbl")
             .all()
-            .where(mock(ConditionalExpression.class))
+            .where(ConditionBuilder.column("col2").isNotLikeText("%abc"))
             .limit(ANY_LIMIT)
             .build();
     when(selectStatementHandler.handle(scan)).thenReturn(scanner);
@@ -174,7 +198,7 @@ public class CosmosTest {
   }
 
   @Test
-  public void scan_WithConjunctionWithoutProjections_ShouldHandledWithoutProjections()
+  public void scan_WithUnsupportedConjunctionWithoutProjections_ShouldHandledWithoutProjections()
       throws ExecutionException {
     // Arrange
     Scan scan =
@@ -182,7 +206,7 @@ public class CosmosTest {
             .namespace("ns")
             .table("tbl")
             .all()
-            .where(ConditionBuilder.column("col2").isLessThanInt(0))
+            .where(ConditionBuilder.column("col2").isNotLikeText("%abc"))
             .build();
     when(selectStatementHandler.handle(scan)).thenReturn(scanner);
 
@@ -198,7 +222,7 @@ public class CosmosTest {
   }
 
   @Test
-  public void scan_WithConjunctionAndProjections_ShouldHandledWithExtendedProjections()
+  public void scan_WithUnsupportedConjunctionAndProjections_ShouldHandledWithExtendedProjections()
       throws ExecutionException {
     // Arrange
     Scan scan =
@@ -207,7 +231,7 @@ public class CosmosTest {
             .table("tbl")
             .all()
             .projections("col1")
-            .where(ConditionBuilder.column("col2").isLessThanInt(0))
+            .where(ConditionBuilder.column("col2").isNotLikeText("%abc"))
             .build();
     when(selectStatementHandler.handle(scan)).thenReturn(scanner);
 
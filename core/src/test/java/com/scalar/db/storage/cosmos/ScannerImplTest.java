@@ -7,8 +7,11 @@ import static org.mockito.Mockito.when;
 import com.azure.cosmos.models.FeedResponse;
 import com.scalar.db.api.Result;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -144,8 +147,39 @@ public class ScannerImplTest {
     assertThat(allResults).isEmpty();
   }
 
+  @Test
+  public void all_PrefetchEnabledWithTwoPages_ShouldReturnAllResults() {
+    // Arrange
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+    try {
+      ScannerImpl scanner =
+          new ScannerImpl(
+              buildPages(
+                  Lists.newArrayList(record1, record2), Lists.newArrayList(record3, record4)),
+              resultInterpreter,
+              1,
+              100,
+              executorService);
+
+      // Act
+      List<Result> actualResults = scanner.all();
+
+      // Assert
+      assertThat(actualResults).containsExactly(result1, result2, result3, result4);
+      assertThat(scanner.one()).isEmpty();
+      scanner.close();
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
   @SafeVarargs
   private final ScannerImpl buildScanner(List<Record>... pages) {
+    return new ScannerImpl(buildPages(pages), resultInterpreter);
+  }
+
+  @SafeVarargs
+  private final Iterator<FeedResponse<Record>> buildPages(List<Record>... pages) {
     List<FeedResponse<Record>> pagesFeed = new ArrayList<>();
     for (List<Record> page : pages) {
       @SuppressWarnings("unchecked")
@@ -154,6 +188,6 @@ public class ScannerImplTest {
       pagesFeed.add(pageFeed);
     }
 
-    return new ScannerImpl(pagesFeed.iterator(), resultInterpreter);
+    return pagesFeed.iterator();
   }
 }
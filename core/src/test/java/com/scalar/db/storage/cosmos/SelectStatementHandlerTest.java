@@ -19,6 +19,7 @@ import com.azure.cosmos.models.CosmosItemResponse;
 import com.azure.cosmos.models.CosmosQueryRequestOptions;
 import com.azure.cosmos.models.PartitionKey;
 import com.azure.cosmos.util.CosmosPagedIterable;
+import com.scalar.db.api.ConditionBuilder;
 import com.scalar.db.api.Get;
 import com.scalar.db.api.Operation;
 import com.scalar.db.api.Scan;
@@ -530,6 +531,37 @@ public class SelectStatementHandlerTest {
         .queryItems(eq(expectedQuery), any(CosmosQueryRequestOptions.class), eq(Record.class));
   }
 
+  @Test
+  public void handle_ScanAllOperationWithConjunction_ShouldCallQueryItemsWithConditionInQuery() {
+    // Arrange
+    when(container.queryItems(anyString(), any(CosmosQueryRequestOptions.class), eq(Record.class)))
+        .thenReturn(responseIterable);
+    Record expected = new Record();
+    when(responseIterable.iterator()).thenReturn(Collections.singletonList(expected).iterator());
+    Scan scanAll =
+        Scan.newBuilder()
+            .namespace(ANY_NAMESPACE_NAME)
+            .table(ANY_TABLE_NAME)
+            .all()
+            .where(ConditionBuilder.column(ANY_NAME_3).isEqualToText(ANY_TEXT_1))
+            .limit(ANY_LIMIT)
+            .build();
+
+    // Act Assert
+    assertThatCode(() -> handler.handle(scanAll)).doesNotThrowAnyException();
+
+    // Assert
+    String expectedQuery =
+        "select * from Record r where r.values[\""
+            + ANY_NAME_3
+            + "\"] = '"
+            + ANY_TEXT_1
+            + "' offset 0 limit "
+            + ANY_LIMIT;
+    verify(container)
+        .queryItems(eq(expectedQuery), any(CosmosQueryRequestOptions.class), eq(Record.class));
+  }
+
   @Test
   public void handle_GetOperationWithProjectedColumns_ShouldCallQueryItemsWithProjectedColumns() {
     // Arrange
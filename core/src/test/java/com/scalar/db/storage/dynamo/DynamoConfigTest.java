@@ -43,6 +43,90 @@ public class DynamoConfigTest {
     assertThat(config.getNamespacePrefix().get()).isEqualTo(ANY_NAMESPACE_PREFIX);
   }
 
+  @Test
+  public void constructor_ParallelScanPropertiesGiven_ShouldLoadProperly() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(DatabaseConfig.CONTACT_POINTS, ANY_REGION);
+    props.setProperty(DatabaseConfig.STORAGE, DYNAMO_STORAGE);
+    props.setProperty(DynamoConfig.PARALLEL_SCAN_SEGMENTS, "8");
+    props.setProperty(DynamoConfig.PARALLEL_SCAN_BUFFER_SIZE, "4");
+    props.setProperty(DynamoConfig.PARALLEL_SCAN_ORDERED, "true");
+
+    // Act
+    DynamoConfig config = new DynamoConfig(new DatabaseConfig(props));
+
+    // Assert
+    assertThat(config.getParallelScanSegments()).isEqualTo(8);
+    assertThat(config.getParallelScanBufferSize()).isEqualTo(4);
+    assertThat(config.isParallelScanOrdered()).isTrue();
+  }
+
+  @Test
+  public void constructor_ParallelScanPropertiesNotGiven_ShouldUseDefaultValues() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(DatabaseConfig.CONTACT_POINTS, ANY_REGION);
+    props.setProperty(DatabaseConfig.STORAGE, DYNAMO_STORAGE);
+
+    // Act
+    DynamoConfig config = new DynamoConfig(new DatabaseConfig(props));
+
+    // Assert
+    assertThat(config.getParallelScanSegments())
+        .isEqualTo(DynamoConfig.DEFAULT_PARALLEL_SCAN_SEGMENTS);
+    assertThat(config.getParallelScanBufferSize())
+        .isEqualTo(DynamoConfig.DEFAULT_PARALLEL_SCAN_BUFFER_SIZE);
+    assertThat(config.isParallelScanOrdered()).isFalse();
+  }
+
+  @Test
+  public void constructor_ScanPrefetchPropertiesGiven_ShouldLoadProperly() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(DatabaseConfig.CONTACT_POINTS, ANY_REGION);
+    props.setProperty(DatabaseConfig.STORAGE, DYNAMO_STORAGE);
+    props.setProperty(DynamoConfig.SCAN_PREFETCH_MAX_PAGES, "3");
+    props.setProperty(DynamoConfig.SCAN_PREFETCH_MAX_RECORDS, "500");
+
+    // Act
+    DynamoConfig config = new DynamoConfig(new DatabaseConfig(props));
+
+    // Assert
+    assertThat(config.getScanPrefetchMaxPages()).isEqualTo(3);
+    assertThat(config.getScanPrefetchMaxRecords()).isEqualTo(500);
+  }
+
+  @Test
+  public void constructor_ScanPrefetchPropertiesNotGiven_ShouldUseDefaultValues() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(DatabaseConfig.CONTACT_POINTS, ANY_REGION);
+    props.setProperty(DatabaseConfig.STORAGE, DYNAMO_STORAGE);
+
+    // Act
+    DynamoConfig config = new DynamoConfig(new DatabaseConfig(props));
+
+    // Assert
+    assertThat(config.getScanPrefetchMaxPages())
+        .isEqualTo(DynamoConfig.DEFAULT_SCAN_PREFETCH_MAX_PAGES);
+    assertThat(config.getScanPrefetchMaxRecords())
+        .isEqualTo(DynamoConfig.DEFAULT_SCAN_PREFETCH_MAX_RECORDS);
+  }
+
+  @Test
+  public void constructor_InvalidParallelScanSegmentsGiven_ShouldThrowIllegalArgumentException() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(DatabaseConfig.CONTACT_POINTS, ANY_REGION);
+    props.setProperty(DatabaseConfig.STORAGE, DYNAMO_STORAGE);
+    props.setProperty(DynamoConfig.PARALLEL_SCAN_SEGMENTS, "0");
+
+    // Act Assert
+    assertThatThrownBy(() -> new DynamoConfig(new DatabaseConfig(props)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
   @Test
   public void constructor_WithoutStorage_ShouldThrowIllegalArgumentException() {
     // Arrange
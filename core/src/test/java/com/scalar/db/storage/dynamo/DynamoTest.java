@@ -7,7 +7,6 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.scalar.db.api.ConditionBuilder;
-import com.scalar.db.api.ConditionalExpression;
 import com.scalar.db.api.Get;
 import com.scalar.db.api.Result;
 import com.scalar.db.api.Scan;
@@ -18,6 +17,8 @@ import com.scalar.db.config.DatabaseConfig;
 import com.scalar.db.exception.storage.ExecutionException;
 import com.scalar.db.io.Key;
 import com.scalar.db.storage.cassandra.ScannerImpl;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
 import org.junit.jupiter.api.BeforeEach;
@@ -79,6 +80,35 @@ public class DynamoTest {
     assertThat(actualGet).isEqualTo(get);
   }
 
+  @Test
+  public void get_MultipleGetsGiven_ShouldHandleGetsWithoutConjunctionAtOnce()
+      throws ExecutionException {
+    // Arrange
+    Get get1 = Get.newBuilder().namespace("ns").table("tbl").partitionKey(partitionKey).build();
+    Get get2 =
+        Get.newBuilder()
+            .namespace("ns")
+            .table("tbl")
+            .partitionKey(partitionKey)
+            .where(ConditionBuilder.column("col2").isLessThanInt(0))
+            .build();
+    Get get3 = Get.newBuilder().namespace("ns").table("tbl2").partitionKey(partitionKey).build();
+    Result result1 = mock(Result.class);
+    Result result3 = mock(Result.class);
+    when(selectStatementHandler.handle(Arrays.asList(get1, get3)))
+        .thenReturn(Arrays.asList(Optional.of(result1), Optional.of(result3)));
+    when(selectStatementHandler.handle(any(Get.class))).thenReturn(scanner);
+
+    // Act
+    List<Optional<Result>> actual = dynamo.get(Arrays.asList(get1, get2, get3));
+
+    // Assert
+    assertThat(actual)
+        .containsExactly(Optional.of(result1), Optional.empty(), Optional.of(result3));
+    verify(selectStatementHandler).handle(Arrays.asList(get1, get3));
+    verify(selectStatementHandler).handle(any(Get.class));
+  }
+
   @Test
   public void get_WithConjunctionWithoutProjections_ShouldHandledWithoutProjections()
       throws ExecutionException {
@@ -146,14 +176,39 @@ public class DynamoTest {
   }
 
   @Test
-  public void scan_WithLimitAndConjunction_ShouldHandledWithoutLimit() throws ExecutionException {
+  public void scan_WithLimitAndSupportedConjunction_ShouldHandledWithOriginalScan()
+      throws ExecutionException {
+    // Arrange
+    Scan scan =
+        Scan.newBuilder()
+            .namespace("ns")
+            .table("tbl")
+            .all()
+            .projections("col1")
+            .where(ConditionBuilder.column("col2").isLessThanInt(0))
+            .or(ConditionBuilder.column("col3").isLikeText("abc%"))
+            .limit(ANY_LIMIT)
+            .build();
+    when(selectStatementHandler.handle(scan)).thenReturn(scanner);
+
+    // Act
+    Scanner actual = dynamo.scan(scan);
+
+    // Assert
+    assertThat(actual).isInstanceOf(ScannerImpl.class);
+    verify(selectStatementHandler).handle(scan);
+  }
+
+  @Test
+  public void scan_WithLimitAndUnsupportedConjunction_ShouldHandledWithoutLimit()
+      throws ExecutionException {
     // Arrange
     Scan scan =
         Scan.newBuilder()
             .namespace("ns")
             .table("tbl")
             .all()
-            .where(mock(ConditionalExpression.class))
+            .where(ConditionBuilder.column("col2").isNotLikeText("%abc"))
             .limit(ANY_LIMIT)
             .build();
     when(selectStatementHandler.handle(scan)).thenReturn(scanner);
@@ -170,7 +225,7 @@ public class DynamoTest {
   }
 
   @Test
-  public void scan_WithConjunctionWithoutProjections_ShouldHandledWithoutProjections()
+  public void scan_WithUnsupportedConjunctionWithoutProjections_ShouldHandledWithoutProjections()
       throws ExecutionException {
     // Arrange
     Scan scan =
@@ -178,7 +233,7 @@ public class DynamoTest {
             .namespace("ns")
             .table("tbl")
             .all()
-            .where(ConditionBuilder.column("col2").isLessThanInt(0))
+            .where(ConditionBuilder.column("col2").isNotLikeText("%abc"))
             .build();
     when(selectStatementHandler.handle(scan)).thenReturn(scanner);
 
@@ -194,7 +249,7 @@ public class DynamoTest {
   }
 
   @Test
-  public void scan_WithConjunctionAndProjections_ShouldHandledWithExtendedProjections()
+  public void scan_WithUnsupportedConjunctionAndProjections_ShouldHandledWithExtendedProjections()
       throws ExecutionException {
     // Arrange
     Scan scan =
@@ -203,7 +258,7 @@ public class DynamoTest {
             .table("tbl")
             .all()
             .projections("col1")
-            .where(ConditionBuilder.column("col2").isLessThanInt(0))
+            .where(ConditionBuilder.column("col2").isNotLikeText("%abc"))
             .build();
     when(selectStatementHandler.handle(scan)).thenReturn(scanner);
 
@@ -0,0 +1,158 @@
+package com.scalar.db.storage.dynamo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.scalar.db.api.ConditionBuilder;
+import com.scalar.db.api.Scan;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+public class FilterExpressionBuilderTest {
+  private static final String ANY_NAME_1 = "name1";
+  private static final String ANY_NAME_2 = "name2";
+  private static final String ANY_NAME_3 = "name3";
+
+  private FilterExpressionBuilder newBuilder() {
+    return new FilterExpressionBuilder(
+        DynamoOperation.FILTER_COLUMN_NAME_ALIAS, DynamoOperation.FILTER_VALUE_ALIAS);
+  }
+
+  @Test
+  public void build_SupportedConditionsGiven_ShouldReturnFilterExpression() {
+    // Arrange
+    Scan scan =
+        Scan.newBuilder()
+            .namespace("ns")
+            .table("tbl")
+            .all()
+            .where(ConditionBuilder.column(ANY_NAME_1).isEqualToInt(1))
+            .and(ConditionBuilder.column(ANY_NAME_2).isLessThanInt(2))
+            .and(ConditionBuilder.column(ANY_NAME_3).isLikeText("ab\\%c%"))
+            .build();
+    FilterExpressionBuilder builder = newBuilder();
+
+    // Act
+    Optional<String> actual = builder.build(scan.getConjunctions());
+
+    // Assert
+    assertThat(FilterExpressionBuilder.isFullySupported(scan.getConjunctions())).isTrue();
+    assertThat(actual)
+        .hasValue(
+            "(#fcol0 = :fval0 "
+                + "AND (#fcol1 < :fval1 OR attribute_not_exists(#fcol1) "
+                + "OR attribute_type(#fcol1, :fvalNULL)) "
+                + "AND begins_with(#fcol2, :fval2))");
+    assertThat(builder.getExpressionAttributeNames())
+        .containsEntry("#fcol0", ANY_NAME_1)
+        .containsEntry("#fcol1", ANY_NAME_2)
+        .containsEntry("#fcol2", ANY_NAME_3)
+        .hasSize(3);
+    assertThat(builder.getExpressionAttributeValues())
+        .containsEntry(":fval0", AttributeValue.builder().n("1").build())
+        .containsEntry(":fval1", AttributeValue.builder().n("2").build())
+        .containsEntry(":fval2", AttributeValue.builder().s("ab%c").build())
+        .containsEntry(":fvalNULL", AttributeValue.builder().s("NULL").build())
+        .hasSize(4);
+  }
+
+  @Test
+  public void build_DisjunctionGiven_ShouldReturnFilterExpressionWithOr() {
+    // Arrange
+    Scan scan =
+        Scan.newBuilder()
+            .namespace("ns")
+            .table("tbl")
+            .all()
+            .where(ConditionBuilder.column(ANY_NAME_1).isNotEqualToInt(1))
+            .or(ConditionBuilder.column(ANY_NAME_1).isNullInt())
+            .build();
+    FilterExpressionBuilder builder = newBuilder();
+
+    // Act
+    Optional<String> actual = builder.build(scan.getConjunctions());
+
+    // Assert
+    assertThat(actual)
+        .hasValue(
+            "((NOT #fcol0 = :fval0)) "
+                + "OR ((attribute_not_exists(#fcol0) OR attribute_type(#fcol0, :fvalNULL)))");
+    assertThat(builder.getExpressionAttributeNames()).containsOnlyKeys("#fcol0");
+  }
+
+  @Test
+  public void build_PartlyUnsupportedConjunctionGiven_ShouldReturnSupportedPart() {
+    // Arrange
+    Scan scan =
+        Scan.newBuilder()
+            .namespace("ns")
+            .table("tbl")
+            .all()
+            .where(ConditionBuilder.column(ANY_NAME_1).isGreaterThanInt(1))
+            .and(ConditionBuilder.column(ANY_NAME_2).isLikeText("%abc"))
+            .build();
+    FilterExpressionBuilder builder = newBuilder();
+
+    // Act
+    Optional<String> actual = builder.build(scan.getConjunctions());
+
+    // Assert
+    assertThat(FilterExpressionBuilder.isFullySupported(scan.getConjunctions())).isFalse();
+    assertThat(actual).hasValue("(#fcol0 > :fval0)");
+  }
+
+  @Test
+  public void build_FullyUnsupportedConjunctionGiven_ShouldReturnEmpty() {
+    // Arrange
+    Scan scan =
+        Scan.newBuilder()
+            .namespace("ns")
+            .table("tbl")
+            .all()
+            .where(ConditionBuilder.column(ANY_NAME_1).isGreaterThanInt(1))
+            .or(ConditionBuilder.column(ANY_NAME_2).isNotLikeText("abc%"))
+            .build();
+    FilterExpressionBuilder builder = newBuilder();
+
+    // Act
+    Optional<String> actual = builder.build(scan.getConjunctions());
+
+    // Assert
+    assertThat(FilterExpressionBuilder.isFullySupported(scan.getConjunctions())).isFalse();
+    assertThat(actual).isEmpty();
+  }
+
+  @Test
+  public void isFullySupported_UnsupportedConditionsGiven_ShouldReturnFalse() {
+    assertThat(
+            FilterExpressionBuilder.isFullySupported(
+                Scan.newBuilder()
+                    .namespace("ns")
+                    .table("tbl")
+                    .all()
+                    .where(ConditionBuilder.column(ANY_NAME_1).isGreaterThanBoolean(false))
+                    .build()
+                    .getConjunctions()))
+        .isFalse();
+    assertThat(
+            FilterExpressionBuilder.isFullySupported(
+                Scan.newBuilder()
+                    .namespace("ns")
+                    .table("tbl")
+                    .all()
+                    .where(ConditionBuilder.column(ANY_NAME_1).isLikeText("a_c%"))
+                    .build()
+                    .getConjunctions()))
+        .isFalse();
+    assertThat(
+            FilterExpressionBuilder.isFullySupported(
+                Scan.newBuilder()
+                    .namespace("ns")
+                    .table("tbl")
+                    .all()
+                    .where(ConditionBuilder.column(ANY_NAME_1).isLikeText("abc"))
+                    .build()
+                    .getConjunctions()))
+        .isFalse();
+  }
+}
@@ -16,6 +16,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -195,4 +197,35 @@ public class QueryScannerTest {
     verify(request).execute(limit);
     verify(request).execute(lastEvaluatedKey, limit - items1.size());
   }
+
+  @Test
+  public void all_PrefetchEnabledAndResponseWithLastEvaluatedKey_ShouldReturnResults() {
+    // Arrange
+    Map<String, AttributeValue> item = Collections.emptyMap();
+    List<Map<String, AttributeValue>> items = Arrays.asList(item, item);
+    Map<String, AttributeValue> lastEvaluatedKey = Collections.emptyMap();
+
+    when(response.items()).thenReturn(items);
+    when(response.hasLastEvaluatedKey()).thenReturn(true).thenReturn(true).thenReturn(false);
+    when(response.lastEvaluatedKey()).thenReturn(lastEvaluatedKey);
+    when(resultInterpreter.interpret(item)).thenReturn(result);
+    when(request.execute()).thenReturn(response);
+    when(request.execute(lastEvaluatedKey)).thenReturn(response);
+
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+    try {
+      QueryScanner queryScanner =
+          new QueryScanner(request, 0, resultInterpreter, 1, 100, executorService);
+
+      // Act
+      List<Result> results = queryScanner.all();
+
+      // Assert
+      assertThat(results).hasSize(6);
+      verify(request).execute();
+      verify(request, times(2)).execute(lastEvaluatedKey);
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
 }
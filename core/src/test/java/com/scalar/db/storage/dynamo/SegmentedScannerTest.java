@@ -0,0 +1,154 @@
+package com.scalar.db.storage.dynamo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import com.scalar.db.api.Result;
+import com.scalar.db.exception.storage.ExecutionException;
+import com.scalar.db.storage.dynamo.request.PaginatedRequest;
+import com.scalar.db.storage.dynamo.request.PaginatedRequestResponse;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+
+public class SegmentedScannerTest {
+
+  @Mock private PaginatedRequest request1;
+  @Mock private PaginatedRequest request2;
+  @Mock private ResultInterpreter resultInterpreter;
+  @Mock private Result result1;
+  @Mock private Result result2;
+  @Mock private Result result3;
+
+  private final Map<String, AttributeValue> item1 =
+      ImmutableMap.of("c", AttributeValue.builder().s("1").build());
+  private final Map<String, AttributeValue> item2 =
+      ImmutableMap.of("c", AttributeValue.builder().s("2").build());
+  private final Map<String, AttributeValue> item3 =
+      ImmutableMap.of("c", AttributeValue.builder().s("3").build());
+  private final Map<String, AttributeValue> lastEvaluatedKey =
+      ImmutableMap.of("k", AttributeValue.builder().s("k").build());
+
+  private ExecutorService executorService;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    MockitoAnnotations.openMocks(this).close();
+
+    // Arrange
+    executorService = Executors.newCachedThreadPool();
+    when(resultInterpreter.interpret(item1)).thenReturn(result1);
+    when(resultInterpreter.interpret(item2)).thenReturn(result2);
+    when(resultInterpreter.interpret(item3)).thenReturn(result3);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  private PaginatedRequestResponse response(
+      List<Map<String, AttributeValue>> items, boolean hasLastEvaluatedKey) {
+    PaginatedRequestResponse response = mock(PaginatedRequestResponse.class);
+    when(response.items()).thenReturn(items);
+    when(response.hasLastEvaluatedKey()).thenReturn(hasLastEvaluatedKey);
+    when(response.lastEvaluatedKey()).thenReturn(hasLastEvaluatedKey ? lastEvaluatedKey : null);
+    return response;
+  }
+
+  @Test
+  public void all_OrderedModeGiven_ShouldReturnResultsInSegmentOrder() throws Exception {
+    // Arrange
+    PaginatedRequestResponse firstPage = response(Collections.singletonList(item1), true);
+    PaginatedRequestResponse secondPage = response(Collections.singletonList(item2), false);
+    when(request1.execute()).thenReturn(firstPage);
+    when(request1.execute(lastEvaluatedKey)).thenReturn(secondPage);
+    PaginatedRequestResponse otherSegmentPage = response(Collections.singletonList(item3), false);
+    when(request2.execute()).thenReturn(otherSegmentPage);
+
+    // Act
+    List<Result> actual;
+    try (SegmentedScanner scanner =
+        new SegmentedScanner(
+            Arrays.asList(request2, request1), 0, true, 1, resultInterpreter, executorService)) {
+      actual = scanner.all();
+    }
+
+    // Assert
+    assertThat(actual).containsExactly(result3, result1, result2);
+  }
+
+  @Test
+  public void all_UnorderedModeGiven_ShouldReturnResultsOfAllSegments() throws Exception {
+    // Arrange
+    PaginatedRequestResponse page1 = response(Arrays.asList(item1, item2), false);
+    PaginatedRequestResponse page2 = response(Collections.singletonList(item3), false);
+    when(request1.execute()).thenReturn(page1);
+    when(request2.execute()).thenReturn(page2);
+
+    // Act
+    List<Result> actual;
+    try (SegmentedScanner scanner =
+        new SegmentedScanner(
+            Arrays.asList(request1, request2), 0, false, 1, resultInterpreter, executorService)) {
+      actual = scanner.all();
+    }
+
+    // Assert
+    assertThat(actual).containsExactlyInAnyOrder(result1, result2, result3);
+  }
+
+  @Test
+  public void all_LimitGiven_ShouldReturnResultsUpToLimit() throws Exception {
+    // Arrange
+    PaginatedRequestResponse page1 = response(Arrays.asList(item1, item2), false);
+    PaginatedRequestResponse page2 = response(Collections.singletonList(item3), false);
+    when(request1.execute(2)).thenReturn(page1);
+    when(request2.execute(2)).thenReturn(page2);
+
+    // Act
+    List<Result> actual;
+    try (SegmentedScanner scanner =
+        new SegmentedScanner(
+            Arrays.asList(request1, request2), 2, true, 1, resultInterpreter, executorService)) {
+      actual = scanner.all();
+    }
+
+    // Assert
+    assertThat(actual).containsExactly(result1, result2);
+    verify(request1, never()).execute(anyMap(), anyInt());
+  }
+
+  @Test
+  public void all_SegmentFailed_ShouldThrowExecutionException() {
+    // Arrange
+    PaginatedRequestResponse page1 = response(Collections.singletonList(item1), false);
+    when(request1.execute()).thenReturn(page1);
+    DynamoDbException exception = mock(DynamoDbException.class);
+    when(request2.execute()).thenThrow(exception);
+
+    // Act Assert
+    SegmentedScanner scanner =
+        new SegmentedScanner(
+            Arrays.asList(request1, request2), 0, true, 1, resultInterpreter, executorService);
+    assertThatThrownBy(scanner::all).isInstanceOf(ExecutionException.class).hasCause(exception);
+    scanner.close();
+  }
+}
@@ -6,10 +6,12 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
+import com.scalar.db.api.ConditionBuilder;
 import com.scalar.db.api.Get;
 import com.scalar.db.api.Operation;
 import com.scalar.db.api.Result;
@@ -20,6 +22,7 @@ import com.scalar.db.api.Scanner;
 import com.scalar.db.api.TableMetadata;
 import com.scalar.db.common.TableMetadataManager;
 import com.scalar.db.exception.storage.ExecutionException;
+import com.scalar.db.io.DataType;
 import com.scalar.db.io.Key;
 import com.scalar.db.storage.dynamo.bytes.BytesUtils;
 import com.scalar.db.storage.dynamo.bytes.KeyBytesEncoder;
@@ -32,6 +35,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -40,9 +45,12 @@ import org.mockito.MockitoAnnotations;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
 import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
 import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
@@ -1969,6 +1977,44 @@ public abstract class SelectStatementHandlerTestBase {
     assertThat(actualRequest.tableName()).isEqualTo(getFullTableName());
   }
 
+  @Test
+  public void handle_ScanAllOperationWithParallelScanEnabled_ShouldScanEachSegment()
+      throws Exception {
+    // Arrange
+    ExecutorService executorService = Executors.newCachedThreadPool();
+    try {
+      handler =
+          new SelectStatementHandler(
+              client, metadataManager, getNamespacePrefix(), 3, 1, true, executorService);
+      when(client.scan(any(ScanRequest.class))).thenReturn(scanResponse);
+      when(scanResponse.items()).thenReturn(Collections.singletonList(new HashMap<>()));
+
+      ScanAll scanAll = prepareScanAll();
+
+      // Act
+      List<Result> actual;
+      try (Scanner scanner = handler.handle(scanAll)) {
+        actual = scanner.all();
+      }
+
+      // Assert
+      assertThat(actual).hasSize(3);
+      ArgumentCaptor<ScanRequest> captor = ArgumentCaptor.forClass(ScanRequest.class);
+      verify(client, times(3)).scan(captor.capture());
+      assertThat(captor.getAllValues())
+          .extracting(ScanRequest::segment)
+          .containsExactlyInAnyOrder(0, 1, 2);
+      assertThat(captor.getAllValues())
+          .allSatisfy(
+              r -> {
+                assertThat(r.totalSegments()).isEqualTo(3);
+                assertThat(r.tableName()).isEqualTo(getFullTableName());
+              });
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
   @Test
   public void prepare_ScanAllOperationWithProjectedColumns_ShouldPrepareProperQuery() {
     // Arrange
@@ -2000,4 +2046,151 @@ public abstract class SelectStatementHandlerTestBase {
             DynamoOperation.COLUMN_NAME_ALIAS + "0," + DynamoOperation.COLUMN_NAME_ALIAS + "1");
     assertThat(actualRequest.tableName()).isEqualTo(getFullTableName());
   }
+
+  @Test
+  public void prepare_ScanAllOperationWithConjunctions_ShouldPrepareQueryWithFilterExpression() {
+    // Arrange
+    when(client.scan(any(ScanRequest.class))).thenReturn(scanResponse);
+    when(scanResponse.items()).thenReturn(Collections.singletonList(new HashMap<>()));
+
+    Scan scanAll =
+        Scan.newBuilder()
+            .namespace(ANY_NAMESPACE_NAME)
+            .table(ANY_TABLE_NAME)
+            .all()
+            .projections(ANY_NAME_1)
+            .where(ConditionBuilder.column(ANY_NAME_2).isEqualToText(ANY_TEXT_1))
+            .or(ConditionBuilder.column(ANY_NAME_3).isLikeText("abc%"))
+            .build();
+
+    Map<String, String> expectedExpressionAttributeNames = new HashMap<>();
+    expectedExpressionAttributeNames.put(DynamoOperation.COLUMN_NAME_ALIAS + "0", ANY_NAME_1);
+    expectedExpressionAttributeNames.put(
+        DynamoOperation.FILTER_COLUMN_NAME_ALIAS + "0", ANY_NAME_2);
+    expectedExpressionAttributeNames.put(
+        DynamoOperation.FILTER_COLUMN_NAME_ALIAS + "1", ANY_NAME_3);
+    Map<String, AttributeValue> expectedBindMap = new HashMap<>();
+    expectedBindMap.put(
+        DynamoOperation.FILTER_VALUE_ALIAS + "0", AttributeValue.builder().s(ANY_TEXT_1).build());
+    expectedBindMap.put(
+        DynamoOperation.FILTER_VALUE_ALIAS + "1", AttributeValue.builder().s("abc").build());
+
+    // Act Assert
+    assertThatCode(() -> handler.handle(scanAll)).doesNotThrowAnyException();
+
+    // Assert
+    ArgumentCaptor<ScanRequest> captor = ArgumentCaptor.forClass(ScanRequest.class);
+    verify(client).scan(captor.capture());
+    ScanRequest actualRequest = captor.getValue();
+    assertThat(actualRequest.filterExpression())
+        .isEqualTo("(#fcol0 = :fval0) OR (begins_with(#fcol1, :fval1))");
+    assertThat(actualRequest.expressionAttributeNames())
+        .isEqualTo(expectedExpressionAttributeNames);
+    assertThat(actualRequest.expressionAttributeValues()).isEqualTo(expectedBindMap);
+    assertThat(actualRequest.projectionExpression())
+        .isEqualTo(DynamoOperation.COLUMN_NAME_ALIAS + "0");
+    assertThat(actualRequest.tableName()).isEqualTo(getFullTableName());
+  }
+
+  @Test
+  public void handle_GetsGiven_ShouldCallBatchGetItemAndReturnResultsInOrderOfGets()
+      throws Exception {
+    // Arrange
+    when(metadata.getColumnNames())
+        .thenReturn(new LinkedHashSet<>(Arrays.asList(ANY_NAME_1, ANY_NAME_2, ANY_NAME_3)));
+    when(metadata.getColumnDataType(any())).thenReturn(DataType.TEXT);
+    Get get1 = prepareGet();
+    Get get2 =
+        new Get(new Key(ANY_NAME_1, ANY_TEXT_3), new Key(ANY_NAME_2, ANY_TEXT_4))
+            .forNamespace(ANY_NAMESPACE_NAME)
+            .forTable(ANY_TABLE_NAME);
+    Map<String, AttributeValue> key1 = new DynamoOperation(get1, metadata).getKeyMap();
+    Map<String, AttributeValue> key2 = new DynamoOperation(get2, metadata).getKeyMap();
+    Map<String, AttributeValue> item = new HashMap<>(key2);
+    item.put(ANY_NAME_1, AttributeValue.builder().s(ANY_TEXT_3).build());
+    item.put(ANY_NAME_2, AttributeValue.builder().s(ANY_TEXT_4).build());
+    item.put(ANY_NAME_3, AttributeValue.builder().s(ANY_TEXT_1).build());
+    when(client.batchGetItem(any(BatchGetItemRequest.class)))
+        .thenReturn(
+            BatchGetItemResponse.builder()
+                .responses(ImmutableMap.of(getFullTableName(), Collections.singletonList(item)))
+                .build());
+
+    // Act
+    List<Optional<Result>> actual = handler.handle(Arrays.asList(get1, get2));
+
+    // Assert
+    ArgumentCaptor<BatchGetItemRequest> captor = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+    verify(client).batchGetItem(captor.capture());
+    KeysAndAttributes keysAndAttributes = captor.getValue().requestItems().get(getFullTableName());
+    assertThat(keysAndAttributes.keys()).containsExactly(key1, key2);
+    assertThat(keysAndAttributes.consistentRead()).isTrue();
+    assertThat(keysAndAttributes.projectionExpression()).isNull();
+
+    assertThat(actual).hasSize(2);
+    assertThat(actual.get(0)).isEmpty();
+    assertThat(actual.get(1)).isPresent();
+    assertThat(actual.get(1).get().getText(ANY_NAME_3)).isEqualTo(ANY_TEXT_1);
+  }
+
+  @Test
+  public void handle_GetsWithUnprocessedKeysGiven_ShouldRetryUnprocessedKeys() throws Exception {
+    // Arrange
+    when(metadata.getColumnNames())
+        .thenReturn(new LinkedHashSet<>(Arrays.asList(ANY_NAME_1, ANY_NAME_2, ANY_NAME_3)));
+    when(metadata.getColumnDataType(any())).thenReturn(DataType.TEXT);
+    Get get = prepareGet();
+    Map<String, AttributeValue> key = new DynamoOperation(get, metadata).getKeyMap();
+    KeysAndAttributes unprocessed = KeysAndAttributes.builder().keys(key).build();
+    Map<String, AttributeValue> item = new HashMap<>(key);
+    item.put(ANY_NAME_3, AttributeValue.builder().s(ANY_TEXT_3).build());
+    when(client.batchGetItem(any(BatchGetItemRequest.class)))
+        .thenReturn(
+            BatchGetItemResponse.builder()
+                .unprocessedKeys(ImmutableMap.of(getFullTableName(), unprocessed))
+                .build())
+        .thenReturn(
+            BatchGetItemResponse.builder()
+                .responses(ImmutableMap.of(getFullTableName(), Collections.singletonList(item)))
+                .build());
+
+    // Act
+    List<Optional<Result>> actual = handler.handle(Collections.singletonList(get));
+
+    // Assert
+    ArgumentCaptor<BatchGetItemRequest> captor = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+    verify(client, times(2)).batchGetItem(captor.capture());
+    assertThat(captor.getAllValues().get(1).requestItems())
+        .isEqualTo(ImmutableMap.of(getFullTableName(), unprocessed));
+    assertThat(actual).hasSize(1);
+    assertThat(actual.get(0)).isPresent();
+    assertThat(actual.get(0).get().getText(ANY_NAME_3)).isEqualTo(ANY_TEXT_3);
+  }
+
+  @Test
+  public void handle_GetsWithProjectionsGiven_ShouldProjectKeyAttributesAsWell() throws Exception {
+    // Arrange
+    when(metadata.getColumnDataType(any())).thenReturn(DataType.TEXT);
+    Get get = prepareGet().withProjection(ANY_NAME_3);
+    when(client.batchGetItem(any(BatchGetItemRequest.class)))
+        .thenReturn(BatchGetItemResponse.builder().build());
+
+    // Act
+    List<Optional<Result>> actual = handler.handle(Collections.singletonList(get));
+
+    // Assert
+    ArgumentCaptor<BatchGetItemRequest> captor = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+    verify(client).batchGetItem(captor.capture());
+    KeysAndAttributes keysAndAttributes = captor.getValue().requestItems().get(getFullTableName());
+    assertThat(keysAndAttributes.projectionExpression())
+        .isEqualTo(
+            DynamoOperation.COLUMN_NAME_ALIAS
+                + "0,"
+                + DynamoOperation.PARTITION_KEY
+                + ","
+                + DynamoOperation.CLUSTERING_KEY);
+    assertThat(keysAndAttributes.expressionAttributeNames())
+        .isEqualTo(ImmutableMap.of(DynamoOperation.COLUMN_NAME_ALIAS + "0", ANY_NAME_3));
+    assertThat(actual).containsExactly(Optional.empty());
+  }
 }
@@ -32,6 +32,7 @@ public class JdbcConfigTest {
     props.setProperty(JdbcConfig.PREPARED_STATEMENTS_POOL_ENABLED, "true");
     props.setProperty(JdbcConfig.PREPARED_STATEMENTS_POOL_MAX_OPEN, "300");
     props.setProperty(JdbcConfig.ISOLATION_LEVEL, Isolation.SERIALIZABLE.name());
+    props.setProperty(JdbcConfig.SCAN_FETCH_SIZE, "1000");
     props.setProperty(JdbcConfig.TABLE_METADATA_CONNECTION_POOL_MIN_IDLE, "100");
     props.setProperty(JdbcConfig.TABLE_METADATA_CONNECTION_POOL_MAX_IDLE, "200");
     props.setProperty(JdbcConfig.TABLE_METADATA_CONNECTION_POOL_MAX_TOTAL, "300");
@@ -58,6 +59,7 @@ public class JdbcConfigTest {
     assertThat(config.getPreparedStatementsPoolMaxOpen()).isEqualTo(300);
     assertThat(config.getIsolation()).isPresent();
     assertThat(config.getIsolation().get()).isEqualTo(Isolation.SERIALIZABLE);
+    assertThat(config.getScanFetchSize()).isEqualTo(1000);
     assertThat(config.getMetadataSchema()).isEqualTo(ANY_METADATA_SCHEMA);
     assertThat(config.getTableMetadataConnectionPoolMinIdle()).isEqualTo(100);
     assertThat(config.getTableMetadataConnectionPoolMaxIdle()).isEqualTo(200);
@@ -101,6 +103,7 @@ public class JdbcConfigTest {
     assertThat(config.getPreparedStatementsPoolMaxOpen())
         .isEqualTo(JdbcConfig.DEFAULT_PREPARED_STATEMENTS_POOL_MAX_OPEN);
     assertThat(config.getIsolation()).isNotPresent();
+    assertThat(config.getScanFetchSize()).isEqualTo(JdbcConfig.DEFAULT_SCAN_FETCH_SIZE);
     assertThat(config.getMetadataSchema()).isEqualTo(DatabaseConfig.DEFAULT_SYSTEM_NAMESPACE_NAME);
     assertThat(config.getTableMetadataConnectionPoolMinIdle())
         .isEqualTo(JdbcConfig.DEFAULT_TABLE_METADATA_CONNECTION_POOL_MIN_IDLE);
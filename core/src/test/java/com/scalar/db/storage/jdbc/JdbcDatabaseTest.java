@@ -2,6 +2,8 @@ package com.scalar.db.storage.jdbc;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -59,7 +61,8 @@ public class JdbcDatabaseTest {
             dataSource,
             tableMetadataDataSource,
             RdbEngine.createRdbEngineStrategy(RdbEngine.MYSQL),
-            jdbcService);
+            jdbcService,
+            JdbcConfig.DEFAULT_SCAN_FETCH_SIZE);
   }
 
   @Test
@@ -108,6 +111,60 @@ public class JdbcDatabaseTest {
     verify(connection).close();
   }
 
+  @Test
+  public void
+      whenScanOperationExecutedWithRdbEngineRequiringNonAutoCommitAndScanFetchSize_shouldDisableAutoCommitAndCloseConnectionWithoutCommit()
+          throws Exception {
+    // Arrange
+    jdbcDatabase =
+        new JdbcDatabase(
+            databaseConfig,
+            dataSource,
+            tableMetadataDataSource,
+            RdbEngine.createRdbEngineStrategy(RdbEngine.POSTGRESQL),
+            jdbcService,
+            100);
+    when(jdbcService.getScanner(any(), any()))
+        .thenReturn(new ScannerImpl(resultInterpreter, connection, preparedStatement, resultSet));
+
+    // Act
+    Scan scan = new Scan(new Key("p1", "val")).forNamespace(NAMESPACE).forTable(TABLE);
+    Scanner scanner = jdbcDatabase.scan(scan);
+    scanner.close();
+
+    // Assert
+    verify(connection).setAutoCommit(false);
+    verify(jdbcService).getScanner(any(), any());
+    verify(connection, never()).commit();
+    verify(connection).close();
+  }
+
+  @Test
+  public void
+      whenScanOperationExecutedWithRdbEngineRequiringNonAutoCommitWithoutScanFetchSize_shouldNotDisableAutoCommit()
+          throws Exception {
+    // Arrange
+    jdbcDatabase =
+        new JdbcDatabase(
+            databaseConfig,
+            dataSource,
+            tableMetadataDataSource,
+            RdbEngine.createRdbEngineStrategy(RdbEngine.POSTGRESQL),
+            jdbcService,
+            JdbcConfig.DEFAULT_SCAN_FETCH_SIZE);
+    when(jdbcService.getScanner(any(), any()))
+        .thenReturn(new ScannerImpl(resultInterpreter, connection, preparedStatement, resultSet));
+
+    // Act
+    Scan scan = new Scan(new Key("p1", "val")).forNamespace(NAMESPACE).forTable(TABLE);
+    Scanner scanner = jdbcDatabase.scan(scan);
+    scanner.close();
+
+    // Assert
+    verify(connection, never()).setAutoCommit(anyBoolean());
+    verify(connection).close();
+  }
+
   @Test
   public void
       whenScanOperationExecutedAndJdbcServiceThrowsSQLException_shouldThrowExecutionException()
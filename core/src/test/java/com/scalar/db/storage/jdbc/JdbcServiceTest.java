@@ -6,6 +6,9 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -20,6 +23,7 @@ import com.scalar.db.api.Put;
 import com.scalar.db.api.PutIf;
 import com.scalar.db.api.PutIfExists;
 import com.scalar.db.api.PutIfNotExists;
+import com.scalar.db.api.Result;
 import com.scalar.db.api.Scan;
 import com.scalar.db.api.ScanAll;
 import com.scalar.db.api.TableMetadata;
@@ -39,6 +43,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Answers;
@@ -49,6 +55,7 @@ public class JdbcServiceTest {
 
   private static final String NAMESPACE = "ns";
   private static final String TABLE = "tbl";
+  private static final int SCAN_FETCH_SIZE = 10;
 
   @Mock private QueryBuilder queryBuilder;
   @Mock private OperationChecker operationChecker;
@@ -78,7 +85,9 @@ public class JdbcServiceTest {
   @BeforeEach
   public void setUp() throws Exception {
     MockitoAnnotations.openMocks(this).close();
-    jdbcService = new JdbcService(tableMetadataManager, operationChecker, rdbEngine, queryBuilder);
+    jdbcService =
+        new JdbcService(
+            tableMetadataManager, operationChecker, rdbEngine, queryBuilder, SCAN_FETCH_SIZE);
 
     // Arrange
     when(tableMetadataManager.getTableMetadata(any(Operation.class)))
@@ -89,6 +98,9 @@ public class JdbcServiceTest {
                 .addPartitionKey("p1")
                 .build());
     when(connection.getMetaData().getURL()).thenReturn("jdbc:mysql://localhost:3306/");
+    when(selectQuery.sql()).thenReturn("SELECT");
+    when(upsertQuery.sql()).thenReturn("UPSERT");
+    when(deleteQuery.sql()).thenReturn("DELETE");
   }
 
   @Test
@@ -111,6 +123,72 @@ public class JdbcServiceTest {
     verify(queryBuilder).select(any());
   }
 
+  @Test
+  public void whenMultipleGetOperationsExecuted_shouldRetrieveThemWithSingleQuery()
+      throws Exception {
+    // Arrange
+    when(queryBuilder.select(any())).thenReturn(selectQueryBuilder);
+    when(selectQueryBuilder.from(any(), any(), any())).thenReturn(selectQueryBuilder);
+    when(selectQueryBuilder.where(any(), any(), anySet())).thenReturn(selectQueryBuilder);
+    when(selectQueryBuilder.build()).thenReturn(selectQuery);
+    when(rdbEngine.enclose(any())).thenAnswer(i -> "\"" + i.getArgument(0) + "\"");
+    when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+    when(preparedStatement.executeQuery()).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true).thenReturn(false);
+    when(resultSet.getInt("scalardb_multi_get_index")).thenReturn(1);
+    when(resultSet.findColumn("p1")).thenReturn(2);
+    when(resultSet.findColumn("v1")).thenReturn(3);
+    when(resultSet.getString(2)).thenReturn("VAL2");
+    when(resultSet.getString(3)).thenReturn("value");
+
+    // Act
+    Get get1 = new Get(new Key("p1", "val1")).forNamespace(NAMESPACE).forTable(TABLE);
+    Get get2 = new Get(new Key("p1", "val2")).forNamespace(NAMESPACE).forTable(TABLE);
+    List<Optional<Result>> actual = jdbcService.get(Arrays.asList(get1, get2), connection);
+
+    // Assert
+    verify(operationChecker, times(2)).check(any(Get.class));
+    verify(queryBuilder).select(any());
+    verify(connection)
+        .prepareStatement(
+            "SELECT 0 AS \"scalardb_multi_get_index\",t.* FROM (SELECT) t"
+                + " UNION ALL SELECT 1 AS \"scalardb_multi_get_index\",t.* FROM (SELECT) t");
+    verify(preparedStatement).setString(1, "val1");
+    verify(preparedStatement).setString(2, "val2");
+    verify(preparedStatement).executeQuery();
+    assertThat(actual).hasSize(2);
+    assertThat(actual.get(0)).isEmpty();
+    assertThat(actual.get(1)).isPresent();
+    assertThat(actual.get(1).get().getText("p1")).isEqualTo("VAL2");
+    assertThat(actual.get(1).get().getText("v1")).isEqualTo("value");
+  }
+
+  @Test
+  public void whenGetOperationsWithSameShapeExecuted_shouldBuildQueryOnlyOnce() throws Exception {
+    // Arrange
+    when(queryBuilder.select(any())).thenReturn(selectQueryBuilder);
+    when(selectQueryBuilder.from(any(), any(), any())).thenReturn(selectQueryBuilder);
+    when(selectQueryBuilder.where(any(), any(), anySet())).thenReturn(selectQueryBuilder);
+    when(selectQueryBuilder.build()).thenReturn(selectQuery);
+    when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+    when(preparedStatement.executeQuery()).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(false);
+
+    // Act
+    Get get1 = new Get(new Key("p1", "val1")).forNamespace(NAMESPACE).forTable(TABLE);
+    Get get2 = new Get(new Key("p1", "val2")).forNamespace(NAMESPACE).forTable(TABLE);
+    jdbcService.get(get1, connection);
+    jdbcService.get(get2, connection);
+
+    // Assert
+    verify(queryBuilder).select(any());
+    verify(selectQuery).sql();
+    verify(selectQuery, never()).bind(any());
+    verify(connection, times(2)).prepareStatement("SELECT");
+    verify(preparedStatement).setString(1, "val1");
+    verify(preparedStatement).setString(1, "val2");
+  }
+
   @Test
   public void whenGetScannerExecuted_withScan_shouldCallQueryBuilder() throws Exception {
     // Arrange
@@ -123,7 +201,7 @@ public class JdbcServiceTest {
     when(selectQueryBuilder.limit(anyInt())).thenReturn(selectQueryBuilder);
     when(selectQueryBuilder.build()).thenReturn(selectQuery);
 
-    when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+    when(connection.prepareStatement(any(), anyInt(), anyInt())).thenReturn(preparedStatement);
     when(preparedStatement.executeQuery()).thenReturn(resultSet);
     when(resultSet.next()).thenReturn(false);
 
@@ -134,6 +212,41 @@ public class JdbcServiceTest {
     // Assert
     verify(operationChecker).check(any(Scan.class));
     verify(queryBuilder).select(any());
+    verify(connection)
+        .prepareStatement(any(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY));
+    verify(preparedStatement).setFetchSize(SCAN_FETCH_SIZE);
+  }
+
+  @Test
+  public void whenGetScannerExecuted_withoutScanFetchSize_shouldNotSetFetchSize() throws Exception {
+    // Arrange
+    jdbcService =
+        new JdbcService(
+            tableMetadataManager,
+            operationChecker,
+            rdbEngine,
+            queryBuilder,
+            JdbcConfig.DEFAULT_SCAN_FETCH_SIZE);
+
+    when(queryBuilder.select(any())).thenReturn(selectQueryBuilder);
+
+    when(selectQueryBuilder.from(any(), any(), any())).thenReturn(selectQueryBuilder);
+    when(selectQueryBuilder.where(any(), any(), anyBoolean(), any(), anyBoolean(), anySet()))
+        .thenReturn(selectQueryBuilder);
+    when(selectQueryBuilder.orderBy(any())).thenReturn(selectQueryBuilder);
+    when(selectQueryBuilder.limit(anyInt())).thenReturn(selectQueryBuilder);
+    when(selectQueryBuilder.build()).thenReturn(selectQuery);
+
+    when(connection.prepareStatement(any(), anyInt(), anyInt())).thenReturn(preparedStatement);
+    when(preparedStatement.executeQuery()).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(false);
+
+    // Act
+    Scan scan = new Scan(new Key("p1", "val")).forNamespace(NAMESPACE).forTable(TABLE);
+    jdbcService.getScanner(scan, connection);
+
+    // Assert
+    verify(preparedStatement, never()).setFetchSize(anyInt());
   }
 
   @Test
@@ -147,7 +260,7 @@ public class JdbcServiceTest {
     when(selectQueryBuilder.limit(anyInt())).thenReturn(selectQueryBuilder);
     when(selectQueryBuilder.build()).thenReturn(selectQuery);
 
-    when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+    when(connection.prepareStatement(any(), anyInt(), anyInt())).thenReturn(preparedStatement);
     when(preparedStatement.executeQuery()).thenReturn(resultSet);
     when(resultSet.next()).thenReturn(false);
 
@@ -172,7 +285,7 @@ public class JdbcServiceTest {
     when(selectQueryBuilder.limit(anyInt())).thenReturn(selectQueryBuilder);
     when(selectQueryBuilder.build()).thenReturn(selectQuery);
 
-    when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+    when(connection.prepareStatement(any(), anyInt(), anyInt())).thenReturn(preparedStatement);
     when(preparedStatement.executeQuery()).thenReturn(resultSet);
     when(resultSet.next()).thenReturn(false);
 
@@ -611,4 +724,79 @@ public class JdbcServiceTest {
     verify(queryBuilder).upsertInto(any(), any(), any());
     verify(queryBuilder).deleteFrom(any(), any(), any());
   }
+
+  @Test
+  public void
+      whenMutateOperationWithSameShapeUnconditionalMutationsExecuted_shouldExecuteThemAsBatch()
+          throws Exception {
+    // Arrange
+    when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+
+    when(queryBuilder.upsertInto(any(), any(), any())).thenReturn(upsertQueryBuilder);
+    when(upsertQueryBuilder.values(any(), any(), any())).thenReturn(upsertQueryBuilder);
+    when(upsertQueryBuilder.build()).thenReturn(upsertQuery);
+
+    // Act
+    Put put1 =
+        new Put(new Key("p1", "val1"))
+            .withValue("v1", "val2")
+            .forNamespace(NAMESPACE)
+            .forTable(TABLE);
+    Put put2 =
+        new Put(new Key("p1", "val3"))
+            .withValue("v1", "val4")
+            .forNamespace(NAMESPACE)
+            .forTable(TABLE);
+    boolean ret = jdbcService.mutate(Arrays.asList(put1, put2), connection);
+
+    // Assert
+    assertThat(ret).isTrue();
+    verify(connection).prepareStatement("UPSERT");
+    verify(upsertQuery, times(2)).bind(preparedStatement);
+    verify(preparedStatement, times(2)).addBatch();
+    verify(preparedStatement).executeBatch();
+    verify(preparedStatement, never()).executeUpdate();
+  }
+
+  @Test
+  public void
+      whenMutateOperationWithFailingConditionalMutationExecuted_shouldExecuteBatchAndReturnFalse()
+          throws Exception {
+    // Arrange
+    when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+
+    when(queryBuilder.upsertInto(any(), any(), any())).thenReturn(upsertQueryBuilder);
+    when(upsertQueryBuilder.values(any(), any(), any())).thenReturn(upsertQueryBuilder);
+    when(upsertQueryBuilder.build()).thenReturn(upsertQuery);
+
+    when(queryBuilder.update(any(), any(), any())).thenReturn(updateQueryBuilder);
+    when(updateQueryBuilder.set(any())).thenReturn(updateQueryBuilder);
+    when(updateQueryBuilder.where(any(), any())).thenReturn(updateQueryBuilder);
+    when(updateQueryBuilder.build()).thenReturn(updateQuery);
+    when(preparedStatement.executeUpdate()).thenReturn(0);
+
+    // Act
+    Put put1 =
+        new Put(new Key("p1", "val1"))
+            .withValue("v1", "val2")
+            .forNamespace(NAMESPACE)
+            .forTable(TABLE);
+    Put put2 =
+        new Put(new Key("p1", "val3"))
+            .withValue("v1", "val4")
+            .forNamespace(NAMESPACE)
+            .forTable(TABLE);
+    Put put3 =
+        new Put(new Key("p1", "val5"))
+            .withValue("v1", "val6")
+            .withCondition(new PutIfExists())
+            .forNamespace(NAMESPACE)
+            .forTable(TABLE);
+    boolean ret = jdbcService.mutate(Arrays.asList(put1, put2, put3), connection);
+
+    // Assert
+    assertThat(ret).isFalse();
+    verify(preparedStatement).executeBatch();
+    verify(queryBuilder).update(any(), any(), any());
+  }
 }
@@ -152,6 +152,61 @@ public class JdbcUtilsTest {
     }
   }
 
+  @Test
+  public void initDataSource_WithScanFetchSize_ShouldAddCursorFetchProperties() {
+    // Arrange
+    Properties properties = new Properties();
+    properties.setProperty(DatabaseConfig.CONTACT_POINTS, "jdbc:mysql://localhost:3306/");
+    properties.setProperty(DatabaseConfig.STORAGE, "jdbc");
+    properties.setProperty(JdbcConfig.SCAN_FETCH_SIZE, "100");
+
+    JdbcConfig config = new JdbcConfig(new DatabaseConfig(properties));
+    when(rdbEngine.getDriver()).thenReturn(new com.mysql.cj.jdbc.Driver());
+    when(rdbEngine.getConnectionProperties()).thenReturn(Collections.emptyMap());
+    when(rdbEngine.getCursorFetchConnectionProperties())
+        .thenReturn(ImmutableMap.of("useCursorFetch", "true"));
+
+    try (MockedStatic<JdbcUtils> jdbcUtils =
+        Mockito.mockStatic(
+            JdbcUtils.class, withSettings().defaultAnswer(Answers.CALLS_REAL_METHODS))) {
+      BasicDataSource dataSource = spy(BasicDataSource.class);
+      jdbcUtils.when(JdbcUtils::createDataSource).thenReturn(dataSource);
+
+      // Act
+      jdbcUtils.when(() -> JdbcUtils.initDataSource(config, rdbEngine)).thenCallRealMethod();
+
+      // Assert
+      verify(dataSource).addConnectionProperty("useCursorFetch", "true");
+    }
+  }
+
+  @Test
+  public void initDataSource_WithoutScanFetchSize_ShouldNotAddCursorFetchProperties() {
+    // Arrange
+    Properties properties = new Properties();
+    properties.setProperty(DatabaseConfig.CONTACT_POINTS, "jdbc:mysql://localhost:3306/");
+    properties.setProperty(DatabaseConfig.STORAGE, "jdbc");
+
+    JdbcConfig config = new JdbcConfig(new DatabaseConfig(properties));
+    when(rdbEngine.getDriver()).thenReturn(new com.mysql.cj.jdbc.Driver());
+    when(rdbEngine.getConnectionProperties()).thenReturn(Collections.emptyMap());
+    when(rdbEngine.getCursorFetchConnectionProperties())
+        .thenReturn(ImmutableMap.of("useCursorFetch", "true"));
+
+    try (MockedStatic<JdbcUtils> jdbcUtils =
+        Mockito.mockStatic(
+            JdbcUtils.class, withSettings().defaultAnswer(Answers.CALLS_REAL_METHODS))) {
+      BasicDataSource dataSource = spy(BasicDataSource.class);
+      jdbcUtils.when(JdbcUtils::createDataSource).thenReturn(dataSource);
+
+      // Act
+      jdbcUtils.when(() -> JdbcUtils.initDataSource(config, rdbEngine)).thenCallRealMethod();
+
+      // Assert
+      verify(dataSource, never()).addConnectionProperty("useCursorFetch", "true");
+    }
+  }
+
   @Test
   public void initDataSourceForTableMetadata_ShouldReturnProperDataSource() throws SQLException {
     // Arrange
@@ -1,7 +1,9 @@
 package com.scalar.db.storage.jdbc;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.scalar.db.api.Result;
@@ -22,6 +24,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -78,28 +81,33 @@ public class ResultInterpreterTest {
   @BeforeEach
   public void setUp() throws Exception {
     MockitoAnnotations.openMocks(this).close();
+
+    // Arrange the column ordinals in the order of the columns in the table metadata
+    int ordinal = 1;
+    for (String columnName : TABLE_METADATA.getColumnNames()) {
+      when(resultSet.findColumn(columnName)).thenReturn(ordinal++);
+    }
   }
 
   @Test
   public void interpret_ShouldReturnWhatsSet() throws SQLException {
     // Arrange
-    when(resultSet.getString(ANY_NAME_1)).thenReturn(ANY_TEXT_1);
-    when(resultSet.getString(ANY_NAME_2)).thenReturn(ANY_TEXT_2);
-    when(resultSet.getBoolean(ANY_COLUMN_NAME_1)).thenReturn(true);
-    when(resultSet.getInt(ANY_COLUMN_NAME_2)).thenReturn(Integer.MAX_VALUE);
-    when(resultSet.getLong(ANY_COLUMN_NAME_3)).thenReturn(BigIntValue.MAX_VALUE);
-    when(resultSet.getDouble(ANY_COLUMN_NAME_4)).thenReturn((double) Float.MAX_VALUE);
-    when(resultSet.getDouble(ANY_COLUMN_NAME_5)).thenReturn(Double.MAX_VALUE);
-    when(resultSet.getString(ANY_COLUMN_NAME_6)).thenReturn("string");
-    when(resultSet.getBytes(ANY_COLUMN_NAME_7))
-        .thenReturn("bytes".getBytes(StandardCharsets.UTF_8));
-    when(rdbEngine.parseDateColumn(resultSet, ANY_COLUMN_NAME_8))
+    when(resultSet.getString(1)).thenReturn(ANY_TEXT_1);
+    when(resultSet.getString(2)).thenReturn(ANY_TEXT_2);
+    when(resultSet.getBoolean(3)).thenReturn(true);
+    when(resultSet.getInt(4)).thenReturn(Integer.MAX_VALUE);
+    when(resultSet.getLong(5)).thenReturn(BigIntValue.MAX_VALUE);
+    when(resultSet.getDouble(6)).thenReturn((double) Float.MAX_VALUE);
+    when(resultSet.getDouble(7)).thenReturn(Double.MAX_VALUE);
+    when(resultSet.getString(8)).thenReturn("string");
+    when(resultSet.getBytes(9)).thenReturn("bytes".getBytes(StandardCharsets.UTF_8));
+    when(rdbEngine.parseDateColumn(resultSet, 10, ANY_COLUMN_NAME_8))
         .thenReturn(DateColumn.of(ANY_COLUMN_NAME_8, ANY_DATE));
-    when(rdbEngine.parseTimeColumn(resultSet, ANY_COLUMN_NAME_9))
+    when(rdbEngine.parseTimeColumn(resultSet, 11, ANY_COLUMN_NAME_9))
         .thenReturn(TimeColumn.of(ANY_COLUMN_NAME_9, ANY_TIME));
-    when(rdbEngine.parseTimestampColumn(resultSet, ANY_COLUMN_NAME_10))
+    when(rdbEngine.parseTimestampColumn(resultSet, 12, ANY_COLUMN_NAME_10))
         .thenReturn(TimestampColumn.of(ANY_COLUMN_NAME_10, ANY_TIMESTAMP));
-    when(rdbEngine.parseTimestampTZColumn(resultSet, ANY_COLUMN_NAME_11))
+    when(rdbEngine.parseTimestampTZColumn(resultSet, 13, ANY_COLUMN_NAME_11))
         .thenReturn(TimestampTZColumn.of(ANY_COLUMN_NAME_11, ANY_TIMESTAMPTZ));
     when(resultSet.wasNull()).thenReturn(false);
 
@@ -202,22 +210,22 @@ public class ResultInterpreterTest {
   @Test
   public void interpret_ShouldReturnWhatsSetWithNullValues() throws SQLException {
     // Arrange
-    when(resultSet.getString(ANY_NAME_1)).thenReturn(ANY_TEXT_1);
-    when(resultSet.getString(ANY_NAME_2)).thenReturn(ANY_TEXT_2);
-    when(resultSet.getBoolean(ANY_COLUMN_NAME_1)).thenReturn(false);
-    when(resultSet.getInt(ANY_COLUMN_NAME_2)).thenReturn(0);
-    when(resultSet.getLong(ANY_COLUMN_NAME_3)).thenReturn(0L);
-    when(resultSet.getDouble(ANY_COLUMN_NAME_4)).thenReturn(0.0D);
-    when(resultSet.getDouble(ANY_COLUMN_NAME_5)).thenReturn(0.0D);
-    when(resultSet.getString(ANY_COLUMN_NAME_6)).thenReturn(null);
-    when(resultSet.getBytes(ANY_COLUMN_NAME_7)).thenReturn(null);
-    when(rdbEngine.parseDateColumn(resultSet, ANY_COLUMN_NAME_8))
+    when(resultSet.getString(1)).thenReturn(ANY_TEXT_1);
+    when(resultSet.getString(2)).thenReturn(ANY_TEXT_2);
+    when(resultSet.getBoolean(3)).thenReturn(false);
+    when(resultSet.getInt(4)).thenReturn(0);
+    when(resultSet.getLong(5)).thenReturn(0L);
+    when(resultSet.getDouble(6)).thenReturn(0.0D);
+    when(resultSet.getDouble(7)).thenReturn(0.0D);
+    when(resultSet.getString(8)).thenReturn(null);
+    when(resultSet.getBytes(9)).thenReturn(null);
+    when(rdbEngine.parseDateColumn(resultSet, 10, ANY_COLUMN_NAME_8))
         .thenReturn(DateColumn.ofNull(ANY_COLUMN_NAME_8));
-    when(rdbEngine.parseTimeColumn(resultSet, ANY_COLUMN_NAME_9))
+    when(rdbEngine.parseTimeColumn(resultSet, 11, ANY_COLUMN_NAME_9))
         .thenReturn(TimeColumn.ofNull(ANY_COLUMN_NAME_9));
-    when(rdbEngine.parseTimestampColumn(resultSet, ANY_COLUMN_NAME_10))
+    when(rdbEngine.parseTimestampColumn(resultSet, 12, ANY_COLUMN_NAME_10))
         .thenReturn(TimestampColumn.ofNull(ANY_COLUMN_NAME_10));
-    when(rdbEngine.parseTimestampTZColumn(resultSet, ANY_COLUMN_NAME_11))
+    when(rdbEngine.parseTimestampTZColumn(resultSet, 13, ANY_COLUMN_NAME_11))
         .thenReturn(TimestampTZColumn.ofNull(ANY_COLUMN_NAME_11));
     when(resultSet.wasNull()).thenReturn(false).thenReturn(false).thenReturn(true);
 
@@ -311,4 +319,33 @@ public class ResultInterpreterTest {
     assertThat(columns.get(ANY_COLUMN_NAME_11).hasNullValue()).isTrue();
     assertThat(columns.get(ANY_COLUMN_NAME_11).getTimestampTZValue()).isNull();
   }
+
+  @Test
+  public void interpret_WithProjections_ShouldResolveColumnOrdinalsOncePerResultSet()
+      throws SQLException {
+    // Arrange
+    when(resultSet.getString(2)).thenReturn(ANY_TEXT_2);
+    when(resultSet.getInt(4)).thenReturn(10).thenReturn(20);
+    when(resultSet.wasNull()).thenReturn(false);
+
+    List<String> projections = Arrays.asList(ANY_COLUMN_NAME_2, ANY_NAME_2);
+
+    ResultInterpreter interpreter = new ResultInterpreter(projections, TABLE_METADATA, rdbEngine);
+
+    // Act
+    Result result1 = interpreter.interpret(resultSet);
+    Result result2 = interpreter.interpret(resultSet);
+
+    // Assert
+    assertThat(result1.getContainedColumnNames()).containsExactly(ANY_COLUMN_NAME_2, ANY_NAME_2);
+    assertThat(result1.getInt(ANY_COLUMN_NAME_2)).isEqualTo(10);
+    assertThat(result1.getText(ANY_NAME_2)).isEqualTo(ANY_TEXT_2);
+    assertThat(result1.contains(ANY_NAME_1)).isFalse();
+    assertThat(result2.getInt(ANY_COLUMN_NAME_2)).isEqualTo(20);
+    assertThat(result2.getText(ANY_NAME_2)).isEqualTo(ANY_TEXT_2);
+
+    verify(resultSet).findColumn(ANY_COLUMN_NAME_2);
+    verify(resultSet).findColumn(ANY_NAME_2);
+    verify(resultSet, never()).findColumn(ANY_NAME_1);
+  }
 }
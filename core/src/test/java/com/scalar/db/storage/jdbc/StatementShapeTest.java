@@ -0,0 +1,205 @@
+package com.scalar.db.storage.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.scalar.db.api.ConditionBuilder;
+import com.scalar.db.api.Delete;
+import com.scalar.db.api.Get;
+import com.scalar.db.api.Put;
+import com.scalar.db.api.Scan;
+import com.scalar.db.api.TableMetadata;
+import com.scalar.db.io.DataType;
+import com.scalar.db.io.Key;
+import org.junit.jupiter.api.Test;
+
+public class StatementShapeTest {
+
+  private static final String NAMESPACE = "ns";
+  private static final String TABLE = "tbl";
+
+  private static final TableMetadata TABLE_METADATA =
+      TableMetadata.newBuilder()
+          .addColumn("p1", DataType.TEXT)
+          .addColumn("c1", DataType.INT)
+          .addColumn("v1", DataType.TEXT)
+          .addColumn("v2", DataType.INT)
+          .addPartitionKey("p1")
+          .addClusteringKey("c1")
+          .build();
+
+  @Test
+  public void of_GetsWithDifferentValuesGiven_ShouldReturnEqualShapes() {
+    // Arrange
+    Get get1 =
+        Get.newBuilder()
+            .namespace(NAMESPACE)
+            .table(TABLE)
+            .partitionKey(Key.ofText("p1", "aaa"))
+            .clusteringKey(Key.ofInt("c1", 1))
+            .projections("v1", "v2")
+            .build();
+    Get get2 =
+        Get.newBuilder()
+            .namespace(NAMESPACE)
+            .table(TABLE)
+            .partitionKey(Key.ofText("p1", "bbb"))
+            .clusteringKey(Key.ofInt("c1", 2))
+            .projections("v1", "v2")
+            .build();
+
+    // Act
+    StatementShape shape1 = StatementShape.of(get1, TABLE_METADATA);
+    StatementShape shape2 = StatementShape.of(get2, TABLE_METADATA);
+
+    // Assert
+    assertThat(shape1).isEqualTo(shape2);
+    assertThat(shape1.hashCode()).isEqualTo(shape2.hashCode());
+  }
+
+  @Test
+  public void of_GetsWithDifferentProjectionsGiven_ShouldReturnDifferentShapes() {
+    // Arrange
+    Get get1 =
+        Get.newBuilder()
+            .namespace(NAMESPACE)
+            .table(TABLE)
+            .partitionKey(Key.ofText("p1", "aaa"))
+            .projections("v1", "v2")
+            .build();
+    Get get2 =
+        Get.newBuilder()
+            .namespace(NAMESPACE)
+            .table(TABLE)
+            .partitionKey(Key.ofText("p1", "aaa"))
+            .projections("v2", "v1")
+            .build();
+
+    // Act
+    StatementShape shape1 = StatementShape.of(get1, TABLE_METADATA);
+    StatementShape shape2 = StatementShape.of(get2, TABLE_METADATA);
+
+    // Assert
+    assertThat(shape1).isNotEqualTo(shape2);
+  }
+
+  @Test
+  public void of_ScansWithDifferentConditionOperatorsGiven_ShouldReturnDifferentShapes() {
+    // Arrange
+    Scan scan1 =
+        Scan.newBuilder()
+            .namespace(NAMESPACE)
+            .table(TABLE)
+            .partitionKey(Key.ofText("p1", "aaa"))
+            .where(ConditionBuilder.column("v2").isEqualToInt(10))
+            .build();
+    Scan scan2 =
+        Scan.newBuilder()
+            .namespace(NAMESPACE)
+            .table(TABLE)
+            .partitionKey(Key.ofText("p1", "aaa"))
+            .where(ConditionBuilder.column("v2").isGreaterThanInt(10))
+            .build();
+
+    // Act
+    StatementShape shape1 = StatementShape.of(scan1, TABLE_METADATA);
+    StatementShape shape2 = StatementShape.of(scan2, TABLE_METADATA);
+
+    // Assert
+    assertThat(shape1).isNotEqualTo(shape2);
+  }
+
+  @Test
+  public void of_ScansWithDifferentLimitsGiven_ShouldReturnDifferentShapes() {
+    // Arrange
+    Scan scan1 =
+        Scan.newBuilder()
+            .namespace(NAMESPACE)
+            .table(TABLE)
+            .partitionKey(Key.ofText("p1", "aaa"))
+            .limit(10)
+            .build();
+    Scan scan2 =
+        Scan.newBuilder()
+            .namespace(NAMESPACE)
+            .table(TABLE)
+            .partitionKey(Key.ofText("p1", "aaa"))
+            .limit(20)
+            .build();
+
+    // Act
+    StatementShape shape1 = StatementShape.of(scan1, TABLE_METADATA);
+    StatementShape shape2 = StatementShape.of(scan2, TABLE_METADATA);
+
+    // Assert
+    assertThat(shape1).isNotEqualTo(shape2);
+  }
+
+  @Test
+  public void of_ScanAndScanAllGiven_ShouldReturnDifferentShapes() {
+    // Arrange
+    Scan scan = Scan.newBuilder().namespace(NAMESPACE).table(TABLE).all().build();
+    Scan scanWithPartitionKey =
+        Scan.newBuilder()
+            .namespace(NAMESPACE)
+            .table(TABLE)
+            .partitionKey(Key.ofText("p1", "aaa"))
+            .build();
+
+    // Act
+    StatementShape shape1 = StatementShape.of(scan, TABLE_METADATA);
+    StatementShape shape2 = StatementShape.of(scanWithPartitionKey, TABLE_METADATA);
+
+    // Assert
+    assertThat(shape1).isNotEqualTo(shape2);
+  }
+
+  @Test
+  public void of_PutsWithDifferentColumnOrdersGiven_ShouldReturnDifferentShapes() {
+    // Arrange
+    Put put1 =
+        Put.newBuilder()
+            .namespace(NAMESPACE)
+            .table(TABLE)
+            .partitionKey(Key.ofText("p1", "aaa"))
+            .clusteringKey(Key.ofInt("c1", 1))
+            .textValue("v1", "val")
+            .intValue("v2", 1)
+            .build();
+    Put put2 =
+        Put.newBuilder()
+            .namespace(NAMESPACE)
+            .table(TABLE)
+            .partitionKey(Key.ofText("p1", "aaa"))
+            .clusteringKey(Key.ofInt("c1", 1))
+            .intValue("v2", 1)
+            .textValue("v1", "val")
+            .build();
+
+    // Act
+    StatementShape shape1 = StatementShape.of(put1, TABLE_METADATA);
+    StatementShape shape2 = StatementShape.of(put2, TABLE_METADATA);
+
+    // Assert
+    assertThat(shape1).isNotEqualTo(shape2);
+  }
+
+  @Test
+  public void of_SameDeletesWithDifferentTableMetadataInstancesGiven_ShouldReturnDifferentShapes() {
+    // Arrange
+    Delete delete =
+        Delete.newBuilder()
+            .namespace(NAMESPACE)
+            .table(TABLE)
+            .partitionKey(Key.ofText("p1", "aaa"))
+            .clusteringKey(Key.ofInt("c1", 1))
+            .build();
+    TableMetadata anotherTableMetadata = TableMetadata.newBuilder(TABLE_METADATA).build();
+
+    // Act
+    StatementShape shape1 = StatementShape.of(delete, TABLE_METADATA);
+    StatementShape shape2 = StatementShape.of(delete, anotherTableMetadata);
+
+    // Assert
+    assertThat(shape1).isNotEqualTo(shape2);
+  }
+}
@@ -8,6 +8,7 @@ import com.google.common.collect.ImmutableSet;
 import com.scalar.db.api.ConditionBuilder;
 import com.scalar.db.api.ConditionalExpression;
 import com.scalar.db.api.ConditionalExpression.Operator;
+import com.scalar.db.api.Get;
 import com.scalar.db.api.Scan;
 import com.scalar.db.api.Selection.Conjunction;
 import com.scalar.db.api.TableMetadata;
@@ -405,6 +406,95 @@ public class QueryBuilderTest {
     verify(preparedStatement).setString(5, "value2");
   }
 
+  @ParameterizedTest
+  @EnumSource(RdbEngine.class)
+  public void selectQueryBinderTest(RdbEngine rdbEngineType) throws SQLException {
+    RdbEngineStrategy rdbEngine = RdbEngine.createRdbEngineStrategy(rdbEngineType);
+    QueryBuilder queryBuilder = new QueryBuilder(rdbEngine);
+    Key partitionKey = Key.newBuilder().addText("p1", "p1Value").addInt("p2", 10).build();
+
+    // The values of a get are bound in the same order as the query built from it
+    Get get =
+        Get.newBuilder()
+            .namespace(NAMESPACE)
+            .table(TABLE)
+            .partitionKey(partitionKey)
+            .clusteringKey(Key.of("c1", "c1Value", "c2", "c2Value"))
+            .where(ConditionBuilder.column("v3").isEqualToText("v3Value"))
+            .build();
+    SelectQuery query =
+        queryBuilder
+            .select(Collections.emptyList())
+            .from(NAMESPACE, TABLE, TABLE_METADATA)
+            .where(get.getPartitionKey(), get.getClusteringKey(), get.getConjunctions())
+            .build();
+    PreparedStatement expected = mock(PreparedStatement.class);
+    query.bind(expected);
+    PreparedStatement actual = mock(PreparedStatement.class);
+    SelectQueryBinder.bind(new PreparedStatementBinder(actual, TABLE_METADATA, rdbEngine), get);
+    verify(expected).setString(1, "p1Value");
+    verify(expected).setInt(2, 10);
+    verify(expected).setString(3, "c1Value");
+    verify(expected).setString(4, "c2Value");
+    verify(expected).setString(5, "v3Value");
+    verify(actual).setString(1, "p1Value");
+    verify(actual).setInt(2, 10);
+    verify(actual).setString(3, "c1Value");
+    verify(actual).setString(4, "c2Value");
+    verify(actual).setString(5, "v3Value");
+
+    // The values of a scan are bound in the same order as the query built from it
+    Scan scan =
+        Scan.newBuilder()
+            .namespace(NAMESPACE)
+            .table(TABLE)
+            .partitionKey(partitionKey)
+            .start(Key.of("c1", "c1Value", "c2", "c2StartValue"), false)
+            .end(Key.of("c1", "c1Value", "c2", "c2EndValue"))
+            .where(ConditionBuilder.column("v3").isEqualToText("v3Value"))
+            .build();
+    query =
+        queryBuilder
+            .select(Collections.emptyList())
+            .from(NAMESPACE, TABLE, TABLE_METADATA)
+            .where(
+                scan.getPartitionKey(),
+                scan.getStartClusteringKey(),
+                scan.getStartInclusive(),
+                scan.getEndClusteringKey(),
+                scan.getEndInclusive(),
+                scan.getConjunctions())
+            .build();
+    expected = mock(PreparedStatement.class);
+    query.bind(expected);
+    actual = mock(PreparedStatement.class);
+    SelectQueryBinder.bind(new PreparedStatementBinder(actual, TABLE_METADATA, rdbEngine), scan);
+    verify(expected).setString(1, "p1Value");
+    verify(expected).setInt(2, 10);
+    verify(expected).setString(3, "c1Value");
+    verify(expected).setString(4, "c2StartValue");
+    verify(expected).setString(5, "c2EndValue");
+    verify(expected).setString(6, "v3Value");
+    verify(actual).setString(1, "p1Value");
+    verify(actual).setInt(2, 10);
+    verify(actual).setString(3, "c1Value");
+    verify(actual).setString(4, "c2StartValue");
+    verify(actual).setString(5, "c2EndValue");
+    verify(actual).setString(6, "v3Value");
+
+    // Only the conjunctions of a cross-partition scan are bound
+    Scan scanAll =
+        Scan.newBuilder()
+            .namespace(NAMESPACE)
+            .table(TABLE)
+            .all()
+            .where(ConditionBuilder.column("v3").isEqualToText("v3Value"))
+            .build();
+    actual = mock(PreparedStatement.class);
+    SelectQueryBinder.bind(new PreparedStatementBinder(actual, TABLE_METADATA, rdbEngine), scanAll);
+    verify(actual).setString(1, "v3Value");
+  }
+
   @ParameterizedTest
   @EnumSource(RdbEngine.class)
   public void selectQueryWithConjunctionsTest(RdbEngine rdbEngineType) throws SQLException {
@@ -1,14 +1,18 @@
 package com.scalar.db.storage.multistorage;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.scalar.db.api.Delete;
 import com.scalar.db.api.DistributedStorage;
 import com.scalar.db.api.Get;
 import com.scalar.db.api.Put;
+import com.scalar.db.api.Result;
 import com.scalar.db.api.Scan;
 import com.scalar.db.config.DatabaseConfig;
 import com.scalar.db.exception.storage.ExecutionException;
@@ -16,7 +20,9 @@ import com.scalar.db.io.Key;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -103,6 +109,32 @@ public class MultiStorageTest {
     verify(storage3).get(any(Get.class));
   }
 
+  @Test
+  public void whenGetMultipleDataFromTables_DataShouldBeGottenFromEachStorageInOrder()
+      throws ExecutionException {
+    // Arrange
+    Key partitionKey = new Key(COL_NAME1, 1);
+    Get get1 = new Get(partitionKey).forNamespace(NAMESPACE1).forTable(TABLE1);
+    Get get2 = new Get(partitionKey).forNamespace(NAMESPACE1).forTable(TABLE2);
+    Get get3 = new Get(new Key(COL_NAME1, 2)).forNamespace(NAMESPACE1).forTable(TABLE1);
+    Result result1 = mock(Result.class);
+    Result result2 = mock(Result.class);
+    Result result3 = mock(Result.class);
+    when(storage1.get(Arrays.asList(get1, get3)))
+        .thenReturn(Arrays.asList(Optional.of(result1), Optional.of(result3)));
+    when(storage2.get(Collections.singletonList(get2)))
+        .thenReturn(Collections.singletonList(Optional.of(result2)));
+
+    // Act
+    List<Optional<Result>> actual = multiStorage.get(Arrays.asList(get1, get2, get3));
+
+    // Assert
+    assertThat(actual)
+        .containsExactly(Optional.of(result1), Optional.of(result2), Optional.of(result3));
+    verify(storage1).get(Arrays.asList(get1, get3));
+    verify(storage2).get(Collections.singletonList(get2));
+  }
+
   @Test
   public void whenScanDataFromTable1_DataShouldBeScannedFromStorage1() throws ExecutionException {
     // Arrange
@@ -4,17 +4,22 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 import com.google.common.util.concurrent.Uninterruptibles;
 import com.scalar.db.api.DistributedStorage;
+import com.scalar.db.api.Mutation;
 import com.scalar.db.api.Put;
 import com.scalar.db.api.TransactionState;
 import com.scalar.db.exception.storage.ExecutionException;
@@ -22,12 +27,21 @@ import com.scalar.db.exception.storage.NoMutationException;
 import com.scalar.db.exception.storage.RetriableExecutionException;
 import com.scalar.db.exception.transaction.CommitConflictException;
 import com.scalar.db.exception.transaction.CommitException;
+import com.scalar.db.exception.transaction.CrudConflictException;
 import com.scalar.db.exception.transaction.UnknownTransactionStatusException;
 import com.scalar.db.exception.transaction.ValidationConflictException;
 import com.scalar.db.io.Key;
+import com.scalar.db.transaction.consensuscommit.ParallelExecutor.ParallelExecutorTask;
 import com.scalar.db.transaction.consensuscommit.Snapshot.ReadWriteSets;
+import com.scalar.db.transaction.consensuscommit.TransactionMetricsRecorder.Outcome;
+import com.scalar.db.transaction.consensuscommit.TransactionMetricsRecorder.Phase;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Future;
 import org.junit.jupiter.api.AfterEach;
@@ -36,6 +50,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -76,6 +91,11 @@ public class CommitHandlerTest {
     return new CommitHandler(storage, coordinator, tableMetadataManager, parallelExecutor);
   }
 
+  protected CommitHandler createCommitHandlerWithOnePhaseCommit() {
+    return new CommitHandler(
+        storage, coordinator, tableMetadataManager, parallelExecutor, false, true);
+  }
+
   @BeforeEach
   void setUp() throws Exception {
     parallelExecutor = new ParallelExecutor(config);
@@ -208,6 +228,52 @@ public class CommitHandlerTest {
     verify(handler, never()).onFailureBeforeCommit(any());
   }
 
+  @Test
+  public void commit_WithMetricsRecorder_ShouldRecordPhasesAndStorageOperations()
+      throws CommitException, UnknownTransactionStatusException, ExecutionException,
+          CoordinatorException {
+    // Arrange
+    Snapshot snapshot = prepareSnapshotWithDifferentPartitionPut();
+    doNothing().when(storage).mutate(anyList());
+    doNothingWhenCoordinatorPutState();
+    TransactionMetrics metrics = new TransactionMetrics();
+    handler.setMetricsRecorder(metrics);
+    parallelExecutor.setMetricsRecorder(metrics);
+
+    // Act
+    handler.commit(snapshot);
+
+    // Assert
+    assertThat(metrics.getPhaseCount(Phase.PREPARATION, Outcome.SUCCEEDED)).isEqualTo(1);
+    assertThat(metrics.getPhaseCount(Phase.COMMIT_STATE, Outcome.SUCCEEDED)).isEqualTo(1);
+    assertThat(metrics.getPhaseCount(Phase.COMMIT_RECORDS, Outcome.SUCCEEDED)).isEqualTo(1);
+    assertThat(metrics.getStorageOperationCount(Phase.PREPARATION)).isEqualTo(2);
+    assertThat(metrics.getStorageOperationCount(Phase.COMMIT_RECORDS)).isEqualTo(2);
+    // Validation isn't required in the snapshot isolation
+    assertThat(metrics.getPhaseLatencyMicros(Phase.VALIDATION).getCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void
+      commit_NoMutationExceptionThrownInPrepareRecords_WithMetricsRecorder_ShouldRecordConflict()
+          throws ExecutionException, CoordinatorException {
+    // Arrange
+    Snapshot snapshot = prepareSnapshotWithDifferentPartitionPut();
+    doThrow(NoMutationException.class).when(storage).mutate(anyList());
+    doNothing().when(coordinator).putState(any(Coordinator.State.class));
+    TransactionMetrics metrics = new TransactionMetrics();
+    handler.setMetricsRecorder(metrics);
+
+    // Act
+    assertThatThrownBy(() -> handler.commit(snapshot)).isInstanceOf(CommitConflictException.class);
+
+    // Assert
+    assertThat(metrics.getPhaseCount(Phase.PREPARATION, Outcome.CONFLICTED)).isEqualTo(1);
+    assertThat(metrics.getPhaseCount(Phase.ABORT_STATE, Outcome.SUCCEEDED)).isEqualTo(1);
+    assertThat(metrics.getPhaseLatencyMicros(Phase.ROLLBACK_RECORDS).getCount()).isEqualTo(1);
+    assertThat(metrics.getPhaseLatencyMicros(Phase.COMMIT_STATE).getCount()).isEqualTo(0);
+  }
+
   @Test
   public void commit_NoMutationExceptionThrownInPrepareRecords_ShouldThrowCCException()
       throws ExecutionException, CoordinatorException {
@@ -277,6 +343,244 @@ public class CommitHandlerTest {
     verify(handler).onFailureBeforeCommit(snapshot);
   }
 
+  @Test
+  public void
+      commit_SnapshotWithSamePartitionPutsGivenAndOnePhaseCommitEnabled_ShouldCommitInOnePhase()
+          throws CommitException, UnknownTransactionStatusException, ExecutionException {
+    // Arrange
+    handler = spy(createCommitHandlerWithOnePhaseCommit());
+    Snapshot snapshot = prepareSnapshotWithSamePartitionPut();
+    List<Mutation> mutations = new ArrayList<>();
+    doAnswer(invocation -> mutations.addAll(invocation.getArgument(0)))
+        .when(storage)
+        .mutate(anyList());
+
+    // Act
+    handler.commit(snapshot);
+
+    // Assert
+    verify(storage).mutate(anyList());
+    assertThat(mutations).hasSize(2);
+    assertThat(mutations)
+        .allSatisfy(
+            m ->
+                assertThat(((Put) m).getIntValue(Attribute.STATE))
+                    .isEqualTo(TransactionState.COMMITTED.get()));
+    InOrder inOrder = inOrder(storage, coordinator);
+    inOrder.verify(storage).mutate(anyList());
+    inOrder
+        .verify(coordinator)
+        .putState(new Coordinator.State(anyId(), TransactionState.COMMITTED));
+    verify(handler, never()).onFailureBeforeCommit(any());
+  }
+
+  @Test
+  public void commit_CommittedInOnePhase_ShouldNotBeAbortedByAbortState()
+      throws CommitException, UnknownTransactionStatusException, ExecutionException,
+          CoordinatorException {
+    // Arrange
+    handler = createCommitHandlerWithOnePhaseCommit();
+    Snapshot snapshot = prepareSnapshotWithSamePartitionPut();
+    doNothing().when(storage).mutate(anyList());
+
+    // Emulate the Coordinator table, where a state is written only if it doesn't exist
+    Map<String, Coordinator.State> states = new HashMap<>();
+    doAnswer(
+            invocation -> {
+              Coordinator.State state = invocation.getArgument(0);
+              if (states.putIfAbsent(state.getId(), state) != null) {
+                throw new CoordinatorConflictException("conflict");
+              }
+              return null;
+            })
+        .when(coordinator)
+        .putState(any(Coordinator.State.class));
+    doAnswer(invocation -> Optional.ofNullable(states.get(invocation.<String>getArgument(0))))
+        .when(coordinator)
+        .getState(anyString());
+
+    // Act
+    handler.commit(snapshot);
+    TransactionState actual = handler.abortState(snapshot.getId());
+
+    // Assert
+    assertThat(actual).isEqualTo(TransactionState.COMMITTED);
+    assertThat(coordinator.getState(snapshot.getId()))
+        .hasValueSatisfying(s -> assertThat(s.getState()).isEqualTo(TransactionState.COMMITTED));
+  }
+
+  @Test
+  public void
+      commit_CoordinatorExceptionThrownAfterOnePhaseCommit_ShouldThrowUnknownTransactionStatusException()
+          throws ExecutionException, CoordinatorException {
+    // Arrange
+    handler = spy(createCommitHandlerWithOnePhaseCommit());
+    Snapshot snapshot = prepareSnapshotWithSamePartitionPut();
+    doNothing().when(storage).mutate(anyList());
+    doThrow(CoordinatorException.class).when(coordinator).putState(any(Coordinator.State.class));
+
+    // Act Assert
+    assertThatThrownBy(() -> handler.commit(snapshot))
+        .isInstanceOf(UnknownTransactionStatusException.class);
+
+    // Assert
+    verify(storage).mutate(anyList());
+    verify(handler, never()).rollbackRecords(any(Snapshot.class));
+  }
+
+  @Test
+  public void
+      commit_SnapshotWithDifferentPartitionPutsGivenAndOnePhaseCommitEnabled_ShouldCommitInTwoPhases()
+          throws CommitException, UnknownTransactionStatusException, ExecutionException,
+              CoordinatorException {
+    // Arrange
+    handler = spy(createCommitHandlerWithOnePhaseCommit());
+    Snapshot snapshot = prepareSnapshotWithDifferentPartitionPut();
+    doNothing().when(storage).mutate(anyList());
+    doNothingWhenCoordinatorPutState();
+
+    // Act
+    handler.commit(snapshot);
+
+    // Assert
+    verify(storage, times(4)).mutate(anyList());
+    verifyCoordinatorPutState(TransactionState.COMMITTED);
+    verify(handler, never()).onePhaseCommitRecords(any());
+  }
+
+  @Test
+  public void
+      commit_NoMutationExceptionThrownInOnePhaseCommit_ShouldThrowCommitConflictExceptionWithoutAbortingState()
+          throws ExecutionException {
+    // Arrange
+    handler = spy(createCommitHandlerWithOnePhaseCommit());
+    Snapshot snapshot = prepareSnapshotWithSamePartitionPut();
+    doThrow(NoMutationException.class).when(storage).mutate(anyList());
+
+    // Act Assert
+    assertThatThrownBy(() -> handler.commit(snapshot)).isInstanceOf(CommitConflictException.class);
+
+    // Assert
+    verifyNoInteractions(coordinator);
+    verify(handler, never()).rollbackRecords(any(Snapshot.class));
+  }
+
+  @Test
+  public void
+      commit_ExecutionExceptionThrownInOnePhaseCommit_ShouldThrowUnknownTransactionStatusException()
+          throws ExecutionException {
+    // Arrange
+    handler = spy(createCommitHandlerWithOnePhaseCommit());
+    Snapshot snapshot = prepareSnapshotWithSamePartitionPut();
+    doThrow(ExecutionException.class).when(storage).mutate(anyList());
+
+    // Act Assert
+    assertThatThrownBy(() -> handler.commit(snapshot))
+        .isInstanceOf(UnknownTransactionStatusException.class);
+
+    // Assert
+    verifyNoInteractions(coordinator);
+    verify(handler, never()).rollbackRecords(any(Snapshot.class));
+  }
+
+  @Test
+  public void
+      commit_RetriableExecutionExceptionThrownInOnePhaseCommit_ShouldThrowUnknownTransactionStatusException()
+          throws ExecutionException {
+    // Arrange
+    handler = spy(createCommitHandlerWithOnePhaseCommit());
+    Snapshot snapshot = prepareSnapshotWithSamePartitionPut();
+    doThrow(RetriableExecutionException.class).when(storage).mutate(anyList());
+
+    // Act Assert
+    assertThatThrownBy(() -> handler.commit(snapshot))
+        .isInstanceOf(UnknownTransactionStatusException.class);
+
+    // Assert
+    verifyNoInteractions(coordinator);
+    verify(handler, never()).rollbackRecords(any(Snapshot.class));
+  }
+
+  @Test
+  public void commit_ImplicitPreReadTasksGiven_ShouldPrepareEachPartitionRightAfterItsPreRead()
+      throws CommitException, UnknownTransactionStatusException, ExecutionException,
+          CoordinatorException {
+    // Arrange
+    Snapshot snapshot = prepareSnapshotWithDifferentPartitionPut();
+    List<String> events = new ArrayList<>();
+    Map<Snapshot.Key, ParallelExecutorTask> implicitPreReadTasks = new LinkedHashMap<>();
+    implicitPreReadTasks.put(new Snapshot.Key(preparePut2()), () -> events.add("read2"));
+    implicitPreReadTasks.put(new Snapshot.Key(preparePut1()), () -> events.add("read1"));
+    doAnswer(
+            invocation -> {
+              List<Mutation> mutations = invocation.getArgument(0);
+              Key partitionKey = mutations.get(0).getPartitionKey();
+              events.add("mutate:" + partitionKey.getColumns().get(0).getTextValue());
+              return null;
+            })
+        .when(storage)
+        .mutate(anyList());
+    doNothingWhenCoordinatorPutState();
+
+    // Act
+    handler.commit(snapshot, implicitPreReadTasks);
+
+    // Assert
+    assertThat(events.subList(0, 4))
+        .containsExactly(
+            "read1",
+            "mutate:" + ANY_TEXT_1,
+            "read2",
+            "mutate:" + ANY_TEXT_3);
+    verify(storage, times(4)).mutate(anyList());
+    verifyCoordinatorPutState(TransactionState.COMMITTED);
+    verify(handler, never()).onFailureBeforeCommit(any());
+  }
+
+  @Test
+  public void commit_ImplicitPreReadFailedInPipelinedPreparation_ShouldAbortAndRollbackRecords()
+      throws ExecutionException, CoordinatorException {
+    // Arrange
+    Snapshot snapshot = prepareSnapshotWithDifferentPartitionPut();
+    Map<Snapshot.Key, ParallelExecutorTask> implicitPreReadTasks = new LinkedHashMap<>();
+    implicitPreReadTasks.put(
+        new Snapshot.Key(preparePut1()),
+        () -> {
+          throw new CrudConflictException("conflict", anyId());
+        });
+    doNothing().when(coordinator).putState(any(Coordinator.State.class));
+    doNothing().when(handler).rollbackRecords(any(Snapshot.class));
+
+    // Act
+    assertThatThrownBy(() -> handler.commit(snapshot, implicitPreReadTasks))
+        .isInstanceOf(CommitConflictException.class)
+        .hasRootCauseInstanceOf(CrudConflictException.class);
+
+    // Assert
+    verify(storage, never()).mutate(anyList());
+    verify(coordinator).putState(new Coordinator.State(anyId(), TransactionState.ABORTED));
+    verify(coordinator, never())
+        .putState(new Coordinator.State(anyId(), TransactionState.COMMITTED));
+    verify(handler).rollbackRecords(snapshot);
+    verify(handler).onFailureBeforeCommit(snapshot);
+  }
+
+  @Test
+  public void isPipelinedPreparationEnabled_SnapshotHookGiven_ShouldReturnFalse() {
+    // Arrange
+    CommitHandler commitHandler =
+        new CommitHandler(storage, coordinator, tableMetadataManager, parallelExecutor, true);
+    boolean enabledWithoutHook = commitHandler.isPipelinedPreparationEnabled();
+
+    // Act
+    commitHandler.setBeforePreparationSnapshotHook(beforePreparationSnapshotHook);
+    boolean enabledWithHook = commitHandler.isPipelinedPreparationEnabled();
+
+    // Assert
+    assertThat(enabledWithoutHook).isTrue();
+    assertThat(enabledWithHook).isFalse();
+  }
+
   @Test
   public void
       commit_ExceptionThrownInPrepareRecordsAndCoordinatorConflictExceptionThrownInCoordinatorAbortThenAbortedReturnedInGetState_ShouldRollbackRecords()
@@ -56,6 +56,13 @@ class CommitHandlerWithGroupCommitTest extends CommitHandlerTest {
         storage, coordinator, tableMetadataManager, parallelExecutor, groupCommitter);
   }
 
+  @Override
+  protected CommitHandler createCommitHandlerWithOnePhaseCommit() {
+    createGroupCommitterIfNotExists();
+    return new CommitHandlerWithGroupCommit(
+        storage, coordinator, tableMetadataManager, parallelExecutor, groupCommitter, false, true);
+  }
+
   private String anyGroupCommitParentId() {
     return parentKey;
   }
@@ -18,6 +18,7 @@ import com.scalar.db.api.DistributedStorageAdmin;
 import com.scalar.db.api.TableMetadata;
 import com.scalar.db.exception.storage.ExecutionException;
 import com.scalar.db.io.DataType;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -47,6 +48,7 @@ public abstract class ConsensusCommitAdminTestBase {
   public void setUp() throws Exception {
     MockitoAnnotations.openMocks(this).close();
     when(config.getCoordinatorNamespace()).thenReturn(getCoordinatorNamespaceConfig());
+    when(config.getCoordinatorShards()).thenReturn(1);
     admin = new ConsensusCommitAdmin(distributedStorageAdmin, config, false);
     coordinatorNamespaceName = getCoordinatorNamespaceConfig().orElse(Coordinator.NAMESPACE);
   }
@@ -101,6 +103,81 @@ public abstract class ConsensusCommitAdminTestBase {
             coordinatorNamespaceName, Coordinator.TABLE, Coordinator.TABLE_METADATA, options);
   }
 
+  @Test
+  public void createCoordinatorTables_WithCoordinatorShardsGiven_shouldCreateAllShardTables()
+      throws ExecutionException {
+    // Arrange
+    when(config.getCoordinatorShards()).thenReturn(3);
+    admin = new ConsensusCommitAdmin(distributedStorageAdmin, config, false);
+
+    // Act
+    admin.createCoordinatorTables();
+
+    // Assert
+    verify(distributedStorageAdmin)
+        .createNamespace(coordinatorNamespaceName, Collections.emptyMap());
+    for (String table : Arrays.asList(Coordinator.TABLE, "state_1", "state_2")) {
+      verify(distributedStorageAdmin)
+          .createTable(
+              coordinatorNamespaceName, table, Coordinator.TABLE_METADATA, Collections.emptyMap());
+    }
+  }
+
+  @Test
+  public void
+      createCoordinatorTables_WithCoordinatorShardsDifferentFromProvisionedOnes_shouldThrowIllegalArgumentException()
+          throws ExecutionException {
+    // Arrange
+    when(config.getCoordinatorShards()).thenReturn(3);
+    admin = new ConsensusCommitAdmin(distributedStorageAdmin, config, false);
+    when(distributedStorageAdmin.tableExists(coordinatorNamespaceName, Coordinator.TABLE))
+        .thenReturn(true);
+
+    // Act Assert
+    assertThatThrownBy(() -> admin.createCoordinatorTables())
+        .isInstanceOf(IllegalArgumentException.class);
+    verify(distributedStorageAdmin, never()).createNamespace(any(), any());
+    verify(distributedStorageAdmin, never()).createTable(any(), any(), any(), any());
+  }
+
+  @Test
+  public void
+      coordinatorTablesExist_WithCoordinatorShardsGivenAndSomeShardNotExist_shouldReturnFalse()
+          throws ExecutionException {
+    // Arrange
+    when(config.getCoordinatorShards()).thenReturn(3);
+    admin = new ConsensusCommitAdmin(distributedStorageAdmin, config, false);
+    when(distributedStorageAdmin.tableExists(coordinatorNamespaceName, Coordinator.TABLE))
+        .thenReturn(true);
+    when(distributedStorageAdmin.tableExists(coordinatorNamespaceName, "state_1"))
+        .thenReturn(false);
+    when(distributedStorageAdmin.tableExists(coordinatorNamespaceName, "state_2")).thenReturn(true);
+
+    // Act
+    boolean actual = admin.coordinatorTablesExist();
+
+    // Assert
+    assertThat(actual).isFalse();
+  }
+
+  @Test
+  public void dropCoordinatorTables_WithCoordinatorShardsGiven_shouldDropAllShardTables()
+      throws ExecutionException {
+    // Arrange
+    when(config.getCoordinatorShards()).thenReturn(3);
+    admin = new ConsensusCommitAdmin(distributedStorageAdmin, config, false);
+    when(distributedStorageAdmin.tableExists(any(), any())).thenReturn(true);
+
+    // Act
+    admin.dropCoordinatorTables();
+
+    // Assert
+    verify(distributedStorageAdmin).dropTable(coordinatorNamespaceName, Coordinator.TABLE);
+    verify(distributedStorageAdmin).dropTable(coordinatorNamespaceName, "state_1");
+    verify(distributedStorageAdmin).dropTable(coordinatorNamespaceName, "state_2");
+    verify(distributedStorageAdmin).dropNamespace(coordinatorNamespaceName);
+  }
+
   @Test
   public void truncateCoordinatorTables_shouldTruncateCoordinatorTableProperly()
       throws ExecutionException {
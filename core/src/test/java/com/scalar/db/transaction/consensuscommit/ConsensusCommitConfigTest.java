@@ -21,6 +21,10 @@ public class ConsensusCommitConfigTest {
     assertThat(config.getIsolation()).isEqualTo(Isolation.SNAPSHOT);
     assertThat(config.getSerializableStrategy()).isEqualTo(SerializableStrategy.EXTRA_READ);
     assertThat(config.getCoordinatorNamespace()).isNotPresent();
+    assertThat(config.getCoordinatorShards()).isEqualTo(1);
+    assertThat(config.isCoordinatorStateCacheEnabled()).isFalse();
+    assertThat(config.getCoordinatorStateCacheMaxSize()).isEqualTo(100000);
+    assertThat(config.getCoordinatorStateCacheExpirationTimeMillis()).isEqualTo(60000);
     assertThat(config.getParallelExecutorCount()).isEqualTo(128);
     assertThat(config.isParallelPreparationEnabled()).isTrue();
     assertThat(config.isParallelValidationEnabled()).isTrue();
@@ -28,8 +32,24 @@ public class ConsensusCommitConfigTest {
     assertThat(config.isParallelRollbackEnabled()).isTrue();
     assertThat(config.isAsyncCommitEnabled()).isFalse();
     assertThat(config.isAsyncRollbackEnabled()).isFalse();
+    assertThat(config.isPipelinedPreparationEnabled()).isFalse();
+    assertThat(config.isOnePhaseCommitEnabled()).isFalse();
     assertThat(config.isIncludeMetadataEnabled()).isFalse();
     assertThat(config.isParallelImplicitPreReadEnabled()).isTrue();
+    assertThat(config.getParallelExecutorMode()).isEqualTo(ParallelExecutorMode.FIXED_THREAD_POOL);
+    assertThat(config.getParallelPreparationMaxConcurrency()).isEqualTo(0);
+    assertThat(config.getParallelValidationMaxConcurrency()).isEqualTo(0);
+    assertThat(config.getParallelCommitMaxConcurrency()).isEqualTo(0);
+    assertThat(config.getParallelRollbackMaxConcurrency()).isEqualTo(0);
+    assertThat(config.getParallelImplicitPreReadMaxConcurrency()).isEqualTo(0);
+    assertThat(config.isRecoverySweeperEnabled()).isFalse();
+    assertThat(config.getRecoverySweeperTables()).isEmpty();
+    assertThat(config.getRecoverySweeperIntervalMillis()).isEqualTo(60000);
+    assertThat(config.getRecoverySweeperConcurrency()).isEqualTo(4);
+    assertThat(config.getRecoverySweeperBatchSize()).isEqualTo(100);
+    assertThat(config.getRecoverySweeperMaxRecordsPerSecond()).isEqualTo(1000);
+    assertThat(config.isTransactionMetricsEnabled()).isFalse();
+    assertThat(config.isCoordinatorGroupCommitMetricsEnabled()).isFalse();
   }
 
   @Test
@@ -109,6 +129,92 @@ public class ConsensusCommitConfigTest {
     assertThat(config.getCoordinatorNamespace().get()).isEqualTo("changed_coordinator");
   }
 
+  @Test
+  public void constructor_PropertiesWithCoordinatorShardsGiven_ShouldLoadProperly() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(ConsensusCommitConfig.COORDINATOR_SHARDS, "8");
+
+    // Act
+    ConsensusCommitConfig config = new ConsensusCommitConfig(new DatabaseConfig(props));
+
+    // Assert
+    assertThat(config.getCoordinatorShards()).isEqualTo(8);
+  }
+
+  @Test
+  public void constructor_InvalidCoordinatorShardsGiven_ShouldThrowIllegalArgumentException() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(ConsensusCommitConfig.COORDINATOR_SHARDS, "0");
+
+    // Act Assert
+    assertThatThrownBy(() -> new ConsensusCommitConfig(new DatabaseConfig(props)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void constructor_CoordinatorStateCacheRelatedPropertiesGiven_ShouldLoadProperly() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(ConsensusCommitConfig.COORDINATOR_STATE_CACHE_ENABLED, "true");
+    props.setProperty(ConsensusCommitConfig.COORDINATOR_STATE_CACHE_MAX_SIZE, "500");
+    props.setProperty(ConsensusCommitConfig.COORDINATOR_STATE_CACHE_EXPIRATION_TIME_MILLIS, "-1");
+
+    // Act
+    ConsensusCommitConfig config = new ConsensusCommitConfig(new DatabaseConfig(props));
+
+    // Assert
+    assertThat(config.isCoordinatorStateCacheEnabled()).isTrue();
+    assertThat(config.getCoordinatorStateCacheMaxSize()).isEqualTo(500);
+    assertThat(config.getCoordinatorStateCacheExpirationTimeMillis()).isEqualTo(-1);
+  }
+
+  @Test
+  public void constructor_TransactionMetricsEnabledGiven_ShouldLoadProperly() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(ConsensusCommitConfig.TRANSACTION_METRICS_ENABLED, "true");
+
+    // Act
+    ConsensusCommitConfig config = new ConsensusCommitConfig(new DatabaseConfig(props));
+
+    // Assert
+    assertThat(config.isTransactionMetricsEnabled()).isTrue();
+  }
+
+  @Test
+  public void constructor_CoordinatorGroupCommitMetricsEnabledGiven_ShouldLoadProperly() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(ConsensusCommitConfig.COORDINATOR_GROUP_COMMIT_METRICS_ENABLED, "true");
+
+    // Act
+    ConsensusCommitConfig config = new ConsensusCommitConfig(new DatabaseConfig(props));
+
+    // Assert
+    assertThat(config.isCoordinatorGroupCommitMetricsEnabled()).isTrue();
+  }
+
+  @Test
+  public void constructor_GroupCommitAdaptiveSizingRelatedPropertiesGiven_ShouldLoadProperly() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(
+        ConsensusCommitConfig.COORDINATOR_GROUP_COMMIT_ADAPTIVE_SIZING_ENABLED, "true");
+    props.setProperty(ConsensusCommitConfig.COORDINATOR_GROUP_COMMIT_MIN_SLOT_CAPACITY, "2");
+    props.setProperty(
+        ConsensusCommitConfig.COORDINATOR_GROUP_COMMIT_MIN_GROUP_SIZE_FIX_TIMEOUT_MILLIS, "5");
+
+    // Act
+    ConsensusCommitConfig config = new ConsensusCommitConfig(new DatabaseConfig(props));
+
+    // Assert
+    assertThat(config.isCoordinatorGroupCommitAdaptiveSizingEnabled()).isTrue();
+    assertThat(config.getCoordinatorGroupCommitMinSlotCapacity()).isEqualTo(2);
+    assertThat(config.getCoordinatorGroupCommitMinGroupSizeFixTimeoutMillis()).isEqualTo(5);
+  }
+
   @Test
   public void constructor_ParallelExecutionRelatedPropertiesGiven_ShouldLoadProperly() {
     // Arrange
@@ -180,6 +286,32 @@ public class ConsensusCommitConfigTest {
     assertThat(config.isAsyncRollbackEnabled()).isFalse(); // use the async commit value
   }
 
+  @Test
+  public void constructor_PipelinedPreparationEnabledGiven_ShouldLoadProperly() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(ConsensusCommitConfig.PIPELINED_PREPARATION_ENABLED, "true");
+
+    // Act
+    ConsensusCommitConfig config = new ConsensusCommitConfig(new DatabaseConfig(props));
+
+    // Assert
+    assertThat(config.isPipelinedPreparationEnabled()).isTrue();
+  }
+
+  @Test
+  public void constructor_OnePhaseCommitEnabledGiven_ShouldLoadProperly() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(ConsensusCommitConfig.ONE_PHASE_COMMIT_ENABLED, "true");
+
+    // Act
+    ConsensusCommitConfig config = new ConsensusCommitConfig(new DatabaseConfig(props));
+
+    // Assert
+    assertThat(config.isOnePhaseCommitEnabled()).isTrue();
+  }
+
   @Test
   public void constructor_PropertiesWithIncludeMetadataEnabledGiven_ShouldLoadProperly() {
     // Arrange
@@ -205,4 +337,74 @@ public class ConsensusCommitConfigTest {
     // Assert
     assertThat(config.isParallelImplicitPreReadEnabled()).isFalse();
   }
+
+  @Test
+  public void constructor_PropertiesWithRecoverySweeperPropertiesGiven_ShouldLoadProperly() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(ConsensusCommitConfig.RECOVERY_SWEEPER_ENABLED, "true");
+    props.setProperty(ConsensusCommitConfig.RECOVERY_SWEEPER_TABLES, "ns1.tbl1, ns2.tbl2");
+    props.setProperty(ConsensusCommitConfig.RECOVERY_SWEEPER_INTERVAL_MILLIS, "1000");
+    props.setProperty(ConsensusCommitConfig.RECOVERY_SWEEPER_CONCURRENCY, "8");
+    props.setProperty(ConsensusCommitConfig.RECOVERY_SWEEPER_BATCH_SIZE, "50");
+    props.setProperty(ConsensusCommitConfig.RECOVERY_SWEEPER_MAX_RECORDS_PER_SECOND, "200");
+
+    // Act
+    ConsensusCommitConfig config = new ConsensusCommitConfig(new DatabaseConfig(props));
+
+    // Assert
+    assertThat(config.isRecoverySweeperEnabled()).isTrue();
+    assertThat(config.getRecoverySweeperTables()).containsExactly("ns1.tbl1", "ns2.tbl2");
+    assertThat(config.getRecoverySweeperIntervalMillis()).isEqualTo(1000);
+    assertThat(config.getRecoverySweeperConcurrency()).isEqualTo(8);
+    assertThat(config.getRecoverySweeperBatchSize()).isEqualTo(50);
+    assertThat(config.getRecoverySweeperMaxRecordsPerSecond()).isEqualTo(200);
+  }
+
+  @Test
+  public void constructor_InvalidRecoverySweeperTableGiven_ShouldThrowIllegalArgumentException() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(ConsensusCommitConfig.RECOVERY_SWEEPER_TABLES, "tbl1");
+
+    // Act Assert
+    assertThatThrownBy(() -> new ConsensusCommitConfig(new DatabaseConfig(props)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void
+      constructor_PropertiesWithParallelExecutorModeAndMaxConcurrencyGiven_ShouldLoadProperly() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(ConsensusCommitConfig.PARALLEL_EXECUTOR_MODE, "virtual_thread");
+    props.setProperty(ConsensusCommitConfig.PARALLEL_PREPARATION_MAX_CONCURRENCY, "10");
+    props.setProperty(ConsensusCommitConfig.PARALLEL_VALIDATION_MAX_CONCURRENCY, "20");
+    props.setProperty(ConsensusCommitConfig.PARALLEL_COMMIT_MAX_CONCURRENCY, "30");
+    props.setProperty(ConsensusCommitConfig.PARALLEL_ROLLBACK_MAX_CONCURRENCY, "40");
+    props.setProperty(ConsensusCommitConfig.PARALLEL_IMPLICIT_PRE_READ_MAX_CONCURRENCY, "50");
+
+    // Act
+    ConsensusCommitConfig config = new ConsensusCommitConfig(new DatabaseConfig(props));
+
+    // Assert
+    assertThat(config.getParallelExecutorMode()).isEqualTo(ParallelExecutorMode.VIRTUAL_THREAD);
+    assertThat(config.getParallelPreparationMaxConcurrency()).isEqualTo(10);
+    assertThat(config.getParallelValidationMaxConcurrency()).isEqualTo(20);
+    assertThat(config.getParallelCommitMaxConcurrency()).isEqualTo(30);
+    assertThat(config.getParallelRollbackMaxConcurrency()).isEqualTo(40);
+    assertThat(config.getParallelImplicitPreReadMaxConcurrency()).isEqualTo(50);
+  }
+
+  @Test
+  public void
+      constructor_UnsupportedParallelExecutorModeGiven_ShouldThrowIllegalArgumentException() {
+    // Arrange
+    Properties props = new Properties();
+    props.setProperty(ConsensusCommitConfig.PARALLEL_EXECUTOR_MODE, "unknown");
+
+    // Act Assert
+    assertThatThrownBy(() -> new ConsensusCommitConfig(new DatabaseConfig(props)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
 }
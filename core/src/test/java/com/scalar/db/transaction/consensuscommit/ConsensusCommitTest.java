@@ -112,7 +112,7 @@ public class ConsensusCommitTest {
 
     // Assert
     assertThat(actual).isPresent();
-    verify(recovery, never()).recover(get, result);
+    verify(recovery, never()).recover(get, Collections.singletonList(result));
     verify(crud).get(get);
   }
 
@@ -129,7 +129,7 @@ public class ConsensusCommitTest {
     // Act Assert
     assertThatThrownBy(() -> consensus.get(get)).isInstanceOf(UncommittedRecordException.class);
 
-    verify(recovery).recover(get, result);
+    verify(recovery).recover(get, Collections.singletonList(result));
   }
 
   @Test
@@ -161,7 +161,7 @@ public class ConsensusCommitTest {
     // Act Assert
     assertThatThrownBy(() -> consensus.scan(scan)).isInstanceOf(UncommittedRecordException.class);
 
-    verify(recovery).recover(scan, result);
+    verify(recovery).recover(scan, Collections.singletonList(result));
   }
 
   @Test
@@ -209,7 +209,7 @@ public class ConsensusCommitTest {
     // Act Assert
     assertThatThrownBy(() -> consensus.put(put)).isInstanceOf(UncommittedRecordException.class);
 
-    verify(recovery).recover(get, result);
+    verify(recovery).recover(get, Collections.singletonList(result));
   }
 
   @Test
@@ -259,7 +259,7 @@ public class ConsensusCommitTest {
     assertThatThrownBy(() -> consensus.delete(delete))
         .isInstanceOf(UncommittedRecordException.class);
 
-    verify(recovery).recover(get, result);
+    verify(recovery).recover(get, Collections.singletonList(result));
   }
 
   @Test
@@ -360,7 +360,7 @@ public class ConsensusCommitTest {
     assertThatThrownBy(() -> consensus.upsert(upsert))
         .isInstanceOf(UncommittedRecordException.class);
 
-    verify(recovery).recover(get, result);
+    verify(recovery).recover(get, Collections.singletonList(result));
   }
 
   @Test
@@ -590,7 +590,7 @@ public class ConsensusCommitTest {
     assertThatThrownBy(() -> consensus.update(update))
         .isInstanceOf(UncommittedRecordException.class);
 
-    verify(recovery).recover(get, result);
+    verify(recovery).recover(get, Collections.singletonList(result));
   }
 
   @Test
@@ -658,7 +658,7 @@ public class ConsensusCommitTest {
     // Act Assert
     assertThatThrownBy(() -> consensus.commit()).isInstanceOf(CommitConflictException.class);
 
-    verify(recovery).recover(get, result);
+    verify(recovery).recover(get, Collections.singletonList(result));
   }
 
   @Test
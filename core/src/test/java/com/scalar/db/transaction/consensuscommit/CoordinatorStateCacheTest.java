@@ -0,0 +1,90 @@
+package com.scalar.db.transaction.consensuscommit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.scalar.db.api.TransactionState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class CoordinatorStateCacheTest {
+  private static final String ANY_ID_1 = "anyid1";
+  private static final String ANY_ID_2 = "anyid2";
+
+  @ParameterizedTest
+  @EnumSource(
+      value = TransactionState.class,
+      names = {"COMMITTED", "ABORTED"})
+  public void put_TerminalStateGiven_ShouldCacheIt(TransactionState transactionState) {
+    // Arrange
+    CoordinatorStateCache cache = new CoordinatorStateCache(10, -1);
+    Coordinator.State state = new Coordinator.State(ANY_ID_1, transactionState);
+
+    // Act
+    cache.put(state);
+
+    // Assert
+    assertThat(cache.get(ANY_ID_1)).hasValue(state);
+  }
+
+  @ParameterizedTest
+  @EnumSource(
+      value = TransactionState.class,
+      names = {"PREPARED", "DELETED", "UNKNOWN"})
+  public void put_NonTerminalStateGiven_ShouldNotCacheIt(TransactionState transactionState) {
+    // Arrange
+    CoordinatorStateCache cache = new CoordinatorStateCache(10, -1);
+
+    // Act
+    cache.put(new Coordinator.State(ANY_ID_1, transactionState));
+
+    // Assert
+    assertThat(cache.get(ANY_ID_1)).isEmpty();
+  }
+
+  @Test
+  public void put_MoreStatesThanMaxSizeGiven_ShouldEvictStates() {
+    // Arrange
+    CoordinatorStateCache cache = new CoordinatorStateCache(1, -1);
+
+    // Act
+    cache.put(new Coordinator.State(ANY_ID_1, TransactionState.COMMITTED));
+    cache.put(new Coordinator.State(ANY_ID_2, TransactionState.COMMITTED));
+
+    // Assert
+    assertThat(cache.get(ANY_ID_1)).isEmpty();
+    assertThat(cache.get(ANY_ID_2)).isPresent();
+    assertThat(cache.getMetrics().getEvictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void get_ExpiredStateGiven_ShouldReturnEmpty() throws InterruptedException {
+    // Arrange
+    CoordinatorStateCache cache = new CoordinatorStateCache(10, 1);
+    cache.put(new Coordinator.State(ANY_ID_1, TransactionState.COMMITTED));
+    Thread.sleep(10);
+
+    // Act Assert
+    assertThat(cache.get(ANY_ID_1)).isEmpty();
+  }
+
+  @Test
+  public void getMetrics_ShouldReturnHitsAndMisses() {
+    // Arrange
+    CoordinatorStateCache cache = new CoordinatorStateCache(10, -1);
+    cache.put(new Coordinator.State(ANY_ID_1, TransactionState.COMMITTED));
+    cache.get(ANY_ID_1);
+    cache.get(ANY_ID_1);
+    cache.get(ANY_ID_1);
+    cache.get(ANY_ID_2);
+
+    // Act
+    CoordinatorStateCache.Metrics metrics = cache.getMetrics();
+
+    // Assert
+    assertThat(metrics.getSize()).isEqualTo(1);
+    assertThat(metrics.getHitCount()).isEqualTo(3);
+    assertThat(metrics.getMissCount()).isEqualTo(1);
+    assertThat(metrics.getHitRate()).isEqualTo(0.75);
+  }
+}
@@ -1,6 +1,7 @@
 package com.scalar.db.transaction.consensuscommit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
@@ -20,12 +21,14 @@ import static org.mockito.Mockito.when;
 import com.google.common.base.Joiner;
 import com.scalar.db.api.Consistency;
 import com.scalar.db.api.DistributedStorage;
+import com.scalar.db.api.DistributedStorageAdmin;
 import com.scalar.db.api.Get;
 import com.scalar.db.api.Put;
 import com.scalar.db.api.PutIfNotExists;
 import com.scalar.db.api.Result;
 import com.scalar.db.api.TransactionState;
 import com.scalar.db.exception.storage.ExecutionException;
+import com.scalar.db.exception.storage.NoMutationException;
 import com.scalar.db.io.BigIntValue;
 import com.scalar.db.io.IntValue;
 import com.scalar.db.io.TextValue;
@@ -34,8 +37,11 @@ import com.scalar.db.transaction.consensuscommit.CoordinatorGroupCommitter.Coord
 import com.scalar.db.util.ScalarDbUtils;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -49,6 +55,7 @@ import org.mockito.MockitoAnnotations;
 
 public class CoordinatorTest {
   private static final String ANY_ID_1 = "anyid1";
+  private static final String ANY_ID_2 = "anyid2";
   private static final String EMPTY_CHILD_IDS = "";
   private static final long ANY_TIME_1 = 1;
 
@@ -61,6 +68,7 @@ public class CoordinatorTest {
   @BeforeEach
   public void setUp() throws Exception {
     MockitoAnnotations.openMocks(this).close();
+    when(config.getCoordinatorShards()).thenReturn(1);
     coordinator = new Coordinator(storage, config);
   }
 
@@ -102,6 +110,50 @@ public class CoordinatorTest {
     assertThatThrownBy(() -> coordinator.getState(id)).isInstanceOf(CoordinatorException.class);
   }
 
+  @Test
+  public void getStates_TransactionIdsGiven_ShouldReturnStatesReadWithSingleMultiGet()
+      throws ExecutionException, CoordinatorException {
+    // Arrange
+    Result result = mock(Result.class);
+    when(result.getValue(Attribute.ID))
+        .thenReturn(Optional.of(new TextValue(Attribute.ID, ANY_ID_1)));
+    when(result.getValue(Attribute.CHILD_IDS))
+        .thenReturn(Optional.of(new TextValue(Attribute.CHILD_IDS, EMPTY_CHILD_IDS)));
+    when(result.getValue(Attribute.STATE))
+        .thenReturn(Optional.of(new IntValue(Attribute.STATE, TransactionState.COMMITTED.get())));
+    when(result.getValue(Attribute.CREATED_AT))
+        .thenReturn(Optional.of(new BigIntValue(Attribute.CREATED_AT, ANY_TIME_1)));
+    when(storage.get(anyList())).thenReturn(Arrays.asList(Optional.of(result), Optional.empty()));
+
+    // Act
+    Map<String, Optional<Coordinator.State>> states =
+        coordinator.getStates(Arrays.asList(ANY_ID_1, ANY_ID_2));
+
+    // Assert
+    verify(storage)
+        .get(
+            Arrays.asList(
+                coordinator.createGetWith(ANY_ID_1), coordinator.createGetWith(ANY_ID_2)));
+    verify(storage, never()).get(any(Get.class));
+    assertThat(states).hasSize(2);
+    assertThat(states.get(ANY_ID_1)).isPresent();
+    Assertions.assertThat(states.get(ANY_ID_1).get().getState())
+        .isEqualTo(TransactionState.COMMITTED);
+    assertThat(states.get(ANY_ID_2)).isEmpty();
+  }
+
+  @Test
+  public void getStates_ExceptionThrownInMultiGet_ShouldThrowCoordinatorException()
+      throws ExecutionException {
+    // Arrange
+    ExecutionException toThrow = mock(ExecutionException.class);
+    when(storage.get(anyList())).thenThrow(toThrow);
+
+    // Act Assert
+    assertThatThrownBy(() -> coordinator.getStates(Arrays.asList(ANY_ID_1, ANY_ID_2)))
+        .isInstanceOf(CoordinatorException.class);
+  }
+
   @Test
   public void putState_StateGiven_ShouldPutWithCorrectValues()
       throws ExecutionException, CoordinatorException {
@@ -214,6 +266,243 @@ public class CoordinatorTest {
     assertThat(captor.getValue().forTable().get()).isEqualTo(Coordinator.TABLE);
   }
 
+  @Test
+  public void getState_WithCoordinatorShardsGiven_ShouldGetFromShardResolvedById()
+      throws ExecutionException, CoordinatorException {
+    // Arrange
+    when(config.getCoordinatorShards()).thenReturn(4);
+    coordinator = new Coordinator(storage, config);
+    when(storage.get(any(Get.class))).thenReturn(Optional.empty());
+    String expectedTable = Coordinator.getTableName(Math.floorMod(ANY_ID_1.hashCode(), 4), 4);
+
+    // Act
+    coordinator.getState(ANY_ID_1);
+
+    // Assert
+    verify(storage).get(getArgumentCaptor.capture());
+    assertThat(getArgumentCaptor.getValue().forTable()).hasValue(expectedTable);
+  }
+
+  @Test
+  public void putState_WithCoordinatorShardsGiven_ShouldPutToSameShardAsGetState()
+      throws ExecutionException, CoordinatorException {
+    // Arrange
+    when(config.getCoordinatorShards()).thenReturn(4);
+    coordinator = new Coordinator(storage, config);
+    Coordinator.State state = new Coordinator.State(ANY_ID_1, TransactionState.COMMITTED);
+
+    // Act
+    coordinator.putState(state);
+
+    // Assert
+    ArgumentCaptor<Put> captor = ArgumentCaptor.forClass(Put.class);
+    verify(storage).put(captor.capture());
+    assertThat(captor.getValue().forTable()).hasValue(coordinator.getTableName(ANY_ID_1));
+    assertThat(coordinator.createGetWith(ANY_ID_1).forTable())
+        .hasValue(coordinator.getTableName(ANY_ID_1));
+  }
+
+  @Test
+  public void getTableName_WithCoordinatorShardsGiven_ShouldSpreadIdsAcrossAllShards() {
+    // Arrange
+    when(config.getCoordinatorShards()).thenReturn(4);
+    coordinator = new Coordinator(storage, config);
+
+    // Act
+    Set<String> tables = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      tables.add(coordinator.getTableName(UUID.randomUUID().toString()));
+    }
+
+    // Assert
+    assertThat(tables)
+        .containsExactlyInAnyOrder(Coordinator.TABLE, "state_1", "state_2", "state_3");
+  }
+
+  @Test
+  public void getTableNames_ShouldReturnTableNamesOfShards() {
+    // Act Assert
+    assertThat(Coordinator.getTableNames(1)).containsExactly(Coordinator.TABLE);
+    assertThat(Coordinator.getTableNames(3))
+        .containsExactly(Coordinator.TABLE, "state_1", "state_2");
+  }
+
+  @Test
+  public void validateShards_CoordinatorTablesNotExist_ShouldNotThrowAnyException()
+      throws ExecutionException {
+    // Arrange
+    DistributedStorageAdmin admin = mock(DistributedStorageAdmin.class);
+    when(admin.tableExists(any(), any())).thenReturn(false);
+
+    // Act Assert
+    assertThatCode(() -> Coordinator.validateShards(admin, Coordinator.NAMESPACE, 4))
+        .doesNotThrowAnyException();
+  }
+
+  @Test
+  public void validateShards_SameShardsProvisioned_ShouldNotThrowAnyException()
+      throws ExecutionException {
+    // Arrange
+    DistributedStorageAdmin admin = mock(DistributedStorageAdmin.class);
+    for (String table : Coordinator.getTableNames(4)) {
+      when(admin.tableExists(Coordinator.NAMESPACE, table)).thenReturn(true);
+    }
+
+    // Act Assert
+    assertThatCode(() -> Coordinator.validateShards(admin, Coordinator.NAMESPACE, 4))
+        .doesNotThrowAnyException();
+  }
+
+  @Test
+  public void
+      validateShards_NonShardedTableProvisionedAndShardsGiven_ShouldThrowIllegalArgumentException()
+          throws ExecutionException {
+    // Arrange
+    DistributedStorageAdmin admin = mock(DistributedStorageAdmin.class);
+    when(admin.tableExists(Coordinator.NAMESPACE, Coordinator.TABLE)).thenReturn(true);
+
+    // Act Assert
+    assertThatThrownBy(() -> Coordinator.validateShards(admin, Coordinator.NAMESPACE, 4))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void validateShards_MoreShardsProvisionedThanGiven_ShouldThrowIllegalArgumentException()
+      throws ExecutionException {
+    // Arrange
+    DistributedStorageAdmin admin = mock(DistributedStorageAdmin.class);
+    for (String table : Coordinator.getTableNames(4)) {
+      when(admin.tableExists(Coordinator.NAMESPACE, table)).thenReturn(true);
+    }
+
+    // Act Assert
+    assertThatThrownBy(() -> Coordinator.validateShards(admin, Coordinator.NAMESPACE, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private Result mockStateResult(String id, TransactionState transactionState) {
+    Result result = mock(Result.class);
+    when(result.getValue(Attribute.ID)).thenReturn(Optional.of(new TextValue(Attribute.ID, id)));
+    when(result.getValue(Attribute.CHILD_IDS))
+        .thenReturn(Optional.of(new TextValue(Attribute.CHILD_IDS, EMPTY_CHILD_IDS)));
+    when(result.getValue(Attribute.STATE))
+        .thenReturn(Optional.of(new IntValue(Attribute.STATE, transactionState.get())));
+    when(result.getValue(Attribute.CREATED_AT))
+        .thenReturn(Optional.of(new BigIntValue(Attribute.CREATED_AT, ANY_TIME_1)));
+    return result;
+  }
+
+  @ParameterizedTest
+  @EnumSource(
+      value = TransactionState.class,
+      names = {"COMMITTED", "ABORTED"})
+  public void getState_WithStateCacheEnabledAndTerminalStateRead_ShouldReadFromStorageOnlyOnce(
+      TransactionState transactionState) throws ExecutionException, CoordinatorException {
+    // Arrange
+    when(config.isCoordinatorStateCacheEnabled()).thenReturn(true);
+    when(config.getCoordinatorStateCacheMaxSize()).thenReturn(10);
+    when(config.getCoordinatorStateCacheExpirationTimeMillis()).thenReturn(-1);
+    coordinator = new Coordinator(storage, config);
+    Result result = mockStateResult(ANY_ID_1, transactionState);
+    when(storage.get(any(Get.class))).thenReturn(Optional.of(result));
+
+    // Act
+    Optional<Coordinator.State> state1 = coordinator.getState(ANY_ID_1);
+    Optional<Coordinator.State> state2 = coordinator.getState(ANY_ID_1);
+
+    // Assert
+    verify(storage).get(any(Get.class));
+    assertThat(state1).isPresent();
+    assertThat(state2).isEqualTo(state1);
+    assertThat(coordinator.getStateCacheMetrics()).isPresent();
+    assertThat(coordinator.getStateCacheMetrics().get().getHitCount()).isEqualTo(1);
+    assertThat(coordinator.getStateCacheMetrics().get().getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void getState_WithStateCacheEnabledAndStateNotFound_ShouldReadFromStorageEveryTime()
+      throws ExecutionException, CoordinatorException {
+    // Arrange
+    when(config.isCoordinatorStateCacheEnabled()).thenReturn(true);
+    when(config.getCoordinatorStateCacheMaxSize()).thenReturn(10);
+    when(config.getCoordinatorStateCacheExpirationTimeMillis()).thenReturn(-1);
+    coordinator = new Coordinator(storage, config);
+    when(storage.get(any(Get.class))).thenReturn(Optional.empty());
+
+    // Act
+    coordinator.getState(ANY_ID_1);
+    coordinator.getState(ANY_ID_1);
+
+    // Assert
+    verify(storage, times(2)).get(any(Get.class));
+  }
+
+  @Test
+  public void getState_WithStateCacheEnabledAndNonTerminalStateRead_ShouldNotCacheIt()
+      throws ExecutionException, CoordinatorException {
+    // Arrange
+    when(config.isCoordinatorStateCacheEnabled()).thenReturn(true);
+    when(config.getCoordinatorStateCacheMaxSize()).thenReturn(10);
+    when(config.getCoordinatorStateCacheExpirationTimeMillis()).thenReturn(-1);
+    coordinator = new Coordinator(storage, config);
+    Result result = mockStateResult(ANY_ID_1, TransactionState.PREPARED);
+    when(storage.get(any(Get.class))).thenReturn(Optional.of(result));
+
+    // Act
+    coordinator.getState(ANY_ID_1);
+    coordinator.getState(ANY_ID_1);
+
+    // Assert
+    verify(storage, times(2)).get(any(Get.class));
+  }
+
+  @Test
+  public void getState_WithStateCacheEnabledAfterPutState_ShouldNotReadFromStorage()
+      throws ExecutionException, CoordinatorException {
+    // Arrange
+    when(config.isCoordinatorStateCacheEnabled()).thenReturn(true);
+    when(config.getCoordinatorStateCacheMaxSize()).thenReturn(10);
+    when(config.getCoordinatorStateCacheExpirationTimeMillis()).thenReturn(-1);
+    coordinator = new Coordinator(storage, config);
+    Coordinator.State state = new Coordinator.State(ANY_ID_1, TransactionState.COMMITTED);
+    coordinator.putState(state);
+
+    // Act
+    Optional<Coordinator.State> actual = coordinator.getState(ANY_ID_1);
+
+    // Assert
+    verify(storage, never()).get(any(Get.class));
+    assertThat(actual).hasValue(state);
+  }
+
+  @Test
+  public void getState_WithStateCacheEnabledAndPutStateConflicted_ShouldReadFromStorage()
+      throws ExecutionException, CoordinatorException {
+    // Arrange
+    when(config.isCoordinatorStateCacheEnabled()).thenReturn(true);
+    when(config.getCoordinatorStateCacheMaxSize()).thenReturn(10);
+    when(config.getCoordinatorStateCacheExpirationTimeMillis()).thenReturn(-1);
+    coordinator = new Coordinator(storage, config);
+    doThrow(NoMutationException.class).when(storage).put(any(Put.class));
+    Result result = mockStateResult(ANY_ID_1, TransactionState.ABORTED);
+    when(storage.get(any(Get.class))).thenReturn(Optional.of(result));
+    assertThatThrownBy(() -> coordinator.putState(new State(ANY_ID_1, TransactionState.COMMITTED)))
+        .isInstanceOf(CoordinatorConflictException.class);
+
+    // Act
+    Optional<Coordinator.State> actual = coordinator.getState(ANY_ID_1);
+
+    // Assert
+    verify(storage).get(any(Get.class));
+    assertThat(actual.map(State::getState)).hasValue(TransactionState.ABORTED);
+  }
+
+  @Test
+  public void getStateCacheMetrics_WithStateCacheDisabled_ShouldReturnEmpty() {
+    // Act Assert
+    assertThat(coordinator.getStateCacheMetrics()).isEmpty();
+  }
+
   // For group commit
 
   private void assertGetArgumentCaptorForGetState(
@@ -3,6 +3,7 @@ package com.scalar.db.transaction.consensuscommit;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -23,6 +24,7 @@ import com.scalar.db.api.Scan;
 import com.scalar.db.api.ScanAll;
 import com.scalar.db.api.Scanner;
 import com.scalar.db.api.TableMetadata;
+import com.scalar.db.api.TransactionCrudOperable;
 import com.scalar.db.api.TransactionState;
 import com.scalar.db.common.ResultImpl;
 import com.scalar.db.exception.storage.ExecutionException;
@@ -32,9 +34,13 @@ import com.scalar.db.io.DataType;
 import com.scalar.db.io.Key;
 import com.scalar.db.io.TextColumn;
 import com.scalar.db.util.ScalarDbUtils;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -50,6 +56,7 @@ import org.mockito.MockitoAnnotations;
 public class CrudHandlerTest {
   private static final String ANY_NAMESPACE_NAME = "namespace";
   private static final String ANY_TABLE_NAME = "table";
+  private static final String ANY_TABLE_NAME_2 = "table2";
   private static final String ANY_ID_1 = "id1";
   private static final String ANY_ID_2 = "id2";
   private static final String ANY_NAME_1 = "name1";
@@ -360,7 +367,8 @@ public class CrudHandlerTest {
     // Assert
     verify(snapshot).putIntoReadSet(key, Optional.of(expected));
     verify(snapshot).putIntoScanSet(scan, ImmutableMap.of(key, expected));
-    verify(snapshot).verify(scan);
+    verify(snapshot).verify(scan, Collections.emptyMap());
+    verify(snapshot, never()).verify(scan);
     assertThat(results.size()).isEqualTo(1);
     assertThat(results.get(0))
         .isEqualTo(new FilteredResult(expected, Collections.emptyList(), TABLE_METADATA, false));
@@ -392,6 +400,71 @@ public class CrudHandlerTest {
     verify(snapshot, never()).putIntoScanSet(any(), ArgumentMatchers.any());
   }
 
+  @Test
+  public void
+      scan_MultiplePreparedResultsGivenFromStorage_ShouldThrowUncommittedRecordExceptionWithAllOfThem()
+          throws ExecutionException, IOException {
+    // Arrange
+    Scan scan = prepareScan();
+    Scan scanForStorage = toScanForStorageFrom(scan);
+    TransactionResult result1 = prepareResult(TransactionState.PREPARED);
+    TransactionResult result2 = prepareResult(TransactionState.PREPARED);
+    when(scanner.iterator())
+        .thenReturn(
+            Arrays.<Result>asList(result1, prepareResult(TransactionState.COMMITTED), result2)
+                .iterator());
+    when(storage.scan(scanForStorage)).thenReturn(scanner);
+
+    // Act Assert
+    assertThatThrownBy(() -> handler.scan(scan))
+        .isInstanceOf(UncommittedRecordException.class)
+        .satisfies(
+            e -> {
+              UncommittedRecordException exception = (UncommittedRecordException) e;
+              assertThat(exception.getResults()).containsExactly(result1, result2);
+            });
+
+    verify(scanner).close();
+    verify(snapshot, never()).putIntoScanSet(any(), ArgumentMatchers.any());
+  }
+
+  @Test
+  public void
+      scan_ManyResultsAfterPreparedResultGivenFromStorage_ShouldStopReadingAtMaxRecordsAndThrowUncommittedRecordException()
+          throws ExecutionException, IOException {
+    // Arrange
+    Scan scan = prepareScan();
+    Scan scanForStorage = toScanForStorageFrom(scan);
+    TransactionResult preparedResult = prepareResult(TransactionState.PREPARED);
+    List<Result> resultsFromStorage = new ArrayList<>();
+    resultsFromStorage.add(preparedResult);
+    for (int i = 0; i < CrudHandler.MAX_RECORDS_READ_AFTER_UNCOMMITTED_RECORD + 10; i++) {
+      resultsFromStorage.add(prepareResult(TransactionState.COMMITTED));
+    }
+    Iterator<Result> iterator = resultsFromStorage.iterator();
+    when(scanner.iterator()).thenReturn(iterator);
+    when(storage.scan(scanForStorage)).thenReturn(scanner);
+
+    // Act Assert
+    assertThatThrownBy(() -> handler.scan(scan))
+        .isInstanceOf(UncommittedRecordException.class)
+        .satisfies(
+            e -> {
+              UncommittedRecordException exception = (UncommittedRecordException) e;
+              assertThat(exception.getResults()).containsExactly(preparedResult);
+            });
+
+    // The scan stops reading after the maximum number of records
+    int remaining = 0;
+    while (iterator.hasNext()) {
+      iterator.next();
+      remaining++;
+    }
+    assertThat(remaining).isEqualTo(10);
+    verify(scanner).close();
+    verify(snapshot, never()).putIntoReadSet(any(), ArgumentMatchers.any());
+  }
+
   @Test
   public void scan_CalledTwice_SecondTimeShouldReturnTheSameFromSnapshot()
       throws ExecutionException, CrudException {
@@ -582,6 +655,156 @@ public class CrudHandlerTest {
     assertThat(readSet.get(key2).get()).isEqualTo(new TransactionResult(result2));
   }
 
+  @Test
+  public void getScanner_ResultsGivenFromStorage_ShouldReturnThemLazilyAndUpdateSnapshotAtEnd()
+      throws ExecutionException, CrudException, IOException {
+    // Arrange
+    Scan scan = prepareScan();
+    Scan scanForStorage = toScanForStorageFrom(scan);
+    result = prepareResult(TransactionState.COMMITTED);
+    Snapshot.Key key = new Snapshot.Key(scan, result);
+    TransactionResult expected = new TransactionResult(result);
+    when(scanner.one()).thenReturn(Optional.of(result)).thenReturn(Optional.empty());
+    when(storage.scan(scanForStorage)).thenReturn(scanner);
+    when(snapshot.getResult(any())).thenReturn(Optional.of(expected));
+
+    // Act
+    TransactionCrudOperable.Scanner actual = handler.getScanner(scan, e -> {});
+    Optional<Result> result1 = actual.one();
+
+    // Assert
+    verify(snapshot).putIntoReadSet(key, Optional.of(expected));
+    verify(snapshot, never()).putIntoScanSet(any(), any());
+    assertThat(result1)
+        .hasValue(new FilteredResult(expected, Collections.emptyList(), TABLE_METADATA, false));
+
+    // Act
+    Optional<Result> result2 = actual.one();
+    actual.close();
+
+    // Assert
+    assertThat(result2).isEmpty();
+    verify(snapshot).putIntoScanSet(scan, ImmutableMap.of(key, expected));
+    verify(snapshot).verify(scan);
+    verify(snapshot, never()).putIntoScannerSet(any(), any());
+    verify(scanner).close();
+  }
+
+  @Test
+  public void getScanner_ClosedBeforeReachingEnd_ShouldPutOnlyReadResultsIntoScannerSet()
+      throws ExecutionException, CrudException, IOException {
+    // Arrange
+    Scan scan = prepareScan();
+    Scan scanForStorage = toScanForStorageFrom(scan);
+    result = prepareResult(TransactionState.COMMITTED);
+    Snapshot.Key key = new Snapshot.Key(scan, result);
+    TransactionResult expected = new TransactionResult(result);
+    when(scanner.one()).thenReturn(Optional.of(result));
+    when(storage.scan(scanForStorage)).thenReturn(scanner);
+    when(snapshot.getResult(any())).thenReturn(Optional.of(expected));
+
+    // Act
+    TransactionCrudOperable.Scanner actual = handler.getScanner(scan, e -> {});
+    actual.one();
+    handler.closeScanners();
+
+    // Assert
+    verify(scanner).one();
+    verify(scanner).close();
+    verify(snapshot).putIntoScannerSet(scan, new LinkedHashMap<>(ImmutableMap.of(key, expected)));
+    verify(snapshot, never()).putIntoScanSet(any(), any());
+    assertThat(actual.one()).isEmpty();
+  }
+
+  @Test
+  public void getScanner_RecordPutAfterReadThroughScanner_ShouldContinueScanning()
+      throws ExecutionException, CrudException {
+    // Arrange
+    Scan scan = prepareScan();
+    Scan scanForStorage = toScanForStorageFrom(scan);
+    result = prepareResult(TransactionState.COMMITTED);
+    ImmutableMap<String, Column<?>> columns =
+        ImmutableMap.<String, Column<?>>builder()
+            .put(ANY_NAME_1, TextColumn.of(ANY_NAME_1, ANY_TEXT_1))
+            .put(ANY_NAME_2, TextColumn.of(ANY_NAME_2, ANY_TEXT_3))
+            .put(Attribute.ID, ScalarDbUtils.toColumn(Attribute.toIdValue(ANY_ID_2)))
+            .put(
+                Attribute.STATE,
+                ScalarDbUtils.toColumn(Attribute.toStateValue(TransactionState.COMMITTED)))
+            .put(Attribute.VERSION, ScalarDbUtils.toColumn(Attribute.toVersionValue(2)))
+            .build();
+    Result result2 = new ResultImpl(columns, TABLE_METADATA);
+    Map<Scan, Map<Snapshot.Key, TransactionResult>> scanSet = new HashMap<>();
+    snapshot =
+        new Snapshot(
+            ANY_TX_ID,
+            Isolation.SNAPSHOT,
+            null,
+            tableMetadataManager,
+            parallelExecutor,
+            new ConcurrentHashMap<>(),
+            new ConcurrentHashMap<>(),
+            scanSet,
+            new HashMap<>(),
+            new HashMap<>());
+    handler = new CrudHandler(storage, snapshot, tableMetadataManager, false, parallelExecutor);
+    when(scanner.one())
+        .thenReturn(Optional.of(result))
+        .thenReturn(Optional.of(result2))
+        .thenReturn(Optional.empty());
+    when(storage.scan(scanForStorage)).thenReturn(scanner);
+    Put put =
+        Put.newBuilder()
+            .namespace(ANY_NAMESPACE_NAME)
+            .table(ANY_TABLE_NAME)
+            .partitionKey(Key.ofText(ANY_NAME_1, ANY_TEXT_1))
+            .clusteringKey(Key.ofText(ANY_NAME_2, ANY_TEXT_2))
+            .build();
+
+    // Act
+    TransactionCrudOperable.Scanner actual = handler.getScanner(scan, e -> {});
+    Optional<Result> first = actual.one();
+    handler.put(put);
+    Optional<Result> second = actual.one();
+    Optional<Result> end = actual.one();
+
+    // Assert
+    assertThat(first).isPresent();
+    assertThat(second).isPresent();
+    assertThat(second.get().getText(ANY_NAME_2)).isEqualTo(ANY_TEXT_3);
+    assertThat(end).isEmpty();
+    assertThat(scanSet.get(scan)).hasSize(2);
+  }
+
+  @Test
+  public void
+      getScanner_PreparedResultGivenFromStorage_ShouldHandleAndThrowUncommittedRecordException()
+          throws ExecutionException, CrudException {
+    // Arrange
+    Scan scan = prepareScan();
+    Scan scanForStorage = toScanForStorageFrom(scan);
+    result = prepareResult(TransactionState.PREPARED);
+    when(scanner.one()).thenReturn(Optional.of(result));
+    when(storage.scan(scanForStorage)).thenReturn(scanner);
+    List<UncommittedRecordException> handled = new ArrayList<>();
+
+    // Act
+    TransactionCrudOperable.Scanner actual = handler.getScanner(scan, handled::add);
+
+    // Assert
+    assertThatThrownBy(actual::one)
+        .isInstanceOf(UncommittedRecordException.class)
+        .satisfies(
+            e -> {
+              UncommittedRecordException exception = (UncommittedRecordException) e;
+              assertThat(exception.getSelection()).isEqualTo(scan);
+              assertThat(exception.getResults().size()).isEqualTo(1);
+              assertThat(exception.getResults().get(0)).isEqualTo(result);
+            });
+    assertThat(handled).hasSize(1);
+    verify(snapshot, never()).putIntoReadSet(any(), ArgumentMatchers.any());
+  }
+
   @Test
   public void
       scan_CrossPartitionScanAndResultFromStorageGiven_ShouldUpdateSnapshotAndValidateThenReturn()
@@ -899,7 +1122,7 @@ public class CrudHandlerTest {
     handler.readUnread(key, getForKey);
 
     // Assert
-    verify(storage, never()).get(any());
+    verify(storage, never()).get(any(Get.class));
     verify(snapshot, never()).putIntoGetSet(any(Get.class), any(Optional.class));
   }
 
@@ -919,13 +1142,13 @@ public class CrudHandlerTest {
             .partitionKey(key.getPartitionKey())
             .build();
     when(snapshot.containsKeyInGetSet(getForKey)).thenReturn(false);
-    when(storage.get(any())).thenReturn(Optional.empty());
+    when(storage.get(any(Get.class))).thenReturn(Optional.empty());
 
     // Act
     handler.readUnread(key, getForKey);
 
     // Assert
-    verify(storage).get(any());
+    verify(storage).get(any(Get.class));
     verify(snapshot).putIntoReadSet(key, Optional.empty());
     verify(snapshot).putIntoGetSet(getForKey, Optional.empty());
   }
@@ -947,13 +1170,13 @@ public class CrudHandlerTest {
             .where(mock(ConditionalExpression.class))
             .build();
     when(snapshot.containsKeyInGetSet(getForKey)).thenReturn(false);
-    when(storage.get(any())).thenReturn(Optional.empty());
+    when(storage.get(any(Get.class))).thenReturn(Optional.empty());
 
     // Act
     handler.readUnread(key, getForKey);
 
     // Assert
-    verify(storage).get(any());
+    verify(storage).get(any(Get.class));
     verify(snapshot, never()).putIntoReadSet(key, Optional.empty());
     verify(snapshot).putIntoGetSet(getForKey, Optional.empty());
   }
@@ -970,7 +1193,7 @@ public class CrudHandlerTest {
 
     Result result = mock(Result.class);
     when(result.getInt(Attribute.STATE)).thenReturn(TransactionState.COMMITTED.get());
-    when(storage.get(any())).thenReturn(Optional.of(result));
+    when(storage.get(any(Get.class))).thenReturn(Optional.of(result));
 
     Get getForKey =
         Get.newBuilder()
@@ -984,7 +1207,7 @@ public class CrudHandlerTest {
     handler.readUnread(key, getForKey);
 
     // Assert
-    verify(storage).get(any());
+    verify(storage).get(any(Get.class));
     verify(snapshot).putIntoReadSet(key, Optional.of(new TransactionResult(result)));
   }
 
@@ -1000,7 +1223,7 @@ public class CrudHandlerTest {
 
     Result result = mock(Result.class);
     when(result.getInt(Attribute.STATE)).thenReturn(TransactionState.PREPARED.get());
-    when(storage.get(any())).thenReturn(Optional.of(result));
+    when(storage.get(any(Get.class))).thenReturn(Optional.of(result));
 
     Get getForKey =
         Get.newBuilder()
@@ -1056,7 +1279,12 @@ public class CrudHandlerTest {
     when(delete2.forTable()).thenReturn(Optional.of(ANY_TABLE_NAME));
     when(delete2.getPartitionKey()).thenReturn(Key.ofText(ANY_NAME_1, ANY_TEXT_2));
 
-    when(snapshot.getDeletesInDeleteSet()).thenReturn(Arrays.asList(delete1, delete2));
+    Delete delete3 = mock(Delete.class);
+    when(delete3.forNamespace()).thenReturn(Optional.of(ANY_NAMESPACE_NAME));
+    when(delete3.forTable()).thenReturn(Optional.of(ANY_TABLE_NAME_2));
+    when(delete3.getPartitionKey()).thenReturn(Key.ofText(ANY_NAME_1, ANY_TEXT_1));
+
+    when(snapshot.getDeletesInDeleteSet()).thenReturn(Arrays.asList(delete1, delete2, delete3));
 
     when(snapshot.getId()).thenReturn(ANY_TX_ID);
 
@@ -1071,9 +1299,87 @@ public class CrudHandlerTest {
     verify(parallelExecutor)
         .executeImplicitPreRead(tasksCaptor.capture(), transactionIdCaptor.capture());
 
+    // The records of each table are read with a multi-get in a separate task
     List<ParallelExecutor.ParallelExecutorTask> tasks = tasksCaptor.getValue();
-    assertThat(tasks.size()).isEqualTo(4);
+    assertThat(tasks.size()).isEqualTo(2);
 
     assertThat(transactionIdCaptor.getValue()).isEqualTo(ANY_TX_ID);
   }
+
+  @Test
+  public void readIfImplicitPreReadEnabled_ManyRecordsInTable_ShouldSplitThemIntoBatches()
+      throws CrudException {
+    // Arrange
+    List<Delete> deletes = new ArrayList<>();
+    for (int i = 0; i < CrudHandler.IMPLICIT_PRE_READ_BATCH_SIZE + 1; i++) {
+      deletes.add(
+          Delete.newBuilder()
+              .namespace(ANY_NAMESPACE_NAME)
+              .table(ANY_TABLE_NAME)
+              .partitionKey(Key.ofText(ANY_NAME_1, ANY_TEXT_1 + i))
+              .build());
+    }
+    when(snapshot.getDeletesInDeleteSet()).thenReturn(deletes);
+    when(snapshot.getId()).thenReturn(ANY_TX_ID);
+
+    // Act
+    handler.readIfImplicitPreReadEnabled();
+
+    // Assert
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<ParallelExecutor.ParallelExecutorTask>> tasksCaptor =
+        ArgumentCaptor.forClass(List.class);
+    verify(parallelExecutor).executeImplicitPreRead(tasksCaptor.capture(), eq(ANY_TX_ID));
+    assertThat(tasksCaptor.getValue().size()).isEqualTo(2);
+  }
+
+  @Test
+  public void read_KeysGiven_ShouldReadRecordsWithMultiGetAndPutThemIntoSnapshot()
+      throws CrudException, ExecutionException {
+    // Arrange
+    Get get1 = prepareGet();
+    Get get2 =
+        new Get(new Key(ANY_NAME_1, ANY_TEXT_3), new Key(ANY_NAME_2, ANY_TEXT_2))
+            .forNamespace(ANY_NAMESPACE_NAME)
+            .forTable(ANY_TABLE_NAME);
+    Snapshot.Key key1 = new Snapshot.Key(get1);
+    Snapshot.Key key2 = new Snapshot.Key(get2);
+    Get getForStorage1 = toGetForStorageFrom(get1);
+    Get getForStorage2 = toGetForStorageFrom(get2);
+
+    Result result = mock(Result.class);
+    when(result.getInt(Attribute.STATE)).thenReturn(TransactionState.COMMITTED.get());
+    when(storage.get(Arrays.asList(getForStorage1, getForStorage2)))
+        .thenReturn(Arrays.asList(Optional.of(result), Optional.empty()));
+
+    // Act
+    handler.read(Arrays.asList(key1, key2));
+
+    // Assert
+    verify(storage).get(Arrays.asList(getForStorage1, getForStorage2));
+    verify(storage, never()).get(any(Get.class));
+    verify(snapshot).putIntoReadSet(key1, Optional.of(new TransactionResult(result)));
+    verify(snapshot).putIntoGetSet(getForStorage1, Optional.of(new TransactionResult(result)));
+    verify(snapshot).putIntoReadSet(key2, Optional.empty());
+    verify(snapshot).putIntoGetSet(getForStorage2, Optional.empty());
+  }
+
+  @Test
+  public void read_UncommittedRecordReturnedByMultiGet_ShouldThrowUncommittedRecordException()
+      throws ExecutionException {
+    // Arrange
+    Get get = prepareGet();
+    Snapshot.Key key = new Snapshot.Key(get);
+    Get getForStorage = toGetForStorageFrom(get);
+
+    Result result = mock(Result.class);
+    when(result.getInt(Attribute.STATE)).thenReturn(TransactionState.PREPARED.get());
+    when(storage.get(Collections.singletonList(getForStorage)))
+        .thenReturn(Collections.singletonList(Optional.of(result)));
+
+    // Act Assert
+    assertThatThrownBy(() -> handler.read(Collections.singletonList(key)))
+        .isInstanceOf(UncommittedRecordException.class);
+    verify(snapshot, never()).putIntoReadSet(any(), any());
+  }
 }
@@ -0,0 +1,218 @@
+package com.scalar.db.transaction.consensuscommit;
+
+import static com.scalar.db.transaction.consensuscommit.Attribute.ID;
+import static com.scalar.db.transaction.consensuscommit.Attribute.VERSION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import com.scalar.db.api.ConditionBuilder;
+import com.scalar.db.api.Consistency;
+import com.scalar.db.api.Delete;
+import com.scalar.db.api.Put;
+import com.scalar.db.api.TableMetadata;
+import com.scalar.db.api.TransactionState;
+import com.scalar.db.common.ResultImpl;
+import com.scalar.db.io.BigIntColumn;
+import com.scalar.db.io.Column;
+import com.scalar.db.io.DataType;
+import com.scalar.db.io.IntColumn;
+import com.scalar.db.io.Key;
+import com.scalar.db.io.TextColumn;
+import com.scalar.db.util.ScalarDbUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class OnePhaseCommitMutationComposerTest {
+  private static final String ANY_NAMESPACE_NAME = "namespace";
+  private static final String ANY_TABLE_NAME = "table";
+  private static final String ANY_ID_1 = "id1";
+  private static final String ANY_ID_2 = "id2";
+  private static final long ANY_TIME_1 = 100;
+  private static final long ANY_TIME_2 = 200;
+  private static final long ANY_TIME_3 = 300;
+  private static final String ANY_NAME_1 = "name1";
+  private static final String ANY_NAME_2 = "name2";
+  private static final String ANY_NAME_3 = "name3";
+  private static final String ANY_TEXT_1 = "text1";
+  private static final String ANY_TEXT_2 = "text2";
+  private static final int ANY_INT_1 = 100;
+  private static final int ANY_INT_2 = 200;
+
+  private static final TableMetadata TABLE_METADATA =
+      ConsensusCommitUtils.buildTransactionTableMetadata(
+          TableMetadata.newBuilder()
+              .addColumn(ANY_NAME_1, DataType.TEXT)
+              .addColumn(ANY_NAME_2, DataType.TEXT)
+              .addColumn(ANY_NAME_3, DataType.INT)
+              .addPartitionKey(ANY_NAME_1)
+              .addClusteringKey(ANY_NAME_2)
+              .build());
+
+  @Mock private TransactionTableMetadataManager tableMetadataManager;
+
+  private OnePhaseCommitMutationComposer composer;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    MockitoAnnotations.openMocks(this).close();
+
+    // Arrange
+    composer = new OnePhaseCommitMutationComposer(ANY_ID_2, ANY_TIME_3, tableMetadataManager);
+  }
+
+  private Put preparePut() {
+    return Put.newBuilder()
+        .namespace(ANY_NAMESPACE_NAME)
+        .table(ANY_TABLE_NAME)
+        .partitionKey(Key.ofText(ANY_NAME_1, ANY_TEXT_1))
+        .clusteringKey(Key.ofText(ANY_NAME_2, ANY_TEXT_2))
+        .intValue(ANY_NAME_3, ANY_INT_2)
+        .build();
+  }
+
+  private Delete prepareDelete() {
+    return Delete.newBuilder()
+        .namespace(ANY_NAMESPACE_NAME)
+        .table(ANY_TABLE_NAME)
+        .partitionKey(Key.ofText(ANY_NAME_1, ANY_TEXT_1))
+        .clusteringKey(Key.ofText(ANY_NAME_2, ANY_TEXT_2))
+        .build();
+  }
+
+  private TransactionResult prepareResult() {
+    ImmutableMap<String, Column<?>> columns =
+        ImmutableMap.<String, Column<?>>builder()
+            .put(ANY_NAME_1, TextColumn.of(ANY_NAME_1, ANY_TEXT_1))
+            .put(ANY_NAME_2, TextColumn.of(ANY_NAME_2, ANY_TEXT_2))
+            .put(ANY_NAME_3, IntColumn.of(ANY_NAME_3, ANY_INT_1))
+            .put(Attribute.ID, ScalarDbUtils.toColumn(Attribute.toIdValue(ANY_ID_1)))
+            .put(
+                Attribute.PREPARED_AT,
+                ScalarDbUtils.toColumn(Attribute.toPreparedAtValue(ANY_TIME_1)))
+            .put(
+                Attribute.COMMITTED_AT,
+                ScalarDbUtils.toColumn(Attribute.toCommittedAtValue(ANY_TIME_2)))
+            .put(
+                Attribute.STATE,
+                ScalarDbUtils.toColumn(Attribute.toStateValue(TransactionState.COMMITTED)))
+            .put(Attribute.VERSION, ScalarDbUtils.toColumn(Attribute.toVersionValue(2)))
+            .build();
+    return new TransactionResult(new ResultImpl(columns, TABLE_METADATA));
+  }
+
+  private TransactionResult prepareResultWithNullMetadata() {
+    ImmutableMap<String, Column<?>> columns =
+        ImmutableMap.<String, Column<?>>builder()
+            .put(ANY_NAME_1, TextColumn.of(ANY_NAME_1, ANY_TEXT_1))
+            .put(ANY_NAME_2, TextColumn.of(ANY_NAME_2, ANY_TEXT_2))
+            .put(ANY_NAME_3, IntColumn.of(ANY_NAME_3, ANY_INT_1))
+            .put(Attribute.ID, TextColumn.ofNull(Attribute.ID))
+            .put(Attribute.PREPARED_AT, BigIntColumn.ofNull(Attribute.PREPARED_AT))
+            .put(Attribute.COMMITTED_AT, BigIntColumn.ofNull(Attribute.COMMITTED_AT))
+            .put(Attribute.STATE, IntColumn.ofNull(Attribute.STATE))
+            .put(Attribute.VERSION, IntColumn.ofNull(Attribute.VERSION))
+            .build();
+    return new TransactionResult(new ResultImpl(columns, TABLE_METADATA));
+  }
+
+  @Test
+  public void add_PutAndResultGiven_ShouldComposeCommittedPutWithPutIfCondition() {
+    // Arrange
+    Put put = preparePut();
+    TransactionResult result = prepareResult();
+
+    // Act
+    composer.add(put, result);
+
+    // Assert
+    Put actual = (Put) composer.get().get(0);
+    Put expected =
+        Put.newBuilder(put)
+            .consistency(Consistency.LINEARIZABLE)
+            .textValue(Attribute.ID, ANY_ID_2)
+            .intValue(Attribute.STATE, TransactionState.COMMITTED.get())
+            .intValue(Attribute.VERSION, 3)
+            .bigIntValue(Attribute.PREPARED_AT, ANY_TIME_3)
+            .bigIntValue(Attribute.COMMITTED_AT, ANY_TIME_3)
+            .condition(
+                ConditionBuilder.putIf(ConditionBuilder.column(ID).isEqualToText(ANY_ID_1))
+                    .and(ConditionBuilder.column(VERSION).isEqualToInt(2))
+                    .build())
+            .build();
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @Test
+  public void add_PutAndResultWithNullTxIdGiven_ShouldComposeCommittedPutWithPutIfNullCondition() {
+    // Arrange
+    Put put = preparePut();
+    TransactionResult result = prepareResultWithNullMetadata();
+
+    // Act
+    composer.add(put, result);
+
+    // Assert
+    Put actual = (Put) composer.get().get(0);
+    Put expected =
+        Put.newBuilder(put)
+            .consistency(Consistency.LINEARIZABLE)
+            .textValue(Attribute.ID, ANY_ID_2)
+            .intValue(Attribute.STATE, TransactionState.COMMITTED.get())
+            .intValue(Attribute.VERSION, 1)
+            .bigIntValue(Attribute.PREPARED_AT, ANY_TIME_3)
+            .bigIntValue(Attribute.COMMITTED_AT, ANY_TIME_3)
+            .condition(
+                ConditionBuilder.putIf(ConditionBuilder.column(ID).isNullText())
+                    .and(ConditionBuilder.column(VERSION).isNullInt())
+                    .build())
+            .build();
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @Test
+  public void add_PutAndNullResultGiven_ShouldComposeCommittedPutWithPutIfNotExistsCondition() {
+    // Arrange
+    Put put = preparePut();
+
+    // Act
+    composer.add(put, null);
+
+    // Assert
+    Put actual = (Put) composer.get().get(0);
+    Put expected =
+        Put.newBuilder(put)
+            .consistency(Consistency.LINEARIZABLE)
+            .textValue(Attribute.ID, ANY_ID_2)
+            .intValue(Attribute.STATE, TransactionState.COMMITTED.get())
+            .intValue(Attribute.VERSION, 1)
+            .bigIntValue(Attribute.PREPARED_AT, ANY_TIME_3)
+            .bigIntValue(Attribute.COMMITTED_AT, ANY_TIME_3)
+            .condition(ConditionBuilder.putIfNotExists())
+            .build();
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @Test
+  public void add_DeleteAndResultGiven_ShouldComposeDeleteWithDeleteIfCondition() {
+    // Arrange
+    Delete delete = prepareDelete();
+    TransactionResult result = prepareResult();
+
+    // Act
+    composer.add(delete, result);
+
+    // Assert
+    Delete actual = (Delete) composer.get().get(0);
+    Delete expected =
+        Delete.newBuilder(delete)
+            .consistency(Consistency.LINEARIZABLE)
+            .condition(
+                ConditionBuilder.deleteIf(ConditionBuilder.column(ID).isEqualToText(ANY_ID_1))
+                    .and(ConditionBuilder.column(VERSION).isEqualToInt(2))
+                    .build())
+            .build();
+    assertThat(actual).isEqualTo(expected);
+  }
+}
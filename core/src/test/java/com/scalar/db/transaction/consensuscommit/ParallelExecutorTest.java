@@ -1,5 +1,6 @@
 package com.scalar.db.transaction.consensuscommit;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
@@ -9,21 +10,30 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.scalar.db.exception.storage.ExecutionException;
 import com.scalar.db.exception.transaction.CrudException;
 import com.scalar.db.exception.transaction.ValidationConflictException;
+import com.scalar.db.transaction.consensuscommit.ParallelExecutor.AsyncParallelExecutorTask;
 import com.scalar.db.transaction.consensuscommit.ParallelExecutor.ParallelExecutorTask;
+import com.scalar.db.util.CompletableFutures;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -451,4 +461,191 @@ public class ParallelExecutorTest {
     assertThatThrownBy(() -> parallelExecutor.executeImplicitPreRead(tasks, TX_ID))
         .isInstanceOf(CrudException.class);
   }
+
+  @Test
+  public void commitRecords_ParallelCommitEnabledWithMaxConcurrency_ShouldLimitRunningTasks()
+      throws ExecutionException {
+    // Arrange
+    when(config.isParallelCommitEnabled()).thenReturn(true);
+    when(config.getParallelCommitMaxConcurrency()).thenReturn(1);
+    parallelExecutor = new ParallelExecutor(config, parallelExecutorService);
+
+    AtomicInteger runningTaskCount = new AtomicInteger();
+    AtomicInteger maxRunningTaskCount = new AtomicInteger();
+    AtomicInteger completedTaskCount = new AtomicInteger();
+    ParallelExecutorTask slowTask =
+        () -> {
+          maxRunningTaskCount.accumulateAndGet(runningTaskCount.incrementAndGet(), Math::max);
+          Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
+          runningTaskCount.decrementAndGet();
+          completedTaskCount.incrementAndGet();
+        };
+
+    // Act
+    parallelExecutor.commitRecords(Arrays.asList(slowTask, slowTask, slowTask), TX_ID);
+
+    // Assert
+    assertThat(completedTaskCount.get()).isEqualTo(3);
+    assertThat(maxRunningTaskCount.get()).isEqualTo(1);
+    verify(parallelExecutorService, times(3)).execute(any());
+    assertThat(parallelExecutor.getMetrics(ParallelExecutor.Phase.COMMIT).getQueuedTaskCount())
+        .isEqualTo(0);
+  }
+
+  @Test
+  @Timeout(10)
+  public void
+      commitRecords_ParallelCommitEnabledWithMaxConcurrency_QueuedTaskRejected_ShouldThrowRejectedExecutionException() {
+    // Arrange
+    when(config.isParallelCommitEnabled()).thenReturn(true);
+    when(config.getParallelCommitMaxConcurrency()).thenReturn(1);
+    parallelExecutor = new ParallelExecutor(config, parallelExecutorService);
+
+    AtomicInteger count = new AtomicInteger();
+    ParallelExecutorTask shutdownTask =
+        () -> {
+          count.incrementAndGet();
+          // The queued task is dispatched after this task finishes, and it's rejected then
+          parallelExecutorService.shutdown();
+        };
+
+    // Act Assert
+    assertThatThrownBy(
+            () -> parallelExecutor.commitRecords(Arrays.asList(shutdownTask, shutdownTask), TX_ID))
+        .isInstanceOf(RejectedExecutionException.class);
+    assertThat(count.get()).isEqualTo(1);
+    assertThat(parallelExecutor.getMetrics(ParallelExecutor.Phase.COMMIT).getQueuedTaskCount())
+        .isEqualTo(0);
+  }
+
+  @Test
+  public void prepareAsync_ParallelPreparationEnabled_ShouldIssueTasksThroughParallelExecutor()
+      throws ExecutionException {
+    // Arrange
+    when(config.isParallelPreparationEnabled()).thenReturn(true);
+    List<Thread> threads = new CopyOnWriteArrayList<>();
+    AsyncParallelExecutorTask asyncTask =
+        () -> {
+          threads.add(Thread.currentThread());
+          return CompletableFuture.completedFuture(null);
+        };
+
+    // Act
+    parallelExecutor.prepareAsync(Arrays.asList(asyncTask, asyncTask, asyncTask), TX_ID);
+
+    // Assert
+    assertThat(threads).hasSize(3).doesNotContain(Thread.currentThread());
+    verify(parallelExecutorService, times(3)).execute(any());
+    assertThat(
+            parallelExecutor.getMetrics(ParallelExecutor.Phase.PREPARATION).getCompletedTaskCount())
+        .isEqualTo(3);
+  }
+
+  @Test
+  public void prepareAsync_ParallelPreparationEnabledWithMaxConcurrency_ShouldLimitRunningTasks()
+      throws ExecutionException {
+    // Arrange
+    when(config.isParallelPreparationEnabled()).thenReturn(true);
+    when(config.getParallelPreparationMaxConcurrency()).thenReturn(1);
+    parallelExecutor = new ParallelExecutor(config, parallelExecutorService);
+
+    AtomicInteger runningTaskCount = new AtomicInteger();
+    AtomicInteger maxRunningTaskCount = new AtomicInteger();
+    AtomicInteger completedTaskCount = new AtomicInteger();
+    AsyncParallelExecutorTask slowTask =
+        () -> {
+          maxRunningTaskCount.accumulateAndGet(runningTaskCount.incrementAndGet(), Math::max);
+          return CompletableFuture.runAsync(
+              () -> {
+                Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
+                runningTaskCount.decrementAndGet();
+                completedTaskCount.incrementAndGet();
+              });
+        };
+
+    // Act
+    parallelExecutor.prepareAsync(Arrays.asList(slowTask, slowTask, slowTask), TX_ID);
+
+    // Assert
+    assertThat(completedTaskCount.get()).isEqualTo(3);
+    assertThat(maxRunningTaskCount.get()).isEqualTo(1);
+    verify(parallelExecutorService, times(3)).execute(any());
+    assertThat(
+            parallelExecutor.getMetrics(ParallelExecutor.Phase.PREPARATION).getQueuedTaskCount())
+        .isEqualTo(0);
+  }
+
+  @Test
+  public void
+      prepareAsync_ParallelPreparationEnabled_ExecutionExceptionGiven_ShouldNotStopRunningTasks() {
+    // Arrange
+    when(config.isParallelPreparationEnabled()).thenReturn(true);
+    AtomicInteger count = new AtomicInteger();
+    AsyncParallelExecutorTask failingTask =
+        () -> {
+          count.incrementAndGet();
+          return CompletableFutures.failedFuture(new ExecutionException("error"));
+        };
+
+    // Act Assert
+    assertThatThrownBy(
+            () ->
+                parallelExecutor.prepareAsync(
+                    Arrays.asList(failingTask, failingTask, failingTask), TX_ID))
+        .isInstanceOf(ExecutionException.class);
+    assertThat(count.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void
+      prepareAsync_ParallelPreparationNotEnabled_ExecutionExceptionGiven_ShouldStopRunningTasks() {
+    // Arrange
+    when(config.isParallelPreparationEnabled()).thenReturn(false);
+    AtomicInteger count = new AtomicInteger();
+    AsyncParallelExecutorTask failingTask =
+        () -> {
+          count.incrementAndGet();
+          return CompletableFutures.failedFuture(new ExecutionException("error"));
+        };
+
+    // Act Assert
+    assertThatThrownBy(
+            () ->
+                parallelExecutor.prepareAsync(
+                    Arrays.asList(failingTask, failingTask, failingTask), TX_ID))
+        .isInstanceOf(ExecutionException.class);
+    assertThat(count.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void commitRecordsAsync_AsyncCommitEnabled_ShouldNotWaitForTasks()
+      throws ExecutionException {
+    // Arrange
+    when(config.isParallelCommitEnabled()).thenReturn(true);
+    when(config.isAsyncCommitEnabled()).thenReturn(true);
+    CompletableFuture<Void> future = new CompletableFuture<>();
+
+    // Act
+    parallelExecutor.commitRecordsAsync(Arrays.asList(() -> future, () -> future), TX_ID);
+
+    // Assert
+    assertThat(future).isNotDone();
+    verify(parallelExecutorService, timeout(1000).times(2)).execute(any());
+  }
+
+  @Test
+  public void getMetrics_ParallelExecutorServiceNotGiven_ShouldReturnEmptyMetrics() {
+    // Arrange
+    parallelExecutor = new ParallelExecutor(config, null);
+
+    // Act
+    ParallelExecutor.PhaseMetrics metrics =
+        parallelExecutor.getMetrics(ParallelExecutor.Phase.PREPARATION);
+
+    // Assert
+    assertThat(metrics.getQueuedTaskCount()).isEqualTo(0);
+    assertThat(metrics.getRunningTaskCount()).isEqualTo(0);
+    assertThat(metrics.getCompletedTaskCount()).isEqualTo(0);
+    assertThat(metrics.getAverageWaitTimeMicros()).isEqualTo(0);
+  }
 }
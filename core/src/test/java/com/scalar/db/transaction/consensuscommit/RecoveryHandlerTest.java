@@ -1,13 +1,18 @@
 package com.scalar.db.transaction.consensuscommit;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.scalar.db.api.DistributedStorage;
 import com.scalar.db.api.Selection;
 import com.scalar.db.api.TableMetadata;
@@ -17,9 +22,18 @@ import com.scalar.db.io.Column;
 import com.scalar.db.io.DataType;
 import com.scalar.db.io.TextValue;
 import com.scalar.db.util.ScalarDbUtils;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -27,6 +41,8 @@ public class RecoveryHandlerTest {
   private static final String ANY_NAME_1 = "name1";
   private static final String ANY_TEXT_1 = "text1";
   private static final String ANY_ID_1 = "id1";
+  private static final String ANY_ID_2 = "id2";
+  private static final String ANY_TEXT_2 = "text2";
   private static final long ANY_TIME_1 = 100;
 
   private static final TableMetadata TABLE_METADATA =
@@ -52,10 +68,15 @@ public class RecoveryHandlerTest {
   }
 
   private TransactionResult prepareResult(long preparedAt, TransactionState transactionState) {
+    return prepareResult(ANY_ID_1, ANY_TEXT_1, preparedAt, transactionState);
+  }
+
+  private TransactionResult prepareResult(
+      String id, String text, long preparedAt, TransactionState transactionState) {
     ImmutableMap<String, Column<?>> columns =
         ImmutableMap.<String, Column<?>>builder()
-            .put(ANY_NAME_1, ScalarDbUtils.toColumn(new TextValue(ANY_NAME_1, ANY_TEXT_1)))
-            .put(Attribute.ID, ScalarDbUtils.toColumn(Attribute.toIdValue(ANY_ID_1)))
+            .put(ANY_NAME_1, ScalarDbUtils.toColumn(new TextValue(ANY_NAME_1, text)))
+            .put(Attribute.ID, ScalarDbUtils.toColumn(Attribute.toIdValue(id)))
             .put(
                 Attribute.PREPARED_AT,
                 ScalarDbUtils.toColumn(Attribute.toPreparedAtValue(preparedAt)))
@@ -76,13 +97,13 @@ public class RecoveryHandlerTest {
     TransactionResult result = preparePreparedResult(ANY_TIME_1);
     when(coordinator.getState(ANY_ID_1))
         .thenReturn(Optional.of(new Coordinator.State(ANY_ID_1, TransactionState.COMMITTED)));
-    doNothing().when(handler).rollforwardRecord(any(Selection.class), any(TransactionResult.class));
+    doNothing().when(handler).rollforwardRecords(any(Selection.class), anyString(), anyList());
 
     // Act
     handler.recover(selection, result);
 
     // Assert
-    verify(handler).rollforwardRecord(selection, result);
+    verify(handler).rollforwardRecords(selection, ANY_ID_1, Collections.singletonList(result));
   }
 
   @Test
@@ -92,13 +113,13 @@ public class RecoveryHandlerTest {
     TransactionResult result = preparePreparedResult(ANY_TIME_1);
     when(coordinator.getState(ANY_ID_1))
         .thenReturn(Optional.of(new Coordinator.State(ANY_ID_1, TransactionState.ABORTED)));
-    doNothing().when(handler).rollbackRecord(any(Selection.class), any(TransactionResult.class));
+    doNothing().when(handler).rollbackRecords(any(Selection.class), anyString(), anyList());
 
     // Act
     handler.recover(selection, result);
 
     // Assert
-    verify(handler).rollbackRecord(selection, result);
+    verify(handler).rollbackRecords(selection, ANY_ID_1, Collections.singletonList(result));
   }
 
   @Test
@@ -108,7 +129,7 @@ public class RecoveryHandlerTest {
     // Arrange
     TransactionResult result = preparePreparedResult(System.currentTimeMillis());
     when(coordinator.getState(ANY_ID_1)).thenReturn(Optional.empty());
-    doNothing().when(handler).rollbackRecord(any(Selection.class), any(TransactionResult.class));
+    doNothing().when(handler).rollbackRecords(any(Selection.class), anyString(), anyList());
 
     // Act
     handler.recover(selection, result);
@@ -116,7 +137,7 @@ public class RecoveryHandlerTest {
     // Assert
     verify(coordinator, never())
         .putState(new Coordinator.State(ANY_ID_1, TransactionState.ABORTED));
-    verify(handler, never()).rollbackRecord(selection, result);
+    verify(handler, never()).rollbackRecords(any(Selection.class), anyString(), anyList());
   }
 
   @Test
@@ -128,13 +149,112 @@ public class RecoveryHandlerTest {
             System.currentTimeMillis() - RecoveryHandler.TRANSACTION_LIFETIME_MILLIS * 2);
     when(coordinator.getState(ANY_ID_1)).thenReturn(Optional.empty());
     doNothing().when(coordinator).putState(any(Coordinator.State.class));
-    doNothing().when(handler).rollbackRecord(any(Selection.class), any(TransactionResult.class));
+    doNothing().when(handler).rollbackRecords(any(Selection.class), anyString(), anyList());
 
     // Act
     handler.recover(selection, result);
 
     // Assert
     verify(coordinator).putStateForLazyRecoveryRollback(ANY_ID_1);
-    verify(handler).rollbackRecord(selection, result);
+    verify(handler).rollbackRecords(selection, ANY_ID_1, Collections.singletonList(result));
+  }
+
+  @Test
+  public void
+      recover_SelectionAndResultsOfSameTransactionGiven_ShouldGetCoordinatorStateOnlyOnceAndRollforward()
+          throws CoordinatorException {
+    // Arrange
+    TransactionResult result1 =
+        prepareResult(ANY_ID_1, ANY_TEXT_1, ANY_TIME_1, TransactionState.PREPARED);
+    TransactionResult result2 =
+        prepareResult(ANY_ID_1, ANY_TEXT_2, ANY_TIME_1, TransactionState.PREPARED);
+    when(coordinator.getState(ANY_ID_1))
+        .thenReturn(Optional.of(new Coordinator.State(ANY_ID_1, TransactionState.COMMITTED)));
+    doNothing().when(handler).rollforwardRecords(any(Selection.class), anyString(), anyList());
+
+    // Act
+    handler.recover(selection, Arrays.asList(result1, result2));
+
+    // Assert
+    verify(coordinator, times(1)).getState(ANY_ID_1);
+    verify(handler).rollforwardRecords(selection, ANY_ID_1, Arrays.asList(result1, result2));
+  }
+
+  @Test
+  public void
+      recover_SelectionAndResultsOfDifferentTransactionsGiven_ShouldGetCoordinatorStatesTogetherAndRecoverEachTransaction()
+          throws CoordinatorException {
+    // Arrange
+    TransactionResult result1 =
+        prepareResult(ANY_ID_1, ANY_TEXT_1, ANY_TIME_1, TransactionState.PREPARED);
+    TransactionResult result2 =
+        prepareResult(ANY_ID_2, ANY_TEXT_2, ANY_TIME_1, TransactionState.PREPARED);
+    when(coordinator.getStates(ImmutableSet.of(ANY_ID_1, ANY_ID_2)))
+        .thenReturn(
+            ImmutableMap.of(
+                ANY_ID_1,
+                Optional.of(new Coordinator.State(ANY_ID_1, TransactionState.COMMITTED)),
+                ANY_ID_2,
+                Optional.of(new Coordinator.State(ANY_ID_2, TransactionState.ABORTED))));
+    doNothing().when(handler).rollforwardRecords(any(Selection.class), anyString(), anyList());
+    doNothing().when(handler).rollbackRecords(any(Selection.class), anyString(), anyList());
+
+    // Act
+    handler.recover(selection, Arrays.asList(result1, result2));
+
+    // Assert
+    verify(coordinator).getStates(ImmutableSet.of(ANY_ID_1, ANY_ID_2));
+    verify(coordinator, never()).getState(anyString());
+    verify(handler).rollforwardRecords(selection, ANY_ID_1, Collections.singletonList(result1));
+    verify(handler).rollbackRecords(selection, ANY_ID_2, Collections.singletonList(result2));
+  }
+
+  @Timeout(10)
+  @Test
+  public void
+      recover_RuntimeExceptionThrownWhileAnotherThreadWaitsForSameState_ShouldThrowItInBothThreads()
+          throws Exception {
+    // Arrange
+    TransactionResult result1 =
+        prepareResult(ANY_ID_1, ANY_TEXT_1, ANY_TIME_1, TransactionState.PREPARED);
+    TransactionResult result2 =
+        prepareResult(ANY_ID_1, ANY_TEXT_2, ANY_TIME_1, TransactionState.PREPARED);
+    RuntimeException exception = new RuntimeException("failed");
+    CountDownLatch reading = new CountDownLatch(1);
+    CountDownLatch fail = new CountDownLatch(1);
+    when(coordinator.getState(ANY_ID_1))
+        .thenAnswer(
+            invocation -> {
+              reading.countDown();
+              fail.await();
+              throw exception;
+            });
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    AtomicReference<Thread> waitingThread = new AtomicReference<>();
+
+    try {
+      // Act
+      Future<?> first = executorService.submit(() -> handler.recover(selection, result1));
+      reading.await();
+      Future<?> second =
+          executorService.submit(
+              () -> {
+                waitingThread.set(Thread.currentThread());
+                handler.recover(selection, result2);
+              });
+      // Fail the first read after the second thread starts waiting for it
+      while (waitingThread.get() == null
+          || waitingThread.get().getState() != Thread.State.WAITING) {
+        Thread.sleep(10);
+      }
+      fail.countDown();
+
+      // Assert
+      assertThatThrownBy(first::get).isInstanceOf(ExecutionException.class).hasCause(exception);
+      assertThatThrownBy(second::get).isInstanceOf(ExecutionException.class).hasCause(exception);
+      verify(coordinator, times(1)).getState(ANY_ID_1);
+    } finally {
+      executorService.shutdownNow();
+    }
   }
 }
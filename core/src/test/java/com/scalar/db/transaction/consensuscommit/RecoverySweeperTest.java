@@ -0,0 +1,186 @@
+package com.scalar.db.transaction.consensuscommit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.scalar.db.api.DistributedStorage;
+import com.scalar.db.api.Result;
+import com.scalar.db.api.Scan;
+import com.scalar.db.api.ScanAll;
+import com.scalar.db.api.Scanner;
+import com.scalar.db.api.Selection;
+import com.scalar.db.api.TableMetadata;
+import com.scalar.db.api.TransactionState;
+import com.scalar.db.common.ResultImpl;
+import com.scalar.db.exception.storage.ExecutionException;
+import com.scalar.db.io.Column;
+import com.scalar.db.io.DataType;
+import com.scalar.db.io.TextColumn;
+import com.scalar.db.util.ScalarDbUtils;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class RecoverySweeperTest {
+  private static final String ANY_NAMESPACE = "ns";
+  private static final String ANY_TABLE = "tbl";
+  private static final String ANY_NAME_1 = "name1";
+  private static final String ANY_ID_1 = "id1";
+  private static final String ANY_ID_2 = "id2";
+
+  private static final TableMetadata TABLE_METADATA =
+      ConsensusCommitUtils.buildTransactionTableMetadata(
+          TableMetadata.newBuilder()
+              .addColumn(ANY_NAME_1, DataType.TEXT)
+              .addPartitionKey(ANY_NAME_1)
+              .build());
+
+  @Mock private DistributedStorage storage;
+  @Mock private RecoveryHandler recovery;
+  @Mock private Scanner scanner;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    MockitoAnnotations.openMocks(this).close();
+  }
+
+  private RecoverySweeper createSweeper(int batchSize) {
+    return new RecoverySweeper(
+        storage,
+        recovery,
+        Collections.singletonList(ANY_NAMESPACE + "." + ANY_TABLE),
+        2,
+        batchSize,
+        Integer.MAX_VALUE,
+        MoreExecutors.newDirectExecutorService(),
+        null);
+  }
+
+  private TransactionResult prepareResult(
+      String key, String id, long preparedAt, TransactionState state) {
+    ImmutableMap<String, Column<?>> columns =
+        ImmutableMap.<String, Column<?>>builder()
+            .put(ANY_NAME_1, TextColumn.of(ANY_NAME_1, key))
+            .put(Attribute.ID, ScalarDbUtils.toColumn(Attribute.toIdValue(id)))
+            .put(
+                Attribute.PREPARED_AT,
+                ScalarDbUtils.toColumn(Attribute.toPreparedAtValue(preparedAt)))
+            .put(Attribute.STATE, ScalarDbUtils.toColumn(Attribute.toStateValue(state)))
+            .put(Attribute.VERSION, ScalarDbUtils.toColumn(Attribute.toVersionValue(1)))
+            .build();
+    return new TransactionResult(new ResultImpl(columns, TABLE_METADATA));
+  }
+
+  private long expiredTime() {
+    return System.currentTimeMillis() - RecoveryHandler.TRANSACTION_LIFETIME_MILLIS * 2;
+  }
+
+  @Test
+  public void sweep_ExpiredUncommittedRecordsGiven_ShouldRecoverOnlyThem() throws Exception {
+    // Arrange
+    TransactionResult committed =
+        prepareResult("a", ANY_ID_1, expiredTime(), TransactionState.COMMITTED);
+    TransactionResult expiredPrepared =
+        prepareResult("b", ANY_ID_1, expiredTime(), TransactionState.PREPARED);
+    TransactionResult expiredDeleted =
+        prepareResult("c", ANY_ID_2, expiredTime(), TransactionState.DELETED);
+    TransactionResult inProgress =
+        prepareResult("d", ANY_ID_2, System.currentTimeMillis(), TransactionState.PREPARED);
+    List<Result> results = Arrays.asList(committed, expiredPrepared, expiredDeleted, inProgress);
+    when(scanner.iterator()).thenReturn(results.iterator());
+    when(storage.scan(any(Scan.class))).thenReturn(scanner);
+    RecoverySweeper sweeper = createSweeper(100);
+
+    // Act
+    sweeper.sweep();
+
+    // Assert
+    ArgumentCaptor<Scan> scanCaptor = ArgumentCaptor.forClass(Scan.class);
+    verify(storage).scan(scanCaptor.capture());
+    Scan scan = scanCaptor.getValue();
+    assertThat(scan).isInstanceOf(ScanAll.class);
+    assertThat(scan.forNamespace()).hasValue(ANY_NAMESPACE);
+    assertThat(scan.forTable()).hasValue(ANY_TABLE);
+    verify(recovery).recover(scan, Arrays.asList(expiredPrepared, expiredDeleted));
+    verify(scanner).close();
+
+    RecoverySweeper.Metrics metrics = sweeper.getMetrics();
+    assertThat(metrics.getSweepCount()).isEqualTo(1);
+    assertThat(metrics.getScannedRecordCount()).isEqualTo(4);
+    assertThat(metrics.getExpiredRecordCount()).isEqualTo(2);
+    assertThat(metrics.getProcessedRecordCount()).isEqualTo(2);
+    assertThat(metrics.getFailedRecordCount()).isEqualTo(0);
+    assertThat(metrics.getInFlightBatchCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void sweep_MoreExpiredRecordsThanBatchSizeGiven_ShouldRecoverThemInBatches()
+      throws Exception {
+    // Arrange
+    TransactionResult result1 =
+        prepareResult("a", ANY_ID_1, expiredTime(), TransactionState.PREPARED);
+    TransactionResult result2 =
+        prepareResult("b", ANY_ID_1, expiredTime(), TransactionState.PREPARED);
+    TransactionResult result3 =
+        prepareResult("c", ANY_ID_2, expiredTime(), TransactionState.PREPARED);
+    List<Result> results = Arrays.asList(result1, result2, result3);
+    when(scanner.iterator()).thenReturn(results.iterator());
+    when(storage.scan(any(Scan.class))).thenReturn(scanner);
+    RecoverySweeper sweeper = createSweeper(2);
+
+    // Act
+    sweeper.sweep();
+
+    // Assert
+    verify(recovery).recover(any(Scan.class), eq(Arrays.asList(result1, result2)));
+    verify(recovery).recover(any(Scan.class), eq(Collections.singletonList(result3)));
+    verify(recovery, times(2)).recover(any(Selection.class), anyList());
+  }
+
+  @Test
+  public void sweep_ScanFailed_ShouldNotRecoverAnything() throws Exception {
+    // Arrange
+    when(storage.scan(any(Scan.class))).thenThrow(ExecutionException.class);
+    RecoverySweeper sweeper = createSweeper(100);
+
+    // Act
+    sweeper.sweep();
+
+    // Assert
+    verify(recovery, never()).recover(any(Selection.class), anyList());
+    assertThat(sweeper.getMetrics().getSweepCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void sweep_RecoveryFailed_ShouldCountFailedRecords() throws Exception {
+    // Arrange
+    TransactionResult result =
+        prepareResult("a", ANY_ID_1, expiredTime(), TransactionState.PREPARED);
+    when(scanner.iterator()).thenReturn(Collections.<Result>singletonList(result).iterator());
+    when(storage.scan(any(Scan.class))).thenReturn(scanner);
+    doThrow(RuntimeException.class).when(recovery).recover(any(Selection.class), anyList());
+    RecoverySweeper sweeper = createSweeper(100);
+
+    // Act
+    sweeper.sweep();
+
+    // Assert
+    RecoverySweeper.Metrics metrics = sweeper.getMetrics();
+    assertThat(metrics.getProcessedRecordCount()).isEqualTo(0);
+    assertThat(metrics.getFailedRecordCount()).isEqualTo(1);
+  }
+}
@@ -47,6 +47,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -154,6 +155,17 @@ public class SnapshotTest {
     return new TransactionResult(new ResultImpl(columns, TABLE_METADATA));
   }
 
+  private TransactionResult prepareResult(String txId, String clusteringKeyText) {
+    ImmutableMap<String, Column<?>> columns =
+        ImmutableMap.<String, Column<?>>builder()
+            .put(ANY_NAME_1, TextColumn.of(ANY_NAME_1, ANY_TEXT_1))
+            .put(ANY_NAME_2, TextColumn.of(ANY_NAME_2, clusteringKeyText))
+            .put(Attribute.ID, ScalarDbUtils.toColumn(Attribute.toIdValue(txId)))
+            .put(Attribute.VERSION, ScalarDbUtils.toColumn(Attribute.toVersionValue(ANY_VERSION)))
+            .build();
+    return new TransactionResult(new ResultImpl(columns, TABLE_METADATA));
+  }
+
   private TransactionResult prepareResultWithNullMetadata() {
     ImmutableMap<String, Column<?>> columns =
         ImmutableMap.<String, Column<?>>builder()
@@ -1051,6 +1063,85 @@ public class SnapshotTest {
     verify(snapshot).toSerializableWithExtraWrite(commitComposer);
   }
 
+  @Test
+  public void isOnePhaseCommittable_WritesInSinglePartitionGiven_ShouldReturnTrue() {
+    // Arrange
+    snapshot = prepareSnapshot(Isolation.SNAPSHOT);
+    Put put = preparePut();
+    Delete delete =
+        new Delete(new Key(ANY_NAME_1, ANY_TEXT_1), new Key(ANY_NAME_2, ANY_TEXT_3))
+            .withConsistency(Consistency.LINEARIZABLE)
+            .forNamespace(ANY_NAMESPACE_NAME)
+            .forTable(ANY_TABLE_NAME);
+    snapshot.putIntoReadSet(new Snapshot.Key(delete), Optional.of(prepareResult(ANY_ID)));
+    snapshot.putIntoWriteSet(new Snapshot.Key(put), put);
+    snapshot.putIntoDeleteSet(new Snapshot.Key(delete), delete);
+
+    // Act
+    boolean actual = snapshot.isOnePhaseCommittable();
+
+    // Assert
+    assertThat(actual).isTrue();
+  }
+
+  @Test
+  public void isOnePhaseCommittable_WritesInMultiplePartitionsGiven_ShouldReturnFalse() {
+    // Arrange
+    snapshot = prepareSnapshot(Isolation.SNAPSHOT);
+    Put put = preparePut();
+    Put anotherPut = prepareAnotherPut();
+    snapshot.putIntoWriteSet(new Snapshot.Key(put), put);
+    snapshot.putIntoWriteSet(new Snapshot.Key(anotherPut), anotherPut);
+
+    // Act
+    boolean actual = snapshot.isOnePhaseCommittable();
+
+    // Assert
+    assertThat(actual).isFalse();
+  }
+
+  @Test
+  public void isOnePhaseCommittable_DeleteOfNonExistingRecordGiven_ShouldReturnFalse() {
+    // Arrange
+    snapshot = prepareSnapshot(Isolation.SNAPSHOT);
+    Delete delete = prepareDelete();
+    snapshot.putIntoReadSet(new Snapshot.Key(delete), Optional.empty());
+    snapshot.putIntoDeleteSet(new Snapshot.Key(delete), delete);
+
+    // Act
+    boolean actual = snapshot.isOnePhaseCommittable();
+
+    // Assert
+    assertThat(actual).isFalse();
+  }
+
+  @Test
+  public void isOnePhaseCommittable_SerializableIsolationSet_ShouldReturnFalse() {
+    // Arrange
+    snapshot = prepareSnapshot(Isolation.SERIALIZABLE);
+    Put put = preparePut();
+    snapshot.putIntoWriteSet(new Snapshot.Key(put), put);
+
+    // Act
+    boolean actual = snapshot.isOnePhaseCommittable();
+
+    // Assert
+    assertThat(actual).isFalse();
+  }
+
+  @Test
+  public void isOnePhaseCommittable_NoWritesGiven_ShouldReturnFalse() {
+    // Arrange
+    snapshot = prepareSnapshot(Isolation.SNAPSHOT);
+    snapshot.putIntoReadSet(new Snapshot.Key(prepareGet()), Optional.of(prepareResult(ANY_ID)));
+
+    // Act
+    boolean actual = snapshot.isOnePhaseCommittable();
+
+    // Assert
+    assertThat(actual).isFalse();
+  }
+
   @Test
   public void to_RollbackMutationComposerGiven_ShouldCallComposerProperly()
       throws PreparationConflictException, ExecutionException {
@@ -1186,13 +1277,14 @@ public class SnapshotTest {
     DistributedStorage storage = mock(DistributedStorage.class);
     Get getWithProjections =
         prepareAnotherGet().withProjection(Attribute.ID).withProjection(Attribute.VERSION);
-    when(storage.get(getWithProjections)).thenReturn(Optional.of(txResult));
+    when(storage.get(Collections.singletonList(getWithProjections)))
+        .thenReturn(Collections.singletonList(Optional.of(txResult)));
 
     // Act Assert
     assertThatCode(() -> snapshot.toSerializableWithExtraRead(storage)).doesNotThrowAnyException();
 
     // Assert
-    verify(storage).get(getWithProjections);
+    verify(storage).get(Collections.singletonList(getWithProjections));
   }
 
   @Test
@@ -1210,14 +1302,15 @@ public class SnapshotTest {
     TransactionResult changedTxResult = prepareResult(ANY_ID + "x");
     Get getWithProjections =
         prepareAnotherGet().withProjection(Attribute.ID).withProjection(Attribute.VERSION);
-    when(storage.get(getWithProjections)).thenReturn(Optional.of(changedTxResult));
+    when(storage.get(Collections.singletonList(getWithProjections)))
+        .thenReturn(Collections.singletonList(Optional.of(changedTxResult)));
 
     // Act Assert
     assertThatThrownBy(() -> snapshot.toSerializableWithExtraRead(storage))
         .isInstanceOf(ValidationConflictException.class);
 
     // Assert
-    verify(storage).get(getWithProjections);
+    verify(storage).get(Collections.singletonList(getWithProjections));
   }
 
   @Test
@@ -1234,14 +1327,15 @@ public class SnapshotTest {
     TransactionResult txResult = prepareResult(ANY_ID);
     Get getWithProjections =
         prepareAnotherGet().withProjection(Attribute.ID).withProjection(Attribute.VERSION);
-    when(storage.get(getWithProjections)).thenReturn(Optional.of(txResult));
+    when(storage.get(Collections.singletonList(getWithProjections)))
+        .thenReturn(Collections.singletonList(Optional.of(txResult)));
 
     // Act Assert
     assertThatThrownBy(() -> snapshot.toSerializableWithExtraRead(storage))
         .isInstanceOf(ValidationConflictException.class);
 
     // Assert
-    verify(storage).get(getWithProjections);
+    verify(storage).get(Collections.singletonList(getWithProjections));
   }
 
   @Test
@@ -1331,6 +1425,65 @@ public class SnapshotTest {
     verify(storage).scan(scanWithProjections);
   }
 
+  @Test
+  public void
+      toSerializableWithExtraRead_ScannerSetNotChangedUntilLastReadRecord_ShouldProcessWithoutExceptions()
+          throws ExecutionException {
+    // Arrange
+    snapshot = prepareSnapshot(Isolation.SERIALIZABLE, SerializableStrategy.EXTRA_READ);
+    Scan scan = prepareScan();
+    TransactionResult txResult = prepareResult(ANY_ID + "x", ANY_TEXT_2);
+    Snapshot.Key key = new Snapshot.Key(scan, txResult);
+    snapshot.putIntoReadSet(key, Optional.of(txResult));
+    snapshot.putIntoScannerSet(scan, new LinkedHashMap<>(ImmutableMap.of(key, txResult)));
+    DistributedStorage storage = mock(DistributedStorage.class);
+    // The record after the last read record is not read by the scanner, so it's not validated
+    TransactionResult unreadResult = prepareResult(ANY_ID + "y", ANY_TEXT_3);
+    Scanner scanner = mock(Scanner.class);
+    when(scanner.iterator()).thenReturn(Arrays.asList((Result) txResult, unreadResult).iterator());
+    Scan scanWithProjections =
+        prepareScan()
+            .withProjections(
+                Arrays.asList(Attribute.ID, Attribute.VERSION, ANY_NAME_1, ANY_NAME_2));
+    when(storage.scan(scanWithProjections)).thenReturn(scanner);
+
+    // Act Assert
+    assertThatCode(() -> snapshot.toSerializableWithExtraRead(storage)).doesNotThrowAnyException();
+
+    // Assert
+    verify(storage).scan(scanWithProjections);
+  }
+
+  @Test
+  public void
+      toSerializableWithExtraRead_RecordInsertedBeforeLastReadRecordOfScanner_ShouldThrowValidationConflictException()
+          throws ExecutionException {
+    // Arrange
+    snapshot = prepareSnapshot(Isolation.SERIALIZABLE, SerializableStrategy.EXTRA_READ);
+    Scan scan = prepareScan();
+    TransactionResult txResult = prepareResult(ANY_ID + "x", ANY_TEXT_3);
+    Snapshot.Key key = new Snapshot.Key(scan, txResult);
+    snapshot.putIntoReadSet(key, Optional.of(txResult));
+    snapshot.putIntoScannerSet(scan, new LinkedHashMap<>(ImmutableMap.of(key, txResult)));
+    DistributedStorage storage = mock(DistributedStorage.class);
+    TransactionResult insertedResult = prepareResult(ANY_ID + "y", ANY_TEXT_2);
+    Scanner scanner = mock(Scanner.class);
+    when(scanner.iterator())
+        .thenReturn(Arrays.asList((Result) insertedResult, txResult).iterator());
+    Scan scanWithProjections =
+        prepareScan()
+            .withProjections(
+                Arrays.asList(Attribute.ID, Attribute.VERSION, ANY_NAME_1, ANY_NAME_2));
+    when(storage.scan(scanWithProjections)).thenReturn(scanner);
+
+    // Act Assert
+    assertThatThrownBy(() -> snapshot.toSerializableWithExtraRead(storage))
+        .isInstanceOf(ValidationConflictException.class);
+
+    // Assert
+    verify(storage).scan(scanWithProjections);
+  }
+
   @Test
   public void
       toSerializableWithExtraRead_MultipleScansInScanSetExist_ShouldProcessWithoutExceptions()
@@ -1433,13 +1586,14 @@ public class SnapshotTest {
     DistributedStorage storage = mock(DistributedStorage.class);
     Get getWithProjections =
         Get.newBuilder(get).projections(Attribute.ID, Attribute.VERSION).build();
-    when(storage.get(getWithProjections)).thenReturn(Optional.of(txResult));
+    when(storage.get(Collections.singletonList(getWithProjections)))
+        .thenReturn(Collections.singletonList(Optional.of(txResult)));
 
     // Act Assert
     assertThatCode(() -> snapshot.toSerializableWithExtraRead(storage)).doesNotThrowAnyException();
 
     // Assert
-    verify(storage).get(getWithProjections);
+    verify(storage).get(Collections.singletonList(getWithProjections));
   }
 
   @Test
@@ -1458,14 +1612,15 @@ public class SnapshotTest {
     DistributedStorage storage = mock(DistributedStorage.class);
     Get getWithProjections =
         Get.newBuilder(get).projections(Attribute.ID, Attribute.VERSION).build();
-    when(storage.get(getWithProjections)).thenReturn(Optional.of(changedResult));
+    when(storage.get(Collections.singletonList(getWithProjections)))
+        .thenReturn(Collections.singletonList(Optional.of(changedResult)));
 
     // Act Assert
     assertThatThrownBy(() -> snapshot.toSerializableWithExtraRead(storage))
         .isInstanceOf(ValidationConflictException.class);
 
     // Assert
-    verify(storage).get(getWithProjections);
+    verify(storage).get(Collections.singletonList(getWithProjections));
   }
 
   @Test
@@ -2227,4 +2382,30 @@ public class SnapshotTest {
       }
     }
   }
+
+  @Test
+  public void key_SamePrimaryKeysFromDifferentOperationsGiven_ShouldBeEqual() {
+    // Arrange
+    Snapshot.Key getKey = new Snapshot.Key(prepareGet());
+    Snapshot.Key putKey = new Snapshot.Key(preparePut());
+    Snapshot.Key deleteKey = new Snapshot.Key(prepareDelete());
+
+    // Act Assert
+    assertThat(getKey).isEqualTo(putKey).isEqualTo(deleteKey);
+    assertThat(getKey.hashCode()).isEqualTo(putKey.hashCode()).isEqualTo(deleteKey.hashCode());
+    assertThat(getKey.compareTo(putKey)).isEqualTo(0);
+    assertThat(getKey.getClusteringKey()).hasValue(new Key(ANY_NAME_2, ANY_TEXT_2));
+  }
+
+  @Test
+  public void key_KeysWithAndWithoutClusteringKeyGiven_ShouldNotBeEqual() {
+    // Arrange
+    Snapshot.Key keyWithClusteringKey = new Snapshot.Key(preparePut());
+    Snapshot.Key keyWithoutClusteringKey = new Snapshot.Key(preparePutWithPartitionKeyOnly());
+
+    // Act Assert
+    assertThat(keyWithClusteringKey).isNotEqualTo(keyWithoutClusteringKey);
+    assertThat(keyWithoutClusteringKey.getClusteringKey()).isEmpty();
+    assertThat(keyWithoutClusteringKey.compareTo(keyWithClusteringKey)).isLessThan(0);
+  }
 }
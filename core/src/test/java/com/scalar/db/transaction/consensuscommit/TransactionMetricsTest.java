@@ -0,0 +1,86 @@
+package com.scalar.db.transaction.consensuscommit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.scalar.db.exception.transaction.CommitConflictException;
+import com.scalar.db.exception.transaction.CommitException;
+import com.scalar.db.transaction.consensuscommit.TransactionMetricsRecorder.Outcome;
+import com.scalar.db.transaction.consensuscommit.TransactionMetricsRecorder.Phase;
+import com.scalar.db.transaction.consensuscommit.TransactionMetricsRecorder.RecoveryAction;
+import com.scalar.db.util.Histogram;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class TransactionMetricsTest {
+  private static final String ANY_ID = "id";
+
+  @Test
+  public void recordPhase_ShouldAggregateLatenciesAndOutcomes() {
+    // Arrange
+    TransactionMetrics metrics = new TransactionMetrics();
+
+    // Act
+    for (int i = 1; i <= 100; i++) {
+      metrics.recordPhase(
+          ANY_ID, Phase.PREPARATION, TimeUnit.MICROSECONDS.toNanos(i), Outcome.SUCCEEDED);
+    }
+    metrics.recordPhase(
+        ANY_ID, Phase.PREPARATION, TimeUnit.MICROSECONDS.toNanos(1000), Outcome.CONFLICTED);
+
+    // Assert
+    Histogram histogram = metrics.getPhaseLatencyMicros(Phase.PREPARATION);
+    assertThat(histogram.getCount()).isEqualTo(101);
+    assertThat(histogram.getMax()).isEqualTo(1000);
+    // The percentiles are the upper bounds of the buckets of powers of two
+    assertThat(histogram.getValueAtPercentile(50)).isEqualTo(64);
+    assertThat(histogram.getValueAtPercentile(99)).isEqualTo(128);
+    assertThat(histogram.getValueAtPercentile(100)).isEqualTo(1000);
+    assertThat(metrics.getPhaseCount(Phase.PREPARATION, Outcome.SUCCEEDED)).isEqualTo(100);
+    assertThat(metrics.getPhaseCount(Phase.PREPARATION, Outcome.CONFLICTED)).isEqualTo(1);
+    assertThat(metrics.getPhaseCount(Phase.PREPARATION, Outcome.FAILED)).isEqualTo(0);
+    assertThat(metrics.getPhaseLatencyMicros(Phase.VALIDATION).getCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void recordCommit_ShouldAggregateSetSizesAndOutcomes() {
+    // Arrange
+    TransactionMetrics metrics = new TransactionMetrics();
+
+    // Act
+    metrics.recordCommit(ANY_ID, 3, 2, 1000, Outcome.SUCCEEDED);
+    metrics.recordCommit(ANY_ID, 5, 4, 1000, Outcome.FAILED);
+
+    // Assert
+    assertThat(metrics.getCommitLatencyMicros().getCount()).isEqualTo(2);
+    assertThat(metrics.getCommitCount(Outcome.SUCCEEDED)).isEqualTo(1);
+    assertThat(metrics.getCommitCount(Outcome.FAILED)).isEqualTo(1);
+    assertThat(metrics.getReadSetSizes().getMean()).isEqualTo(4.0);
+    assertThat(metrics.getWriteSetSizes().getMax()).isEqualTo(4);
+  }
+
+  @Test
+  public void recordStorageOperationsAndRecovery_ShouldCountThem() {
+    // Arrange
+    TransactionMetrics metrics = new TransactionMetrics();
+
+    // Act
+    metrics.recordStorageOperations(ANY_ID, Phase.COMMIT_RECORDS, 3);
+    metrics.recordStorageOperations(ANY_ID, Phase.COMMIT_RECORDS, 2);
+    metrics.recordRecovery(ANY_ID, RecoveryAction.ROLLFORWARD, 2);
+    metrics.recordRecovery(ANY_ID, RecoveryAction.ROLLFORWARD, 1);
+
+    // Assert
+    assertThat(metrics.getStorageOperationCount(Phase.COMMIT_RECORDS)).isEqualTo(5);
+    assertThat(metrics.getRecoveryCount(RecoveryAction.ROLLFORWARD)).isEqualTo(2);
+    assertThat(metrics.getRecoveredRecordCount(RecoveryAction.ROLLFORWARD)).isEqualTo(3);
+    assertThat(metrics.getRecoveryCount(RecoveryAction.ROLLBACK)).isEqualTo(0);
+  }
+
+  @Test
+  public void outcomeOf_ShouldReturnProperOutcome() {
+    assertThat(Outcome.of(null)).isEqualTo(Outcome.SUCCEEDED);
+    assertThat(Outcome.of(new CommitConflictException("msg", ANY_ID)))
+        .isEqualTo(Outcome.CONFLICTED);
+    assertThat(Outcome.of(new CommitException("msg", ANY_ID))).isEqualTo(Outcome.FAILED);
+  }
+}
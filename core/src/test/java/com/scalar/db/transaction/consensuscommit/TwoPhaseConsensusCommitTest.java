@@ -3,6 +3,8 @@ package com.scalar.db.transaction.consensuscommit;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -32,6 +34,7 @@ import com.scalar.db.exception.transaction.UnknownTransactionStatusException;
 import com.scalar.db.exception.transaction.UnsatisfiedConditionException;
 import com.scalar.db.exception.transaction.ValidationException;
 import com.scalar.db.io.Key;
+import com.scalar.db.transaction.consensuscommit.TransactionMetricsRecorder.Outcome;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -111,7 +114,7 @@ public class TwoPhaseConsensusCommitTest {
 
     // Assert
     assertThat(actual).isPresent();
-    verify(recovery, never()).recover(get, result);
+    verify(recovery, never()).recover(get, Collections.singletonList(result));
     verify(crud).get(get);
   }
 
@@ -130,7 +133,7 @@ public class TwoPhaseConsensusCommitTest {
     assertThatThrownBy(() -> transaction.get(get)).isInstanceOf(UncommittedRecordException.class);
 
     // Assert
-    verify(recovery).recover(get, result);
+    verify(recovery).recover(get, Collections.singletonList(result));
   }
 
   @Test
@@ -163,7 +166,7 @@ public class TwoPhaseConsensusCommitTest {
     // Act Assert
     assertThatThrownBy(() -> transaction.scan(scan)).isInstanceOf(UncommittedRecordException.class);
 
-    verify(recovery).recover(scan, result);
+    verify(recovery).recover(scan, Collections.singletonList(result));
   }
 
   @Test
@@ -211,7 +214,7 @@ public class TwoPhaseConsensusCommitTest {
     // Act Assert
     assertThatThrownBy(() -> transaction.put(put)).isInstanceOf(UncommittedRecordException.class);
 
-    verify(recovery).recover(get, result);
+    verify(recovery).recover(get, Collections.singletonList(result));
   }
 
   @Test
@@ -261,7 +264,7 @@ public class TwoPhaseConsensusCommitTest {
     assertThatThrownBy(() -> transaction.delete(delete))
         .isInstanceOf(UncommittedRecordException.class);
 
-    verify(recovery).recover(get, result);
+    verify(recovery).recover(get, Collections.singletonList(result));
   }
 
   @Test
@@ -362,7 +365,7 @@ public class TwoPhaseConsensusCommitTest {
     assertThatThrownBy(() -> transaction.upsert(upsert))
         .isInstanceOf(UncommittedRecordException.class);
 
-    verify(recovery).recover(get, result);
+    verify(recovery).recover(get, Collections.singletonList(result));
   }
 
   @Test
@@ -592,7 +595,7 @@ public class TwoPhaseConsensusCommitTest {
     assertThatThrownBy(() -> transaction.update(update))
         .isInstanceOf(UncommittedRecordException.class);
 
-    verify(recovery).recover(get, result);
+    verify(recovery).recover(get, Collections.singletonList(result));
   }
 
   @Test
@@ -658,7 +661,7 @@ public class TwoPhaseConsensusCommitTest {
     // Act Assert
     assertThatThrownBy(transaction::prepare).isInstanceOf(PreparationConflictException.class);
 
-    verify(recovery).recover(get, result);
+    verify(recovery).recover(get, Collections.singletonList(result));
   }
 
   @Test
@@ -734,6 +737,48 @@ public class TwoPhaseConsensusCommitTest {
     assertThatThrownBy(transaction::commit).isInstanceOf(IllegalStateException.class);
   }
 
+  @Test
+  public void commit_MetricsRecorderGiven_ShouldRecordCommit()
+      throws CommitException, UnknownTransactionStatusException, PreparationException {
+    // Arrange
+    TransactionMetricsRecorder metricsRecorder = mock(TransactionMetricsRecorder.class);
+    transaction =
+        new TwoPhaseConsensusCommit(
+            crud, commit, recovery, mutationOperationChecker, metricsRecorder);
+    transaction.prepare();
+    when(crud.getSnapshot()).thenReturn(snapshot);
+    when(snapshot.getId()).thenReturn(ANY_TX_ID);
+    when(snapshot.getReadSetSize()).thenReturn(1);
+    when(snapshot.getWriteSetSize()).thenReturn(2);
+
+    // Act
+    transaction.commit();
+
+    // Assert
+    verify(metricsRecorder)
+        .recordCommit(eq(ANY_TX_ID), eq(1), eq(2), anyLong(), eq(Outcome.SUCCEEDED));
+  }
+
+  @Test
+  public void commit_CommitConflictExceptionThrownWithMetricsRecorder_ShouldRecordConflictedCommit()
+      throws CommitException, UnknownTransactionStatusException, PreparationException {
+    // Arrange
+    TransactionMetricsRecorder metricsRecorder = mock(TransactionMetricsRecorder.class);
+    transaction =
+        new TwoPhaseConsensusCommit(
+            crud, commit, recovery, mutationOperationChecker, metricsRecorder);
+    transaction.prepare();
+    when(crud.getSnapshot()).thenReturn(snapshot);
+    when(snapshot.getId()).thenReturn(ANY_TX_ID);
+    doThrow(CommitConflictException.class).when(commit).commitState(snapshot);
+
+    // Act Assert
+    assertThatThrownBy(transaction::commit).isInstanceOf(CommitConflictException.class);
+    verify(metricsRecorder)
+        .recordCommit(eq(ANY_TX_ID), eq(0), eq(0), anyLong(), eq(Outcome.CONFLICTED));
+    verify(commit, never()).commitRecords(snapshot);
+  }
+
   @Test
   public void rollback_ShouldAbortStateAndRollbackRecords()
       throws RollbackException, UnknownTransactionStatusException, PreparationException {
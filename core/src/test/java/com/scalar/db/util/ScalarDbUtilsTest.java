@@ -633,4 +633,25 @@ public class ScalarDbUtilsTest {
     // Assert
     assertThat(actual).isNotPresent();
   }
+
+  @Test
+  public void getPrefixOfLikePattern_ShouldReturnPrefixOnlyForPrefixMatch() {
+    assertThat(getPrefixOfLikePattern("ab%")).hasValue("ab");
+    assertThat(getPrefixOfLikePattern("a\\%b%%")).hasValue("a%b");
+    assertThat(getPrefixOfLikePattern("ab")).isEmpty();
+    assertThat(getPrefixOfLikePattern("%ab")).isEmpty();
+    assertThat(getPrefixOfLikePattern("a_%")).isEmpty();
+    assertThat(getPrefixOfLikePattern("a%b")).isEmpty();
+    assertThat(
+            ScalarDbUtils.getPrefixOfLikePattern(
+                ConditionBuilder.column("c").isLikeText("a+_b%", "+")))
+        .hasValue("a_b");
+    assertThat(
+            ScalarDbUtils.getPrefixOfLikePattern(ConditionBuilder.column("c").isNotLikeText("ab%")))
+        .isEmpty();
+  }
+
+  private Optional<String> getPrefixOfLikePattern(String pattern) {
+    return ScalarDbUtils.getPrefixOfLikePattern(ConditionBuilder.column("c").isLikeText(pattern));
+  }
 }
@@ -1,6 +1,7 @@
 package com.scalar.db.util.groupcommit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.junit.jupiter.api.Test;
 
@@ -76,4 +77,37 @@ class GroupCommitConfigTest {
     // Act / Assert
     assertThat(config.metricsMonitorLogEnabled()).isFalse();
   }
+
+  @Test
+  void adaptiveSizingEnabled_GivenNoParameter_ShouldReturnFalseAndUseFixedSizeAsBounds() {
+    // Arrange
+    GroupCommitConfig config = new GroupCommitConfig(10, 20, 30, 40, 50);
+
+    // Act / Assert
+    assertThat(config.adaptiveSizingEnabled()).isFalse();
+    assertThat(config.minSlotCapacity()).isEqualTo(10);
+    assertThat(config.minGroupSizeFixTimeoutMillis()).isEqualTo(20);
+  }
+
+  @Test
+  void adaptiveSizingEnabled_GivenTrue_ShouldReturnBounds() {
+    // Arrange
+    GroupCommitConfig config = new GroupCommitConfig(10, 20, 30, 40, 50, false, true, 2, 5);
+
+    // Act / Assert
+    assertThat(config.adaptiveSizingEnabled()).isTrue();
+    assertThat(config.minSlotCapacity()).isEqualTo(2);
+    assertThat(config.minGroupSizeFixTimeoutMillis()).isEqualTo(5);
+  }
+
+  @Test
+  void constructor_GivenInvalidAdaptiveSizingBounds_ShouldThrowIllegalArgumentException() {
+    // Act / Assert
+    assertThatThrownBy(() -> new GroupCommitConfig(10, 20, 30, 40, 50, false, true, 11, 5))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new GroupCommitConfig(10, 20, 30, 40, 50, false, true, 0, 5))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new GroupCommitConfig(10, 20, 30, 40, 50, false, true, 2, 21))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
 }
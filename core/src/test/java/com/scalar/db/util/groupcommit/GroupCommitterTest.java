@@ -3,9 +3,13 @@ package com.scalar.db.util.groupcommit;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.google.common.util.concurrent.Uninterruptibles;
@@ -47,6 +51,7 @@ class GroupCommitterTest {
 
   @Mock private GroupCommitMonitor groupCommitMonitor;
   @Mock private GroupCommitMetrics groupCommitMetrics;
+  @Mock private GroupCommitMetricsRecorder metricsRecorder;
 
   private final AtomicBoolean testableGroupCommitterGroupManagerCreated = new AtomicBoolean();
   private final AtomicBoolean testableGroupCommitterGroupSizeFixWorkerCreated = new AtomicBoolean();
@@ -253,6 +258,57 @@ class GroupCommitterTest {
     }
   }
 
+  @Test
+  void ready_WithMetricsRecorder_ShouldRecordEmitAndSlotWait() throws Exception {
+    // Arrange
+    try (GroupCommitter<String, String, String, String, String, Integer> groupCommitter =
+        createGroupCommitter(2, 100, 400)) {
+      groupCommitter.setEmitter(emitter);
+      groupCommitter.setMetricsRecorder(metricsRecorder);
+      ExecutorService executorService = Executors.newCachedThreadPool();
+
+      // Reserve 2 slots.
+      String fullKey1 = groupCommitter.reserve("child-key-1");
+      String fullKey2 = groupCommitter.reserve("child-key-2");
+
+      // Act
+      List<Future<?>> futures = new ArrayList<>();
+      futures.add(executorService.submit(() -> groupCommitter.ready(fullKey1, 11)));
+      futures.add(executorService.submit(() -> groupCommitter.ready(fullKey2, 22)));
+      executorService.shutdown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+
+      // Assert
+      verify(metricsRecorder).recordNormalGroupEmit(eq(2), anyLong(), eq(true));
+      verify(metricsRecorder, times(2)).recordSlotWait(anyLong());
+      verify(metricsRecorder, never()).recordDelayedGroupEmit(anyLong(), anyBoolean());
+      verify(metricsRecorder, never()).recordConflict();
+    }
+  }
+
+  @Test
+  void setMetricsRecorder_ShouldRegisterSizesOfQueuesAndGroupMapsAsGauges() throws Exception {
+    // Arrange
+    try (GroupCommitter<String, String, String, String, String, Integer> groupCommitter =
+        createGroupCommitter(2, 100, 400)) {
+      groupCommitter.setEmitter(emitter);
+      HistogramGroupCommitMetricsRecorder recorder = new HistogramGroupCommitMetricsRecorder();
+
+      // Act
+      groupCommitter.setMetricsRecorder(recorder);
+      String fullKey = groupCommitter.reserve("child-key-1");
+
+      // Assert
+      assertThat(recorder.getCurrentSizes()).isPresent();
+      assertThat(recorder.getCurrentSizes().get().getSizeOfNormalGroupMap()).isEqualTo(1);
+      assertThat(recorder.getCurrentSizes().get().getSizeOfDelayedGroupMap()).isEqualTo(0);
+
+      groupCommitter.remove(fullKey);
+    }
+  }
+
   @Test
   void ready_WhenTwoSlotsAreReadyInNormalGroup_WithFailingEmitTask_ShouldFail() throws Exception {
     // Arrange
@@ -123,6 +123,37 @@ class GroupManagerTest {
     assertThat(keys3.parentKey).isEqualTo("0001");
   }
 
+  @Test
+  void reserveNewSlot_WithAdaptiveSizingBeforeAnyEmit_ShouldCreateGroupsWithMinSlotCapacity() {
+    // Arrange
+
+    GroupManager<String, String, String, String, String, Integer> groupManager =
+        new GroupManager<>(
+            new GroupCommitConfig(
+                2, 100, 400, 60000, TIMEOUT_CHECK_INTERVAL_MILLIS, false, true, 1, 0),
+            keyManipulator);
+    groupManager.setEmitter(emittable);
+    groupManager.setGroupSizeFixWorker(groupSizeFixWorker);
+    groupManager.setGroupCleanupWorker(groupCleanupWorker);
+
+    // Act
+
+    // Add slot-1.
+    Keys<String, String, String> keys1 =
+        keyManipulator.keysFromFullKey(groupManager.reserveNewSlot("child-key-1"));
+    // Add slot-2.
+    Keys<String, String, String> keys2 =
+        keyManipulator.keysFromFullKey(groupManager.reserveNewSlot("child-key-2"));
+    // These groups are supposed to exist at this moment.
+    // - NormalGroup("0000", SIZE-FIXED, slots:[Slot("child-key-1")])
+    // - NormalGroup("0001", SIZE-FIXED, slots:[Slot("child-key-2")])
+
+    // Assert
+    // No emit latency is observed yet, so the groups are created with the minimum capacity.
+    assertThat(keys1.parentKey).isEqualTo("0000");
+    assertThat(keys2.parentKey).isEqualTo("0001");
+  }
+
   @Test
   void getGroup_GivenKeyForNormalGroup_ShouldReturnProperly() {
     // Arrange
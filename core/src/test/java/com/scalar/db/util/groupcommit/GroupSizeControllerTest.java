@@ -0,0 +1,179 @@
+package com.scalar.db.util.groupcommit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class GroupSizeControllerTest {
+  private static final int MAX_SLOT_CAPACITY = 20;
+  private static final int MAX_GROUP_SIZE_FIX_TIMEOUT_MILLIS = 40;
+  private static final int MIN_SLOT_CAPACITY = 1;
+  private static final int MIN_GROUP_SIZE_FIX_TIMEOUT_MILLIS = 1;
+
+  @Mock private Emittable<String, String, Integer> emittable;
+  private final AtomicLong nanoClock = new AtomicLong();
+  private GroupSizeController controller;
+
+  @BeforeEach
+  void setUp() {
+    GroupCommitConfig config =
+        new GroupCommitConfig(
+            MAX_SLOT_CAPACITY,
+            MAX_GROUP_SIZE_FIX_TIMEOUT_MILLIS,
+            400,
+            60000,
+            10,
+            false,
+            true,
+            MIN_SLOT_CAPACITY,
+            MIN_GROUP_SIZE_FIX_TIMEOUT_MILLIS);
+    controller = new GroupSizeController(config, nanoClock::get);
+  }
+
+  // Simulates the specified load. In each simulated millisecond, slots arrive at the specified
+  // rate, and the controller observes an emit with the specified latency and re-estimates the load.
+  private void simulate(double arrivalsPerMillis, int durationMillis, int emitLatencyMillis) {
+    for (int i = 0; i < durationMillis; i++) {
+      long arrivals = (long) ((i + 1) * arrivalsPerMillis) - (long) (i * arrivalsPerMillis);
+      for (long j = 0; j < arrivals; j++) {
+        controller.recordArrival();
+      }
+      nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+      controller.recordEmitLatency(TimeUnit.MILLISECONDS.toNanos(emitLatencyMillis));
+      controller.update();
+    }
+  }
+
+  @Test
+  void slotCapacity_BeforeAnyUpdate_ShouldReturnLowerBounds() {
+    // Act Assert
+    assertThat(controller.slotCapacity()).isEqualTo(MIN_SLOT_CAPACITY);
+    assertThat(controller.groupSizeFixTimeoutMillis()).isEqualTo(MIN_GROUP_SIZE_FIX_TIMEOUT_MILLIS);
+  }
+
+  @Test
+  void update_WithLowArrivalRate_ShouldNotWaitForPeers() {
+    // Arrange
+    // 10 slots per second with 5 ms emit latency. Fewer than one peer is expected during an emit.
+
+    // Act
+    simulate(0.01, 2000, 5);
+
+    // Assert
+    assertThat(controller.slotCapacity()).isEqualTo(MIN_SLOT_CAPACITY);
+    assertThat(controller.groupSizeFixTimeoutMillis()).isEqualTo(MIN_GROUP_SIZE_FIX_TIMEOUT_MILLIS);
+  }
+
+  @Test
+  void update_WithModerateArrivalRate_ShouldGroupSlotsArrivingDuringAnEmit() {
+    // Arrange
+    // 2000 slots per second with 5 ms emit latency. About 10 slots arrive during an emit.
+
+    // Act
+    simulate(2, 2000, 5);
+
+    // Assert
+    assertThat(controller.slotCapacity()).isBetween(9, 11);
+    assertThat(controller.groupSizeFixTimeoutMillis()).isBetween(4, 6);
+  }
+
+  @Test
+  void update_WithHighArrivalRate_ShouldUseUpperBoundOfCapacity() {
+    // Arrange
+    // 20000 slots per second with 5 ms emit latency. About 100 slots arrive during an emit.
+
+    // Act
+    simulate(20, 2000, 5);
+
+    // Assert
+    // The capacity fills in about 1 ms
+    assertThat(controller.slotCapacity()).isEqualTo(MAX_SLOT_CAPACITY);
+    assertThat(controller.groupSizeFixTimeoutMillis()).isBetween(1, 2);
+  }
+
+  @Test
+  void update_WithSlowEmit_ShouldNotExceedUpperBoundOfTimeout() {
+    // Arrange
+    // 100 slots per second with 500 ms emit latency. The capacity takes 200 ms to fill.
+
+    // Act
+    simulate(0.1, 5000, 500);
+
+    // Assert
+    assertThat(controller.slotCapacity()).isEqualTo(MAX_SLOT_CAPACITY);
+    assertThat(controller.groupSizeFixTimeoutMillis()).isEqualTo(MAX_GROUP_SIZE_FIX_TIMEOUT_MILLIS);
+  }
+
+  @Test
+  void update_WithBurstyArrivals_ShouldFollowBurstsAndQuietPeriods() {
+    // Arrange
+    int emitLatencyMillis = 5;
+
+    for (int cycle = 0; cycle < 3; cycle++) {
+      // Act
+      // A quiet period of 10 slots per second
+      simulate(0.01, 1000, emitLatencyMillis);
+
+      // Assert
+      assertThat(controller.slotCapacity()).isEqualTo(MIN_SLOT_CAPACITY);
+      assertThat(controller.groupSizeFixTimeoutMillis())
+          .isEqualTo(MIN_GROUP_SIZE_FIX_TIMEOUT_MILLIS);
+
+      // Act
+      // A burst of 20000 slots per second
+      simulate(20, 300, emitLatencyMillis);
+
+      // Assert
+      assertThat(controller.slotCapacity()).isEqualTo(MAX_SLOT_CAPACITY);
+    }
+  }
+
+  @Test
+  void update_CalledWithinMinimumInterval_ShouldNotChangeGroupSize() {
+    // Arrange
+    simulate(2, 2000, 5);
+    int slotCapacity = controller.slotCapacity();
+    for (int i = 0; i < 1000; i++) {
+      controller.recordArrival();
+    }
+
+    // Act
+    nanoClock.addAndGet(TimeUnit.MICROSECONDS.toNanos(100));
+    controller.update();
+
+    // Assert
+    assertThat(controller.slotCapacity()).isEqualTo(slotCapacity);
+  }
+
+  @Test
+  void measure_ShouldRecordEmitLatencyEvenWhenEmitFails() throws Exception {
+    // Arrange
+    Emittable<String, String, Integer> measured = controller.measure(emittable);
+    Exception exception = new Exception();
+    doThrow(exception).when(emittable).emitDelayedGroup("full-key", 1);
+    simulate(2, 1000, 5);
+
+    // Act
+    measured.emitNormalGroup("parent-key", Collections.singletonList(1));
+    assertThatThrownBy(() -> measured.emitDelayedGroup("full-key", 1)).isEqualTo(exception);
+
+    // Assert
+    verify(emittable).emitNormalGroup("parent-key", Collections.singletonList(1));
+    verify(emittable).emitDelayedGroup("full-key", 1);
+    // The emits took no time on the simulated clock, so the smoothed latency goes down
+    nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+    controller.update();
+    assertThat(controller.slotCapacity()).isLessThan(10);
+  }
+}
@@ -0,0 +1,69 @@
+package com.scalar.db.util.groupcommit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class HistogramGroupCommitMetricsRecorderTest {
+
+  @Test
+  void recordNormalGroupEmit_ShouldAggregateGroupSizesLatenciesAndFailures() {
+    // Arrange
+    HistogramGroupCommitMetricsRecorder recorder = new HistogramGroupCommitMetricsRecorder();
+
+    // Act
+    recorder.recordNormalGroupEmit(2, TimeUnit.MICROSECONDS.toNanos(100), true);
+    recorder.recordNormalGroupEmit(4, TimeUnit.MICROSECONDS.toNanos(300), false);
+    recorder.recordDelayedGroupEmit(TimeUnit.MICROSECONDS.toNanos(50), false);
+
+    // Assert
+    assertThat(recorder.getNormalGroupSizes().getCount()).isEqualTo(2);
+    assertThat(recorder.getNormalGroupSizes().getMean()).isEqualTo(3.0);
+    assertThat(recorder.getNormalGroupEmitLatencyMicros().getMax()).isEqualTo(300);
+    assertThat(recorder.getNormalGroupEmitFailureCount()).isEqualTo(1);
+    assertThat(recorder.getDelayedGroupEmitLatencyMicros().getCount()).isEqualTo(1);
+    assertThat(recorder.getDelayedGroupEmitFailureCount()).isEqualTo(1);
+  }
+
+  @Test
+  void recordSlotWaitAndEvents_ShouldAggregateThem() {
+    // Arrange
+    HistogramGroupCommitMetricsRecorder recorder = new HistogramGroupCommitMetricsRecorder();
+
+    // Act
+    recorder.recordSlotWait(TimeUnit.MICROSECONDS.toNanos(10));
+    recorder.recordSlotWait(TimeUnit.MICROSECONDS.toNanos(30));
+    recorder.recordDelayedSlotMove();
+    recorder.recordConflict();
+    recorder.recordOldGroupAbort(3);
+    recorder.recordOldGroupAbort(2);
+
+    // Assert
+    assertThat(recorder.getSlotWaitMicros().getCount()).isEqualTo(2);
+    assertThat(recorder.getSlotWaitMicros().getMax()).isEqualTo(30);
+    assertThat(recorder.getDelayedSlotMoveCount()).isEqualTo(1);
+    assertThat(recorder.getConflictCount()).isEqualTo(1);
+    assertThat(recorder.getOldGroupAbortCount()).isEqualTo(2);
+    assertThat(recorder.getAbortedSlotCount()).isEqualTo(5);
+  }
+
+  @Test
+  void getCurrentSizes_GaugesRegistered_ShouldReturnCurrentSizes() {
+    // Arrange
+    HistogramGroupCommitMetricsRecorder recorder = new HistogramGroupCommitMetricsRecorder();
+    assertThat(recorder.getCurrentSizes()).isEmpty();
+
+    // Act
+    recorder.registerGauges(() -> new GroupCommitMetrics(1, 2, 3, 4, 5));
+
+    // Assert
+    assertThat(recorder.getCurrentSizes()).isPresent();
+    GroupCommitMetrics sizes = recorder.getCurrentSizes().get();
+    assertThat(sizes.getQueueLengthOfGroupCloseWorker()).isEqualTo(1);
+    assertThat(sizes.getQueueLengthOfDelayedSlotMoveWorker()).isEqualTo(2);
+    assertThat(sizes.getQueueLengthOfGroupCleanupWorker()).isEqualTo(3);
+    assertThat(sizes.getSizeOfNormalGroupMap()).isEqualTo(4);
+    assertThat(sizes.getSizeOfDelayedGroupMap()).isEqualTo(5);
+  }
+}
@@ -353,6 +353,41 @@ public abstract class DistributedStorageIntegrationTestBase {
     assertThat(actual.isPresent()).isFalse();
   }
 
+  @Test
+  public void get_MultipleGetsGiven_ShouldRetrieveResultsInOrderOfGets() throws ExecutionException {
+    // Arrange
+    populateRecords();
+
+    // Act
+    List<Get> gets =
+        Arrays.asList(
+            prepareGet(2, 1),
+            prepareGet(10, 0),
+            Get.newBuilder(prepareGet(1, 2))
+                .where(ConditionBuilder.column(COL_NAME2).isEqualToText("3"))
+                .build(),
+            Get.newBuilder(prepareGet(0, 2)).projections(COL_NAME1, COL_NAME3).build(),
+            prepareGet(2, 1));
+    List<Optional<Result>> actual = storage.get(gets);
+
+    // Assert
+    assertThat(actual).hasSize(5);
+    assertThat(actual.get(0)).isPresent();
+    assertThat(actual.get(0).get().getInt(COL_NAME1)).isEqualTo(2);
+    assertThat(actual.get(0).get().getInt(COL_NAME4)).isEqualTo(1);
+    assertThat(actual.get(1)).isEmpty();
+    assertThat(actual.get(2)).isPresent();
+    assertThat(actual.get(2).get().getInt(COL_NAME1)).isEqualTo(1);
+    assertThat(actual.get(2).get().getInt(COL_NAME4)).isEqualTo(2);
+    assertThat(actual.get(3)).isPresent();
+    assertThat(actual.get(3).get().getContainedColumnNames()).containsOnly(COL_NAME1, COL_NAME3);
+    assertThat(actual.get(3).get().getInt(COL_NAME1)).isEqualTo(0);
+    assertThat(actual.get(3).get().getInt(COL_NAME3)).isEqualTo(2);
+    assertThat(actual.get(4)).isPresent();
+    assertThat(actual.get(4).get().getInt(COL_NAME1)).isEqualTo(2);
+    assertThat(actual.get(4).get().getInt(COL_NAME4)).isEqualTo(1);
+  }
+
   @Test
   public void scan_ScanWithProjectionsGiven_ShouldRetrieveSpecifiedValues()
       throws IOException, ExecutionException {